@@ -0,0 +1,172 @@
+package com.quarteredge.core.component;
+
+import com.quarteredge.core.model.MetricsSnapshotDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatus;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * BacktestMonitor class.
+ *
+ * <p>This class tracks the progress and running performance of a single backtest run while it
+ * runs, so that long runs can be watched and bad ones stopped early. The worker of the run records
+ * every completed session and any other thread may take a {@link MetricsSnapshotDTO} at any time,
+ * either on demand or on a fixed interval. A sweep gives every run its own monitor, so the
+ * statistics of a run never mix with those of the others. Any thread may {@link #cancel()} a run
+ * that is going badly; the worker stops after the session in progress.
+ *
+ * <p>The counters are adders and the drawdowns are volatile, so recording never blocks. Taking a
+ * snapshot only reads them; it neither locks nor stalls the worker. A snapshot is therefore not
+ * atomic across counters, which is fine for monitoring.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see MetricsSnapshotDTO
+ */
+public final class BacktestMonitor implements AutoCloseable {
+    /** Marker for a monitor that has not recorded a session yet. */
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    /** The number of nanoseconds in a second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** The time at which the first session was recorded. */
+    private final AtomicLong startNanos = new AtomicLong(NOT_STARTED);
+
+    /** The number of sessions processed. */
+    private final LongAdder sessions = new LongAdder();
+
+    /** The number of candles processed. */
+    private final LongAdder bars = new LongAdder();
+
+    /** The number of winning orders. */
+    private final LongAdder wins = new LongAdder();
+
+    /** The number of losing orders. */
+    private final LongAdder losses = new LongAdder();
+
+    /** The sum of the R multiples of all orders. */
+    private final DoubleAdder rSum = new DoubleAdder();
+
+    /** The current drawdown of the run, as of the last recorded session. */
+    private volatile double drawdown;
+
+    /** The largest drawdown of the run, as of the last recorded session. */
+    private volatile double maxDrawdown;
+
+    /** Whether the run has been asked to stop. */
+    private volatile boolean cancelled;
+
+    /** The scheduler of the periodic reports, if any. */
+    private ScheduledExecutorService reporter;
+
+    /**
+     * Records a completed session of the run. Must only be called by the worker of the run.
+     *
+     * @param candleCount the number of candles in the session
+     * @param orders the orders of the session
+     * @param running the performance of the run so far, including this session
+     */
+    public void recordSession(
+            final int candleCount,
+            final List<OrderDTO> orders,
+            final PerformanceAccumulator running) {
+        if (startNanos.get() == NOT_STARTED) {
+            startNanos.compareAndSet(NOT_STARTED, System.nanoTime());
+        }
+        for (OrderDTO order : orders) {
+            if (order.status() == OrderStatus.CLOSED_CANCELED) {
+                continue;
+            }
+            if (PerformanceAccumulator.getResult(order) > 0) {
+                wins.increment();
+            } else {
+                losses.increment();
+            }
+            rSum.add(PerformanceAccumulator.getRMultiple(order));
+        }
+        bars.add(candleCount);
+        drawdown = running.getDrawdown();
+        maxDrawdown = running.getMaxDrawdown();
+        sessions.increment();
+    }
+
+    /**
+     * Takes a snapshot of the counters. Safe to call from any thread. The win rate and expectancy
+     * are {@code 0} until the first trade.
+     *
+     * @return the current snapshot
+     */
+    public MetricsSnapshotDTO snapshot() {
+        var start = startNanos.get();
+        var elapsedNanos = start == NOT_STARTED ? 0 : System.nanoTime() - start;
+        var barCount = bars.sum();
+        var winCount = wins.sum();
+        var trades = winCount + losses.sum();
+        return new MetricsSnapshotDTO(
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                sessions.sum(),
+                barCount,
+                elapsedNanos == 0 ? 0 : barCount * NANOS_PER_SECOND / elapsedNanos,
+                trades,
+                trades == 0 ? 0 : (double) winCount / trades,
+                trades == 0 ? 0 : rSum.sum() / trades,
+                drawdown,
+                maxDrawdown);
+    }
+
+    /** Asks the run to stop after the session in progress. Safe to call from any thread. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether the run has been asked to stop. Checked by the worker between sessions.
+     *
+     * @return {@code true} if the run has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Starts handing a snapshot to the consumer on a fixed interval, from a background daemon
+     * thread, until the monitor is closed.
+     *
+     * @param interval the time between two snapshots
+     * @param consumer the consumer of the snapshots
+     * @throws IllegalStateException if the monitor is already reporting
+     */
+    public synchronized void startReporting(
+            final Duration interval, final Consumer<MetricsSnapshotDTO> consumer) {
+        if (reporter != null) {
+            throw new IllegalStateException("Monitor is already reporting");
+        }
+        reporter =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("quarteredge-monitor").daemon().factory());
+        reporter.scheduleAtFixedRate(
+                () -> consumer.accept(snapshot()),
+                interval.toNanos(),
+                interval.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /** Stops the periodic reports, if any. */
+    @Override
+    public synchronized void close() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.quarteredge.core.component;
 import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
 import static com.quarteredge.core.util.Constants.LAST_CANDLE_CLOSE_TIME;
 
+import com.quarteredge.core.event.BacktestEventSink;
+import com.quarteredge.core.metrics.Counter;
+import com.quarteredge.core.metrics.Metrics;
+import com.quarteredge.core.metrics.Phase;
 import com.quarteredge.core.model.CandleDTO;
 import com.quarteredge.core.model.Direction;
 import com.quarteredge.core.model.OrderDTO;
@@ -38,6 +42,12 @@ public class BacktestSession {
     /** Represents the strategy used for backtesting. */
     private final Strategy strategy;
 
+    /** Represents the sink that receives the order events of the session. */
+    private final BacktestEventSink sink;
+
+    /** Represents the equity curve marked on every candle, or {@code null} if not tracked. */
+    private final EquityCurve equityCurve;
+
     /** Represents the current status of the backtesting session. */
     private SessionStatus status;
 
@@ -48,7 +58,39 @@ public class BacktestSession {
      * @param data the list of candlestick data points that will be processed
      */
     public BacktestSession(final Strategy strategy, final List<CandleDTO> data) {
+        this(strategy, data, BacktestEventSink.NONE);
+    }
+
+    /**
+     * Constructs a new BackTestSession that reports every order event to the sink.
+     *
+     * @param strategy the strategy to use for backtesting
+     * @param data the list of candlestick data points that will be processed
+     * @param sink the sink that receives the order events
+     */
+    public BacktestSession(
+            final Strategy strategy, final List<CandleDTO> data, final BacktestEventSink sink) {
+        this(strategy, data, sink, null);
+    }
+
+    /**
+     * Constructs a new BackTestSession that reports every order event to the sink and marks the
+     * equity curve to market on every candle. The curve is closed for the session once it
+     * completes.
+     *
+     * @param strategy the strategy to use for backtesting
+     * @param data the list of candlestick data points that will be processed
+     * @param sink the sink that receives the order events
+     * @param equityCurve the equity curve to mark, or {@code null} to skip marking
+     */
+    public BacktestSession(
+            final Strategy strategy,
+            final List<CandleDTO> data,
+            final BacktestEventSink sink,
+            final EquityCurve equityCurve) {
         this.strategy = strategy;
+        this.sink = sink;
+        this.equityCurve = equityCurve;
         this.data = data;
         this.orders = new ArrayList<>();
         this.status = SessionStatus.PENDING;
@@ -68,17 +110,33 @@ public class BacktestSession {
         this.status = SessionStatus.STARTED;
         try {
             for (CandleDTO candle : data) {
+                var start = Metrics.start();
                 strategy.push(candle);
+                Metrics.stop(Phase.STRATEGY_PUSH, start);
                 // if the first candle of trading day, skip
                 if (candle.time().equals(FIRST_CANDLE_OPEN_TIME)) {
                     continue;
                 }
+                Metrics.increment(Counter.BARS);
+                start = Metrics.start();
                 updateOrders(candle);
+                Metrics.stop(Phase.UPDATE_ORDERS, start);
+                if (equityCurve != null) {
+                    equityCurve.mark(candle, orders);
+                }
+                start = Metrics.start();
                 Optional<OrderDTO> order = strategy.getStatus();
-                order.ifPresent(orders::add);
-                // log new order
-                // order.ifPresent(IO::println);
+                Metrics.stop(Phase.STRATEGY_STATUS, start);
+                if (order.isPresent()) {
+                    orders.add(order.get());
+                    sink.orderCreated(order.get());
+                    Metrics.increment(Counter.ORDERS);
+                }
+            }
+            if (equityCurve != null) {
+                equityCurve.endSession(orders);
             }
+            Metrics.increment(Counter.SESSIONS);
         } catch (Exception e) {
             IO.println("BacktestSession.start() - Exception: " + e);
             this.status = SessionStatus.FAILED;
@@ -113,6 +171,7 @@ public class BacktestSession {
                                 order.orderStatsDTO());
                 // update order
                 orders.set(i, order);
+                sink.orderFilled(order);
                 continue;
             }
             // if active, update order statistics
@@ -136,6 +195,7 @@ public class BacktestSession {
                                 order.orderStatsDTO());
                 // update order
                 orders.set(i, order);
+                sink.orderClosed(order);
             }
         }
     }
@@ -0,0 +1,236 @@
+package com.quarteredge.core.component;
+
+import static com.quarteredge.core.util.Constants.RISK_PER_TRADE;
+import static com.quarteredge.core.util.Constants.STARTING_BALANCE;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatus;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EquityCurve class.
+ *
+ * <p>This class marks the equity of a run to market on every candle, so that drawdowns inside a
+ * session become visible. Closed orders count with their realized R and open orders with their
+ * unrealized R at the close of the candle, on top of the equity at the start of the session. The
+ * equity is compounded once per session with the same rules as {@link PerformanceAccumulator}, so
+ * the curve ends every session on the same equity.
+ *
+ * <p>The drawdown of a candle is measured against the worst price of the candle for every open
+ * order, just like the maximum adverse price tracked by {@link BacktestSession}, while the peak
+ * only moves on candle closes. The curve is stored as two primitive series. With downsampling,
+ * each point covers a fixed number of candles and holds the last equity and the deepest drawdown
+ * of those candles, so no drawdown is lost.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see BacktestSession
+ * @see PerformanceAccumulator
+ */
+public final class EquityCurve {
+    /** The initial capacity of the series. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** The number of candles covered by a single point. */
+    private final int downsample;
+
+    /** The equity at the end of every point. */
+    private double[] equity;
+
+    /** The deepest drawdown within every point. */
+    private double[] drawdown;
+
+    /** The number of complete points. */
+    private int size;
+
+    /** The number of candles marked so far. */
+    private long bars;
+
+    /** The number of candles in the point in progress. */
+    private int pending;
+
+    /** The last equity of the point in progress. */
+    private double pendingEquity;
+
+    /** The deepest drawdown of the point in progress. */
+    private double pendingDrawdown;
+
+    /** The equity at the start of the session in progress. */
+    private double sessionEquity;
+
+    /** The highest equity marked so far. */
+    private double peak;
+
+    /** The deepest drawdown marked so far. */
+    private double maxDrawdown;
+
+    /** Constructs a new EquityCurve with one point per candle. */
+    public EquityCurve() {
+        this(1);
+    }
+
+    /**
+     * Constructs a new EquityCurve.
+     *
+     * @param downsample the number of candles covered by a single point
+     * @throws IllegalArgumentException if the downsampling factor is less than 1
+     */
+    public EquityCurve(final int downsample) {
+        if (downsample < 1) {
+            throw new IllegalArgumentException("downsample must be positive: " + downsample);
+        }
+        this.downsample = downsample;
+        this.equity = new double[INITIAL_CAPACITY];
+        this.drawdown = new double[INITIAL_CAPACITY];
+        this.sessionEquity = STARTING_BALANCE;
+        this.peak = STARTING_BALANCE;
+    }
+
+    /**
+     * Marks the orders of the session in progress to market at a candle.
+     *
+     * @param candle the candle, after the orders were updated with it
+     * @param orders the orders of the session in progress
+     */
+    public void mark(final CandleDTO candle, final List<OrderDTO> orders) {
+        var closeR = 0.0;
+        var worstR = 0.0;
+        for (OrderDTO order : orders) {
+            var status = order.status();
+            if (status == OrderStatus.ACTIVE) {
+                var buy = order.direction() == Direction.BUY;
+                closeR += getOpenR(order, candle.close());
+                worstR += getOpenR(order, buy ? candle.low() : candle.high());
+            } else if (status != OrderStatus.PENDING && status != OrderStatus.CLOSED_CANCELED) {
+                var r = PerformanceAccumulator.getRMultiple(order);
+                closeR += r;
+                worstR += r;
+            }
+        }
+        var value = sessionEquity * (1 + closeR * RISK_PER_TRADE);
+        var worst = sessionEquity * (1 + worstR * RISK_PER_TRADE);
+        peak = Math.max(peak, value);
+        var currentDrawdown = peak - worst;
+        maxDrawdown = Math.max(maxDrawdown, currentDrawdown);
+        bars++;
+
+        pendingEquity = value;
+        pendingDrawdown =
+                pending == 0 ? currentDrawdown : Math.max(pendingDrawdown, currentDrawdown);
+        if (++pending == downsample) {
+            append(pendingEquity, pendingDrawdown);
+            pending = 0;
+        }
+    }
+
+    /**
+     * Closes the session in progress, compounding its result into the equity.
+     *
+     * @param orders the orders of the session, in their final state
+     */
+    public void endSession(final List<OrderDTO> orders) {
+        var sessionResult = 0.0;
+        for (OrderDTO order : orders) {
+            if (order.status() != OrderStatus.CLOSED_CANCELED) {
+                sessionResult += PerformanceAccumulator.getRMultiple(order);
+            }
+        }
+        sessionEquity += sessionEquity * (sessionResult * RISK_PER_TRADE);
+        peak = Math.max(peak, sessionEquity);
+    }
+
+    /**
+     * Returns the number of candles marked so far.
+     *
+     * @return the number of candles
+     */
+    public long getBars() {
+        return bars;
+    }
+
+    /**
+     * Returns the number of points, including a partially filled last point.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return pending == 0 ? size : size + 1;
+    }
+
+    /**
+     * Returns the equity at the end of every point.
+     *
+     * @return a copy of the equity series
+     */
+    public double[] getEquity() {
+        var series = Arrays.copyOf(equity, size());
+        if (pending > 0) {
+            series[size] = pendingEquity;
+        }
+        return series;
+    }
+
+    /**
+     * Returns the deepest drawdown within every point.
+     *
+     * @return a copy of the drawdown series
+     */
+    public double[] getDrawdown() {
+        var series = Arrays.copyOf(drawdown, size());
+        if (pending > 0) {
+            series[size] = pendingDrawdown;
+        }
+        return series;
+    }
+
+    /**
+     * Returns the deepest drawdown marked so far.
+     *
+     * @return the maximum drawdown
+     */
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    /**
+     * Returns the equity at the end of the last completed session.
+     *
+     * @return the realized equity
+     */
+    public double getRealizedEquity() {
+        return sessionEquity;
+    }
+
+    /**
+     * Appends a complete point, growing the series if needed.
+     *
+     * @param pointEquity the equity at the end of the point
+     * @param pointDrawdown the deepest drawdown within the point
+     */
+    private void append(final double pointEquity, final double pointDrawdown) {
+        if (size == equity.length) {
+            equity = Arrays.copyOf(equity, size * 2);
+            drawdown = Arrays.copyOf(drawdown, size * 2);
+        }
+        equity[size] = pointEquity;
+        drawdown[size] = pointDrawdown;
+        size++;
+    }
+
+    /**
+     * Retrieves the unrealized result of an open order in R multiples.
+     *
+     * @param order the open order
+     * @param price the price to mark the order at
+     * @return the unrealized R multiple
+     */
+    private static double getOpenR(final OrderDTO order, final double price) {
+        var buy = order.direction() == Direction.BUY;
+        var risk = buy ? order.entry() - order.SL() : order.SL() - order.entry();
+        return (buy ? price - order.entry() : order.entry() - price) / risk;
+    }
+}
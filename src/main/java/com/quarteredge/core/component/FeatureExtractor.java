@@ -0,0 +1,125 @@
+package com.quarteredge.core.component;
+
+import static com.quarteredge.core.util.Constants.CL_TICK_INCREMENT;
+import static com.quarteredge.core.util.Constants.LAST_CANDLE_CLOSE_TIME;
+import static com.quarteredge.core.util.Constants.QUARTER_LEVEL_INCREMENT;
+import static com.quarteredge.core.util.Constants.RDR_SESSION_START_TIME;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.TradeFeaturesDTO;
+import com.quarteredge.core.strategy.QuarterEdgeStrategy;
+import com.quarteredge.core.strategy.Strategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * FeatureExtractor class.
+ *
+ * <p>This class wraps a {@link QuarterEdgeStrategy} and records the features of every order it
+ * creates, in the same pass as the backtest that runs it: it is handed to a {@link
+ * BacktestSession} in place of the strategy, forwards every call to it, and reads the ATR and the
+ * defining range straight from the strategy whenever {@link #getStatus()} returns an order. Apart
+ * from that, every bar only costs a comparison and an addition for the pre-breakout volume.
+ *
+ * <p>The strategy creates its order on the first bar that breaks out of the defining range, so
+ * that bar is taken as the breakout bar. The features are recorded in the order in which the
+ * orders are created, which is the order of {@link BacktestSession#getOrders()}.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see TradeFeaturesDTO
+ * @see com.quarteredge.core.service.FeatureService
+ */
+public final class FeatureExtractor implements Strategy {
+    /** The distance between two quarter levels. */
+    private static final double QUARTER_LEVEL_SPACING =
+            CL_TICK_INCREMENT * QUARTER_LEVEL_INCREMENT;
+
+    /** The strategy whose orders are described. */
+    private final QuarterEdgeStrategy strategy;
+
+    /** The features of every order created so far. */
+    private final List<TradeFeaturesDTO> features = new ArrayList<>();
+
+    /** The last bar pushed to the strategy. */
+    private CandleDTO last;
+
+    /** The volume traded since the start of the defining range, up to the previous bar. */
+    private double volume;
+
+    /** The volume of the last bar, if it is part of the defining range session. */
+    private double lastVolume;
+
+    /**
+     * Constructs a new FeatureExtractor.
+     *
+     * @param strategy the strategy whose orders are described
+     */
+    public FeatureExtractor(final QuarterEdgeStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Pushes the bar to the strategy and tracks the volume since the start of the defining range.
+     *
+     * @param data the candlestick data point to process
+     */
+    @Override
+    public void push(final CandleDTO data) {
+        strategy.push(data);
+        if (data.time().isBefore(RDR_SESSION_START_TIME)
+                || data.time().isAfter(LAST_CANDLE_CLOSE_TIME)) {
+            volume = 0;
+            lastVolume = 0;
+        } else {
+            volume += lastVolume;
+            lastVolume = data.volume();
+        }
+        last = data;
+    }
+
+    /**
+     * Returns the status of the strategy, recording the features of the order it creates, if any.
+     *
+     * @return the order created by the strategy, if any
+     */
+    @Override
+    public Optional<OrderDTO> getStatus() {
+        var order = strategy.getStatus();
+        if (order.isPresent()) {
+            var range = strategy.getDefiningRange();
+            features.add(
+                    new TradeFeaturesDTO(
+                            strategy.getAtr(),
+                            range.drHigh() - range.drLow(),
+                            range.idrHigh() - range.idrLow(),
+                            last.time(),
+                            getQuarterDistance(last.close()),
+                            volume));
+        }
+        return order;
+    }
+
+    /**
+     * Returns the features of every order created so far.
+     *
+     * @return the features, in the order in which the orders were created
+     */
+    public List<TradeFeaturesDTO> getFeatures() {
+        return features;
+    }
+
+    /**
+     * Returns the distance from a price to the nearest quarter level.
+     *
+     * @param price the price
+     * @return the distance, never negative
+     */
+    static double getQuarterDistance(final double price) {
+        var nearest = Math.rint(price / QUARTER_LEVEL_SPACING) * QUARTER_LEVEL_SPACING;
+        return Math.abs(price - nearest);
+    }
+}
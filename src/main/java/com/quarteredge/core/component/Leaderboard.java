@@ -0,0 +1,247 @@
+package com.quarteredge.core.component;
+
+import com.quarteredge.core.model.PerformanceDTO;
+import com.quarteredge.core.model.RankedResultDTO;
+import com.quarteredge.core.model.SweepResultDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Leaderboard class.
+ *
+ * <p>This class ranks the results of a parameter sweep as they complete, without keeping all of
+ * them. For every metric, the best results are kept in a min-heap bounded to the capacity of the
+ * leaderboard, so a new result only replaces the worst of the kept ones when it scores higher. It
+ * is a {@link Consumer} of results, so it can be passed straight to {@link
+ * com.quarteredge.core.service.SweepService#run(List, Consumer)}.
+ *
+ * <p>The leaderboard also keeps the Pareto front across all metrics: the results that no other
+ * result beats on every metric at once. The front is bounded to the same capacity. When it grows
+ * beyond it, the result in the most crowded part of the front is evicted, as in NSGA-II, so the
+ * front stays spread across the trade-offs between the metrics.
+ *
+ * <p>Every metric is a score to maximize; scores that are NaN rank last. This class is not
+ * thread-safe; results must be added from a single thread.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see com.quarteredge.core.service.SweepService
+ */
+public final class Leaderboard implements Consumer<SweepResultDTO> {
+    /** The maximum number of results kept per metric and on the Pareto front. */
+    private final int capacity;
+
+    /** The names of the metrics. */
+    private final String[] names;
+
+    /** The scores of the metrics. */
+    private final List<ToDoubleFunction<PerformanceDTO>> objectives;
+
+    /** The best results of every metric, worst first. */
+    private final List<PriorityQueue<Entry>> heaps;
+
+    /** The results on the Pareto front. */
+    private final List<Entry> front = new ArrayList<>();
+
+    /** The number of results added. */
+    private long count;
+
+    /**
+     * Constructs a new Leaderboard.
+     *
+     * @param capacity the maximum number of results kept per metric and on the Pareto front
+     * @param metrics the scores to maximize, by name, in the order used for the Pareto front
+     * @throws IllegalArgumentException if the capacity is less than 1 or there are no metrics
+     */
+    public Leaderboard(
+            final int capacity, final Map<String, ToDoubleFunction<PerformanceDTO>> metrics) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (metrics.isEmpty()) {
+            throw new IllegalArgumentException("at least one metric is required");
+        }
+        var ordered = new LinkedHashMap<>(metrics);
+        this.capacity = capacity;
+        this.names = ordered.keySet().toArray(String[]::new);
+        this.objectives = List.copyOf(ordered.values());
+        this.heaps = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            final int metric = i;
+            heaps.add(new PriorityQueue<>(Comparator.comparingDouble(e -> e.scores[metric])));
+        }
+    }
+
+    /**
+     * Adds a completed result to the rankings and the Pareto front.
+     *
+     * @param result the result to add
+     */
+    @Override
+    public void accept(final SweepResultDTO result) {
+        count++;
+        var scores = new double[objectives.size()];
+        for (int i = 0; i < scores.length; i++) {
+            var score = objectives.get(i).applyAsDouble(result.performance());
+            scores[i] = Double.isNaN(score) ? Double.NEGATIVE_INFINITY : score;
+        }
+        var entry = new Entry(result, scores);
+        for (int i = 0; i < scores.length; i++) {
+            var heap = heaps.get(i);
+            if (heap.size() < capacity) {
+                heap.add(entry);
+            } else if (scores[i] > heap.peek().scores[i]) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        addToFront(entry);
+    }
+
+    /**
+     * Adds a result to the Pareto front, unless a result on the front dominates it. Results it
+     * dominates are removed, and the most crowded result is evicted if the front is full.
+     *
+     * @param entry the result to add
+     */
+    private void addToFront(final Entry entry) {
+        for (Entry member : front) {
+            if (dominates(member.scores, entry.scores)) {
+                return;
+            }
+        }
+        front.removeIf(member -> dominates(entry.scores, member.scores));
+        front.add(entry);
+        if (front.size() > capacity) {
+            front.remove(mostCrowded());
+        }
+    }
+
+    /**
+     * Returns the index of the result on the front with the smallest crowding distance, i.e. the
+     * one whose neighbors on every metric are closest to each other. The results at the ends of
+     * every metric are never chosen.
+     *
+     * @return the index of the most crowded result
+     */
+    private int mostCrowded() {
+        var distances = new double[front.size()];
+        Integer[] order = new Integer[front.size()];
+        for (int metric = 0; metric < names.length; metric++) {
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            final int m = metric;
+            Arrays.sort(order, Comparator.comparingDouble(i -> front.get(i).scores[m]));
+            var low = front.get(order[0]).scores[m];
+            var high = front.get(order[order.length - 1]).scores[m];
+            distances[order[0]] = Double.POSITIVE_INFINITY;
+            distances[order[order.length - 1]] = Double.POSITIVE_INFINITY;
+            var range = high - low;
+            if (!(range > 0) || Double.isInfinite(range)) {
+                continue;
+            }
+            for (int i = 1; i < order.length - 1; i++) {
+                var gap = front.get(order[i + 1]).scores[m] - front.get(order[i - 1]).scores[m];
+                distances[order[i]] += gap / range;
+            }
+        }
+        int crowded = 0;
+        for (int i = 1; i < distances.length; i++) {
+            if (distances[i] < distances[crowded]) {
+                crowded = i;
+            }
+        }
+        return crowded;
+    }
+
+    /**
+     * Checks if a set of scores is at least as good as another one on every metric and better on
+     * at least one.
+     *
+     * @param scores the scores that may dominate
+     * @param other the scores that may be dominated
+     * @return {@code true} if the first scores dominate the others
+     */
+    private static boolean dominates(final double[] scores, final double[] other) {
+        var better = false;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] < other[i]) {
+                return false;
+            }
+            better |= scores[i] > other[i];
+        }
+        return better;
+    }
+
+    /**
+     * Returns the best results of a metric, best first.
+     *
+     * @param metric the name of the metric
+     * @return at most the capacity of the leaderboard of results, with their rank and score
+     * @throws IllegalArgumentException if there is no metric with the given name
+     */
+    public List<RankedResultDTO> getTop(final String metric) {
+        int index = Arrays.asList(names).indexOf(metric);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        List<Entry> sorted = new ArrayList<>(heaps.get(index));
+        sorted.sort(Comparator.comparingDouble((Entry e) -> e.scores[index]).reversed());
+        List<RankedResultDTO> ranking = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            var entry = sorted.get(i);
+            ranking.add(new RankedResultDTO(i + 1, entry.scores[index], entry.result));
+        }
+        return ranking;
+    }
+
+    /**
+     * Returns the results on the Pareto front, ordered by the first metric, best first.
+     *
+     * @return the results that no other kept result beats on every metric
+     */
+    public List<SweepResultDTO> getParetoFront() {
+        List<Entry> sorted = new ArrayList<>(front);
+        sorted.sort(Comparator.comparingDouble((Entry e) -> e.scores[0]).reversed());
+        List<SweepResultDTO> results = new ArrayList<>();
+        for (Entry entry : sorted) {
+            results.add(entry.result);
+        }
+        return results;
+    }
+
+    /**
+     * Returns the names of the metrics, in the order they were given.
+     *
+     * @return the names of the metrics
+     */
+    public List<String> getMetrics() {
+        return List.of(names);
+    }
+
+    /**
+     * Returns the number of results added so far.
+     *
+     * @return the number of results
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * A result with its scores on every metric.
+     *
+     * @param result the sweep result
+     * @param scores the score of every metric, with NaN mapped to negative infinity
+     */
+    private record Entry(SweepResultDTO result, double[] scores) {}
+}
@@ -0,0 +1,457 @@
+package com.quarteredge.core.component;
+
+import static com.quarteredge.core.util.Constants.RISK_PER_TRADE;
+import static com.quarteredge.core.util.Constants.STARTING_BALANCE;
+import static com.quarteredge.core.util.Constants.TRADING_DAYS;
+
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.model.PerformanceDTO;
+import com.quarteredge.core.util.LogHistogram;
+import java.util.List;
+
+/**
+ * PerformanceAccumulator class.
+ *
+ * <p>This class computes the performance metrics of a backtest in a single pass. Orders are added
+ * one by one as they finish and every metric is updated in place, so the orders themselves do not
+ * need to be kept around. The drawdown and Sharpe ratio are updated once per session, when {@link
+ * #endSession()} is called.
+ *
+ * <p>Accumulators are mergeable: {@link #merge(PerformanceAccumulator)} appends the sessions of
+ * another accumulator to this one, as if they had been added here in order. Shards of a timeline
+ * can therefore be accumulated in parallel and combined afterward. Streaks are merged through the
+ * runs at both ends of each shard, the drawdown by rescaling the equity path of the later shard,
+ * and the Sharpe ratio through the pairwise mean and variance update of Chan et al.
+ *
+ * <p>The distributions of the R multiples, maximum favorable excursions and maximum adverse
+ * excursions are kept in {@link LogHistogram}s, so their percentiles are available without keeping
+ * the orders either, in a bounded amount of memory.
+ *
+ * <p>This class is not thread-safe; every worker should fill its own accumulator.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see PerformanceDTO
+ */
+public final class PerformanceAccumulator {
+    /** The number of winning orders. */
+    private int wins;
+
+    /** The number of losing orders. */
+    private int losses;
+
+    /** The sum of the R multiples of the winning orders. */
+    private double winRSum;
+
+    /** The sum of the R multiples of the losing orders. */
+    private double lossRSum;
+
+    /** The sum of the maximum favorable excursions. */
+    private double mfeSum;
+
+    /** The sum of the maximum adverse excursions. */
+    private double maeSum;
+
+    /** The distribution of the R multiples. */
+    private final LogHistogram rHistogram = new LogHistogram();
+
+    /** The distribution of the maximum favorable excursions. */
+    private final LogHistogram mfeHistogram = new LogHistogram();
+
+    /** The distribution of the maximum adverse excursions. */
+    private final LogHistogram maeHistogram = new LogHistogram();
+
+    /** The number of orders counted toward the streaks. */
+    private int streakTrades;
+
+    /** Flag indicating if the first streak is a winning one. */
+    private boolean leadingWin;
+
+    /** The length of the first streak. */
+    private int leadingRun;
+
+    /** Flag indicating if the current streak is a winning one. */
+    private boolean trailingWin;
+
+    /** The length of the current streak. */
+    private int trailingRun;
+
+    /** The longest streak of winning orders. */
+    private int maxWinStreak;
+
+    /** The longest streak of losing orders. */
+    private int maxLossStreak;
+
+    /** The R result of the session in progress. */
+    private double sessionResult;
+
+    /** The number of completed sessions. */
+    private int sessions;
+
+    /** The current equity. */
+    private double equity;
+
+    /** The highest equity reached so far. */
+    private double peak;
+
+    /** The lowest equity reached so far. */
+    private double trough;
+
+    /** The largest peak-to-trough decline in equity. */
+    private double maxDrawdown;
+
+    /** The mean of the daily returns. */
+    private double returnMean;
+
+    /** The sum of squared deviations of the daily returns from their mean. */
+    private double returnM2;
+
+    /** Constructs a new, empty PerformanceAccumulator. */
+    public PerformanceAccumulator() {
+        this.equity = STARTING_BALANCE;
+        this.peak = STARTING_BALANCE;
+        this.trough = STARTING_BALANCE;
+    }
+
+    /**
+     * Adds every order of a session and closes the session.
+     *
+     * @param orders list of orders from the session
+     * @return this accumulator
+     */
+    public PerformanceAccumulator addSession(final List<OrderDTO> orders) {
+        for (OrderDTO order : orders) {
+            addOrder(order);
+        }
+        return endSession();
+    }
+
+    /**
+     * Adds a finished order to the session in progress. Orders with the status of {@code
+     * CLOSED_CANCELED} are skipped.
+     *
+     * @param order the order to add
+     * @return this accumulator
+     */
+    public PerformanceAccumulator addOrder(final OrderDTO order) {
+        if (order.status() == OrderStatus.CLOSED_CANCELED) {
+            return this;
+        }
+        var res = getResult(order);
+        var r = getRMultiple(order);
+        var mfe = getMfe(order);
+        var mae = getMae(order);
+        mfeSum += mfe;
+        maeSum += mae;
+        rHistogram.record(r);
+        mfeHistogram.record(mfe);
+        maeHistogram.record(mae);
+        sessionResult += r;
+        if (res > 0) {
+            wins++;
+            winRSum += r;
+        } else {
+            losses++;
+            lossRSum += r;
+        }
+
+        var win = res >= 0;
+        if (streakTrades > 0 && win == trailingWin) {
+            trailingRun++;
+        } else {
+            trailingWin = win;
+            trailingRun = 1;
+        }
+        if (trailingRun == streakTrades + 1) {
+            leadingWin = win;
+            leadingRun = trailingRun;
+        }
+        streakTrades++;
+        updateMaxStreak(win, trailingRun);
+        return this;
+    }
+
+    /**
+     * Closes the session in progress, compounding its result into the equity curve.
+     *
+     * @return this accumulator
+     */
+    public PerformanceAccumulator endSession() {
+        var dailyReturn = sessionResult * RISK_PER_TRADE;
+        sessionResult = 0;
+
+        equity += equity * dailyReturn;
+        peak = Math.max(peak, equity);
+        trough = Math.min(trough, equity);
+        maxDrawdown = Math.max(peak - equity, maxDrawdown);
+
+        sessions++;
+        var delta = dailyReturn - returnMean;
+        returnMean += delta / sessions;
+        returnM2 += delta * (dailyReturn - returnMean);
+        return this;
+    }
+
+    /**
+     * Appends the sessions of another accumulator to this one. The result is the same as if the
+     * orders of the other accumulator had been added to this one after its own. Any session in
+     * progress on the other accumulator is ignored.
+     *
+     * @param next the accumulator of the sessions that follow
+     * @return this accumulator
+     */
+    public PerformanceAccumulator merge(final PerformanceAccumulator next) {
+        wins += next.wins;
+        losses += next.losses;
+        winRSum += next.winRSum;
+        lossRSum += next.lossRSum;
+        mfeSum += next.mfeSum;
+        maeSum += next.maeSum;
+        rHistogram.merge(next.rHistogram);
+        mfeHistogram.merge(next.mfeHistogram);
+        maeHistogram.merge(next.maeHistogram);
+        mergeStreaks(next);
+        mergeEquity(next);
+
+        int total = sessions + next.sessions;
+        if (sessions == 0) {
+            returnMean = next.returnMean;
+            returnM2 = next.returnM2;
+        } else if (next.sessions > 0) {
+            var delta = next.returnMean - returnMean;
+            var weight = (double) sessions * next.sessions / total;
+            returnMean += delta * next.sessions / total;
+            returnM2 += next.returnM2 + delta * delta * weight;
+        }
+        sessions = total;
+        return this;
+    }
+
+    /**
+     * Appends the streaks of another accumulator, joining the current streak with the first streak
+     * of the other one when they share a sign.
+     *
+     * @param next the accumulator of the orders that follow
+     */
+    private void mergeStreaks(final PerformanceAccumulator next) {
+        maxWinStreak = Math.max(maxWinStreak, next.maxWinStreak);
+        maxLossStreak = Math.max(maxLossStreak, next.maxLossStreak);
+        if (next.streakTrades == 0) {
+            return;
+        }
+        if (streakTrades == 0) {
+            leadingWin = next.leadingWin;
+            leadingRun = next.leadingRun;
+            trailingWin = next.trailingWin;
+            trailingRun = next.trailingRun;
+            streakTrades = next.streakTrades;
+            return;
+        }
+        if (trailingWin == next.leadingWin) {
+            var joined = trailingRun + next.leadingRun;
+            updateMaxStreak(trailingWin, joined);
+            if (leadingRun == streakTrades) {
+                leadingRun = joined;
+            }
+            trailingRun = next.trailingRun == next.streakTrades ? joined : next.trailingRun;
+        } else {
+            trailingRun = next.trailingRun;
+        }
+        trailingWin = next.trailingWin;
+        streakTrades += next.streakTrades;
+    }
+
+    /**
+     * Appends the equity curve of another accumulator. Both curves start from the starting
+     * balance, so the other curve is rescaled to start where this one ends.
+     *
+     * @param next the accumulator of the sessions that follow
+     */
+    private void mergeEquity(final PerformanceAccumulator next) {
+        var scale = equity / STARTING_BALANCE;
+        maxDrawdown =
+                Math.max(
+                        maxDrawdown,
+                        Math.max(peak - next.trough * scale, next.maxDrawdown * scale));
+        peak = Math.max(peak, next.peak * scale);
+        trough = Math.min(trough, next.trough * scale);
+        equity = next.equity * scale;
+    }
+
+    /**
+     * Updates the longest streak of the given sign.
+     *
+     * @param win flag indicating if the streak is a winning one
+     * @param run the length of the streak
+     */
+    private void updateMaxStreak(final boolean win, final int run) {
+        if (win) {
+            maxWinStreak = Math.max(maxWinStreak, run);
+        } else {
+            maxLossStreak = Math.max(maxLossStreak, run);
+        }
+    }
+
+    /**
+     * Returns an independent copy of this accumulator. Any session in progress is not copied.
+     *
+     * @return the copy
+     */
+    public PerformanceAccumulator copy() {
+        return new PerformanceAccumulator().merge(this);
+    }
+
+    /**
+     * Returns the number of completed sessions.
+     *
+     * @return the number of completed sessions
+     */
+    public int getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Returns the number of orders counted as wins or losses.
+     *
+     * @return the number of orders
+     */
+    public int getTrades() {
+        return wins + losses;
+    }
+
+    /**
+     * Returns the current equity.
+     *
+     * @return the current equity
+     */
+    public double getEquity() {
+        return equity;
+    }
+
+    /**
+     * Returns the largest peak-to-trough decline in equity so far.
+     *
+     * @return the maximum drawdown
+     */
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    /**
+     * Returns the current decline in equity from its peak.
+     *
+     * @return the current drawdown
+     */
+    public double getDrawdown() {
+        return peak - equity;
+    }
+
+    /**
+     * Returns the distribution of the R multiples of the orders.
+     *
+     * @return a copy of the histogram of the R multiples
+     */
+    public LogHistogram getRHistogram() {
+        return rHistogram.copy();
+    }
+
+    /**
+     * Returns the distribution of the maximum favorable excursions of the orders.
+     *
+     * @return a copy of the histogram of the maximum favorable excursions
+     */
+    public LogHistogram getMfeHistogram() {
+        return mfeHistogram.copy();
+    }
+
+    /**
+     * Returns the distribution of the maximum adverse excursions of the orders.
+     *
+     * @return a copy of the histogram of the maximum adverse excursions
+     */
+    public LogHistogram getMaeHistogram() {
+        return maeHistogram.copy();
+    }
+
+    /**
+     * Returns the performance metrics of everything accumulated so far.
+     *
+     * @return the performance metrics
+     */
+    public PerformanceDTO toPerformance() {
+        double trades = wins + losses;
+        var winRate = wins / trades;
+        var lossRate = losses / trades;
+        var winAverage = winRSum / wins;
+        var lossAverage = lossRSum / losses;
+        var dailyStdDev = Math.sqrt(returnM2 / (sessions - 1));
+        return new PerformanceDTO(
+                wins,
+                losses,
+                winRate,
+                winAverage,
+                lossAverage,
+                mfeSum / trades,
+                maeSum / trades,
+                maxWinStreak,
+                maxLossStreak,
+                maxDrawdown,
+                (returnMean / dailyStdDev) * Math.sqrt(TRADING_DAYS),
+                (winRate * winAverage) - (lossRate * lossAverage * -1));
+    }
+
+    /**
+     * Retrieves the price result of an order, positive when the order made money.
+     *
+     * @param order the order
+     * @return the price difference between the entry and the close, in the order's favor
+     */
+    public static double getResult(final OrderDTO order) {
+        return order.direction() == Direction.BUY
+                ? order.closePrice() - order.entry()
+                : order.entry() - order.closePrice();
+    }
+
+    /**
+     * Retrieves the result of an order in multiples of its risk.
+     *
+     * @param order the order
+     * @return the R multiple of the order
+     */
+    public static double getRMultiple(final OrderDTO order) {
+        var risk =
+                order.direction() == Direction.BUY
+                        ? order.entry() - order.SL()
+                        : order.SL() - order.entry();
+        return getResult(order) / risk;
+    }
+
+    /**
+     * Retrieves the maximum favorable excursion of an order, capped at its take profit.
+     *
+     * @param order the order
+     * @return the maximum favorable excursion
+     */
+    public static double getMfe(final OrderDTO order) {
+        var favorable = order.orderStatsDTO().getMaximumFavorablePrice();
+        return order.direction() == Direction.BUY
+                ? Math.min(favorable, order.TP()) - order.entry()
+                : order.entry() - Math.max(favorable, order.TP());
+    }
+
+    /**
+     * Retrieves the maximum adverse excursion of an order, capped at its stop loss.
+     *
+     * @param order the order
+     * @return the maximum adverse excursion
+     */
+    public static double getMae(final OrderDTO order) {
+        var adverse = order.orderStatsDTO().getMaximumAdversePrice();
+        return order.direction() == Direction.BUY
+                ? Math.max(adverse, order.SL()) - order.entry()
+                : order.entry() - Math.min(adverse, order.SL());
+    }
+}
@@ -0,0 +1,281 @@
+package com.quarteredge.core.event;
+
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OverflowPolicy;
+import com.quarteredge.core.util.MpscRingBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncEventSink class.
+ *
+ * <p>This sink hands every event to a delegate sink on a background thread, so that the threads
+ * running the simulation never wait for I/O. Events are passed through a bounded, lock-free {@link
+ * MpscRingBuffer}; the background thread drains them in batches, forwards them to the delegate in
+ * order and calls {@link BacktestEventSink#flush()} after every batch.
+ *
+ * <p>What happens when the ring is full because the delegate cannot keep up depends on the {@link
+ * OverflowPolicy} of the sink. With {@link OverflowPolicy#DROP}, the default, recording an event
+ * never blocks: the event is dropped and counted in {@link #getDroppedEvents()}, so the capacity
+ * should be sized for the expected bursts. With {@link OverflowPolicy#BLOCK}, the recording thread
+ * spins for a short while and then parks until there is room, so a durable delegate never loses an
+ * event. Closing the sink waits for the events being recorded, delivers every queued event, then
+ * closes the delegate; events recorded after that are dropped.
+ *
+ * <p>Orders are forwarded as they were when the event was recorded, except for their {@link
+ * com.quarteredge.core.model.OrderStatsDTO}, which is shared with the simulation and may already
+ * reflect later candles.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see BacktestEventSink
+ */
+public final class AsyncEventSink implements BacktestEventSink {
+    /** The default capacity of the ring. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** The maximum number of events forwarded between two flushes. */
+    private static final int BATCH_SIZE = 1024;
+
+    /** The time the background thread sleeps when there is nothing to forward. */
+    private static final long IDLE_PARK_NANOS = 100_000;
+
+    /** The number of failed offers a blocked recording thread spins for before it parks. */
+    private static final int SPIN_LIMIT = 1_000;
+
+    /** The sink that the events are forwarded to. */
+    private final BacktestEventSink delegate;
+
+    /** The events waiting to be forwarded. */
+    private final MpscRingBuffer<Event> events;
+
+    /** The policy applied when the ring is full. */
+    private final OverflowPolicy overflow;
+
+    /** The number of events dropped because the ring was full. */
+    private final LongAdder dropped = new LongAdder();
+
+    /** The number of threads recording an event, which closing the sink waits for. */
+    private final AtomicInteger publishers = new AtomicInteger();
+
+    /** The background thread forwarding the events. */
+    private final Thread worker;
+
+    /** Flag indicating if the sink was closed, after which new events are dropped. */
+    private volatile boolean closed;
+
+    /** Flag telling the background thread to stop once the ring is empty. */
+    private volatile boolean stopping;
+
+    /** The first exception thrown by the delegate, if any. */
+    private volatile RuntimeException failure;
+
+    /**
+     * Constructs a new AsyncEventSink with the default capacity.
+     *
+     * @param delegate the sink that the events are forwarded to
+     */
+    public AsyncEventSink(final BacktestEventSink delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new AsyncEventSink that drops events when its ring is full.
+     *
+     * @param delegate the sink that the events are forwarded to
+     * @param capacity the maximum number of queued events, a power of two
+     */
+    public AsyncEventSink(final BacktestEventSink delegate, final int capacity) {
+        this(delegate, capacity, OverflowPolicy.DROP);
+    }
+
+    /**
+     * Constructs a new AsyncEventSink and starts its background thread.
+     *
+     * @param delegate the sink that the events are forwarded to
+     * @param capacity the maximum number of queued events, a power of two
+     * @param overflow the policy applied when the ring is full
+     */
+    public AsyncEventSink(
+            final BacktestEventSink delegate, final int capacity, final OverflowPolicy overflow) {
+        this.delegate = delegate;
+        this.events = new MpscRingBuffer<>(capacity);
+        this.overflow = overflow;
+        this.worker =
+                Thread.ofPlatform().name("quarteredge-event-sink").daemon().start(this::forward);
+    }
+
+    @Override
+    public void sessionStarted(final String sessionDate) {
+        publish(new Event(Type.SESSION_STARTED, sessionDate, null, null));
+    }
+
+    @Override
+    public void sessionCompleted(final String sessionDate, final List<OrderDTO> orders) {
+        publish(new Event(Type.SESSION_COMPLETED, sessionDate, null, List.copyOf(orders)));
+    }
+
+    @Override
+    public void orderCreated(final OrderDTO order) {
+        publish(new Event(Type.ORDER_CREATED, null, order, null));
+    }
+
+    @Override
+    public void orderFilled(final OrderDTO order) {
+        publish(new Event(Type.ORDER_FILLED, null, order, null));
+    }
+
+    @Override
+    public void orderClosed(final OrderDTO order) {
+        publish(new Event(Type.ORDER_CLOSED, null, order, null));
+    }
+
+    /**
+     * Returns the number of events dropped because the ring was full, the sink was closed or the
+     * delegate failed.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits for the events being recorded, delivers every queued event, then closes the delegate.
+     * Events recorded after the sink was closed are dropped.
+     *
+     * @throws IllegalStateException if the delegate failed while handling an event
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // a thread that saw the sink open may still be offering its event
+        while (publishers.get() != 0) {
+            Thread.yield();
+        }
+        stopping = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+        if (failure != null) {
+            throw new IllegalStateException("Event sink delegate failed", failure);
+        }
+    }
+
+    /**
+     * Queues an event, dropping it if the sink is closed. If the ring is full, the event is dropped
+     * with {@link OverflowPolicy#DROP}; otherwise the calling thread waits until there is room.
+     *
+     * @param event the event to queue
+     */
+    private void publish(final Event event) {
+        publishers.incrementAndGet();
+        try {
+            if (closed) {
+                dropped.increment();
+                return;
+            }
+            int idle = 0;
+            while (!events.offer(event)) {
+                if (overflow == OverflowPolicy.DROP) {
+                    dropped.increment();
+                    return;
+                }
+                // the background thread keeps draining until every publisher is done
+                if (++idle < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+        } finally {
+            publishers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Forwards queued events to the delegate until the sink is closed, no event is being recorded
+     * and the ring is empty. Once the delegate has failed, the remaining events are dropped.
+     */
+    private void forward() {
+        while (true) {
+            var done = stopping;
+            int forwarded = 0;
+            try {
+                forwarded = events.drain(this::dispatch, BATCH_SIZE);
+                if (forwarded > 0 && failure == null) {
+                    delegate.flush();
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+                dropped.increment();
+                forwarded = 1;
+            }
+            if (forwarded == 0) {
+                if (done) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Forwards a single event to the delegate.
+     *
+     * @param event the event to forward
+     */
+    private void dispatch(final Event event) {
+        if (failure != null) {
+            dropped.increment();
+            return;
+        }
+        switch (event.type()) {
+            case SESSION_STARTED -> delegate.sessionStarted(event.sessionDate());
+            case SESSION_COMPLETED ->
+                    delegate.sessionCompleted(event.sessionDate(), event.orders());
+            case ORDER_CREATED -> delegate.orderCreated(event.order());
+            case ORDER_FILLED -> delegate.orderFilled(event.order());
+            case ORDER_CLOSED -> delegate.orderClosed(event.order());
+            default -> throw new IllegalStateException("Unknown event: " + event.type());
+        }
+    }
+
+    /** The kinds of queued events. */
+    private enum Type {
+        /** A session started. */
+        SESSION_STARTED,
+
+        /** A session completed. */
+        SESSION_COMPLETED,
+
+        /** An order was created. */
+        ORDER_CREATED,
+
+        /** An order was filled. */
+        ORDER_FILLED,
+
+        /** An order was closed. */
+        ORDER_CLOSED
+    }
+
+    /**
+     * A queued event.
+     *
+     * @param type the kind of the event
+     * @param sessionDate the date of the session, for session events
+     * @param order the order, for order events
+     * @param orders the orders of the session, for completed sessions
+     */
+    private record Event(Type type, String sessionDate, OrderDTO order, List<OrderDTO> orders) {}
+}
@@ -0,0 +1,66 @@
+package com.quarteredge.core.event;
+
+import com.quarteredge.core.model.OrderDTO;
+import java.util.List;
+
+/**
+ * Receives the events of a running backtest, e.g. to log them or write them to disk.
+ *
+ * <p>Every method has an empty default implementation, so sinks only override the events they care
+ * about. {@link #NONE} ignores every event and is the fastest choice when nothing needs to be
+ * recorded. Sinks that do I/O should be wrapped in an {@link AsyncEventSink}, so that the
+ * simulation never waits for them.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see AsyncEventSink
+ * @see ConsoleEventSink
+ */
+public interface BacktestEventSink extends AutoCloseable {
+    /** A sink that ignores every event. */
+    BacktestEventSink NONE = new BacktestEventSink() {};
+
+    /**
+     * Called before the first candle of a session is processed.
+     *
+     * @param sessionDate the date of the session
+     */
+    default void sessionStarted(final String sessionDate) {}
+
+    /**
+     * Called after the last candle of a session was processed.
+     *
+     * @param sessionDate the date of the session
+     * @param orders the orders of the session, in their final state
+     */
+    default void sessionCompleted(final String sessionDate, final List<OrderDTO> orders) {}
+
+    /**
+     * Called when the strategy creates a new order.
+     *
+     * @param order the new order
+     */
+    default void orderCreated(final OrderDTO order) {}
+
+    /**
+     * Called when an order is filled at its entry price.
+     *
+     * @param order the filled order
+     */
+    default void orderFilled(final OrderDTO order) {}
+
+    /**
+     * Called when an order is closed or canceled.
+     *
+     * @param order the closed order
+     */
+    default void orderClosed(final OrderDTO order) {}
+
+    /** Writes out any buffered events. Called after every batch by an {@link AsyncEventSink}. */
+    default void flush() {}
+
+    /** Flushes and releases any resources held by the sink. */
+    @Override
+    default void close() {}
+}
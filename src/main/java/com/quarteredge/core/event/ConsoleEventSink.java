@@ -0,0 +1,42 @@
+package com.quarteredge.core.event;
+
+import com.quarteredge.core.model.OrderDTO;
+import java.util.List;
+
+/**
+ * ConsoleEventSink class.
+ *
+ * <p>This sink prints the date and the orders of every completed session, in the same format that
+ * {@code BacktestService} used to print them. Output is collected in a buffer and printed in one
+ * write per {@link #flush()}, so it is best used behind an {@link AsyncEventSink}.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see AsyncEventSink
+ */
+public final class ConsoleEventSink implements BacktestEventSink {
+    /** The output that has not been printed yet. */
+    private final StringBuilder pending = new StringBuilder();
+
+    @Override
+    public void sessionCompleted(final String sessionDate, final List<OrderDTO> orders) {
+        pending.append(sessionDate).append(System.lineSeparator());
+        for (OrderDTO order : orders) {
+            pending.append(order).append(System.lineSeparator());
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (!pending.isEmpty()) {
+            IO.print(pending);
+            pending.setLength(0);
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
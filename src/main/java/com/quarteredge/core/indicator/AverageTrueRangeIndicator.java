@@ -1,9 +1,12 @@
 package com.quarteredge.core.indicator;
 
 import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.storage.Snapshottable;
+import com.quarteredge.core.storage.StateCodec;
 import com.quarteredge.core.util.FifoQueue;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 
 /**
  * Implementation of the Average True Range (ATR) technical indicator.
@@ -27,7 +30,7 @@ import java.math.RoundingMode;
  * @see CandleDTO
  * @see Indicator
  */
-public class AverageTrueRangeIndicator implements Indicator {
+public class AverageTrueRangeIndicator implements Indicator, Snapshottable {
     /** The period used for calculating the ATR. */
     private final int length;
 
@@ -82,6 +85,35 @@ public class AverageTrueRangeIndicator implements Indicator {
         return atr;
     }
 
+    /**
+     * Writes the true range window and the current ATR value.
+     *
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void writeState(final ByteBuffer buffer) {
+        buffer.putInt(dataQueue.size());
+        for (BigDecimal value : dataQueue.getQueue()) {
+            StateCodec.putDecimal(buffer, value);
+        }
+        StateCodec.putDecimal(buffer, atr);
+    }
+
+    /**
+     * Restores the true range window and the current ATR value.
+     *
+     * @param buffer the buffer to read from
+     */
+    @Override
+    public void readState(final ByteBuffer buffer) {
+        dataQueue.getQueue().clear();
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            dataQueue.add(StateCodec.getDecimal(buffer));
+        }
+        atr = StateCodec.getDecimal(buffer);
+    }
+
     /**
      * Calculates the ATR based on the current candlestick data.
      *
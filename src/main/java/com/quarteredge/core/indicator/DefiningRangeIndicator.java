@@ -7,6 +7,9 @@ import static com.quarteredge.core.util.Constants.RDR_SESSION_START_TIME;
 import com.quarteredge.core.model.CandleDTO;
 import com.quarteredge.core.model.DefiningRangeDTO;
 import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.storage.Snapshottable;
+import com.quarteredge.core.storage.StateCodec;
+import java.nio.ByteBuffer;
 
 /**
  * An indicator that tracks the defining range and implied defining range (IDR) during the Regular
@@ -29,7 +32,7 @@ import com.quarteredge.core.model.Direction;
  * @see Indicator
  * @see DefiningRangeDTO
  */
-public class DefiningRangeIndicator implements Indicator {
+public class DefiningRangeIndicator implements Indicator, Snapshottable {
     /** The highest price observed during the RTH session. */
     private double drHigh;
 
@@ -121,6 +124,51 @@ public class DefiningRangeIndicator implements Indicator {
         return definingRangeDTO != null;
     }
 
+    /**
+     * Writes the ranges of the session, the formed defining range and the breakout state.
+     *
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void writeState(final ByteBuffer buffer) {
+        buffer.putDouble(drHigh);
+        buffer.putDouble(drLow);
+        buffer.putDouble(idrHigh);
+        buffer.putDouble(idrLow);
+        buffer.put((byte) (breakoutHasOccurred ? 1 : 0));
+        StateCodec.putEnum(buffer, direction);
+        buffer.put((byte) (definingRangeDTO != null ? 1 : 0));
+        if (definingRangeDTO != null) {
+            buffer.putDouble(definingRangeDTO.drHigh());
+            buffer.putDouble(definingRangeDTO.drLow());
+            buffer.putDouble(definingRangeDTO.idrHigh());
+            buffer.putDouble(definingRangeDTO.idrLow());
+        }
+    }
+
+    /**
+     * Restores the ranges of the session, the formed defining range and the breakout state.
+     *
+     * @param buffer the buffer to read from
+     */
+    @Override
+    public void readState(final ByteBuffer buffer) {
+        drHigh = buffer.getDouble();
+        drLow = buffer.getDouble();
+        idrHigh = buffer.getDouble();
+        idrLow = buffer.getDouble();
+        breakoutHasOccurred = buffer.get() != 0;
+        direction = StateCodec.getEnum(buffer, Direction.values());
+        definingRangeDTO =
+                buffer.get() != 0
+                        ? new DefiningRangeDTO(
+                                buffer.getDouble(),
+                                buffer.getDouble(),
+                                buffer.getDouble(),
+                                buffer.getDouble())
+                        : null;
+    }
+
     /**
      * Returns the flag defining if a breakout has occurred.
      *
@@ -148,6 +196,15 @@ public class DefiningRangeIndicator implements Indicator {
         return drLow;
     }
 
+    /**
+     * Returns the defining range formed at the end of the RDR session.
+     *
+     * @return the defining range, or {@code null} if it has not been formed yet
+     */
+    public DefiningRangeDTO getDefiningRange() {
+        return definingRangeDTO;
+    }
+
     /**
      * Returns the direction of the defining range.
      *
@@ -1,9 +1,12 @@
 package com.quarteredge.core.indicator;
 
 import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.storage.Snapshottable;
+import com.quarteredge.core.storage.StateCodec;
 import com.quarteredge.core.util.FifoQueue;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 
 /**
  * Simple Moving Average (SMA) indicator implementation.
@@ -19,7 +22,7 @@ import java.math.RoundingMode;
  * @see Indicator
  * @see CandleDTO
  */
-public class MovingAverageIndicator implements Indicator {
+public class MovingAverageIndicator implements Indicator, Snapshottable {
     /**
      * Queue that maintains the rolling window of price data points. The size of this queue is
      * limited to the specified length.
@@ -80,6 +83,37 @@ public class MovingAverageIndicator implements Indicator {
         return val;
     }
 
+    /**
+     * Writes the rolling window, the running sum and the current value.
+     *
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void writeState(final ByteBuffer buffer) {
+        buffer.putInt(dataQueue.size());
+        for (BigDecimal value : dataQueue.getQueue()) {
+            StateCodec.putDecimal(buffer, value);
+        }
+        StateCodec.putDecimal(buffer, total);
+        StateCodec.putDecimal(buffer, val);
+    }
+
+    /**
+     * Restores the rolling window, the running sum and the current value.
+     *
+     * @param buffer the buffer to read from
+     */
+    @Override
+    public void readState(final ByteBuffer buffer) {
+        dataQueue.getQueue().clear();
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            dataQueue.add(StateCodec.getDecimal(buffer));
+        }
+        total = StateCodec.getDecimal(buffer);
+        val = StateCodec.getDecimal(buffer);
+    }
+
     /**
      * Calculates the moving average based on the new input value.
      *
@@ -0,0 +1,228 @@
+package com.quarteredge.core.live;
+
+import com.quarteredge.core.metrics.Counter;
+import com.quarteredge.core.metrics.Metrics;
+import com.quarteredge.core.model.BackpressurePolicy;
+import com.quarteredge.core.model.CandleDTO;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BarChannel class.
+ *
+ * <p>This class passes bars from a single feed thread to a single strategy thread through a
+ * bounded ring of preallocated slots, like {@link com.quarteredge.core.util.SpscRingBuffer}, and
+ * applies a {@link BackpressurePolicy} when the strategy falls behind:
+ *
+ * <ul>
+ *   <li>{@link BackpressurePolicy#BLOCK} refuses a bar while the ring is full, and the feed
+ *       retries until the strategy takes one;
+ *   <li>{@link BackpressurePolicy#DROP_OLDEST} never refuses a bar: when the ring is full, the
+ *       feed moves the head past the oldest bar and reuses its slot;
+ *   <li>{@link BackpressurePolicy#COALESCE} refuses a bar while the ring is full like {@code
+ *       BLOCK}, but the strategy skips every waiting bar that is followed by a later update of the
+ *       same bar, so partial bars are merged into their latest state.
+ * </ul>
+ *
+ * <p>Since the feed may move the head to drop a bar, the strategy takes a bar by reading its slot
+ * and then moving the head with a compare-and-set; if the bar was dropped meanwhile, the slot may
+ * have been overwritten, so the read is discarded and the strategy tries the next bar. Dropped and
+ * merged bars are counted, and also recorded in {@link Metrics} when it is enabled.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see BackpressurePolicy
+ * @see com.quarteredge.core.service.TradingService
+ */
+public final class BarChannel {
+    /** The slots of the ring. */
+    private final Slot[] slots;
+
+    /** The mask used to map a sequence number to a slot. */
+    private final int mask;
+
+    /** The policy applied when the ring is full. */
+    private final BackpressurePolicy policy;
+
+    /** The sequence number of the next slot to be published; only written by the feed. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** The sequence number of the next slot to be read. */
+    private final AtomicLong head = new AtomicLong();
+
+    /** The number of bars dropped to make room for newer ones. */
+    private final LongAdder dropped = new LongAdder();
+
+    /** The number of bars merged into a later update of the same bar. */
+    private final LongAdder merged = new LongAdder();
+
+    /** The feed's last known value of the head. */
+    private long cachedHead;
+
+    /** The time the last bar taken by the strategy was received. */
+    private long polledReceivedNanos;
+
+    /**
+     * Constructs a new BarChannel and creates all of its slots.
+     *
+     * @param capacity the capacity of the ring, a power of two
+     * @param policy the policy applied when the ring is full
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     */
+    public BarChannel(final int capacity, final BackpressurePolicy policy) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        this.policy = policy;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Returns the capacity of the ring.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the policy applied when the ring is full.
+     *
+     * @return the policy
+     */
+    public BackpressurePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Adds a bar if the policy allows it. Must only be called from the feed thread; never blocks.
+     *
+     * @param candle the bar
+     * @param receivedNanos the time the bar was received
+     * @return {@code true} if the bar was added, {@code false} if the ring is full and the policy
+     *     does not drop bars
+     */
+    public boolean offer(final CandleDTO candle, final long receivedNanos) {
+        long sequence = tail.getPlain();
+        if (sequence - cachedHead > mask) {
+            cachedHead = head.get();
+            if (sequence - cachedHead > mask) {
+                if (policy != BackpressurePolicy.DROP_OLDEST) {
+                    return false;
+                }
+                // if the strategy moved the head first, its bar was taken and there is room anyway
+                if (head.compareAndSet(cachedHead, cachedHead + 1)) {
+                    dropped.increment();
+                    Metrics.increment(Counter.DROPPED_BARS);
+                }
+                cachedHead = head.get();
+            }
+        }
+        var slot = slots[(int) sequence & mask];
+        slot.candle = candle;
+        slot.receivedNanos = receivedNanos;
+        tail.setRelease(sequence + 1);
+        return true;
+    }
+
+    /**
+     * Takes the oldest bar, or with {@link BackpressurePolicy#COALESCE} the latest update of the
+     * oldest bar. Must only be called from the strategy thread; never blocks.
+     *
+     * @return the bar, or {@code null} if there is none
+     */
+    public CandleDTO poll() {
+        long firstReceived = -1;
+        while (true) {
+            long sequence = head.get();
+            long published = tail.getAcquire();
+            if (sequence >= published) {
+                return null;
+            }
+            var slot = slots[(int) sequence & mask];
+            var candle = slot.candle;
+            var received = slot.receivedNanos;
+            if (!head.compareAndSet(sequence, sequence + 1)) {
+                // dropped by the feed while it was read, so the slot may hold a newer bar
+                continue;
+            }
+            if (firstReceived < 0) {
+                firstReceived = received;
+            }
+            if (policy == BackpressurePolicy.COALESCE
+                    && sequence + 1 < published
+                    && isSameBar(candle, slots[(int) (sequence + 1) & mask].candle)) {
+                merged.increment();
+                Metrics.increment(Counter.MERGED_BARS);
+                continue;
+            }
+            polledReceivedNanos = firstReceived;
+            return candle;
+        }
+    }
+
+    /**
+     * Returns the time the last bar taken with {@link #poll()} was received; for merged bars, the
+     * time their first update was received. Must only be called from the strategy thread.
+     *
+     * @return the time the bar was received
+     */
+    public long getPolledReceivedNanos() {
+        return polledReceivedNanos;
+    }
+
+    /**
+     * Returns the number of bars waiting for the strategy. Safe to call from any thread, though the
+     * value may be stale by the time it is read.
+     *
+     * @return the number of waiting bars
+     */
+    public int size() {
+        long readHead = head.get();
+        return (int) Math.max(0, tail.getAcquire() - readHead);
+    }
+
+    /**
+     * Returns the number of bars dropped to make room for newer ones.
+     *
+     * @return the number of dropped bars
+     */
+    public long getDroppedBars() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of bars merged into a later update of the same bar.
+     *
+     * @return the number of merged bars
+     */
+    public long getMergedBars() {
+        return merged.sum();
+    }
+
+    /**
+     * Checks if two candles are updates of the same bar.
+     *
+     * @param first the first candle
+     * @param second the second candle
+     * @return {@code true} if both candles have the same date and time
+     */
+    private static boolean isSameBar(final CandleDTO first, final CandleDTO second) {
+        return first.time().equals(second.time()) && first.date().equals(second.date());
+    }
+
+    /** A preallocated slot of the ring. */
+    private static final class Slot {
+        /** The bar. */
+        private CandleDTO candle;
+
+        /** The time the bar was received. */
+        private long receivedNanos;
+    }
+}
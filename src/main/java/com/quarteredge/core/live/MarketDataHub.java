@@ -0,0 +1,286 @@
+package com.quarteredge.core.live;
+
+import com.quarteredge.core.model.BackpressurePolicy;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderIntentDTO;
+import com.quarteredge.core.strategy.Strategy;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * MarketDataHub class.
+ *
+ * <p>This class fans a single market-data stream out to any number of strategies, for instance to
+ * paper trade many variants of {@link com.quarteredge.core.strategy.QuarterEdgeStrategy} and
+ * {@link com.quarteredge.core.strategy.MovingAverageCrossoverStrategy} at once. Every strategy is
+ * {@linkplain #subscribe(String, Strategy, Consumer) subscribed} with its own {@link Subscription},
+ * which runs it on a virtual thread fed by its own inbound {@link BarChannel}. The feed thread
+ * hands each bar to {@link #onBar(CandleDTO)}, which offers it to every subscription. By default
+ * a subscription that falls a full channel behind drops its oldest bars, so a slow or stuck
+ * strategy never delays the others. A strategy whose state would be corrupted by a missing bar can
+ * instead be subscribed with its own channel capacity and {@link BackpressurePolicy}, such as
+ * {@link BackpressurePolicy#BLOCK}, in which case the feed waits for it whenever its channel is
+ * full.
+ *
+ * <p>The throughput of the hub and the lag of every subscription are reported by {@link
+ * #report()}, which lists the subscriptions lagging the most.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see Subscription
+ * @see BarChannel
+ */
+public final class MarketDataHub implements AutoCloseable {
+    /** The default capacity of the inbound channel of every subscription. */
+    public static final int DEFAULT_CAPACITY = 1 << 10;
+
+    /** The number of subscriptions listed by {@link #report()}. */
+    private static final int REPORTED_LAGGARDS = 5;
+
+    /** The 50th percentile reported by {@link #report()}. */
+    private static final double P50 = 0.5;
+
+    /** The 99th percentile reported by {@link #report()}. */
+    private static final double P99 = 0.99;
+
+    /** The number of nanoseconds in a microsecond. */
+    private static final double NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    /** The number of nanoseconds in a second. */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** The default capacity of the inbound channel of a subscription. */
+    private final int capacity;
+
+    /** The subscriptions, in the order they were made. */
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /** The number of bars received from the feed. */
+    private final LongAdder publishedBars = new LongAdder();
+
+    /** The time the first bar was received, or {@code 0} if there was none yet. */
+    private volatile long firstBarNanos;
+
+    /** The time the hub was closed, or {@code 0} if it is still open. */
+    private volatile long closedNanos;
+
+    /** Flag indicating if the hub was closed. */
+    private volatile boolean closed;
+
+    /** Constructs a new MarketDataHub whose subscriptions have channels of the default capacity. */
+    public MarketDataHub() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new MarketDataHub.
+     *
+     * @param capacity the capacity of the inbound channel of the subscriptions that do not set
+     *     their own, a power of two
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     */
+    public MarketDataHub(final int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Subscribes a strategy whose orders are ignored.
+     *
+     * @param name the name of the subscription
+     * @param strategy the strategy to run
+     * @return the subscription
+     * @throws IllegalStateException if the hub was closed
+     */
+    public Subscription subscribe(final String name, final Strategy strategy) {
+        return subscribe(name, strategy, intent -> {});
+    }
+
+    /**
+     * Subscribes a strategy with a channel of the capacity of the hub, which drops the oldest bars
+     * when the strategy falls behind, and starts its virtual thread. The strategy receives every
+     * bar offered from then on.
+     *
+     * @param name the name of the subscription
+     * @param strategy the strategy to run
+     * @param orders the listener of the order intents created by the strategy, called on the
+     *     virtual thread of the subscription
+     * @return the subscription
+     * @throws IllegalStateException if the hub was closed
+     */
+    public Subscription subscribe(
+            final String name, final Strategy strategy, final Consumer<OrderIntentDTO> orders) {
+        return subscribe(name, strategy, capacity, BackpressurePolicy.DROP_OLDEST, orders);
+    }
+
+    /**
+     * Subscribes a strategy and starts its virtual thread. The strategy receives every bar offered
+     * from then on.
+     *
+     * @param name the name of the subscription
+     * @param strategy the strategy to run
+     * @param channelCapacity the capacity of the inbound channel of the subscription, a power of
+     *     two
+     * @param policy the policy applied when the strategy falls a full channel behind
+     * @param orders the listener of the order intents created by the strategy, called on the
+     *     virtual thread of the subscription
+     * @return the subscription
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     * @throws IllegalStateException if the hub was closed
+     */
+    public synchronized Subscription subscribe(
+            final String name,
+            final Strategy strategy,
+            final int channelCapacity,
+            final BackpressurePolicy policy,
+            final Consumer<OrderIntentDTO> orders) {
+        if (closed) {
+            throw new IllegalStateException("Market data hub is closed");
+        }
+        var subscription = new Subscription(name, strategy, channelCapacity, policy, orders);
+        // started before the feed thread can see it, so it never offers to a thread not yet running
+        subscription.start();
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Offers a bar to every subscription. Must only be called from the feed thread; only waits for
+     * a strategy that is a full channel behind and whose policy does not drop bars.
+     *
+     * @param candle the bar received from the feed
+     * @throws IllegalStateException if the hub was closed
+     */
+    public void onBar(final CandleDTO candle) {
+        if (closed) {
+            throw new IllegalStateException("Market data hub is closed");
+        }
+        var received = System.nanoTime();
+        if (firstBarNanos == 0) {
+            firstBarNanos = received;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(candle, received);
+        }
+        publishedBars.increment();
+    }
+
+    /**
+     * Returns the subscriptions, in the order they were made.
+     *
+     * @return an unmodifiable view of the subscriptions
+     */
+    public List<Subscription> getSubscriptions() {
+        return Collections.unmodifiableList(subscriptions);
+    }
+
+    /**
+     * Returns the number of bars received from the feed.
+     *
+     * @return the number of bars
+     */
+    public long getPublishedBars() {
+        return publishedBars.sum();
+    }
+
+    /**
+     * Returns the number of bars processed, summed over every subscription.
+     *
+     * @return the number of processed bars
+     */
+    public long getProcessedBars() {
+        return subscriptions.stream().mapToLong(Subscription::getProcessedBars).sum();
+    }
+
+    /**
+     * Returns the number of bars dropped, summed over every subscription.
+     *
+     * @return the number of dropped bars
+     */
+    public long getDroppedBars() {
+        return subscriptions.stream().mapToLong(Subscription::getDroppedBars).sum();
+    }
+
+    /**
+     * Returns the number of bars processed per second, summed over every subscription, from the
+     * receipt of the first bar until the hub was closed, or until now.
+     *
+     * @return the throughput, or {@code 0} if no bar was received
+     */
+    public double getThroughput() {
+        var first = firstBarNanos;
+        if (first == 0) {
+            return 0;
+        }
+        var end = closedNanos == 0 ? System.nanoTime() : closedNanos;
+        return getProcessedBars() * NANOS_PER_SECOND / Math.max(1, end - first);
+    }
+
+    /**
+     * Formats the throughput of the hub and the lag of the subscriptions lagging the most, in
+     * microseconds.
+     *
+     * @return the report
+     */
+    public String report() {
+        var failed = subscriptions.stream().filter(s -> s.getFailure() != null).count();
+        var report =
+                new StringBuilder(
+                        String.format(
+                                Locale.ROOT,
+                                """
+                                Subscriptions: %d (failed: %d)
+                                Bars: %d published, %d processed (%.0f/s), %d dropped
+                                Lag p50/p99/max (us), worst %d:
+                                """,
+                                subscriptions.size(),
+                                failed,
+                                getPublishedBars(),
+                                getProcessedBars(),
+                                getThroughput(),
+                                getDroppedBars(),
+                                REPORTED_LAGGARDS));
+        subscriptions.stream()
+                .sorted(
+                        Comparator.comparingLong(
+                                        (Subscription s) -> s.getLag().getPercentile(P99))
+                                .reversed())
+                .limit(REPORTED_LAGGARDS)
+                .forEach(
+                        s ->
+                                report.append(
+                                        String.format(
+                                                Locale.ROOT,
+                                                "  %-30s %.1f / %.1f / %.1f%n",
+                                                s.getName(),
+                                                s.getLag().getPercentile(P50) / NANOS_PER_MICRO,
+                                                s.getLag().getPercentile(P99) / NANOS_PER_MICRO,
+                                                s.getLag().getMaxNanos() / NANOS_PER_MICRO)));
+        return report.toString();
+    }
+
+    /**
+     * Lets every subscription process its waiting bars, then stops their virtual threads. Failed
+     * subscriptions are reported by {@link Subscription#getFailure()}.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+        closedNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,30 @@
+package com.quarteredge.core.live;
+
+import com.quarteredge.core.model.ExecutionReportDTO;
+import com.quarteredge.core.model.OrderIntentDTO;
+
+/**
+ * Routes the orders of a live strategy to an exchange.
+ *
+ * <p>Submitting an order only hands it to the gateway; what becomes of it is reported
+ * asynchronously as {@link ExecutionReportDTO}s, which carry the timestamps of every hop from the
+ * strategy to the exchange and back, and both the identifier assigned by the gateway and the
+ * {@linkplain OrderIntentDTO#clientOrderId() client identifier} of the intent, so that a journaled
+ * service can record every transition against the order it created. {@link SimulatedExchange} is
+ * an in-process stand-in for paper trading and testing.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see com.quarteredge.core.service.TradingService#routeIntents(OrderGateway)
+ * @see SimulatedExchange
+ */
+public interface OrderGateway {
+    /**
+     * Submits an order to the exchange.
+     *
+     * @param intent the order intent created by the strategy
+     * @return the identifier assigned to the order, used by its execution reports
+     */
+    long submit(OrderIntentDTO intent);
+}
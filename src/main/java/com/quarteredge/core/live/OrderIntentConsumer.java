@@ -0,0 +1,29 @@
+package com.quarteredge.core.live;
+
+import com.quarteredge.core.model.OrderDTO;
+
+/**
+ * Takes the fields of an order intent straight from the outbound ring of a live service.
+ *
+ * <p>Unlike a consumer of {@link com.quarteredge.core.model.OrderIntentDTO}, this interface lets
+ * the consumer thread take intents without allocating an object per intent.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see com.quarteredge.core.service.TradingService#drainIntents(OrderIntentConsumer)
+ */
+@FunctionalInterface
+public interface OrderIntentConsumer {
+    /**
+     * Takes an order intent.
+     *
+     * @param clientOrderId the identifier assigned to the order by the live service
+     * @param order the order created by the strategy
+     * @param barReceivedNanos the {@link System#nanoTime()} at which the bar that triggered the
+     *     order was received from the feed
+     * @param intentNanos the {@link System#nanoTime()} at which the order was handed to the
+     *     outbound ring
+     */
+    void accept(long clientOrderId, OrderDTO order, long barReceivedNanos, long intentNanos);
+}
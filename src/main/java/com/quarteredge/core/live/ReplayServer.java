@@ -0,0 +1,304 @@
+package com.quarteredge.core.live;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.ReplayStatsDTO;
+import com.quarteredge.core.util.Parser;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * ReplayServer class.
+ *
+ * <p>This class stands in for a live market-data feed by replaying recorded bars with their
+ * original timing, compressed by a speed multiplier: at a speed of 1 a five-minute bar follows the
+ * previous one after five minutes, at 100 after three seconds, and at {@link #MAX_SPEED} bars are
+ * published as fast as the consumer takes them. Pauses longer than the maximum pause, such as
+ * nights and weekends, are shortened to it. Bars are published on a schedule computed from the
+ * start of the replay, so a slow consumer does not make the replay drift; the delay of each bar
+ * behind its schedule is reported as lag.
+ *
+ * <p>Bars are published either in-process to a {@link Consumer}, or over a socket as lines of the
+ * {@link Parser} format, which {@link #receive(InputStream, Consumer)} reads back. Bursts and
+ * stalls can be injected at given bars to test how live components cope with them: a burst
+ * publishes a number of bars back to back, ignoring their schedule, while a stall holds the feed
+ * for a while, after which the delayed bars are published as fast as possible until the replay is
+ * back on schedule.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see Parser
+ * @see com.quarteredge.core.service.TradingService
+ */
+public final class ReplayServer {
+    /** The speed that publishes bars as fast as possible. */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    /** The default maximum pause between two bars, before the speed multiplier. */
+    private static final Duration DEFAULT_MAX_PAUSE = Duration.ofMinutes(30);
+
+    /** The number of nanoseconds in a second. */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** The bars to replay, in order. */
+    private final List<CandleDTO> candles;
+
+    /** The speed multiplier of the replay. */
+    private final double speed;
+
+    /** The number of bars of every burst, by the index of its first bar. */
+    private final Map<Integer, Integer> bursts = new TreeMap<>();
+
+    /** The duration of every stall, by the index of the bar it delays. */
+    private final Map<Integer, Duration> stalls = new TreeMap<>();
+
+    /** The longest pause between two bars, before the speed multiplier. */
+    private Duration maxPause = DEFAULT_MAX_PAUSE;
+
+    /**
+     * Constructs a new ReplayServer.
+     *
+     * @param sessions the sessions to replay, in chronological order
+     * @param speed the speed multiplier, or {@link #MAX_SPEED}
+     * @throws IllegalArgumentException if the speed is not positive
+     */
+    public ReplayServer(final Collection<List<CandleDTO>> sessions, final double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("speed must be positive: " + speed);
+        }
+        List<CandleDTO> all = new ArrayList<>();
+        sessions.forEach(all::addAll);
+        this.candles = List.copyOf(all);
+        this.speed = speed;
+    }
+
+    /**
+     * Creates a ReplayServer for the sessions of a data file.
+     *
+     * @param filePath the path to the data file
+     * @param speed the speed multiplier, or {@link #MAX_SPEED}
+     * @return the replay server
+     */
+    public static ReplayServer fromFile(final String filePath, final double speed) {
+        var parser = new Parser(new File(filePath));
+        parser.parse();
+        return new ReplayServer(parser.getSessionMap().values(), speed);
+    }
+
+    /**
+     * Sets the longest pause between two bars, before the speed multiplier.
+     *
+     * @param pause the longest pause
+     * @return this replay server
+     */
+    public ReplayServer withMaxPause(final Duration pause) {
+        this.maxPause = pause;
+        return this;
+    }
+
+    /**
+     * Injects a burst: the given bars are published back to back, ignoring their schedule.
+     *
+     * @param firstBar the index of the first bar of the burst
+     * @param bars the number of bars of the burst
+     * @return this replay server
+     */
+    public ReplayServer burst(final int firstBar, final int bars) {
+        bursts.put(firstBar, bars);
+        return this;
+    }
+
+    /**
+     * Injects a stall: the feed holds for the given duration before publishing the given bar.
+     *
+     * @param bar the index of the bar that is delayed
+     * @param pause the duration of the stall
+     * @return this replay server
+     */
+    public ReplayServer stall(final int bar, final Duration pause) {
+        stalls.put(bar, pause);
+        return this;
+    }
+
+    /**
+     * Returns the number of bars of the replay.
+     *
+     * @return the number of bars
+     */
+    public int size() {
+        return candles.size();
+    }
+
+    /**
+     * Replays every bar to a consumer on the calling thread.
+     *
+     * @param consumer the consumer of the bars
+     * @return the statistics of the replay
+     */
+    public ReplayStatsDTO replay(final Consumer<CandleDTO> consumer) {
+        var start = System.nanoTime();
+        long offset = 0;
+        long maxLag = 0;
+        int burstEnd = -1;
+        for (int i = 0; i < candles.size(); i++) {
+            var candle = candles.get(i);
+            if (i > 0) {
+                offset += scaledPause(candles.get(i - 1), candle);
+            }
+            var burst = bursts.get(i);
+            if (burst != null) {
+                burstEnd = i + burst;
+            }
+            var stall = stalls.get(i);
+            if (stall != null) {
+                waitUntil(System.nanoTime() + stall.toNanos());
+            }
+            var scheduled = start + offset;
+            if (i >= burstEnd) {
+                waitUntil(scheduled);
+            }
+            consumer.accept(candle);
+            maxLag = Math.max(maxLag, System.nanoTime() - scheduled);
+        }
+        var elapsed = System.nanoTime() - start;
+        var perSecond = elapsed > 0 ? candles.size() * NANOS_PER_SECOND / elapsed : 0;
+        return new ReplayStatsDTO(candles.size(), elapsed, perSecond, maxLag);
+    }
+
+    /**
+     * Replays every bar on a new feed thread.
+     *
+     * @param consumer the consumer of the bars, called from the feed thread
+     * @return the feed thread
+     */
+    public Thread start(final Consumer<CandleDTO> consumer) {
+        return Thread.ofPlatform()
+                .name("quarteredge-replay")
+                .daemon()
+                .start(() -> replay(consumer));
+    }
+
+    /**
+     * Waits for a single client on a socket and replays every bar to it as lines of the {@link
+     * Parser} format. The connection is closed once every bar was sent.
+     *
+     * @param server the socket to accept the client on, e.g. bound to the loopback address
+     * @return the statistics of the replay
+     * @throws IOException if the client could not be accepted or written to
+     */
+    public ReplayStatsDTO serve(final ServerSocket server) throws IOException {
+        try (var socket = server.accept();
+                var writer =
+                        new BufferedWriter(
+                                new OutputStreamWriter(
+                                        socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            socket.setTcpNoDelay(true);
+            var paced = speed != MAX_SPEED;
+            try {
+                return replay(candle -> send(writer, candle, paced));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Reads the bars sent by {@link #serve(ServerSocket)} until the end of the stream.
+     *
+     * @param stream the stream of the connection
+     * @param consumer the consumer of the bars
+     * @return the number of bars read
+     * @throws IOException if the stream could not be read
+     */
+    public static long receive(final InputStream stream, final Consumer<CandleDTO> consumer)
+            throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII));
+        long received = 0;
+        for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+            consumer.accept(Parser.parseLine(line));
+            received++;
+        }
+        return received;
+    }
+
+    /**
+     * Writes a bar to a client.
+     *
+     * @param writer the writer of the connection
+     * @param candle the bar
+     * @param flush flag indicating if the bar is sent right away
+     * @throws UncheckedIOException if the bar could not be written
+     */
+    private static void send(final Writer writer, final CandleDTO candle, final boolean flush) {
+        try {
+            writer.write(Parser.formatLine(candle));
+            writer.write('\n');
+            if (flush) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the time between two bars, shortened to the maximum pause and divided by the speed.
+     *
+     * @param previous the previous bar
+     * @param next the next bar
+     * @return the pause in nanoseconds
+     */
+    private long scaledPause(final CandleDTO previous, final CandleDTO next) {
+        if (speed == MAX_SPEED) {
+            return 0;
+        }
+        var pause = Duration.between(timestamp(previous), timestamp(next));
+        if (pause.compareTo(maxPause) > 0) {
+            pause = maxPause;
+        }
+        return (long) (Math.max(0, pause.toNanos()) / speed);
+    }
+
+    /**
+     * Returns the date and time a bar opened at.
+     *
+     * @param candle the bar
+     * @return the timestamp of the bar
+     */
+    private static LocalDateTime timestamp(final CandleDTO candle) {
+        return LocalDate.parse(candle.date()).atTime(candle.time());
+    }
+
+    /**
+     * Parks the calling thread until the given time.
+     *
+     * @param deadline the {@link System#nanoTime()} to wait for
+     */
+    private static void waitUntil(final long deadline) {
+        var wait = deadline - System.nanoTime();
+        while (wait > 0) {
+            LockSupport.parkNanos(wait);
+            wait = deadline - System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.quarteredge.core.live;
+
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+import static com.quarteredge.core.util.Constants.LAST_CANDLE_CLOSE_TIME;
+
+import com.quarteredge.core.metrics.LatencyHistogram;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.ExecutionReportDTO;
+import com.quarteredge.core.model.ExecutionType;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderIntentDTO;
+import com.quarteredge.core.model.OrderStatus;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * SimulatedExchange class.
+ *
+ * <p>This class is an in-process stand-in for an exchange, for paper trading and for profiling
+ * the live pipeline. Submitted orders reach the exchange after a configurable latency and are
+ * acknowledged at that time; from then on they are matched against every bar or tick passed to
+ * {@link #onBar(CandleDTO)} or {@link #onTick(LocalTime, double)}. Orders that arrive while the
+ * market data is quiet are acknowledged by the next call, or by {@link #poll()}.
+ *
+ * <p>Active orders, like the ones of {@link
+ * com.quarteredge.core.strategy.MovingAverageCrossoverStrategy}, are market orders and are filled
+ * at the open of the next bar. Pending orders, like the quarter-level entries of {@link
+ * com.quarteredge.core.strategy.QuarterEdgeStrategy}, are stop or limit orders depending on the
+ * side of the last price their entry was on when they arrived, and are filled at their entry, or
+ * at the open if the market gapped through it. Like in a backtest, pending orders are not filled
+ * on the first candle of a trading day and are canceled on its last candle. Only entries are
+ * simulated; the stop loss and take profit stay with the caller.
+ *
+ * <p>Every report carries the timestamps of the signal, submit, ack and fill hops, and the
+ * latency from the receipt of the triggering bar to the fill is recorded in a histogram. Reports
+ * are sent to the listener synchronously, from whichever thread caused them. The methods are
+ * synchronized, so the feed and the order router may run on different threads.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see OrderGateway
+ * @see ExecutionReportDTO
+ */
+public final class SimulatedExchange implements OrderGateway {
+    /** The 50th percentile reported by {@link #report()}. */
+    private static final double P50 = 0.5;
+
+    /** The 99th percentile reported by {@link #report()}. */
+    private static final double P99 = 0.99;
+
+    /** The number of nanoseconds in a microsecond. */
+    private static final double NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    /** The time an order takes to reach the exchange, in nanoseconds. */
+    private final long latencyNanos;
+
+    /** The listener of the execution reports. */
+    private final Consumer<ExecutionReportDTO> listener;
+
+    /** The orders on their way to the exchange, in the order they were submitted. */
+    private final Queue<WorkingOrder> inFlight = new ArrayDeque<>();
+
+    /** The orders acknowledged by the exchange and waiting to be filled. */
+    private final List<WorkingOrder> working = new ArrayList<>();
+
+    /** The latency from the submission of an order to its acknowledgement. */
+    private final LatencyHistogram ackLatency = new LatencyHistogram();
+
+    /** The latency from the receipt of the triggering bar to the fill of an order. */
+    private final LatencyHistogram roundTripLatency = new LatencyHistogram();
+
+    /** The identifier of the next order. */
+    private long nextOrderId = 1;
+
+    /** The last price traded, or {@code NaN} before the first bar. */
+    private double lastPrice = Double.NaN;
+
+    /**
+     * Constructs a new SimulatedExchange.
+     *
+     * @param latency the time an order takes to reach the exchange
+     * @param listener the listener of the execution reports
+     */
+    public SimulatedExchange(final Duration latency, final Consumer<ExecutionReportDTO> listener) {
+        this.latencyNanos = latency.toNanos();
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized long submit(final OrderIntentDTO intent) {
+        var now = System.nanoTime();
+        var order = new WorkingOrder(nextOrderId++, intent, now);
+        inFlight.add(order);
+        deliver(now);
+        return order.id;
+    }
+
+    /** Acknowledges every order that has reached the exchange by now. */
+    public synchronized void poll() {
+        deliver(System.nanoTime());
+    }
+
+    /**
+     * Matches the working orders against a bar.
+     *
+     * @param candle the bar
+     */
+    public synchronized void onBar(final CandleDTO candle) {
+        match(candle.time(), candle.open(), candle.high(), candle.low());
+        lastPrice = candle.close();
+    }
+
+    /**
+     * Matches the working orders against a tick.
+     *
+     * @param time the time of the tick
+     * @param price the price of the tick
+     */
+    public synchronized void onTick(final LocalTime time, final double price) {
+        match(time, price, price, price);
+        lastPrice = price;
+    }
+
+    /**
+     * Returns the number of orders acknowledged and not yet filled or canceled.
+     *
+     * @return the number of working orders
+     */
+    public synchronized int getWorkingOrders() {
+        return working.size();
+    }
+
+    /**
+     * Returns the latency from the submission of an order to its acknowledgement.
+     *
+     * @return the histogram of the latencies, in nanoseconds
+     */
+    public LatencyHistogram getAckLatency() {
+        return ackLatency;
+    }
+
+    /**
+     * Returns the latency from the receipt of the bar that triggered an order to its fill.
+     *
+     * @return the histogram of the latencies, in nanoseconds
+     */
+    public LatencyHistogram getRoundTripLatency() {
+        return roundTripLatency;
+    }
+
+    /**
+     * Formats the latencies of the exchange in microseconds.
+     *
+     * @return the report
+     */
+    public String report() {
+        return String.format(
+                Locale.ROOT,
+                """
+                Acks: %d, Ack Latency p50/p99/max (us): %.1f / %.1f / %.1f
+                Fills: %d, Round Trip p50/p99/max (us): %.1f / %.1f / %.1f
+                """,
+                ackLatency.getCount(),
+                ackLatency.getPercentile(P50) / NANOS_PER_MICRO,
+                ackLatency.getPercentile(P99) / NANOS_PER_MICRO,
+                ackLatency.getMaxNanos() / NANOS_PER_MICRO,
+                roundTripLatency.getCount(),
+                roundTripLatency.getPercentile(P50) / NANOS_PER_MICRO,
+                roundTripLatency.getPercentile(P99) / NANOS_PER_MICRO,
+                roundTripLatency.getMaxNanos() / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Acknowledges every order that has reached the exchange, at the time it arrived.
+     *
+     * @param now the current time
+     */
+    private void deliver(final long now) {
+        while (!inFlight.isEmpty() && inFlight.peek().submitNanos + latencyNanos <= now) {
+            var order = inFlight.poll();
+            order.ackNanos = order.submitNanos + latencyNanos;
+            order.reference = lastPrice;
+            working.add(order);
+            ackLatency.record(order.ackNanos - order.submitNanos);
+            listener.accept(report(order, ExecutionType.ACK, order.intent.order(), -1, -1));
+        }
+    }
+
+    /**
+     * Matches the working orders against a bar or tick.
+     *
+     * @param time the time of the bar or tick
+     * @param open the first price
+     * @param high the highest price
+     * @param low the lowest price
+     */
+    private void match(
+            final LocalTime time, final double open, final double high, final double low) {
+        var now = System.nanoTime();
+        deliver(now);
+        var closing = !time.isBefore(LAST_CANDLE_CLOSE_TIME);
+        Iterator<WorkingOrder> iterator = working.iterator();
+        while (iterator.hasNext()) {
+            var submitted = iterator.next();
+            var order = submitted.intent.order();
+            if (order.status() == OrderStatus.ACTIVE) {
+                fill(submitted, time, open, now);
+                iterator.remove();
+            } else if (closing) {
+                var canceled = withStatus(order, OrderStatus.CLOSED_CANCELED, null, time);
+                listener.accept(report(submitted, ExecutionType.CANCEL, canceled, -1, -1));
+                iterator.remove();
+            } else if (!time.equals(FIRST_CANDLE_OPEN_TIME)) {
+                var price = getFillPrice(submitted, open, high, low);
+                if (!Double.isNaN(price)) {
+                    fill(submitted, time, price, now);
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the price a pending order is filled at by a bar.
+     *
+     * @param submitted the pending order
+     * @param open the first price of the bar
+     * @param high the highest price of the bar
+     * @param low the lowest price of the bar
+     * @return the fill price, or {@code NaN} if the bar does not reach the entry
+     */
+    private static double getFillPrice(
+            final WorkingOrder submitted, final double open, final double high, final double low) {
+        var entry = submitted.intent.order().entry();
+        if (Double.isNaN(submitted.reference)) {
+            return entry <= high && entry >= low ? entry : Double.NaN;
+        }
+        var buy = submitted.intent.order().direction() == Direction.BUY;
+        var stop = buy ? submitted.reference < entry : submitted.reference > entry;
+        // buy stops and sell limits wait for the price to rise to the entry
+        if (buy == stop) {
+            return high >= entry ? Math.max(entry, open) : Double.NaN;
+        }
+        return low <= entry ? Math.min(entry, open) : Double.NaN;
+    }
+
+    /**
+     * Fills the entry of an order and reports it.
+     *
+     * @param submitted the order
+     * @param time the time of the bar or tick that filled the order
+     * @param price the fill price
+     * @param now the current time
+     */
+    private void fill(
+            final WorkingOrder submitted,
+            final LocalTime time,
+            final double price,
+            final long now) {
+        var filled = withStatus(submitted.intent.order(), OrderStatus.ACTIVE, time, null);
+        roundTripLatency.record(now - submitted.intent.barReceivedNanos());
+        listener.accept(report(submitted, ExecutionType.FILL, filled, price, now));
+    }
+
+    /**
+     * Creates an execution report.
+     *
+     * @param submitted the order
+     * @param type the kind of the report
+     * @param order the order as it stands after the report
+     * @param fillPrice the fill price, or -1
+     * @param fillNanos the time of the fill, or -1
+     * @return the report
+     */
+    private static ExecutionReportDTO report(
+            final WorkingOrder submitted,
+            final ExecutionType type,
+            final OrderDTO order,
+            final double fillPrice,
+            final long fillNanos) {
+        return new ExecutionReportDTO(
+                submitted.id,
+                submitted.intent.clientOrderId(),
+                type,
+                order,
+                fillPrice,
+                submitted.intent.barReceivedNanos(),
+                submitted.intent.intentNanos(),
+                submitted.submitNanos,
+                submitted.ackNanos,
+                fillNanos);
+    }
+
+    /**
+     * Copies an order with a new status.
+     *
+     * @param order the order
+     * @param status the new status
+     * @param startTime the time the order was filled, or {@code null} to keep it
+     * @param closeTime the time the order was closed, or {@code null} to keep it
+     * @return the updated order
+     */
+    private static OrderDTO withStatus(
+            final OrderDTO order,
+            final OrderStatus status,
+            final LocalTime startTime,
+            final LocalTime closeTime) {
+        return new OrderDTO(
+                order.SL(),
+                order.TP(),
+                order.entry(),
+                order.closePrice(),
+                order.direction(),
+                startTime != null ? startTime : order.startTime(),
+                closeTime != null ? closeTime : order.closeTime(),
+                status,
+                order.orderStatsDTO());
+    }
+
+    /** An order submitted to the exchange. */
+    private static final class WorkingOrder {
+        /** The identifier of the order. */
+        private final long id;
+
+        /** The order intent created by the strategy. */
+        private final OrderIntentDTO intent;
+
+        /** The time the order was submitted. */
+        private final long submitNanos;
+
+        /** The time the order was acknowledged, or -1. */
+        private long ackNanos = -1;
+
+        /** The last price when the order arrived, which tells stop from limit orders. */
+        private double reference = Double.NaN;
+
+        /**
+         * Constructs a new WorkingOrder.
+         *
+         * @param id the identifier of the order
+         * @param intent the order intent created by the strategy
+         * @param submitNanos the time the order was submitted
+         */
+        private WorkingOrder(final long id, final OrderIntentDTO intent, final long submitNanos) {
+            this.id = id;
+            this.intent = intent;
+            this.submitNanos = submitNanos;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.quarteredge.core.live;
+
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+
+import com.quarteredge.core.metrics.LatencyHistogram;
+import com.quarteredge.core.model.BackpressurePolicy;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderIntentDTO;
+import com.quarteredge.core.strategy.Strategy;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Subscription class.
+ *
+ * <p>This class runs a single strategy of a {@link MarketDataHub} on its own virtual thread. The
+ * hub offers every bar to the inbound {@link BarChannel} of the subscription, which applies the
+ * {@link BackpressurePolicy} of the subscription when the strategy falls a full channel behind.
+ * With {@link BackpressurePolicy#DROP_OLDEST} the oldest bar is dropped, so a slow strategy never
+ * holds up the feed or the other subscriptions; with the other policies the feed waits until the
+ * strategy takes a bar, so a stateful strategy never misses one.
+ *
+ * <p>The virtual thread pushes every bar to the strategy and asks it for an order, except on the
+ * first candle of a trading day, and hands any order to the order listener of the subscription on
+ * the same thread. When there is nothing to do, the thread parks until the hub offers the next
+ * bar.
+ *
+ * <p>The time every bar waits in the channel is recorded as the lag of the subscription. A
+ * strategy that throws stops its own subscription only; the exception is kept for {@link
+ * #getFailure()}.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see MarketDataHub
+ */
+public final class Subscription {
+    /** The name of the subscription. */
+    private final String name;
+
+    /** The strategy run by the subscription. */
+    private final Strategy strategy;
+
+    /** The listener of the order intents created by the strategy. */
+    private final Consumer<OrderIntentDTO> orders;
+
+    /** The bars waiting for the strategy. */
+    private final BarChannel bars;
+
+    /** The time from the receipt of a bar until the strategy takes it. */
+    private final LatencyHistogram lag = new LatencyHistogram();
+
+    /** The number of bars processed by the strategy. */
+    private final LongAdder processedBars = new LongAdder();
+
+    /** The number of order intents created by the strategy. */
+    private final LongAdder createdOrders = new LongAdder();
+
+    /** The client identifier of the last order intent; only used by the virtual thread. */
+    private long lastOrderId;
+
+    /** The virtual thread running the strategy, created unstarted with the subscription. */
+    private final Thread worker;
+
+    /** Flag indicating if the subscription was closed. */
+    private volatile boolean closed;
+
+    /** The exception thrown by the strategy, if any. */
+    private volatile RuntimeException failure;
+
+    /**
+     * Constructs a new Subscription.
+     *
+     * @param name the name of the subscription
+     * @param strategy the strategy to run
+     * @param capacity the capacity of the inbound channel, a power of two
+     * @param policy the policy applied when the strategy falls a full channel behind
+     * @param orders the listener of the order intents created by the strategy
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     */
+    Subscription(
+            final String name,
+            final Strategy strategy,
+            final int capacity,
+            final BackpressurePolicy policy,
+            final Consumer<OrderIntentDTO> orders) {
+        this.name = name;
+        this.strategy = strategy;
+        this.orders = orders;
+        this.bars = new BarChannel(capacity, policy);
+        this.worker =
+                Thread.ofVirtual()
+                        .name("quarteredge-subscription-" + name)
+                        .unstarted(this::process);
+    }
+
+    /** Starts the virtual thread of the subscription. */
+    void start() {
+        worker.start();
+    }
+
+    /**
+     * Offers a bar to the strategy. Must only be called from the feed thread. If the channel is
+     * full, the oldest waiting bar is dropped with {@link BackpressurePolicy#DROP_OLDEST};
+     * otherwise the feed thread yields until the strategy takes a bar, or until the strategy fails.
+     *
+     * @param candle the bar
+     * @param received the time the bar was received
+     */
+    void offer(final CandleDTO candle, final long received) {
+        if (failure != null) {
+            return;
+        }
+        while (!bars.offer(candle, received)) {
+            if (failure != null) {
+                return;
+            }
+            LockSupport.unpark(worker);
+            Thread.yield();
+        }
+        LockSupport.unpark(worker);
+    }
+
+    /** Lets the strategy process every waiting bar, then waits for the virtual thread to end. */
+    void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Processes bars until the subscription is closed and every bar was processed. */
+    private void process() {
+        while (true) {
+            var done = closed;
+            var candle = bars.poll();
+            if (candle == null) {
+                if (done) {
+                    return;
+                }
+                // a bar offered since the poll leaves a permit, so this cannot miss it
+                LockSupport.park(this);
+                continue;
+            }
+            var received = bars.getPolledReceivedNanos();
+            lag.record(System.nanoTime() - received);
+            try {
+                handle(candle, received);
+            } catch (RuntimeException e) {
+                failure = e;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pushes a bar to the strategy and hands the order it creates, if any, to the listener.
+     *
+     * @param candle the bar
+     * @param received the time the bar was received
+     */
+    private void handle(final CandleDTO candle, final long received) {
+        strategy.push(candle);
+        if (!candle.time().equals(FIRST_CANDLE_OPEN_TIME)) {
+            var order = strategy.getStatus();
+            if (order.isPresent()) {
+                createdOrders.increment();
+                orders.accept(
+                        new OrderIntentDTO(
+                                ++lastOrderId, order.get(), received, System.nanoTime()));
+            }
+        }
+        processedBars.increment();
+    }
+
+    /**
+     * Returns the name of the subscription.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the strategy run by the subscription.
+     *
+     * @return the strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the time from the receipt of every processed bar until the strategy took it.
+     *
+     * @return the histogram of the lags, in nanoseconds
+     */
+    public LatencyHistogram getLag() {
+        return lag;
+    }
+
+    /**
+     * Returns the number of bars processed by the strategy.
+     *
+     * @return the number of bars
+     */
+    public long getProcessedBars() {
+        return processedBars.sum();
+    }
+
+    /**
+     * Returns the policy applied when the strategy falls a full channel behind.
+     *
+     * @return the backpressure policy
+     */
+    public BackpressurePolicy getPolicy() {
+        return bars.getPolicy();
+    }
+
+    /**
+     * Returns the number of bars dropped because the strategy did not keep up.
+     *
+     * @return the number of dropped bars
+     */
+    public long getDroppedBars() {
+        return bars.getDroppedBars();
+    }
+
+    /**
+     * Returns the number of order intents created by the strategy.
+     *
+     * @return the number of order intents
+     */
+    public long getCreatedOrders() {
+        return createdOrders.sum();
+    }
+
+    /**
+     * Returns the number of bars waiting for the strategy.
+     *
+     * @return the number of waiting bars
+     */
+    public int getBacklog() {
+        return bars.size();
+    }
+
+    /**
+     * Returns the exception that stopped the subscription.
+     *
+     * @return the exception thrown by the strategy, or {@code null} if it did not fail
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+}
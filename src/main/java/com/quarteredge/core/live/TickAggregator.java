@@ -0,0 +1,231 @@
+package com.quarteredge.core.live;
+
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+
+import com.quarteredge.core.model.CandleDTO;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * TickAggregator class.
+ *
+ * <p>This class folds the ticks of a live feed into OHLCV bars aligned to the session clock, so
+ * that they can be pushed to a {@link com.quarteredge.core.strategy.Strategy} like the bars of a
+ * data file. A bar covers the ticks from its open time up to, but excluding, the open time of the
+ * next bar, and is labelled with its open time: a tick at exactly 10:05:00 closes the 10:00 bar
+ * and opens the 10:05 bar. Bars are aligned to the hour, so the first bar of a session opens at
+ * {@link com.quarteredge.core.util.Constants#FIRST_CANDLE_OPEN_TIME}, and the daily one-hour
+ * break before it is skipped; ticks within it are rejected. Minutes without ticks produce no bar,
+ * like in the data files.
+ *
+ * <p>Tick timestamps are exchange-local date-times in nanoseconds, as returned by {@link
+ * #toLocalNanos(LocalDateTime)}, so that updates are a handful of primitive operations and never
+ * allocate; only a completed bar, or a partial bar requested with {@link #partial()}, creates a
+ * {@link CandleDTO}. Since a bar is only completed by a later tick, a feed should call {@link
+ * #advance(long)} from a clock when ticks are quiet, e.g. after the last tick of a session.
+ *
+ * <p>Ticks that are older than the bar in progress are rejected as well. Instances are not
+ * thread-safe and are meant to be driven by the thread of the feed.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see ReplayServer
+ * @see com.quarteredge.core.service.TradingService
+ */
+public final class TickAggregator {
+    /** The number of nanoseconds in a day. */
+    private static final long NANOS_PER_DAY = TimeUnit.DAYS.toNanos(1);
+
+    /** The number of minutes in an hour, which the bar size has to divide. */
+    private static final long MINUTES_PER_HOUR = TimeUnit.HOURS.toMinutes(1);
+
+    /** The time of day the session break starts at, one hour before the first bar. */
+    private static final long BREAK_START_NANOS =
+            FIRST_CANDLE_OPEN_TIME.minusHours(1).toNanoOfDay();
+
+    /** The time of day the session break ends at, i.e. the open of the first bar. */
+    private static final long BREAK_END_NANOS = FIRST_CANDLE_OPEN_TIME.toNanoOfDay();
+
+    /** The open time of the bar in progress when there is none. */
+    private static final long NO_BAR = Long.MIN_VALUE;
+
+    /** The length of a bar in nanoseconds. */
+    private final long barNanos;
+
+    /** The consumer of the completed bars. */
+    private final Consumer<CandleDTO> sink;
+
+    /** The open time of the bar in progress, or {@link #NO_BAR}. */
+    private long barStart = NO_BAR;
+
+    /** The open price of the bar in progress. */
+    private double open;
+
+    /** The high price of the bar in progress. */
+    private double high;
+
+    /** The low price of the bar in progress. */
+    private double low;
+
+    /** The close price of the bar in progress. */
+    private double close;
+
+    /** The volume of the bar in progress. */
+    private double volume;
+
+    /** The number of ticks aggregated. */
+    private long ticks;
+
+    /** The number of ticks rejected as out of session or out of order. */
+    private long rejectedTicks;
+
+    /** The number of bars completed. */
+    private long bars;
+
+    /**
+     * Constructs a new TickAggregator.
+     *
+     * @param barMinutes the length of a bar in minutes, a divisor of 60 such as 1 or 5
+     * @param sink the consumer of the completed bars, called from the thread of the feed
+     * @throws IllegalArgumentException if the bar length does not divide an hour
+     */
+    public TickAggregator(final int barMinutes, final Consumer<CandleDTO> sink) {
+        if (barMinutes < 1 || MINUTES_PER_HOUR % barMinutes != 0) {
+            throw new IllegalArgumentException("barMinutes must divide an hour: " + barMinutes);
+        }
+        this.barNanos = TimeUnit.MINUTES.toNanos(barMinutes);
+        this.sink = sink;
+    }
+
+    /**
+     * Converts an exchange-local date-time to the timestamp of a tick.
+     *
+     * @param dateTime the exchange-local date-time
+     * @return the nanoseconds since 1970-01-01T00:00 in exchange-local time
+     */
+    public static long toLocalNanos(final LocalDateTime dateTime) {
+        return TimeUnit.SECONDS.toNanos(dateTime.toEpochSecond(ZoneOffset.UTC))
+                + dateTime.getNano();
+    }
+
+    /**
+     * Adds a tick to the bar it falls into, first completing the bar in progress if the tick is
+     * at or after its close.
+     *
+     * @param localNanos the exchange-local timestamp of the tick
+     * @param price the price of the tick
+     * @param size the volume of the tick
+     * @return {@code true} if the tick was aggregated, {@code false} if it was rejected
+     */
+    public boolean onTick(final long localNanos, final double price, final double size) {
+        advance(localNanos);
+        var start = localNanos - Math.floorMod(localNanos, barNanos);
+        if (start < barStart || inBreak(start)) {
+            rejectedTicks++;
+            return false;
+        }
+        ticks++;
+        if (start != barStart) {
+            barStart = start;
+            open = price;
+            high = price;
+            low = price;
+            close = price;
+            volume = size;
+            return true;
+        }
+        if (price > high) {
+            high = price;
+        } else if (price < low) {
+            low = price;
+        }
+        close = price;
+        volume += size;
+        return true;
+    }
+
+    /**
+     * Completes the bar in progress if the clock has reached its close.
+     *
+     * @param localNanos the exchange-local time of the clock
+     * @return {@code true} if a bar was completed
+     */
+    public boolean advance(final long localNanos) {
+        if (barStart == NO_BAR || localNanos - barStart < barNanos) {
+            return false;
+        }
+        sink.accept(toCandle());
+        bars++;
+        barStart = NO_BAR;
+        return true;
+    }
+
+    /**
+     * Returns the bar in progress as it stands.
+     *
+     * @return the partial bar, or an empty optional if no bar is in progress
+     */
+    public Optional<CandleDTO> partial() {
+        return barStart == NO_BAR ? Optional.empty() : Optional.of(toCandle());
+    }
+
+    /**
+     * Returns the number of ticks aggregated.
+     *
+     * @return the number of ticks
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Returns the number of ticks rejected as out of session or out of order.
+     *
+     * @return the number of rejected ticks
+     */
+    public long getRejectedTicks() {
+        return rejectedTicks;
+    }
+
+    /**
+     * Returns the number of bars completed.
+     *
+     * @return the number of bars
+     */
+    public long getBars() {
+        return bars;
+    }
+
+    /**
+     * Returns whether a bar opens within the session break.
+     *
+     * @param start the exchange-local open time of the bar
+     * @return {@code true} if the bar is outside of the session
+     */
+    private static boolean inBreak(final long start) {
+        var timeOfDay = Math.floorMod(start, NANOS_PER_DAY);
+        return timeOfDay >= BREAK_START_NANOS && timeOfDay < BREAK_END_NANOS;
+    }
+
+    /**
+     * Creates a candle from the bar in progress.
+     *
+     * @return the candle
+     */
+    private CandleDTO toCandle() {
+        return new CandleDTO(
+                LocalDate.ofEpochDay(Math.floorDiv(barStart, NANOS_PER_DAY)).toString(),
+                LocalTime.ofNanoOfDay(Math.floorMod(barStart, NANOS_PER_DAY)),
+                open,
+                high,
+                low,
+                close,
+                volume);
+    }
+}
@@ -0,0 +1,26 @@
+package com.quarteredge.core.metrics;
+
+/**
+ * The counted events of a backtest.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see Metrics
+ */
+public enum Counter {
+    /** A session was simulated. */
+    SESSIONS,
+
+    /** A candle was simulated. */
+    BARS,
+
+    /** An order was created by a strategy. */
+    ORDERS,
+
+    /** A live bar was dropped because its strategy fell behind. */
+    DROPPED_BARS,
+
+    /** A live bar was merged into a later update of the same bar. */
+    MERGED_BARS
+}
@@ -0,0 +1,183 @@
+package com.quarteredge.core.metrics;
+
+import com.quarteredge.core.model.HistogramBucketDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations in nanoseconds that any number of threads can record into.
+ *
+ * <p>Every power of two is split into {@value #SUB_BUCKETS} buckets, so percentiles are reported
+ * within 25% of the true duration, using a fixed array of counters. Recording a duration is a
+ * single atomic increment, plus the updates of the total and the maximum.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see Metrics
+ */
+public final class LatencyHistogram {
+    /** The number of bits below the leading bit used to select a bucket. */
+    private static final int SUB_BUCKET_BITS = 2;
+
+    /** The number of buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** The number of powers of two covered. */
+    private static final int EXPONENTS = Long.SIZE;
+
+    /** The number of recorded durations in every bucket. */
+    private final AtomicLongArray buckets = new AtomicLongArray(EXPONENTS * SUB_BUCKETS);
+
+    /** The number of recorded durations. */
+    private final LongAdder count = new LongAdder();
+
+    /** The sum of the recorded durations. */
+    private final LongAdder total = new LongAdder();
+
+    /** The longest recorded duration. */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a duration. Negative durations are counted as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        var value = Math.max(0, nanos);
+        buckets.getAndIncrement(index(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the bucket of a duration.
+     *
+     * @param nanos the non-negative duration in nanoseconds
+     * @return the index of the bucket
+     */
+    private static int index(final long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Returns the largest duration that falls into a bucket.
+     *
+     * @param index the index of the bucket
+     * @return the upper bound of the bucket in nanoseconds
+     */
+    private static long upperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (sub + 1) * width - 1;
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return the number of durations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of the recorded durations.
+     *
+     * @return the total in nanoseconds
+     */
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @return the maximum in nanoseconds
+     */
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded durations.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMeanNanos() {
+        var recorded = getCount();
+        return recorded == 0 ? 0 : (double) getTotalNanos() / recorded;
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations, as the upper bound of the bucket holding
+     * it, capped at the maximum.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the estimated duration in nanoseconds, or 0 if nothing was recorded
+     * @throws IllegalArgumentException if the percentile is not between 0 and 1
+     */
+    public long getPercentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1: " + percentile);
+        }
+        long recorded = 0;
+        var counts = new long[buckets.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            recorded += counts[i];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        var rank = Math.max(1, (long) Math.ceil(percentile * recorded));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Exports the non-empty buckets of the histogram in ascending order of their durations.
+     *
+     * @return the non-empty buckets, with their bounds in nanoseconds
+     */
+    public List<HistogramBucketDTO> getBuckets() {
+        List<HistogramBucketDTO> exported = new ArrayList<>();
+        for (int i = 0; i < buckets.length(); i++) {
+            var bucketCount = buckets.get(i);
+            if (bucketCount > 0) {
+                var lower = i == 0 ? 0 : upperBound(i - 1) + 1;
+                exported.add(new HistogramBucketDTO(lower, upperBound(i) + 1, bucketCount));
+            }
+        }
+        return exported;
+    }
+
+    /** Clears every recorded duration. Durations recorded concurrently may be partly kept. */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+}
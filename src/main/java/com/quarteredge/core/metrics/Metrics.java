@@ -0,0 +1,92 @@
+package com.quarteredge.core.metrics;
+
+/**
+ * Metrics class.
+ *
+ * <p>This class is the entry point for instrumenting hot paths. Metrics are switched on at startup
+ * with the {@value #PROPERTY} system property, e.g. {@code -Dquarteredge.metrics=true}. The switch
+ * is a {@code static final} constant, so when it is off the JIT compiler removes every call below
+ * as dead code and the instrumented paths run exactly as if they were not instrumented. A phase is
+ * timed as follows:
+ *
+ * <pre>{@code
+ * long start = Metrics.start();
+ * strategy.push(candle);
+ * Metrics.stop(Phase.STRATEGY_PUSH, start);
+ * }</pre>
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see MetricsRegistry
+ */
+public final class Metrics {
+    /** The system property that enables the metrics. */
+    public static final String PROPERTY = "quarteredge.metrics";
+
+    /** The system property naming a file that receives the JSON summary of a run. */
+    public static final String JSON_PROPERTY = "quarteredge.metrics.json";
+
+    /** Flag indicating if the metrics are enabled, fixed at startup. */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /** The registry the metrics are recorded into. */
+    private static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    /** Private constructor to prevent instantiation. */
+    private Metrics() {}
+
+    /**
+     * Returns the start time of a phase.
+     *
+     * @return the current time in nanoseconds, or 0 if the metrics are disabled
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the end of a phase.
+     *
+     * @param phase the phase
+     * @param start the start time returned by {@link #start()}
+     */
+    public static void stop(final Phase phase, final long start) {
+        if (ENABLED) {
+            REGISTRY.record(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Increments a counter.
+     *
+     * @param counter the counter
+     */
+    public static void increment(final Counter counter) {
+        if (ENABLED) {
+            REGISTRY.add(counter, 1);
+        }
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param counter the counter
+     * @param amount the amount to add
+     */
+    public static void add(final Counter counter, final long amount) {
+        if (ENABLED) {
+            REGISTRY.add(counter, amount);
+        }
+    }
+
+    /**
+     * Returns the registry the metrics are recorded into, which stays empty while the metrics are
+     * disabled.
+     *
+     * @return the registry
+     */
+    public static MetricsRegistry registry() {
+        return REGISTRY;
+    }
+}
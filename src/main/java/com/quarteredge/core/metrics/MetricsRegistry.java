@@ -0,0 +1,200 @@
+package com.quarteredge.core.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MetricsRegistry class.
+ *
+ * <p>This class holds a {@link LongAdder} for every {@link Counter} and a {@link LatencyHistogram}
+ * for every {@link Phase}, all of which can be updated from any number of threads without locks.
+ * Throughput gauges are derived from the counters and the time since the registry was created or
+ * last reset. The registry can be dumped as a text summary or as JSON.
+ *
+ * <p>The registry always records; use {@link Metrics} on hot paths, which skips the registry
+ * entirely unless metrics are enabled.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see Metrics
+ */
+public final class MetricsRegistry {
+    /** The median reported in summaries. */
+    private static final double P50 = 0.5;
+
+    /** The 99th percentile reported in summaries. */
+    private static final double P99 = 0.99;
+
+    /** The number of nanoseconds in a second. */
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** The number of nanoseconds in a millisecond. */
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** The counters, indexed by {@link Counter#ordinal()}. */
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+    /** The timers, indexed by {@link Phase#ordinal()}. */
+    private final LatencyHistogram[] timers = new LatencyHistogram[Phase.values().length];
+
+    /** The time the registry was created or last reset. */
+    private volatile long startNanos;
+
+    /** Constructs a new, empty MetricsRegistry. */
+    public MetricsRegistry() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new LatencyHistogram();
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param counter the counter
+     * @param amount the amount to add
+     */
+    public void add(final Counter counter, final long amount) {
+        counters[counter.ordinal()].add(amount);
+    }
+
+    /**
+     * Records the duration of a phase.
+     *
+     * @param phase the phase
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(final Phase phase, final long nanos) {
+        timers[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Returns the value of a counter.
+     *
+     * @param counter the counter
+     * @return the value of the counter
+     */
+    public long getCount(final Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * Returns the timer of a phase.
+     *
+     * @param phase the phase
+     * @return the histogram of the durations of the phase
+     */
+    public LatencyHistogram getTimer(final Phase phase) {
+        return timers[phase.ordinal()];
+    }
+
+    /**
+     * Returns the rate of a counter since the registry was created or last reset.
+     *
+     * @param counter the counter
+     * @return the rate per second
+     */
+    public double getRate(final Counter counter) {
+        var seconds = (System.nanoTime() - startNanos) / NANOS_PER_SECOND;
+        return seconds > 0 ? getCount(counter) / seconds : 0;
+    }
+
+    /** Clears every counter and timer and restarts the clock of the gauges. */
+    public void reset() {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+        for (LatencyHistogram timer : timers) {
+            timer.reset();
+        }
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Formats the counters, gauges and timers as a text summary.
+     *
+     * @return the summary
+     */
+    public String summary() {
+        var summary = new StringBuilder("Metrics:\n");
+        for (Counter counter : Counter.values()) {
+            summary.append(
+                    String.format(
+                            Locale.ROOT,
+                            "  %-30s %12d (%.1f/s)%n",
+                            counter.name().toLowerCase(Locale.ROOT),
+                            getCount(counter),
+                            getRate(counter)));
+        }
+        summary.append(
+                String.format(
+                        Locale.ROOT,
+                        "  %-30s %8s %12s %10s %10s %10s%n",
+                        "phase",
+                        "calls",
+                        "total ms",
+                        "mean ns",
+                        "p50 ns",
+                        "p99 ns"));
+        for (Phase phase : Phase.values()) {
+            var timer = getTimer(phase);
+            summary.append(
+                    String.format(
+                            Locale.ROOT,
+                            "  %-30s %8d %12.1f %10.0f %10d %10d%n",
+                            phase.getLabel(),
+                            timer.getCount(),
+                            timer.getTotalNanos() / NANOS_PER_MILLI,
+                            timer.getMeanNanos(),
+                            timer.getPercentile(P50),
+                            timer.getPercentile(P99)));
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Formats the counters, gauges and timers as a JSON object.
+     *
+     * @return the JSON object
+     */
+    public String toJson() {
+        var json = new StringBuilder("{\"counters\":{");
+        for (Counter counter : Counter.values()) {
+            if (counter.ordinal() > 0) {
+                json.append(',');
+            }
+            json.append(
+                    String.format(
+                            Locale.ROOT,
+                            "\"%s\":{\"count\":%d,\"perSecond\":%.3f}",
+                            counter.name().toLowerCase(Locale.ROOT),
+                            getCount(counter),
+                            getRate(counter)));
+        }
+        json.append("},\"phases\":{");
+        for (Phase phase : Phase.values()) {
+            if (phase.ordinal() > 0) {
+                json.append(',');
+            }
+            var timer = getTimer(phase);
+            json.append(
+                    String.format(
+                            Locale.ROOT,
+                            "\"%s\":{\"calls\":%d,\"totalNanos\":%d,\"meanNanos\":%.1f,"
+                                    + "\"p50Nanos\":%d,\"p99Nanos\":%d,\"maxNanos\":%d}",
+                            phase.getLabel(),
+                            timer.getCount(),
+                            timer.getTotalNanos(),
+                            timer.getMeanNanos(),
+                            timer.getPercentile(P50),
+                            timer.getPercentile(P99),
+                            timer.getMaxNanos()));
+        }
+        return json.append("}}").toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.quarteredge.core.metrics;
+
+/**
+ * The timed phases of a backtest.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see Metrics
+ */
+public enum Phase {
+    /** Parsing the data file into sessions. */
+    PARSE("Parser.parse"),
+
+    /** Pushing a candle to the strategy. */
+    STRATEGY_PUSH("Strategy.push"),
+
+    /** Asking the strategy for a new order. */
+    STRATEGY_STATUS("Strategy.getStatus"),
+
+    /** Updating the orders of a session with a candle. */
+    UPDATE_ORDERS("BacktestSession.updateOrders"),
+
+    /** Accumulating and computing the performance metrics. */
+    PERFORMANCE("PerformanceService");
+
+    /** The name of the phase in summaries. */
+    private final String label;
+
+    /**
+     * Constructs a new Phase.
+     *
+     * @param label the name of the phase in summaries
+     */
+    Phase(final String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the name of the phase in summaries.
+     *
+     * @return the name of the phase
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,21 @@
+package com.quarteredge.core.model;
+
+/**
+ * Represents what the feed does when a live strategy falls behind and the bars waiting for it
+ * fill their channel.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ */
+public enum BackpressurePolicy {
+    /** Makes the feed wait until the strategy takes a bar, so no bar is ever lost. */
+    BLOCK,
+    /** Drops the oldest waiting bar to make room for the new one, so the feed never waits. */
+    DROP_OLDEST,
+    /**
+     * Merges waiting updates of the same bar into their latest state, and makes the feed wait only
+     * if the channel is full of distinct bars.
+     */
+    COALESCE
+}
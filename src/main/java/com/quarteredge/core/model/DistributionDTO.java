@@ -0,0 +1,23 @@
+package com.quarteredge.core.model;
+
+/**
+ * Summary of a distribution of values as its mean and a fixed set of percentiles.
+ *
+ * @param mean the mean of the values
+ * @param p1 the 1st percentile
+ * @param p5 the 5th percentile
+ * @param p25 the 25th percentile
+ * @param p50 the median
+ * @param p75 the 75th percentile
+ * @param p95 the 95th percentile
+ * @param p99 the 99th percentile
+ */
+public record DistributionDTO(
+        double mean,
+        double p1,
+        double p5,
+        double p25,
+        double p50,
+        double p75,
+        double p95,
+        double p99) {}
@@ -0,0 +1,57 @@
+package com.quarteredge.core.model;
+
+/**
+ * An execution report sent back by an order gateway, with the timestamps of every hop of the
+ * order, so that the latency of the whole pipeline can be profiled. Every timestamp is a {@link
+ * System#nanoTime()}; hops that were not reached yet are -1.
+ *
+ * @param orderId the identifier assigned to the order by the gateway
+ * @param clientOrderId the identifier of the order intent, assigned by the live service that
+ *     created the order
+ * @param type the kind of the report
+ * @param order the order as it stands after the report
+ * @param fillPrice the price the entry was filled at, or -1 if it was not filled
+ * @param barReceivedNanos the time the bar that triggered the order was received from the feed
+ * @param signalNanos the time the strategy created the order
+ * @param submitNanos the time the order was submitted to the gateway
+ * @param ackNanos the time the exchange accepted the order
+ * @param fillNanos the time the exchange filled the entry of the order
+ */
+public record ExecutionReportDTO(
+        long orderId,
+        long clientOrderId,
+        ExecutionType type,
+        OrderDTO order,
+        double fillPrice,
+        long barReceivedNanos,
+        long signalNanos,
+        long submitNanos,
+        long ackNanos,
+        long fillNanos) {
+    /**
+     * Returns the time from the order intent to its submission to the gateway.
+     *
+     * @return the latency in nanoseconds
+     */
+    public long submitLatencyNanos() {
+        return submitNanos - signalNanos;
+    }
+
+    /**
+     * Returns the time from the submission of the order to its acknowledgement.
+     *
+     * @return the latency in nanoseconds
+     */
+    public long ackLatencyNanos() {
+        return ackNanos - submitNanos;
+    }
+
+    /**
+     * Returns the time from the receipt of the triggering bar to the fill of the order.
+     *
+     * @return the latency in nanoseconds, or -1 if the order was not filled
+     */
+    public long roundTripNanos() {
+        return fillNanos < 0 ? -1 : fillNanos - barReceivedNanos;
+    }
+}
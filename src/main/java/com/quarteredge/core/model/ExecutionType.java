@@ -0,0 +1,20 @@
+package com.quarteredge.core.model;
+
+/**
+ * Represents the kind of an execution report sent back by an order gateway.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ */
+public enum ExecutionType {
+    /** Indicates that the exchange accepted the order and is working it. */
+    ACK,
+    /** Indicates that the entry of the order was filled and the order is now active. */
+    FILL,
+    /**
+     * Indicates that the exchange canceled the order. I.e., its entry price was never reached by
+     * the end of the trading session.
+     */
+    CANCEL
+}
@@ -0,0 +1,10 @@
+package com.quarteredge.core.model;
+
+/**
+ * A single bucket of a histogram, covering the values between its bounds.
+ *
+ * @param lower the lower bound of the bucket, inclusive
+ * @param upper the upper bound of the bucket, exclusive
+ * @param count the number of values in the bucket
+ */
+public record HistogramBucketDTO(double lower, double upper, long count) {}
@@ -0,0 +1,14 @@
+package com.quarteredge.core.model;
+
+import java.util.Map;
+
+/**
+ * The outcome of recovering a live strategy from its session journal.
+ *
+ * @param replayedBars the number of bars replayed after the last snapshot
+ * @param openOrders the orders that were pending or active at the end of the journal, by
+ *     identifier
+ * @param elapsedNanos the time the recovery took, in nanoseconds
+ */
+public record JournalRecoveryDTO(
+        long replayedBars, Map<Long, OrderDTO> openOrders, long elapsedNanos) {}
@@ -0,0 +1,25 @@
+package com.quarteredge.core.model;
+
+/**
+ * A point-in-time view of the progress and running performance of a backtest run.
+ *
+ * @param elapsedMillis the milliseconds since the first session was recorded
+ * @param sessions the number of sessions processed
+ * @param bars the number of candles processed
+ * @param barsPerSecond the average number of candles processed per second
+ * @param trades the number of orders counted as wins or losses
+ * @param winRate the fraction of orders that were winners, or {@code 0} before the first trade
+ * @param expectancy the expected R multiple per order, or {@code 0} before the first trade
+ * @param drawdown the current decline in equity of the run from its peak
+ * @param maxDrawdown the largest peak-to-trough decline in equity of the run so far
+ */
+public record MetricsSnapshotDTO(
+        long elapsedMillis,
+        long sessions,
+        long bars,
+        double barsPerSecond,
+        long trades,
+        double winRate,
+        double expectancy,
+        double drawdown,
+        double maxDrawdown) {}
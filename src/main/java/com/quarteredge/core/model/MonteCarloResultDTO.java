@@ -0,0 +1,17 @@
+package com.quarteredge.core.model;
+
+/**
+ * The distributions produced by a Monte Carlo resampling of session results.
+ *
+ * @param paths the number of simulated paths
+ * @param maxDrawdown the distribution of the maximum drawdown of each path
+ * @param finalEquity the distribution of the final equity of each path
+ * @param longestLosingStreak the distribution of the longest run of losing sessions of each path
+ * @param sharpeRatio the distribution of the annualized Sharpe ratio of each path
+ */
+public record MonteCarloResultDTO(
+        int paths,
+        DistributionDTO maxDrawdown,
+        DistributionDTO finalEquity,
+        DistributionDTO longestLosingStreak,
+        DistributionDTO sharpeRatio) {}
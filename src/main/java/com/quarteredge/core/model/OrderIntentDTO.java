@@ -0,0 +1,24 @@
+package com.quarteredge.core.model;
+
+/**
+ * An order created by a live strategy, with the timestamps needed to measure its latency.
+ *
+ * @param clientOrderId the identifier assigned to the order by the live service that created it,
+ *     under which the service journals the order and its state transitions
+ * @param order the order created by the strategy
+ * @param barReceivedNanos the {@link System#nanoTime()} at which the bar that triggered the order
+ *     was received from the feed
+ * @param intentNanos the {@link System#nanoTime()} at which the order was handed to the outbound
+ *     ring
+ */
+public record OrderIntentDTO(
+        long clientOrderId, OrderDTO order, long barReceivedNanos, long intentNanos) {
+    /**
+     * Returns the time from the receipt of the bar to the order intent.
+     *
+     * @return the latency in nanoseconds
+     */
+    public long latencyNanos() {
+        return intentNanos - barReceivedNanos;
+    }
+}
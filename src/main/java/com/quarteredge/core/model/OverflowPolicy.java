@@ -0,0 +1,19 @@
+package com.quarteredge.core.model;
+
+/**
+ * Represents what an {@link com.quarteredge.core.event.AsyncEventSink} does with a new event when
+ * its delegate falls behind and the queued events fill its ring.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ */
+public enum OverflowPolicy {
+    /** Drops the new event and counts it, so the recording thread never waits. */
+    DROP,
+    /**
+     * Makes the recording thread wait until the delegate takes an event, so no event is ever
+     * lost. Meant for durable delegates such as a trade ledger.
+     */
+    BLOCK
+}
@@ -0,0 +1,52 @@
+package com.quarteredge.core.model;
+
+/**
+ * An inclusive range of parameter values used to build a parameter sweep grid.
+ *
+ * @param start the first value of the range
+ * @param end the last value of the range (inclusive)
+ * @param step the increment between two consecutive values
+ */
+public record ParameterRangeDTO(double start, double end, double step) {
+    /** Tolerance used to keep the end of the range despite floating point drift. */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Validates the range.
+     *
+     * @throws IllegalArgumentException if the step is not positive or the end is before the start
+     */
+    public ParameterRangeDTO {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be positive: " + step);
+        }
+        if (end < start) {
+            throw new IllegalArgumentException("end must not be before start: " + end);
+        }
+    }
+
+    /**
+     * Creates a range holding a single value.
+     *
+     * @param value the only value of the range
+     * @return the range
+     */
+    public static ParameterRangeDTO of(final double value) {
+        return new ParameterRangeDTO(value, value, 1);
+    }
+
+    /**
+     * Expands the range into its values. Each value is computed from the start rather than
+     * accumulated, so that rounding errors do not build up over long ranges.
+     *
+     * @return the values of the range, in ascending order
+     */
+    public double[] values() {
+        int count = (int) Math.floor((end - start) / step + EPSILON) + 1;
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = start + i * step;
+        }
+        return values;
+    }
+}
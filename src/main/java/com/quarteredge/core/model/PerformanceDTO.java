@@ -0,0 +1,31 @@
+package com.quarteredge.core.model;
+
+/**
+ * Structured performance metrics of a backtest run.
+ *
+ * @param wins the number of winning orders
+ * @param losses the number of losing orders
+ * @param winRate the fraction of orders that were winners
+ * @param averageWinR the average R multiple of the winning orders
+ * @param averageLossR the average R multiple of the losing orders
+ * @param averageMfe the average maximum favorable excursion
+ * @param averageMae the average maximum adverse excursion
+ * @param maxWinStreak the longest run of consecutive winning orders
+ * @param maxLossStreak the longest run of consecutive losing orders
+ * @param maxDrawdown the largest peak-to-trough decline in equity
+ * @param sharpeRatio the annualized Sharpe ratio of the session returns
+ * @param expectancy the expected R multiple per order
+ */
+public record PerformanceDTO(
+        int wins,
+        int losses,
+        double winRate,
+        double averageWinR,
+        double averageLossR,
+        double averageMfe,
+        double averageMae,
+        int maxWinStreak,
+        int maxLossStreak,
+        double maxDrawdown,
+        double sharpeRatio,
+        double expectancy) {}
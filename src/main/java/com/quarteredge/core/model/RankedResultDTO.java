@@ -0,0 +1,10 @@
+package com.quarteredge.core.model;
+
+/**
+ * A sweep result with its position in a ranking.
+ *
+ * @param rank the position in the ranking, starting at 1
+ * @param score the score the result was ranked by
+ * @param result the ranked sweep result
+ */
+public record RankedResultDTO(int rank, double score, SweepResultDTO result) {}
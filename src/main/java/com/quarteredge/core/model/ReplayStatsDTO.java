@@ -0,0 +1,12 @@
+package com.quarteredge.core.model;
+
+/**
+ * Publisher-side statistics of a market-data replay.
+ *
+ * @param bars the number of bars published
+ * @param elapsedNanos the time from the first to the last bar, in nanoseconds
+ * @param barsPerSecond the number of bars published per second
+ * @param maxLagNanos the longest delay of a bar behind its schedule, in nanoseconds
+ */
+public record ReplayStatsDTO(
+        long bars, long elapsedNanos, double barsPerSecond, long maxLagNanos) {}
@@ -0,0 +1,15 @@
+package com.quarteredge.core.model;
+
+/**
+ * Represents how a Monte Carlo path is drawn from the original sequence of session results.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ */
+public enum ResamplingMode {
+    /** Draws every session result independently, with replacement. */
+    BOOTSTRAP,
+    /** Shuffles the original session results, so every path holds each result exactly once. */
+    PERMUTATION
+}
@@ -0,0 +1,31 @@
+package com.quarteredge.core.model;
+
+/**
+ * Configuration of a successive-halving optimization.
+ *
+ * <p>Every candidate is first evaluated on {@code initialSessions} sessions. After each round only
+ * the best {@code 1 / reductionFactor} of the candidates survive, and the number of sessions they
+ * are evaluated on grows by {@code reductionFactor}, until the survivors have seen every session.
+ *
+ * @param initialSessions the number of sessions of the first round
+ * @param reductionFactor the factor by which candidates shrink and sessions grow each round
+ * @param maxDrawdown the running drawdown above which a candidate is aborted immediately; use
+ *     {@link Double#POSITIVE_INFINITY} to never abort
+ */
+public record SuccessiveHalvingConfigDTO(
+        int initialSessions, int reductionFactor, double maxDrawdown) {
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if the first round is empty or the reduction factor is less
+     *     than 2
+     */
+    public SuccessiveHalvingConfigDTO {
+        if (initialSessions < 1) {
+            throw new IllegalArgumentException("initialSessions must be positive");
+        }
+        if (reductionFactor < 2) {
+            throw new IllegalArgumentException("reductionFactor must be at least 2");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.quarteredge.core.model;
+
+import java.util.List;
+
+/**
+ * The outcome of a successive-halving optimization.
+ *
+ * @param survivors the candidates that were evaluated on every session, best first
+ * @param rounds the number of rounds that were run
+ * @param sessionsSimulated the total number of sessions simulated across all candidates
+ * @param aborted the number of candidates aborted because of their running drawdown
+ */
+public record SuccessiveHalvingResultDTO(
+        List<SweepResultDTO> survivors, int rounds, long sessionsSimulated, int aborted) {}
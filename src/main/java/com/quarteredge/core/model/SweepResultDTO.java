@@ -0,0 +1,25 @@
+package com.quarteredge.core.model;
+
+import com.quarteredge.core.strategy.StrategyParameters;
+
+/**
+ * A single row of a parameter sweep results table.
+ *
+ * @param parameters the strategy parameters that were evaluated
+ * @param performance the performance metrics of the run
+ * @param barMaxDrawdown the deepest drawdown of the run marked to market on every candle, which
+ *     unlike {@link PerformanceDTO#maxDrawdown()} includes the drawdowns inside a session, or
+ *     {@code NaN} if the equity curve of the run was not tracked
+ */
+public record SweepResultDTO(
+        StrategyParameters parameters, PerformanceDTO performance, double barMaxDrawdown) {
+    /**
+     * Creates a result of a run whose equity curve was not tracked.
+     *
+     * @param parameters the strategy parameters that were evaluated
+     * @param performance the performance metrics of the run
+     */
+    public SweepResultDTO(final StrategyParameters parameters, final PerformanceDTO performance) {
+        this(parameters, performance, Double.NaN);
+    }
+}
@@ -0,0 +1,104 @@
+package com.quarteredge.core.model;
+
+import java.time.LocalDate;
+
+/**
+ * Configuration of a synthetic market data set.
+ *
+ * <p>Prices follow a random walk whose volatility depends on the time of day and on a volatility
+ * regime, which is drawn again at the start of a session with probability {@code
+ * regimeSwitchProbability}. Every session opens with a gap from the previous close, and with
+ * probability {@code breakoutProbability} the price is pushed out of the defining range once it
+ * is complete.
+ *
+ * @param seed the seed of the random generator; the same configuration always yields the same data
+ * @param startDate the first trading day; weekends are skipped
+ * @param tradingDays the number of sessions to generate
+ * @param barMinutes the length of a bar in minutes, 1 or 5
+ * @param startPrice the price the first session opens at
+ * @param volatility the standard deviation of the one-minute log return in the normal regime
+ * @param regimeSwitchProbability the probability that a session draws a new volatility regime
+ * @param gapVolatility the standard deviation of the log gap at the open of a session
+ * @param breakoutProbability the probability that a session breaks out of its defining range
+ */
+public record SyntheticDataConfigDTO(
+        long seed,
+        LocalDate startDate,
+        int tradingDays,
+        int barMinutes,
+        double startPrice,
+        double volatility,
+        double regimeSwitchProbability,
+        double gapVolatility,
+        double breakoutProbability) {
+    /** The default first trading day, a Monday. */
+    private static final LocalDate DEFAULT_START_DATE = LocalDate.of(2020, 1, 6);
+
+    /** The default starting price, close to recent CL prices. */
+    private static final double DEFAULT_START_PRICE = 65;
+
+    /** The default one-minute volatility, about four ticks at the default price. */
+    private static final double DEFAULT_VOLATILITY = 0.0006;
+
+    /** The default probability of a regime switch. */
+    private static final double DEFAULT_REGIME_SWITCH_PROBABILITY = 0.1;
+
+    /** The default volatility of the opening gaps. */
+    private static final double DEFAULT_GAP_VOLATILITY = 0.002;
+
+    /** The default probability of a defining range breakout. */
+    private static final double DEFAULT_BREAKOUT_PROBABILITY = 0.6;
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if a count, price or volatility is not positive, the bar
+     *     length is not 1 or 5 minutes, or a probability is not between 0 and 1
+     */
+    public SyntheticDataConfigDTO {
+        if (tradingDays < 1) {
+            throw new IllegalArgumentException("tradingDays must be positive");
+        }
+        if (barMinutes != 1 && barMinutes != 5) {
+            throw new IllegalArgumentException("barMinutes must be 1 or 5: " + barMinutes);
+        }
+        if (!(startPrice > 0) || !(volatility > 0) || gapVolatility < 0) {
+            throw new IllegalArgumentException("prices and volatilities must be positive");
+        }
+        if (!isProbability(regimeSwitchProbability) || !isProbability(breakoutProbability)) {
+            throw new IllegalArgumentException("probabilities must be between 0 and 1");
+        }
+    }
+
+    /**
+     * Creates a configuration with realistic defaults for CL futures, starting on 2020-01-06.
+     *
+     * @param seed the seed of the random generator
+     * @param tradingDays the number of sessions to generate
+     * @param barMinutes the length of a bar in minutes, 1 or 5
+     * @return the configuration
+     */
+    public static SyntheticDataConfigDTO defaults(
+            final long seed, final int tradingDays, final int barMinutes) {
+        return new SyntheticDataConfigDTO(
+                seed,
+                DEFAULT_START_DATE,
+                tradingDays,
+                barMinutes,
+                DEFAULT_START_PRICE,
+                DEFAULT_VOLATILITY,
+                DEFAULT_REGIME_SWITCH_PROBABILITY,
+                DEFAULT_GAP_VOLATILITY,
+                DEFAULT_BREAKOUT_PROBABILITY);
+    }
+
+    /**
+     * Checks if a value is a probability.
+     *
+     * @param value the value
+     * @return {@code true} if the value is between 0 and 1
+     */
+    private static boolean isProbability(final double value) {
+        return value >= 0 && value <= 1;
+    }
+}
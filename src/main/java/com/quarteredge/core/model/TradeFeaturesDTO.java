@@ -0,0 +1,24 @@
+package com.quarteredge.core.model;
+
+import java.time.LocalTime;
+
+/**
+ * The features of a candidate order, taken at the bar on which the strategy created it, as input
+ * for the trade/skip classifier.
+ *
+ * @param atr the ATR used for the stop loss and take profit of the order
+ * @param drWidth the width of the defining range, from its low to its high
+ * @param idrWidth the width of the implied defining range, from its lowest to its highest close
+ * @param breakoutTime the time of the bar that broke out of the defining range
+ * @param quarterDistance the distance from the close of the breakout bar to the nearest quarter
+ *     level
+ * @param preBreakoutVolume the volume traded from the start of the defining range up to, but not
+ *     including, the breakout bar
+ */
+public record TradeFeaturesDTO(
+        double atr,
+        double drWidth,
+        double idrWidth,
+        LocalTime breakoutTime,
+        double quarterDistance,
+        double preBreakoutVolume) {}
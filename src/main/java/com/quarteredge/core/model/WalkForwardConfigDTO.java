@@ -0,0 +1,27 @@
+package com.quarteredge.core.model;
+
+/**
+ * Configuration of a walk-forward optimization.
+ *
+ * <p>The sessions are split into consecutive train/test windows. Each window is tested on the
+ * {@code testSessions} sessions that immediately follow its train window, and the next window
+ * starts {@code testSessions} sessions later. Rolling windows keep a fixed train length, while
+ * anchored windows always train from the first session.
+ *
+ * @param trainSessions the number of sessions in each (first, if anchored) train window
+ * @param testSessions the number of sessions in each test window
+ * @param anchored true to anchor every train window at the first session, false to roll it
+ */
+public record WalkForwardConfigDTO(int trainSessions, int testSessions, boolean anchored) {
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if the train or test window is empty
+     */
+    public WalkForwardConfigDTO {
+        if (trainSessions < 1 || testSessions < 1) {
+            throw new IllegalArgumentException(
+                    "train and test windows must hold at least one session");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.quarteredge.core.model;
+
+import java.util.List;
+
+/**
+ * The outcome of a walk-forward optimization.
+ *
+ * @param windows the outcome of each window, in chronological order
+ * @param outOfSampleSessions the orders of every test session, stitched in chronological order
+ * @param outOfSample the performance of the stitched out-of-sample orders
+ */
+public record WalkForwardResultDTO(
+        List<WalkForwardWindowDTO> windows,
+        List<List<OrderDTO>> outOfSampleSessions,
+        PerformanceDTO outOfSample) {}
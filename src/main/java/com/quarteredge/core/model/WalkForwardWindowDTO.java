@@ -0,0 +1,23 @@
+package com.quarteredge.core.model;
+
+import com.quarteredge.core.strategy.StrategyParameters;
+
+/**
+ * The outcome of a single walk-forward window.
+ *
+ * @param trainStart the date of the first train session
+ * @param trainEnd the date of the last train session
+ * @param testStart the date of the first test session
+ * @param testEnd the date of the last test session
+ * @param parameters the parameters that scored best on the train sessions
+ * @param inSample the performance of the chosen parameters on the train sessions
+ * @param outOfSample the performance of the chosen parameters on the test sessions
+ */
+public record WalkForwardWindowDTO(
+        String trainStart,
+        String trainEnd,
+        String testStart,
+        String testEnd,
+        StrategyParameters parameters,
+        PerformanceDTO inSample,
+        PerformanceDTO outOfSample) {}
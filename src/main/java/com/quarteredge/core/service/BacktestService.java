@@ -1,12 +1,24 @@
 package com.quarteredge.core.service;
 
+import com.quarteredge.core.component.BacktestMonitor;
 import com.quarteredge.core.component.BacktestSession;
-import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.component.PerformanceAccumulator;
+import com.quarteredge.core.event.AsyncEventSink;
+import com.quarteredge.core.event.BacktestEventSink;
+import com.quarteredge.core.event.ConsoleEventSink;
+import com.quarteredge.core.metrics.Metrics;
+import com.quarteredge.core.metrics.Phase;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OverflowPolicy;
 import com.quarteredge.core.strategy.Strategy;
 import com.quarteredge.core.util.Parser;
 import java.io.File;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 /** Service class for running backtests. */
 public class BacktestService {
@@ -16,34 +28,103 @@ public class BacktestService {
     /** The strategy to be used for the backtest. */
     private final Strategy strategy;
 
-    /** The list of orders to be used for the backtest. */
-    private final List<List<OrderDTO>> sessions;
+    /** The running performance of the backtest. */
+    private final PerformanceAccumulator accumulator;
+
+    /** The monitor of the running backtest. */
+    private final BacktestMonitor monitor;
+
+    /** The sink that receives the events of the backtest. */
+    private final BacktestEventSink sink;
 
     /**
-     * Constructor for the BacktestService class.
+     * Constructor for the BacktestService class. Sessions and their orders are printed to the
+     * console from a background thread. The simulation waits for room when the console falls a
+     * full ring behind, so no event is ever dropped.
      *
      * @param strategy The strategy to be used for the backtest.
      * @param filePath The path to the data file to be parsed.
      */
     public BacktestService(final Strategy strategy, final String filePath) {
+        this(
+                strategy,
+                filePath,
+                new AsyncEventSink(
+                        new ConsoleEventSink(),
+                        AsyncEventSink.DEFAULT_CAPACITY,
+                        OverflowPolicy.BLOCK));
+    }
+
+    /**
+     * Constructor for the BacktestService class that reports events to the given sink, e.g. a
+     * {@link com.quarteredge.core.storage.TradeLedgerSink} or {@link BacktestEventSink#NONE}. The
+     * sink is closed when the backtest completes.
+     *
+     * @param strategy The strategy to be used for the backtest.
+     * @param filePath The path to the data file to be parsed.
+     * @param sink The sink that receives the events of the backtest.
+     */
+    public BacktestService(
+            final Strategy strategy, final String filePath, final BacktestEventSink sink) {
         this.strategy = strategy;
+        this.sink = sink;
         this.parser = new Parser(new File(filePath));
-        this.sessions = new ArrayList<>();
+        this.accumulator = new PerformanceAccumulator();
+        this.monitor = new BacktestMonitor();
     }
 
     /** Runs the backtest. */
     public void run() {
         parser.parse();
-        parser.getSessionMap()
-                .forEach(
-                        (key, value) -> {
-                            IO.println(key);
-                            var backTestSession = new BacktestSession(strategy, value);
-                            backTestSession.startSession();
-                            backTestSession.getOrders().forEach(IO::println);
-                            sessions.add(backTestSession.getOrders());
-                        });
-        PerformanceService performanceService = new PerformanceService(sessions);
+        try (sink) {
+            for (Map.Entry<String, List<CandleDTO>> session : parser.getSessionMap().entrySet()) {
+                sink.sessionStarted(session.getKey());
+                var backTestSession = new BacktestSession(strategy, session.getValue(), sink);
+                backTestSession.startSession();
+                sink.sessionCompleted(session.getKey(), backTestSession.getOrders());
+                var start = Metrics.start();
+                accumulator.addSession(backTestSession.getOrders());
+                Metrics.stop(Phase.PERFORMANCE, start);
+                monitor.recordSession(
+                        session.getValue().size(), backTestSession.getOrders(), accumulator);
+            }
+        }
+        if (sink instanceof AsyncEventSink async && async.getDroppedEvents() > 0) {
+            IO.println("Dropped " + async.getDroppedEvents() + " events: the sink fell behind.");
+        }
+        PerformanceService performanceService = new PerformanceService(accumulator);
         IO.println(performanceService.calculatePerformance());
+        if (Metrics.ENABLED) {
+            dumpMetrics();
+        }
+    }
+
+    /**
+     * Prints the summary of the metrics of the run, and writes it as JSON to the file named by
+     * the {@value Metrics#JSON_PROPERTY} system property, if set.
+     *
+     * @throws UncheckedIOException if the JSON file could not be written
+     */
+    private static void dumpMetrics() {
+        var registry = Metrics.registry();
+        IO.println(registry.summary());
+        var jsonFile = System.getProperty(Metrics.JSON_PROPERTY);
+        if (jsonFile != null) {
+            try {
+                Files.writeString(Path.of(jsonFile), registry.toJson());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the monitor of the backtest, which can be read from another thread while the
+     * backtest runs.
+     *
+     * @return the monitor of the backtest
+     */
+    public BacktestMonitor getMonitor() {
+        return monitor;
     }
 }
@@ -0,0 +1,396 @@
+package com.quarteredge.core.service;
+
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+import static com.quarteredge.core.util.Constants.LAST_CANDLE_CLOSE_TIME;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.component.PerformanceAccumulator;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatsDTO;
+import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.model.ParameterRangeDTO;
+import com.quarteredge.core.model.SweepResultDTO;
+import com.quarteredge.core.strategy.QuarterEdgeParameters;
+import com.quarteredge.core.strategy.QuarterEdgeStrategy;
+import com.quarteredge.core.util.ParallelExecutor;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ExitSweepService class.
+ *
+ * <p>This class sweeps the stop loss and take profit ATR multipliers of the {@link
+ * QuarterEdgeStrategy} without re-simulating the entries. The entries of the strategy only depend
+ * on its ATR period, so every ATR period is simulated once. After an entry fills, a single forward
+ * scan over the following candles records, for every requested stop loss and take profit level,
+ * the first candle that touches it. The outcome of each multiplier pair is then derived from those
+ * first-touch indexes instead of from another backtest, so an N x M exit grid costs about one
+ * simulation instead of N x M.
+ *
+ * <p>Fills, exits and order statistics follow the rules of {@link BacktestSession}, so the results
+ * are identical to running {@link SweepService} over the same {@link QuarterEdgeParameters} grid.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see SweepService
+ * @see QuarterEdgeStrategy
+ */
+public class ExitSweepService {
+    /** Index used when a level is never touched. */
+    private static final int NEVER = Integer.MAX_VALUE;
+
+    /** Initial number of candles buffered after a fill. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** The sweep service holding the shared, parsed sessions. */
+    private final SweepService sweepService;
+
+    /**
+     * Constructs a new ExitSweepService.
+     *
+     * @param sweepService the sweep service holding the sessions to run against
+     */
+    public ExitSweepService(final SweepService sweepService) {
+        this.sweepService = sweepService;
+    }
+
+    /**
+     * Runs every combination of the ranges, in the same order as {@link
+     * QuarterEdgeParameters#grid(ParameterRangeDTO, ParameterRangeDTO, ParameterRangeDTO)}.
+     *
+     * @param atrPeriods the range of ATR periods, rounded to the nearest integer
+     * @param stopLossMultipliers the range of stop loss ATR multipliers
+     * @param takeProfitMultipliers the range of take profit ATR multipliers
+     * @return the results, one per parameter combination
+     */
+    public List<SweepResultDTO> run(
+            final ParameterRangeDTO atrPeriods,
+            final ParameterRangeDTO stopLossMultipliers,
+            final ParameterRangeDTO takeProfitMultipliers) {
+        var grid =
+                QuarterEdgeParameters.grid(
+                        atrPeriods, stopLossMultipliers, takeProfitMultipliers);
+        var stopLosses = stopLossMultipliers.values();
+        var takeProfits = takeProfitMultipliers.values();
+        List<Integer> periods = new ArrayList<>();
+        for (double period : atrPeriods.values()) {
+            periods.add((int) Math.round(period));
+        }
+        try (var executor = new ParallelExecutor(sweepService.getParallelism())) {
+            List<List<List<Entry>>> scans =
+                    executor.map(periods, period -> scan(period, stopLosses, takeProfits));
+            int pairs = stopLosses.length * takeProfits.length;
+            List<Integer> indexes = new ArrayList<>(grid.size());
+            for (int i = 0; i < grid.size(); i++) {
+                indexes.add(i);
+            }
+            return executor.map(
+                    indexes,
+                    i -> {
+                        int pair = i % pairs;
+                        var accumulator =
+                                accumulate(
+                                        scans.get(i / pairs),
+                                        pair / takeProfits.length,
+                                        pair % takeProfits.length);
+                        return new SweepResultDTO(grid.get(i), accumulator.toPerformance());
+                    });
+        }
+    }
+
+    /**
+     * Simulates the entries of a strategy with the given ATR period once, recording the first
+     * touch of every exit level after each fill.
+     *
+     * @param atrPeriod the period for the ATR indicator
+     * @param stopLosses the stop loss ATR multipliers
+     * @param takeProfits the take profit ATR multipliers
+     * @return the entries of each session
+     */
+    private List<List<Entry>> scan(
+            final int atrPeriod, final double[] stopLosses, final double[] takeProfits) {
+        var strategy = new QuarterEdgeStrategy(atrPeriod);
+        List<List<Entry>> sessions = new ArrayList<>();
+        for (List<CandleDTO> candles : sweepService.getSessions().values()) {
+            List<Entry> entries = new ArrayList<>();
+            for (CandleDTO candle : candles) {
+                strategy.push(candle);
+                if (candle.time().equals(FIRST_CANDLE_OPEN_TIME)) {
+                    continue;
+                }
+                for (Entry entry : entries) {
+                    entry.update(candle);
+                }
+                var order = strategy.getStatus();
+                if (order.isPresent()) {
+                    entries.add(new Entry(order.get(), strategy.getAtr(), stopLosses, takeProfits));
+                }
+            }
+            sessions.add(entries);
+        }
+        return sessions;
+    }
+
+    /**
+     * Accumulates the performance of every session for a single multiplier pair, without
+     * keeping the orders.
+     *
+     * @param sessions the entries of each session
+     * @param stopLoss the index of the stop loss multiplier
+     * @param takeProfit the index of the take profit multiplier
+     * @return the accumulated performance of all sessions
+     */
+    private static PerformanceAccumulator accumulate(
+            final List<List<Entry>> sessions, final int stopLoss, final int takeProfit) {
+        var accumulator = new PerformanceAccumulator();
+        for (List<Entry> entries : sessions) {
+            for (Entry entry : entries) {
+                accumulator.addOrder(entry.toOrder(stopLoss, takeProfit));
+            }
+            accumulator.endSession();
+        }
+        return accumulator;
+    }
+
+    /**
+     * An entry created by the strategy, together with the first-touch index of every exit level.
+     * Candle indexes count the candles processed after the fill, starting at 0.
+     */
+    private static final class Entry {
+        /** The entry price. */
+        private final double price;
+
+        /** The direction of the entry. */
+        private final Direction direction;
+
+        /** The stop loss price of each stop loss multiplier. */
+        private final double[] stopLosses;
+
+        /** The take profit price of each take profit multiplier. */
+        private final double[] takeProfits;
+
+        /** The index of the first candle touching each stop loss, or {@link #NEVER}. */
+        private final int[] stopLossHits;
+
+        /** The index of the first candle touching each take profit, or {@link #NEVER}. */
+        private final int[] takeProfitHits;
+
+        /** The number of exit levels that have not been touched yet. */
+        private int untouched;
+
+        /** The status of the entry itself; PENDING, ACTIVE once filled or CLOSED_CANCELED. */
+        private OrderStatus status;
+
+        /** The time of the fill candle. */
+        private LocalTime fillTime;
+
+        /** The time of the candle that cancelled the entry. */
+        private LocalTime cancelTime;
+
+        /** The index of the session close candle, or {@link #NEVER}. */
+        private int sessionClose;
+
+        /** The number of candles processed after the fill. */
+        private int count;
+
+        /** The highest high up to each candle after the fill. */
+        private double[] highs;
+
+        /** The lowest low up to each candle after the fill. */
+        private double[] lows;
+
+        /** The close of each candle after the fill. */
+        private double[] closes;
+
+        /** The time of each candle after the fill. */
+        private LocalTime[] times;
+
+        /**
+         * Constructs a new Entry from an order created by the strategy.
+         *
+         * @param order the pending order created by the strategy
+         * @param atr the ATR used by the strategy when the order was created
+         * @param stopLossMultipliers the stop loss ATR multipliers
+         * @param takeProfitMultipliers the take profit ATR multipliers
+         */
+        Entry(
+                final OrderDTO order,
+                final double atr,
+                final double[] stopLossMultipliers,
+                final double[] takeProfitMultipliers) {
+            this.price = order.entry();
+            this.direction = order.direction();
+            this.status = order.status();
+            this.stopLosses = new double[stopLossMultipliers.length];
+            this.takeProfits = new double[takeProfitMultipliers.length];
+            for (int i = 0; i < stopLosses.length; i++) {
+                stopLosses[i] =
+                        QuarterEdgeStrategy.getStopLoss(
+                                price, atr, stopLossMultipliers[i], direction);
+            }
+            for (int i = 0; i < takeProfits.length; i++) {
+                takeProfits[i] =
+                        QuarterEdgeStrategy.getTakeProfit(
+                                price, atr, takeProfitMultipliers[i], direction);
+            }
+            this.stopLossHits = new int[stopLosses.length];
+            this.takeProfitHits = new int[takeProfits.length];
+            Arrays.fill(stopLossHits, NEVER);
+            Arrays.fill(takeProfitHits, NEVER);
+            this.untouched = stopLosses.length + takeProfits.length;
+            this.sessionClose = NEVER;
+        }
+
+        /**
+         * Processes a candle, following the order rules of {@link BacktestSession}.
+         *
+         * @param candle the current candlestick data point
+         */
+        void update(final CandleDTO candle) {
+            boolean isSessionClose =
+                    candle.time().equals(LAST_CANDLE_CLOSE_TIME)
+                            || candle.time().isAfter(LAST_CANDLE_CLOSE_TIME);
+            if (status == OrderStatus.PENDING) {
+                if (!candle.time().equals(LAST_CANDLE_CLOSE_TIME)
+                        && price <= candle.high()
+                        && price >= candle.low()) {
+                    status = OrderStatus.ACTIVE;
+                    fillTime = candle.time();
+                } else if (isSessionClose) {
+                    status = OrderStatus.CLOSED_CANCELED;
+                    cancelTime = candle.time();
+                }
+                return;
+            }
+            if (status != OrderStatus.ACTIVE || sessionClose != NEVER || untouched == 0) {
+                return;
+            }
+            record(candle);
+            int index = count - 1;
+            untouched -= touch(stopLosses, stopLossHits, candle, index);
+            untouched -= touch(takeProfits, takeProfitHits, candle, index);
+            if (isSessionClose) {
+                sessionClose = index;
+            }
+        }
+
+        /**
+         * Records the running extremes, close and time of a candle processed after the fill.
+         *
+         * @param candle the current candlestick data point
+         */
+        private void record(final CandleDTO candle) {
+            if (highs == null || count == highs.length) {
+                int capacity = highs == null ? INITIAL_CAPACITY : highs.length * 2;
+                highs = highs == null ? new double[capacity] : Arrays.copyOf(highs, capacity);
+                lows = lows == null ? new double[capacity] : Arrays.copyOf(lows, capacity);
+                closes = closes == null ? new double[capacity] : Arrays.copyOf(closes, capacity);
+                times = times == null ? new LocalTime[capacity] : Arrays.copyOf(times, capacity);
+            }
+            highs[count] = count == 0 ? candle.high() : Math.max(highs[count - 1], candle.high());
+            lows[count] = count == 0 ? candle.low() : Math.min(lows[count - 1], candle.low());
+            closes[count] = candle.close();
+            times[count] = candle.time();
+            count++;
+        }
+
+        /**
+         * Marks the levels touched by the candle that had not been touched before.
+         *
+         * @param levels the exit levels
+         * @param hits the first-touch index of each level
+         * @param candle the current candlestick data point
+         * @param index the index of the candle after the fill
+         * @return the number of newly touched levels
+         */
+        private static int touch(
+                final double[] levels, final int[] hits, final CandleDTO candle, final int index) {
+            int touched = 0;
+            for (int i = 0; i < levels.length; i++) {
+                if (hits[i] == NEVER && levels[i] <= candle.high() && levels[i] >= candle.low()) {
+                    hits[i] = index;
+                    touched++;
+                }
+            }
+            return touched;
+        }
+
+        /**
+         * Builds the order that a backtest with the given multiplier pair would have produced.
+         *
+         * @param stopLoss the index of the stop loss multiplier
+         * @param takeProfit the index of the take profit multiplier
+         * @return the order
+         */
+        OrderDTO toOrder(final int stopLoss, final int takeProfit) {
+            double sl = stopLosses[stopLoss];
+            double tp = takeProfits[takeProfit];
+            if (status != OrderStatus.ACTIVE) {
+                return new OrderDTO(
+                        sl,
+                        tp,
+                        price,
+                        -1,
+                        direction,
+                        null,
+                        cancelTime,
+                        status,
+                        new OrderStatsDTO(price, price));
+            }
+            int slHit = stopLossHits[stopLoss];
+            int tpHit = takeProfitHits[takeProfit];
+            int exit = Math.min(Math.min(slHit, tpHit), sessionClose);
+            if (exit == NEVER) {
+                return new OrderDTO(
+                        sl, tp, price, -1, direction, fillTime, null, status, getStats(count - 1));
+            }
+            OrderStatus closeStatus;
+            double closePrice;
+            if (slHit == exit && tpHit == exit) {
+                closeStatus = OrderStatus.CLOSED_UNKNOWN;
+                closePrice = -1;
+            } else if (slHit == exit) {
+                closeStatus = OrderStatus.CLOSED_SL_HIT;
+                closePrice = sl;
+            } else if (tpHit == exit) {
+                closeStatus = OrderStatus.CLOSED_TP_HIT;
+                closePrice = tp;
+            } else {
+                closeStatus = OrderStatus.CLOSED_MANUAL;
+                closePrice = closes[exit];
+            }
+            return new OrderDTO(
+                    sl,
+                    tp,
+                    price,
+                    closePrice,
+                    direction,
+                    fillTime,
+                    times[exit],
+                    closeStatus,
+                    getStats(exit));
+        }
+
+        /**
+         * Returns the order statistics after the candle at the given index was processed.
+         *
+         * @param index the index of the candle after the fill, or -1 if no candle was processed
+         * @return the order statistics
+         */
+        private OrderStatsDTO getStats(final int index) {
+            if (index < 0) {
+                return new OrderStatsDTO(price, price);
+            }
+            double high = Math.max(price, highs[index]);
+            double low = Math.min(price, lows[index]);
+            return direction == Direction.BUY
+                    ? new OrderStatsDTO(high, low)
+                    : new OrderStatsDTO(low, high);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.quarteredge.core.service;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.component.FeatureExtractor;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.TradeFeaturesDTO;
+import com.quarteredge.core.storage.FeatureWriter;
+import com.quarteredge.core.storage.TradeLedgerWriter;
+import com.quarteredge.core.strategy.QuarterEdgeParameters;
+import com.quarteredge.core.strategy.QuarterEdgeStrategy;
+import com.quarteredge.core.util.ParallelExecutor;
+import com.quarteredge.core.util.Parser;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FeatureService class.
+ *
+ * <p>This class builds the training data of the trade/skip classifier: it backtests a {@link
+ * QuarterEdgeStrategy} configuration over every session and, in the same pass, records the
+ * features of every order through a {@link FeatureExtractor}. The orders are written to a trade
+ * ledger and their features to a feature file with the same block size, so that both files line up
+ * row for row.
+ *
+ * <p>Sessions run in parallel across a {@link ParallelExecutor}, each on its own strategy
+ * instance. The defining range is reset at the start of every session anyway, but the ATR is
+ * seeded from the bars of the session itself instead of being carried over from the previous
+ * session, so the orders can differ slightly from those of a {@link BacktestService} run; the
+ * ledger written next to the features is the one they describe. Results only depend on the
+ * sessions and the configuration, not on the number of worker threads. They are written on the
+ * calling thread in session order as soon as all earlier sessions are written, which keeps only a
+ * handful of sessions in memory at any time.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see FeatureExtractor
+ * @see FeatureWriter
+ * @see TradeLedgerWriter
+ */
+public class FeatureService {
+    /** The parsed sessions, keyed by session date in chronological order. */
+    private final Map<String, List<CandleDTO>> sessions;
+
+    /** The number of worker threads. */
+    private final int parallelism;
+
+    /**
+     * Constructs a new FeatureService over already parsed sessions, using one worker per available
+     * processor.
+     *
+     * @param sessions the sessions to extract features from, keyed by session date
+     */
+    public FeatureService(final Map<String, List<CandleDTO>> sessions) {
+        this(sessions, ParallelExecutor.defaultParallelism());
+    }
+
+    /**
+     * Constructs a new FeatureService over already parsed sessions.
+     *
+     * @param sessions the sessions to extract features from, keyed by session date
+     * @param parallelism the number of worker threads
+     */
+    public FeatureService(final Map<String, List<CandleDTO>> sessions, final int parallelism) {
+        var copy = new LinkedHashMap<String, List<CandleDTO>>();
+        sessions.forEach((key, value) -> copy.put(key, List.copyOf(value)));
+        this.sessions = Collections.unmodifiableMap(copy);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates a new FeatureService by parsing the specified data file once.
+     *
+     * @param filePath the path to the data file to be parsed
+     * @return the new FeatureService
+     */
+    public static FeatureService fromFile(final String filePath) {
+        var parser = new Parser(new File(filePath));
+        parser.parse();
+        return new FeatureService(parser.getSessionMap());
+    }
+
+    /**
+     * Backtests a configuration over every session and writes its orders and their features.
+     *
+     * @param parameters the strategy configuration to run
+     * @param ledgerPath the path of the trade ledger file, replaced if it exists
+     * @param featurePath the path of the feature file, replaced if it exists
+     * @return the number of orders written to both files
+     * @throws IOException if a file cannot be created or written
+     */
+    public long run(
+            final QuarterEdgeParameters parameters, final Path ledgerPath, final Path featurePath)
+            throws IOException {
+        List<String> dates = new ArrayList<>(sessions.keySet());
+        List<Integer> indexes = new ArrayList<>(dates.size());
+        for (int i = 0; i < dates.size(); i++) {
+            indexes.add(i);
+        }
+        var completed = new SessionFeatures[dates.size()];
+        try (var ledger = new TradeLedgerWriter(ledgerPath);
+                var features = new FeatureWriter(featurePath);
+                var executor = new ParallelExecutor(parallelism)) {
+            int[] next = {0};
+            executor.forEach(
+                    indexes,
+                    i -> extract(parameters, i, sessions.get(dates.get(i))),
+                    result -> {
+                        completed[result.index()] = result;
+                        // write every session whose predecessors are all written
+                        while (next[0] < completed.length && completed[next[0]] != null) {
+                            write(dates.get(next[0]), completed[next[0]], ledger, features);
+                            completed[next[0]++] = null;
+                        }
+                    });
+            return features.getRowCount();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the shared, immutable sessions.
+     *
+     * @return the sessions keyed by session date, in chronological order
+     */
+    public Map<String, List<CandleDTO>> getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the number of worker threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Backtests a configuration over a single session on a new strategy instance.
+     *
+     * @param parameters the strategy configuration to run
+     * @param index the index of the session
+     * @param candles the candles of the session
+     * @return the orders of the session and their features
+     */
+    private static SessionFeatures extract(
+            final QuarterEdgeParameters parameters,
+            final int index,
+            final List<CandleDTO> candles) {
+        var extractor =
+                new FeatureExtractor(
+                        new QuarterEdgeStrategy(
+                                parameters.atrPeriod(),
+                                parameters.stopLossMultiplier(),
+                                parameters.takeProfitMultiplier()));
+        var backtestSession = new BacktestSession(extractor, candles);
+        backtestSession.startSession();
+        return new SessionFeatures(index, backtestSession.getOrders(), extractor.getFeatures());
+    }
+
+    /**
+     * Writes the orders of a session to the ledger and their features to the feature file.
+     *
+     * @param sessionDate the date of the session
+     * @param session the orders of the session and their features
+     * @param ledger the writer of the ledger file
+     * @param features the writer of the feature file
+     * @throws UncheckedIOException if a file cannot be written
+     */
+    private static void write(
+            final String sessionDate,
+            final SessionFeatures session,
+            final TradeLedgerWriter ledger,
+            final FeatureWriter features) {
+        try {
+            ledger.writeSession(sessionDate, session.orders());
+            features.writeSession(sessionDate, session.features());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The orders of a session and their features.
+     *
+     * @param index the index of the session
+     * @param orders the orders of the session, in their final state
+     * @param features the features of the orders, in the same order
+     */
+    private record SessionFeatures(
+            int index, List<OrderDTO> orders, List<TradeFeaturesDTO> features) {}
+}
@@ -0,0 +1,249 @@
+package com.quarteredge.core.service;
+
+import static com.quarteredge.core.util.Constants.RISK_PER_TRADE;
+import static com.quarteredge.core.util.Constants.STARTING_BALANCE;
+import static com.quarteredge.core.util.Constants.TRADING_DAYS;
+
+import com.quarteredge.core.model.DistributionDTO;
+import com.quarteredge.core.model.MonteCarloResultDTO;
+import com.quarteredge.core.model.ResamplingMode;
+import com.quarteredge.core.util.ParallelExecutor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * MonteCarloService class.
+ *
+ * <p>This class estimates how much the drawdown, final equity, losing streaks and Sharpe ratio of a
+ * backtest depend on the order of its session results. It resamples the per-session R results many
+ * times, replays each path with the same compounding rules as {@link PerformanceService}, and
+ * reports the distribution of each metric as percentiles.
+ *
+ * <p>Paths are simulated in fixed-size chunks across a {@link ParallelExecutor}. Every chunk has
+ * its own {@link SplittableRandom} split from the seed on the calling thread, so results only
+ * depend on the seed and not on the number of worker threads. The simulation runs on primitive
+ * arrays only.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see PerformanceService#getSessionResults()
+ */
+public class MonteCarloService {
+    /** The number of paths simulated by a single parallel task. */
+    private static final int CHUNK_SIZE = 1024;
+
+    /** The rank of the 1st percentile. */
+    private static final double P1 = 0.01;
+
+    /** The rank of the 5th percentile. */
+    private static final double P5 = 0.05;
+
+    /** The rank of the 25th percentile. */
+    private static final double P25 = 0.25;
+
+    /** The rank of the median. */
+    private static final double P50 = 0.5;
+
+    /** The rank of the 75th percentile. */
+    private static final double P75 = 0.75;
+
+    /** The rank of the 95th percentile. */
+    private static final double P95 = 0.95;
+
+    /** The rank of the 99th percentile. */
+    private static final double P99 = 0.99;
+
+    /** The original per-session R results. */
+    private final double[] sessionResults;
+
+    /** The number of worker threads. */
+    private final int parallelism;
+
+    /**
+     * Constructs a new MonteCarloService using one worker per available processor.
+     *
+     * @param sessionResults the per-session R results to resample
+     */
+    public MonteCarloService(final double[] sessionResults) {
+        this(sessionResults, ParallelExecutor.defaultParallelism());
+    }
+
+    /**
+     * Constructs a new MonteCarloService.
+     *
+     * @param sessionResults the per-session R results to resample
+     * @param parallelism the number of worker threads
+     */
+    public MonteCarloService(final double[] sessionResults, final int parallelism) {
+        this.sessionResults = sessionResults.clone();
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Simulates the given number of paths and summarizes the distribution of each metric.
+     *
+     * @param paths the number of paths to simulate
+     * @param mode how each path is drawn from the original session results
+     * @param seed the seed of the random number generator
+     * @return the distributions of the simulated metrics
+     * @throws IllegalArgumentException if there are no paths or no session results
+     */
+    public MonteCarloResultDTO run(final int paths, final ResamplingMode mode, final long seed) {
+        if (paths < 1 || sessionResults.length == 0) {
+            throw new IllegalArgumentException("Monte Carlo needs paths and session results");
+        }
+        var maxDrawdowns = new double[paths];
+        var finalEquities = new double[paths];
+        var losingStreaks = new double[paths];
+        var sharpeRatios = new double[paths];
+
+        var root = new SplittableRandom(seed);
+        List<Chunk> chunks = new ArrayList<>();
+        for (int start = 0; start < paths; start += CHUNK_SIZE) {
+            chunks.add(new Chunk(start, Math.min(start + CHUNK_SIZE, paths), root.split()));
+        }
+        try (var executor = new ParallelExecutor(parallelism)) {
+            executor.forEach(
+                    chunks,
+                    chunk -> {
+                        simulate(
+                                chunk,
+                                mode,
+                                maxDrawdowns,
+                                finalEquities,
+                                losingStreaks,
+                                sharpeRatios);
+                        return chunk;
+                    },
+                    chunk -> {});
+        }
+        return new MonteCarloResultDTO(
+                paths,
+                summarize(maxDrawdowns),
+                summarize(finalEquities),
+                summarize(losingStreaks),
+                summarize(sharpeRatios));
+    }
+
+    /**
+     * Simulates the paths of a chunk and writes their metrics at the path indexes.
+     *
+     * @param chunk the chunk of paths to simulate
+     * @param mode how each path is drawn from the original session results
+     * @param maxDrawdowns the maximum drawdown of every path
+     * @param finalEquities the final equity of every path
+     * @param losingStreaks the longest losing streak of every path
+     * @param sharpeRatios the Sharpe ratio of every path
+     */
+    private void simulate(
+            final Chunk chunk,
+            final ResamplingMode mode,
+            final double[] maxDrawdowns,
+            final double[] finalEquities,
+            final double[] losingStreaks,
+            final double[] sharpeRatios) {
+        var random = chunk.random();
+        var path = sessionResults.clone();
+        int n = path.length;
+        for (int p = chunk.start(); p < chunk.end(); p++) {
+            if (mode == ResamplingMode.PERMUTATION) {
+                for (int i = n - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    var tmp = path[i];
+                    path[i] = path[j];
+                    path[j] = tmp;
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    path[i] = sessionResults[nextIndex(random, n)];
+                }
+            }
+            var equity = STARTING_BALANCE;
+            var peak = STARTING_BALANCE;
+            var maxDD = 0.0;
+            var mean = 0.0;
+            var m2 = 0.0;
+            int streak = 0;
+            int maxStreak = 0;
+            for (int i = 0; i < n; i++) {
+                var dailyReturn = path[i] * RISK_PER_TRADE;
+                equity += equity * dailyReturn;
+                peak = Math.max(peak, equity);
+                maxDD = Math.max(peak - equity, maxDD);
+                var delta = dailyReturn - mean;
+                mean += delta / (i + 1);
+                m2 += delta * (dailyReturn - mean);
+                streak = path[i] < 0 ? streak + 1 : 0;
+                maxStreak = Math.max(streak, maxStreak);
+            }
+            maxDrawdowns[p] = maxDD;
+            finalEquities[p] = equity;
+            losingStreaks[p] = maxStreak;
+            sharpeRatios[p] =
+                    n < 2 || m2 <= 0
+                            ? 0
+                            : (mean / Math.sqrt(m2 / (n - 1))) * Math.sqrt(TRADING_DAYS);
+        }
+    }
+
+    /**
+     * Draws an index between 0 (inclusive) and the bound (exclusive) by scaling 32 random bits,
+     * which avoids the division of {@link SplittableRandom#nextInt(int)} on the hot path.
+     *
+     * @param random the random number generator
+     * @param bound the upper bound (exclusive)
+     * @return the random index
+     */
+    private static int nextIndex(final SplittableRandom random, final int bound) {
+        return (int) (((random.nextLong() >>> Integer.SIZE) * bound) >>> Integer.SIZE);
+    }
+
+    /**
+     * Summarizes the values as their mean and percentiles. The values are sorted in place.
+     *
+     * @param values the values to summarize
+     * @return the distribution of the values
+     */
+    private static DistributionDTO summarize(final double[] values) {
+        Arrays.sort(values);
+        var sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        return new DistributionDTO(
+                sum / values.length,
+                percentile(values, P1),
+                percentile(values, P5),
+                percentile(values, P25),
+                percentile(values, P50),
+                percentile(values, P75),
+                percentile(values, P95),
+                percentile(values, P99));
+    }
+
+    /**
+     * Returns the percentile of sorted values, interpolating linearly between the closest ranks.
+     *
+     * @param sorted the values, in ascending order
+     * @param fraction the percentile rank, between 0 and 1
+     * @return the percentile
+     */
+    static double percentile(final double[] sorted, final double fraction) {
+        var rank = fraction * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+    }
+
+    /**
+     * A contiguous range of paths simulated by a single task.
+     *
+     * @param start the index of the first path (inclusive)
+     * @param end the index after the last path (exclusive)
+     * @param random the random number generator of the chunk
+     */
+    private record Chunk(int start, int end, SplittableRandom random) {}
+}
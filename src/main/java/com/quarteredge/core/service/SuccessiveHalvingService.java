@@ -0,0 +1,196 @@
+package com.quarteredge.core.service;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.component.PerformanceAccumulator;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.PerformanceDTO;
+import com.quarteredge.core.model.SuccessiveHalvingConfigDTO;
+import com.quarteredge.core.model.SuccessiveHalvingResultDTO;
+import com.quarteredge.core.model.SweepResultDTO;
+import com.quarteredge.core.strategy.Strategy;
+import com.quarteredge.core.strategy.StrategyParameters;
+import com.quarteredge.core.util.ParallelExecutor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * SuccessiveHalvingService class.
+ *
+ * <p>This class searches a large parameter grid without paying for a full backtest of every
+ * candidate. All candidates start on a small slice of sessions; after each round the worst ones
+ * are discarded and the survivors are extended to more sessions. Any candidate whose running
+ * drawdown crosses the configured threshold is aborted on the spot.
+ *
+ * <p>Survivors are extended rather than restarted: each candidate keeps its own {@link Strategy}
+ * instance and {@link PerformanceAccumulator} between rounds, so a survivor's final metrics are
+ * exactly those of a full run over all sessions, without keeping any orders around. Candidates of
+ * a round are simulated in parallel on a {@link ParallelExecutor}, over the shared sessions of a
+ * {@link SweepService}.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see SweepService
+ * @see SuccessiveHalvingConfigDTO
+ */
+public class SuccessiveHalvingService {
+    /** The sweep service holding the shared, parsed sessions. */
+    private final SweepService sweepService;
+
+    /** The round configuration. */
+    private final SuccessiveHalvingConfigDTO config;
+
+    /**
+     * Constructs a new SuccessiveHalvingService.
+     *
+     * @param sweepService the sweep service holding the sessions to evaluate on
+     * @param config the round configuration
+     */
+    public SuccessiveHalvingService(
+            final SweepService sweepService, final SuccessiveHalvingConfigDTO config) {
+        this.sweepService = sweepService;
+        this.config = config;
+    }
+
+    /**
+     * Runs the optimization, ranking candidates by expectancy.
+     *
+     * @param grid the candidate strategy configurations
+     * @return the outcome of the optimization
+     */
+    public SuccessiveHalvingResultDTO run(final List<? extends StrategyParameters> grid) {
+        return run(grid, PerformanceDTO::expectancy);
+    }
+
+    /**
+     * Runs the optimization, ranking candidates by the objective score. Candidates with a NaN
+     * score rank last.
+     *
+     * @param grid the candidate strategy configurations
+     * @param objective the score to maximize
+     * @return the outcome of the optimization
+     */
+    public SuccessiveHalvingResultDTO run(
+            final List<? extends StrategyParameters> grid,
+            final ToDoubleFunction<PerformanceDTO> objective) {
+        List<List<CandleDTO>> sessions = new ArrayList<>(sweepService.getSessions().values());
+        List<Candidate> survivors = new ArrayList<>();
+        for (StrategyParameters parameters : grid) {
+            survivors.add(new Candidate(parameters));
+        }
+        Comparator<Candidate> ranking =
+                Comparator.comparingDouble(
+                                (Candidate candidate) -> score(candidate, objective))
+                        .reversed();
+
+        int rounds = 0;
+        int aborted = 0;
+        long sessionsSimulated = 0;
+        long slice = config.initialSessions();
+        try (var executor = new ParallelExecutor(sweepService.getParallelism())) {
+            while (!survivors.isEmpty()) {
+                int target = (int) Math.min(slice, sessions.size());
+                rounds++;
+                List<Candidate> extended = new ArrayList<>();
+                for (Candidate candidate :
+                        executor.map(survivors, c -> c.extendTo(target, sessions))) {
+                    sessionsSimulated += candidate.simulated;
+                    candidate.simulated = 0;
+                    if (candidate.aborted) {
+                        aborted++;
+                    } else {
+                        extended.add(candidate);
+                    }
+                }
+                for (Candidate candidate : extended) {
+                    candidate.performance = candidate.accumulator.toPerformance();
+                }
+                extended.sort(ranking);
+                survivors = extended;
+                if (target == sessions.size()) {
+                    break;
+                }
+                int keep = Math.ceilDiv(survivors.size(), config.reductionFactor());
+                survivors = new ArrayList<>(survivors.subList(0, keep));
+                slice *= config.reductionFactor();
+            }
+        }
+
+        List<SweepResultDTO> results = new ArrayList<>();
+        for (Candidate candidate : survivors) {
+            results.add(new SweepResultDTO(candidate.parameters, candidate.performance));
+        }
+        return new SuccessiveHalvingResultDTO(results, rounds, sessionsSimulated, aborted);
+    }
+
+    /**
+     * Scores a candidate, mapping NaN to negative infinity so that it ranks last.
+     *
+     * @param candidate the candidate to score
+     * @param objective the score to maximize
+     * @return the score of the candidate
+     */
+    private static double score(
+            final Candidate candidate, final ToDoubleFunction<PerformanceDTO> objective) {
+        double score = objective.applyAsDouble(candidate.performance);
+        return Double.isNaN(score) ? Double.NEGATIVE_INFINITY : score;
+    }
+
+    /** The running state of a single candidate between rounds. */
+    private final class Candidate {
+        /** The parameters of the candidate. */
+        private final StrategyParameters parameters;
+
+        /** The strategy of the candidate; its state carries over from one round to the next. */
+        private final Strategy strategy;
+
+        /** The accumulated performance of every session simulated so far. */
+        private final PerformanceAccumulator accumulator;
+
+        /** The number of sessions simulated during the current round. */
+        private int simulated;
+
+        /** Flag indicating if the candidate crossed the drawdown threshold. */
+        private boolean aborted;
+
+        /** The performance of the candidate over the sessions simulated so far. */
+        private PerformanceDTO performance;
+
+        /**
+         * Constructs a new Candidate with a fresh strategy.
+         *
+         * @param parameters the parameters of the candidate
+         */
+        Candidate(final StrategyParameters parameters) {
+            this.parameters = parameters;
+            this.strategy = parameters.createStrategy();
+            this.accumulator = new PerformanceAccumulator();
+        }
+
+        /**
+         * Simulates the sessions that the candidate has not seen yet, up to the target, stopping
+         * early if the running drawdown crosses the threshold.
+         *
+         * @param target the number of sessions the candidate should have seen
+         * @param sessions the candles of every session, in chronological order
+         * @return this candidate
+         */
+        Candidate extendTo(final int target, final List<List<CandleDTO>> sessions) {
+            while (accumulator.getSessions() < target) {
+                var backtestSession =
+                        new BacktestSession(strategy, sessions.get(accumulator.getSessions()));
+                backtestSession.startSession();
+                accumulator.addSession(backtestSession.getOrders());
+                simulated++;
+
+                if (accumulator.getDrawdown() > config.maxDrawdown()) {
+                    aborted = true;
+                    break;
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.quarteredge.core.service;
+
+import com.quarteredge.core.component.BacktestMonitor;
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.component.EquityCurve;
+import com.quarteredge.core.component.PerformanceAccumulator;
+import com.quarteredge.core.event.BacktestEventSink;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.PerformanceDTO;
+import com.quarteredge.core.model.SweepResultDTO;
+import com.quarteredge.core.strategy.Strategy;
+import com.quarteredge.core.strategy.StrategyParameters;
+import com.quarteredge.core.util.ParallelExecutor;
+import com.quarteredge.core.util.Parser;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * SweepService class.
+ *
+ * <p>This class runs a grid of strategy configurations against a single parsed dataset. The data
+ * is parsed once and shared between all runs as an immutable map, while every run gets its own
+ * {@link Strategy} instance created from its {@link StrategyParameters}. Runs are spread across a
+ * {@link ParallelExecutor}, and each run is reduced to a {@link PerformanceDTO} as soon as it
+ * completes, so memory usage does not grow with the number of orders in the grid.
+ *
+ * <p>Every run records its progress on its own {@link BacktestMonitor}, which other threads can
+ * watch through {@link #getMonitors()} while the run is in progress. A monitor is dropped as soon
+ * as its run completes, so only the runs in flight are tracked however large the grid is.
+ *
+ * <p>Unless disabled, every run also marks a downsampled {@link EquityCurve} to market on every
+ * candle and reports its maximum drawdown in {@link SweepResultDTO#barMaxDrawdown()}, which catches
+ * the drawdowns inside a session that the per-session performance cannot see. The curve lives only
+ * as long as its run, and the downsampling bounds its size for long datasets.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see StrategyParameters
+ * @see PerformanceService
+ */
+public class SweepService {
+    /** The parsed sessions shared by all runs, keyed by session date in chronological order. */
+    private final Map<String, List<CandleDTO>> sessions;
+
+    /** The default number of candles covered by a single point of the equity curve of a run. */
+    public static final int DEFAULT_CURVE_DOWNSAMPLE = 64;
+
+    /** The number of worker threads used to run the grid. */
+    private final int parallelism;
+
+    /** The number of candles per point of the equity curve of a run, or 0 to skip the curve. */
+    private final int curveDownsample;
+
+    /**
+     * The monitor of every run in progress and its configuration. Keyed by monitor so that runs of
+     * the same configuration never replace each other.
+     */
+    private final Map<BacktestMonitor, StrategyParameters> monitors = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new SweepService over already parsed sessions, using one worker per available
+     * processor.
+     *
+     * @param sessions the sessions to run the sweep against, keyed by session date
+     */
+    public SweepService(final Map<String, List<CandleDTO>> sessions) {
+        this(sessions, ParallelExecutor.defaultParallelism());
+    }
+
+    /**
+     * Constructs a new SweepService over already parsed sessions, tracking the equity curve of
+     * every run with the default downsampling.
+     *
+     * @param sessions the sessions to run the sweep against, keyed by session date
+     * @param parallelism the number of worker threads
+     */
+    public SweepService(final Map<String, List<CandleDTO>> sessions, final int parallelism) {
+        this(sessions, parallelism, DEFAULT_CURVE_DOWNSAMPLE);
+    }
+
+    /**
+     * Constructs a new SweepService over already parsed sessions.
+     *
+     * @param sessions the sessions to run the sweep against, keyed by session date
+     * @param parallelism the number of worker threads
+     * @param curveDownsample the number of candles per point of the equity curve of a run, or 0
+     *     to skip the curve
+     * @throws IllegalArgumentException if the downsampling factor is negative
+     */
+    public SweepService(
+            final Map<String, List<CandleDTO>> sessions,
+            final int parallelism,
+            final int curveDownsample) {
+        if (curveDownsample < 0) {
+            throw new IllegalArgumentException(
+                    "curveDownsample must not be negative: " + curveDownsample);
+        }
+        var copy = new LinkedHashMap<String, List<CandleDTO>>();
+        sessions.forEach((key, value) -> copy.put(key, List.copyOf(value)));
+        this.sessions = Collections.unmodifiableMap(copy);
+        this.parallelism = parallelism;
+        this.curveDownsample = curveDownsample;
+    }
+
+    /**
+     * Creates a new SweepService by parsing the specified data file once.
+     *
+     * @param filePath the path to the data file to be parsed
+     * @return the new SweepService
+     */
+    public static SweepService fromFile(final String filePath) {
+        var parser = new Parser(new File(filePath));
+        parser.parse();
+        return new SweepService(parser.getSessionMap());
+    }
+
+    /**
+     * Runs every configuration of the grid and collects the results table.
+     *
+     * @param grid the strategy configurations to run
+     * @return the results, in the same order as the grid
+     */
+    public List<SweepResultDTO> run(final List<? extends StrategyParameters> grid) {
+        try (var executor = new ParallelExecutor(parallelism)) {
+            return executor.map(grid, this::evaluate);
+        }
+    }
+
+    /**
+     * Runs every configuration of the grid and streams each result to the consumer as soon as it
+     * completes. Results are not retained, which keeps memory bounded for very large grids.
+     *
+     * @param grid the strategy configurations to run
+     * @param consumer the consumer of the results, called from the calling thread in completion
+     *     order
+     */
+    public void run(
+            final List<? extends StrategyParameters> grid,
+            final Consumer<SweepResultDTO> consumer) {
+        try (var executor = new ParallelExecutor(parallelism)) {
+            executor.forEach(grid, this::evaluate, consumer);
+        }
+    }
+
+    /**
+     * Runs a single configuration over all sessions on a new monitor.
+     *
+     * @param parameters the strategy configuration to run
+     * @return the result of the run
+     */
+    public SweepResultDTO evaluate(final StrategyParameters parameters) {
+        return evaluate(parameters, new BacktestMonitor());
+    }
+
+    /**
+     * Runs a single configuration over all sessions and records its progress on the given monitor.
+     * The monitor is listed by {@link #getMonitors()} until the run completes. If the monitor is
+     * cancelled, the run stops after the session in progress and its result only covers the
+     * sessions completed so far.
+     *
+     * @param parameters the strategy configuration to run
+     * @param monitor the monitor to record every completed session on
+     * @return the result of the run
+     */
+    public SweepResultDTO evaluate(
+            final StrategyParameters parameters, final BacktestMonitor monitor) {
+        monitors.put(monitor, parameters);
+        try {
+            var curve = curveDownsample == 0 ? null : new EquityCurve(curveDownsample);
+            var accumulator =
+                    accumulate(parameters.createStrategy(), sessions.values(), monitor, curve);
+            return new SweepResultDTO(
+                    parameters,
+                    accumulator.toPerformance(),
+                    curve == null ? Double.NaN : curve.getMaxDrawdown());
+        } finally {
+            monitors.remove(monitor);
+        }
+    }
+
+    /**
+     * Runs a single configuration over all sessions and returns its whole equity curve, for
+     * inspecting a run that stood out in the results table.
+     *
+     * @param parameters the strategy configuration to run
+     * @param downsample the number of candles covered by a single point of the curve
+     * @return the equity curve of the run
+     */
+    public EquityCurve equityCurve(final StrategyParameters parameters, final int downsample) {
+        var curve = new EquityCurve(downsample);
+        accumulate(parameters.createStrategy(), sessions.values(), new BacktestMonitor(), curve);
+        return curve;
+    }
+
+    /**
+     * Returns the shared, immutable sessions used by the sweep.
+     *
+     * @return the sessions keyed by session date, in chronological order
+     */
+    public Map<String, List<CandleDTO>> getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Returns the monitors of the runs in progress, with the configuration of each run. It can be
+     * read from any thread while the sweep runs.
+     *
+     * @return an unmodifiable view of the configurations of the runs in progress, by monitor
+     */
+    public Map<BacktestMonitor, StrategyParameters> getMonitors() {
+        return Collections.unmodifiableMap(monitors);
+    }
+
+    /**
+     * Returns the number of worker threads used to run the grid.
+     *
+     * @return the number of worker threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Runs the strategy over the given sessions, one {@link BacktestSession} per session.
+     *
+     * @param strategy the strategy to run; its state carries over from one session to the next
+     * @param sessionData the candles of each session, in chronological order
+     * @return the orders of each session
+     */
+    static List<List<OrderDTO>> simulate(
+            final Strategy strategy, final Collection<List<CandleDTO>> sessionData) {
+        List<List<OrderDTO>> orders = new ArrayList<>(sessionData.size());
+        for (List<CandleDTO> candles : sessionData) {
+            var backtestSession = new BacktestSession(strategy, candles);
+            backtestSession.startSession();
+            orders.add(backtestSession.getOrders());
+        }
+        return orders;
+    }
+
+    /**
+     * Runs the strategy over the given sessions and accumulates the performance of each session as
+     * soon as it completes, so that the orders do not outlive their session. The monitor is checked
+     * between sessions, and the run stops early once it is cancelled.
+     *
+     * @param strategy the strategy to run; its state carries over from one session to the next
+     * @param sessionData the candles of each session, in chronological order
+     * @param monitor the monitor to record every completed session on
+     * @param curve the equity curve to mark on every candle, or {@code null} to skip marking
+     * @return the accumulated performance of all sessions
+     */
+    static PerformanceAccumulator accumulate(
+            final Strategy strategy,
+            final Collection<List<CandleDTO>> sessionData,
+            final BacktestMonitor monitor,
+            final EquityCurve curve) {
+        var accumulator = new PerformanceAccumulator();
+        for (List<CandleDTO> candles : sessionData) {
+            if (monitor.isCancelled()) {
+                break;
+            }
+            var backtestSession =
+                    new BacktestSession(strategy, candles, BacktestEventSink.NONE, curve);
+            backtestSession.startSession();
+            accumulator.addSession(backtestSession.getOrders());
+            monitor.recordSession(candles.size(), backtestSession.getOrders(), accumulator);
+        }
+        return accumulator;
+    }
+}
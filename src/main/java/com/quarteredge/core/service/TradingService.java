@@ -1 +1,614 @@
+package com.quarteredge.core.service;
 
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+
+import com.quarteredge.core.live.BarChannel;
+import com.quarteredge.core.live.OrderGateway;
+import com.quarteredge.core.live.OrderIntentConsumer;
+import com.quarteredge.core.metrics.LatencyHistogram;
+import com.quarteredge.core.model.BackpressurePolicy;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.ExecutionReportDTO;
+import com.quarteredge.core.model.JournalRecoveryDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderIntentDTO;
+import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.storage.JournalListener;
+import com.quarteredge.core.storage.SessionJournal;
+import com.quarteredge.core.storage.Snapshottable;
+import com.quarteredge.core.strategy.Strategy;
+import com.quarteredge.core.util.SpscRingBuffer;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Service class for running a strategy live.
+ *
+ * <p>The service drives the same {@link Strategy} interface as {@link
+ * com.quarteredge.core.component.BacktestSession}, on a dedicated strategy thread. Bars arrive from
+ * a single feed thread through {@link #onBar(CandleDTO)}, which copies them into a preallocated
+ * {@link BarChannel}; the strategy thread pushes every bar to the strategy, asks it for an order
+ * and hands any order intent to a {@link SpscRingBuffer}, from which a single consumer thread takes
+ * them with {@link #pollIntent()} or {@link #drainIntents(Consumer)}, or routes them to an {@link
+ * OrderGateway} with {@link #routeIntents(OrderGateway)}. Those wrap every intent in an {@link
+ * OrderIntentDTO}; {@link #drainIntents(OrderIntentConsumer)} hands the fields of the ring slot to
+ * the consumer instead, so that the consumer side allocates nothing per intent either. Like in a
+ * backtest, the strategy is not asked for an order on the first candle of a trading day. Order
+ * intents are never dropped: if the consumer falls a full ring behind, the strategy thread waits
+ * for it, and so does the feed once the bar channel fills up, so the consumer must keep taking
+ * intents until the service is closed.
+ *
+ * <p>When the strategy falls behind, the {@link BackpressurePolicy} of the service decides whether
+ * the feed waits, the oldest bars are dropped or queued updates of the same bar are merged. The
+ * time every bar waits in the channel is recorded as the lag of the strategy.
+ *
+ * <p>Every order intent carries a client identifier assigned by the service. With a {@link
+ * SessionJournal}, the strategy thread appends every bar before the strategy sees it and every
+ * order intent it creates before the intent is published, and snapshots a {@link Snapshottable}
+ * strategy every few bars. The order router journals the later transitions of the orders, by
+ * handing the execution reports of its gateway to {@link #onExecutionReport(ExecutionReportDTO)}
+ * and the orders it closes to {@link #onOrderUpdate(long, OrderDTO)}, so that the journal knows
+ * which orders are still open. After a restart, {@link #recover()} restores the strategy from the
+ * last snapshot and replays the bars after it, so that the service picks up where it left off,
+ * and client identifiers continue after the highest one journaled.
+ *
+ * <p>The latency from the receipt of a bar to its order intent is recorded in a histogram, as is
+ * the time the strategy thread takes to process every bar. The strategy thread spins for a short
+ * while when there is nothing to do, to react quickly to the next bar, before it parks.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see BarChannel
+ * @see OrderIntentDTO
+ * @see SessionJournal
+ */
+public class TradingService implements AutoCloseable {
+    /** The default capacity of the bar channel and the intent ring. */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    /** The number of empty polls the strategy thread spins for before it parks. */
+    private static final int SPIN_LIMIT = 10_000;
+
+    /** The time the strategy thread parks for when there is nothing to do. */
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    /** The 50th percentile reported by {@link #report()}. */
+    private static final double P50 = 0.5;
+
+    /** The 99th percentile reported by {@link #report()}. */
+    private static final double P99 = 0.99;
+
+    /** The number of nanoseconds in a microsecond. */
+    private static final double NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    /** The strategy run by the service. */
+    private final Strategy strategy;
+
+    /** The bars waiting for the strategy. */
+    private final BarChannel bars;
+
+    /** The order intents waiting for the consumer. */
+    private final SpscRingBuffer<IntentSlot> intents;
+
+    /** The latency from the receipt of a bar to its order intent. */
+    private final LatencyHistogram intentLatency = new LatencyHistogram();
+
+    /** The time from the receipt of a bar until the strategy takes it. */
+    private final LatencyHistogram queueLag = new LatencyHistogram();
+
+    /** The latency from the receipt of a bar to the end of its processing. */
+    private final LatencyHistogram barLatency = new LatencyHistogram();
+
+    /** The number of bars processed by the strategy. */
+    private final LongAdder processedBars = new LongAdder();
+
+    /** The number of order intents that waited for the consumer because the ring was full. */
+    private final LongAdder blockedIntents = new LongAdder();
+
+    /** The journal of the session, or {@code null} if the session is not journaled. */
+    private SessionJournal journal;
+
+    /** The number of bars between two snapshots of the strategy. */
+    private int snapshotInterval;
+
+    /** The number of bars processed since the last snapshot. */
+    private long barsSinceSnapshot;
+
+    /** The client identifier of the last order intent; only used by the strategy thread. */
+    private long lastOrderId;
+
+    /** The thread running the strategy, or {@code null} if the service was not started. */
+    private volatile Thread worker;
+
+    /** Flag indicating if the service was closed. */
+    private volatile boolean closed;
+
+    /** The exception thrown by the strategy, if any. */
+    private volatile RuntimeException failure;
+
+    /**
+     * Constructs a new TradingService with rings of the default capacity, whose feed waits for the
+     * strategy.
+     *
+     * @param strategy the strategy to run
+     */
+    public TradingService(final Strategy strategy) {
+        this(strategy, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new TradingService whose feed waits for the strategy.
+     *
+     * @param strategy the strategy to run
+     * @param capacity the capacity of the bar channel and the intent ring, a power of two
+     */
+    public TradingService(final Strategy strategy, final int capacity) {
+        this(strategy, capacity, BackpressurePolicy.BLOCK);
+    }
+
+    /**
+     * Constructs a new TradingService.
+     *
+     * @param strategy the strategy to run
+     * @param capacity the capacity of the bar channel and the intent ring, a power of two
+     * @param policy the policy applied when the strategy falls a full channel behind
+     */
+    public TradingService(
+            final Strategy strategy, final int capacity, final BackpressurePolicy policy) {
+        this.strategy = strategy;
+        this.bars = new BarChannel(capacity, policy);
+        this.intents = new SpscRingBuffer<>(capacity, IntentSlot::new);
+    }
+
+    /**
+     * Journals the session. Must be called before the service is started.
+     *
+     * @param sessionJournal the journal to append to
+     * @param interval the number of bars between two snapshots, used if the strategy is {@link
+     *     Snapshottable}
+     * @return this service
+     * @throws IllegalArgumentException if the interval is not positive
+     * @throws IllegalStateException if the service was already started
+     */
+    public synchronized TradingService withJournal(
+            final SessionJournal sessionJournal, final int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("snapshot interval must be positive: " + interval);
+        }
+        if (worker != null) {
+            throw new IllegalStateException("Trading service already started");
+        }
+        this.journal = sessionJournal;
+        this.snapshotInterval = interval;
+        this.lastOrderId = sessionJournal.getLastOrderId();
+        return this;
+    }
+
+    /**
+     * Restores the strategy from the journal after a restart: the state of the last snapshot is
+     * restored and every bar after it is replayed, without creating order intents. Must be called
+     * before the service is started.
+     *
+     * @return the replayed bars and the orders still open at the end of the journal
+     * @throws IllegalStateException if the service has no journal or was already started, or if
+     *     the journal holds a snapshot but the strategy is not {@link Snapshottable}
+     */
+    public synchronized JournalRecoveryDTO recover() {
+        if (journal == null || worker != null) {
+            throw new IllegalStateException("Trading service cannot recover");
+        }
+        var start = System.nanoTime();
+        var recovery = new Recovery();
+        journal.replay(recovery);
+        barsSinceSnapshot = recovery.bars;
+        return new JournalRecoveryDTO(recovery.bars, recovery.orders, System.nanoTime() - start);
+    }
+
+    /**
+     * Starts the strategy thread.
+     *
+     * @return this service
+     * @throws IllegalStateException if the service was already started
+     */
+    public synchronized TradingService start() {
+        if (worker != null) {
+            throw new IllegalStateException("Trading service already started");
+        }
+        worker = Thread.ofPlatform().name("quarteredge-strategy").daemon().start(this::process);
+        return this;
+    }
+
+    /**
+     * Hands a bar to the strategy. Must only be called from the feed thread. If the strategy has
+     * fallen a full channel behind, the oldest bar is dropped with {@link
+     * BackpressurePolicy#DROP_OLDEST}; otherwise the feed thread yields until a slot is free.
+     *
+     * @param candle the bar received from the feed
+     * @throws IllegalStateException if the service was closed or the strategy failed
+     */
+    public void onBar(final CandleDTO candle) {
+        var received = System.nanoTime();
+        while (!bars.offer(candle, received)) {
+            if (closed || failure != null) {
+                throw new IllegalStateException("Trading service is not running");
+            }
+            Thread.yield();
+        }
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Takes the oldest order intent. Must only be called from a single consumer thread. The intent
+     * is copied out of its ring slot into a new object; use {@link
+     * #drainIntents(OrderIntentConsumer)} to take intents without allocating.
+     *
+     * @return the oldest order intent, or {@code null} if there is none
+     */
+    public OrderIntentDTO pollIntent() {
+        var slot = intents.peek();
+        if (slot == null) {
+            return null;
+        }
+        var intent =
+                new OrderIntentDTO(
+                        slot.clientOrderId, slot.order, slot.barReceivedNanos, slot.intentNanos);
+        slot.order = null;
+        intents.release();
+        return intent;
+    }
+
+    /**
+     * Takes every pending order intent, oldest first. Must only be called from a single consumer
+     * thread.
+     *
+     * @param consumer the consumer of the order intents
+     * @return the number of order intents taken
+     */
+    public int drainIntents(final Consumer<OrderIntentDTO> consumer) {
+        int drained = 0;
+        for (var intent = pollIntent(); intent != null; intent = pollIntent()) {
+            consumer.accept(intent);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Takes every pending order intent, oldest first, handing the fields of each to the consumer
+     * without allocating. Must only be called from a single consumer thread.
+     *
+     * @param consumer the consumer of the order intents
+     * @return the number of order intents taken
+     */
+    public int drainIntents(final OrderIntentConsumer consumer) {
+        int drained = 0;
+        for (var slot = intents.peek(); slot != null; slot = intents.peek()) {
+            var clientOrderId = slot.clientOrderId;
+            var order = slot.order;
+            var barReceivedNanos = slot.barReceivedNanos;
+            var intentNanos = slot.intentNanos;
+            slot.order = null;
+            intents.release();
+            consumer.accept(clientOrderId, order, barReceivedNanos, intentNanos);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Submits every pending order intent to an order gateway, oldest first. Must only be called
+     * from a single consumer thread.
+     *
+     * @param gateway the gateway to submit the orders to
+     * @return the number of orders submitted
+     */
+    public int routeIntents(final OrderGateway gateway) {
+        return drainIntents(gateway::submit);
+    }
+
+    /**
+     * Journals the transition reported by an execution report of an order created by the service,
+     * such as its acknowledgement, fill or cancellation. Does nothing if the session is not
+     * journaled. May be called from the order router thread.
+     *
+     * @param report the execution report, carrying the client identifier of the order
+     */
+    public void onExecutionReport(final ExecutionReportDTO report) {
+        onOrderUpdate(report.clientOrderId(), report.order());
+    }
+
+    /**
+     * Journals a state transition of an order created by the service, such as its close by the
+     * stop loss or take profit. Does nothing if the session is not journaled. May be called from
+     * the order router thread.
+     *
+     * @param clientOrderId the client identifier of the order intent
+     * @param order the order in its new state
+     */
+    public void onOrderUpdate(final long clientOrderId, final OrderDTO order) {
+        if (journal != null) {
+            journal.appendOrder(clientOrderId, order);
+        }
+    }
+
+    /**
+     * Processes bars on the strategy thread until the service is closed and every bar was
+     * processed.
+     */
+    private void process() {
+        int idle = 0;
+        while (true) {
+            var done = closed;
+            var candle = bars.poll();
+            if (candle == null) {
+                if (done) {
+                    return;
+                }
+                if (++idle < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                continue;
+            }
+            idle = 0;
+            var received = bars.getPolledReceivedNanos();
+            queueLag.record(System.nanoTime() - received);
+            try {
+                handle(candle, received);
+            } catch (RuntimeException e) {
+                failure = e;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pushes a bar to the strategy and publishes the order it creates, if any, after journaling it.
+     *
+     * @param candle the bar
+     * @param received the time the bar was received
+     */
+    private void handle(final CandleDTO candle, final long received) {
+        if (journal != null) {
+            journal.appendBar(candle);
+        }
+        var order = step(candle);
+        if (order.isPresent()) {
+            var clientOrderId = ++lastOrderId;
+            if (journal != null) {
+                journal.appendOrder(clientOrderId, order.get());
+            }
+            publishIntent(clientOrderId, order.get(), received);
+        }
+        barLatency.record(System.nanoTime() - received);
+        processedBars.increment();
+        if (journal != null
+                && strategy instanceof Snapshottable snapshottable
+                && ++barsSinceSnapshot >= snapshotInterval) {
+            journal.snapshot(snapshottable);
+            barsSinceSnapshot = 0;
+        }
+    }
+
+    /**
+     * Pushes a bar to the strategy and asks it for an order, except on the first candle of a
+     * trading day.
+     *
+     * @param candle the bar
+     * @return the order created by the strategy, if any
+     */
+    private Optional<OrderDTO> step(final CandleDTO candle) {
+        strategy.push(candle);
+        if (candle.time().equals(FIRST_CANDLE_OPEN_TIME)) {
+            return Optional.empty();
+        }
+        return strategy.getStatus();
+    }
+
+    /**
+     * Publishes an order intent. If the outbound ring is full, the strategy thread spins for a
+     * short while and then parks until the consumer frees a slot.
+     *
+     * @param clientOrderId the client identifier of the order
+     * @param order the order created by the strategy
+     * @param received the time the bar that triggered the order was received
+     */
+    private void publishIntent(
+            final long clientOrderId, final OrderDTO order, final long received) {
+        var slot = intents.claim();
+        if (slot == null) {
+            blockedIntents.increment();
+        }
+        int idle = 0;
+        while (slot == null) {
+            if (++idle < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            slot = intents.claim();
+        }
+        var now = System.nanoTime();
+        slot.clientOrderId = clientOrderId;
+        slot.order = order;
+        slot.barReceivedNanos = received;
+        slot.intentNanos = now;
+        intents.publish();
+        intentLatency.record(now - received);
+    }
+
+    /**
+     * Returns the latency from the receipt of a bar to its order intent.
+     *
+     * @return the histogram of the latencies, in nanoseconds
+     */
+    public LatencyHistogram getIntentLatency() {
+        return intentLatency;
+    }
+
+    /**
+     * Returns the time from the receipt of every processed bar until the strategy took it, which is
+     * how far the strategy lags behind the feed.
+     *
+     * @return the histogram of the lags, in nanoseconds
+     */
+    public LatencyHistogram getQueueLag() {
+        return queueLag;
+    }
+
+    /**
+     * Returns the latency from the receipt of a bar to the end of its processing.
+     *
+     * @return the histogram of the latencies, in nanoseconds
+     */
+    public LatencyHistogram getBarLatency() {
+        return barLatency;
+    }
+
+    /**
+     * Returns the number of bars processed by the strategy.
+     *
+     * @return the number of bars
+     */
+    public long getProcessedBars() {
+        return processedBars.sum();
+    }
+
+    /**
+     * Returns the number of bars dropped because the strategy did not keep up.
+     *
+     * @return the number of dropped bars
+     */
+    public long getDroppedBars() {
+        return bars.getDroppedBars();
+    }
+
+    /**
+     * Returns the number of bars merged into a later update of the same bar.
+     *
+     * @return the number of merged bars
+     */
+    public long getMergedBars() {
+        return bars.getMergedBars();
+    }
+
+    /**
+     * Returns the number of order intents that waited for a free slot because the consumer did not
+     * keep up.
+     *
+     * @return the number of blocked order intents
+     */
+    public long getBlockedIntents() {
+        return blockedIntents.sum();
+    }
+
+    /**
+     * Formats the latencies of the service in microseconds.
+     *
+     * @return the report
+     */
+    public String report() {
+        return String.format(
+                Locale.ROOT,
+                """
+                Bars: %d (dropped: %d, merged: %d, policy: %s)
+                Queue Lag p50/p99/max (us): %.1f / %.1f / %.1f
+                Bar Latency p50/p99/max (us): %.1f / %.1f / %.1f
+                Order Intents: %d (blocked: %d)
+                Intent Latency p50/p99/max (us): %.1f / %.1f / %.1f
+                """,
+                getProcessedBars(),
+                getDroppedBars(),
+                getMergedBars(),
+                bars.getPolicy(),
+                queueLag.getPercentile(P50) / NANOS_PER_MICRO,
+                queueLag.getPercentile(P99) / NANOS_PER_MICRO,
+                queueLag.getMaxNanos() / NANOS_PER_MICRO,
+                barLatency.getPercentile(P50) / NANOS_PER_MICRO,
+                barLatency.getPercentile(P99) / NANOS_PER_MICRO,
+                barLatency.getMaxNanos() / NANOS_PER_MICRO,
+                intentLatency.getCount(),
+                getBlockedIntents(),
+                intentLatency.getPercentile(P50) / NANOS_PER_MICRO,
+                intentLatency.getPercentile(P99) / NANOS_PER_MICRO,
+                intentLatency.getMaxNanos() / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Processes every bar already handed to the service, then stops the strategy thread.
+     *
+     * @throws IllegalStateException if the strategy failed while processing a bar
+     */
+    @Override
+    public void close() {
+        closed = true;
+        var thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Strategy failed", failure);
+        }
+    }
+
+    /** Restores the strategy from the records of the journal. */
+    private final class Recovery implements JournalListener {
+        /** The open orders replayed, by identifier. */
+        private final Map<Long, OrderDTO> orders = new LinkedHashMap<>();
+
+        /** The number of bars replayed. */
+        private long bars;
+
+        @Override
+        public void onSnapshot(final ByteBuffer state) {
+            if (!(strategy instanceof Snapshottable snapshottable)) {
+                throw new IllegalStateException("Strategy cannot restore a snapshot");
+            }
+            snapshottable.readState(state);
+        }
+
+        @Override
+        public void onBar(final CandleDTO candle) {
+            step(candle);
+            bars++;
+        }
+
+        @Override
+        public void onOrder(final long orderId, final OrderDTO order) {
+            if (order.status() == OrderStatus.PENDING || order.status() == OrderStatus.ACTIVE) {
+                orders.put(orderId, order);
+            } else {
+                orders.remove(orderId);
+            }
+        }
+    }
+
+    /** A preallocated slot of the intent ring. */
+    private static final class IntentSlot {
+        /** The client identifier of the order. */
+        private long clientOrderId;
+
+        /** The order created by the strategy. */
+        private OrderDTO order;
+
+        /** The time the bar that triggered the order was received. */
+        private long barReceivedNanos;
+
+        /** The time the order was handed to the ring. */
+        private long intentNanos;
+    }
+}
@@ -0,0 +1,172 @@
+package com.quarteredge.core.service;
+
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.PerformanceDTO;
+import com.quarteredge.core.model.WalkForwardConfigDTO;
+import com.quarteredge.core.model.WalkForwardResultDTO;
+import com.quarteredge.core.model.WalkForwardWindowDTO;
+import com.quarteredge.core.strategy.StrategyParameters;
+import com.quarteredge.core.util.ParallelExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * WalkForwardService class.
+ *
+ * <p>This class validates a parameter grid out of sample. For every window it picks the parameters
+ * that score best on the train sessions and applies them to the test sessions that follow. The
+ * out-of-sample orders of all windows are stitched into a single performance report.
+ *
+ * <p>Every configuration of the grid is simulated exactly once, in parallel, over the full
+ * timeline of the shared {@link SweepService} sessions. Each window then only slices the cached
+ * per-session orders, so overlapping windows reuse both the parsed sessions and the indicator
+ * state instead of recomputing them. As a consequence, indicators enter every window already warmed
+ * up, just as they would be in a live deployment. Memory usage grows with the size of the grid
+ * times the number of sessions.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see SweepService
+ * @see WalkForwardConfigDTO
+ */
+public class WalkForwardService {
+    /** The sweep service holding the shared, parsed sessions. */
+    private final SweepService sweepService;
+
+    /** The train/test window configuration. */
+    private final WalkForwardConfigDTO config;
+
+    /**
+     * Constructs a new WalkForwardService.
+     *
+     * @param sweepService the sweep service holding the sessions to walk through
+     * @param config the train/test window configuration
+     */
+    public WalkForwardService(
+            final SweepService sweepService, final WalkForwardConfigDTO config) {
+        this.sweepService = sweepService;
+        this.config = config;
+    }
+
+    /**
+     * Runs the walk-forward optimization, choosing the parameters with the highest expectancy in
+     * each train window.
+     *
+     * @param grid the strategy configurations to choose from
+     * @return the outcome of the walk-forward optimization
+     */
+    public WalkForwardResultDTO run(final List<? extends StrategyParameters> grid) {
+        return run(grid, PerformanceDTO::expectancy);
+    }
+
+    /**
+     * Runs the walk-forward optimization, choosing the parameters with the highest objective score
+     * in each train window. Scores that are NaN are never chosen over a real score.
+     *
+     * @param grid the strategy configurations to choose from
+     * @param objective the score to maximize on the train sessions
+     * @return the outcome of the walk-forward optimization
+     * @throws IllegalArgumentException if the grid is empty or there are not enough sessions for a
+     *     single window
+     */
+    public WalkForwardResultDTO run(
+            final List<? extends StrategyParameters> grid,
+            final ToDoubleFunction<PerformanceDTO> objective) {
+        var dates = new ArrayList<>(sweepService.getSessions().keySet());
+        var windows = getWindows(dates.size());
+        if (grid.isEmpty() || windows.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Walk-forward needs a non-empty grid and at least "
+                            + (config.trainSessions() + config.testSessions())
+                            + " sessions");
+        }
+
+        List<WalkForwardWindowDTO> results = new ArrayList<>();
+        List<List<OrderDTO>> stitched = new ArrayList<>();
+        try (var executor = new ParallelExecutor(sweepService.getParallelism())) {
+            List<List<List<OrderDTO>>> runs =
+                    executor.map(
+                            grid,
+                            parameters ->
+                                    SweepService.simulate(
+                                            parameters.createStrategy(),
+                                            sweepService.getSessions().values()));
+            for (Window window : windows) {
+                List<PerformanceDTO> inSample =
+                        executor.map(
+                                runs,
+                                orders ->
+                                        new PerformanceService(
+                                                        orders.subList(
+                                                                window.trainStart(),
+                                                                window.trainEnd()))
+                                                .calculateMetrics());
+                int best = getBestIndex(inSample, objective);
+                var testOrders = runs.get(best).subList(window.trainEnd(), window.testEnd());
+                stitched.addAll(testOrders);
+                results.add(
+                        new WalkForwardWindowDTO(
+                                dates.get(window.trainStart()),
+                                dates.get(window.trainEnd() - 1),
+                                dates.get(window.trainEnd()),
+                                dates.get(window.testEnd() - 1),
+                                grid.get(best),
+                                inSample.get(best),
+                                new PerformanceService(testOrders).calculateMetrics()));
+            }
+        }
+        return new WalkForwardResultDTO(
+                results, stitched, new PerformanceService(stitched).calculateMetrics());
+    }
+
+    /**
+     * Splits the session indexes into train/test windows. Trailing sessions that do not fill a
+     * complete test window are left out.
+     *
+     * @param sessionCount the number of available sessions
+     * @return the windows, in chronological order
+     */
+    private List<Window> getWindows(final int sessionCount) {
+        List<Window> windows = new ArrayList<>();
+        int trainEnd = config.trainSessions();
+        while (trainEnd + config.testSessions() <= sessionCount) {
+            int trainStart = config.anchored() ? 0 : trainEnd - config.trainSessions();
+            windows.add(new Window(trainStart, trainEnd, trainEnd + config.testSessions()));
+            trainEnd += config.testSessions();
+        }
+        return windows;
+    }
+
+    /**
+     * Returns the index of the highest scoring performance. Ties keep the earliest index.
+     *
+     * @param performances the performances to score
+     * @param objective the score to maximize
+     * @return the index of the best performance
+     */
+    private static int getBestIndex(
+            final List<PerformanceDTO> performances,
+            final ToDoubleFunction<PerformanceDTO> objective) {
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < performances.size(); i++) {
+            double score = objective.applyAsDouble(performances.get(i));
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Session index bounds of a single walk-forward window.
+     *
+     * @param trainStart the index of the first train session (inclusive)
+     * @param trainEnd the index of the first test session, which ends the train window
+     * @param testEnd the index after the last test session (exclusive)
+     */
+    private record Window(int trainStart, int trainEnd, int testEnd) {}
+}
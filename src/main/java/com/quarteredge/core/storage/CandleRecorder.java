@@ -0,0 +1,410 @@
+package com.quarteredge.core.storage;
+
+import static com.quarteredge.core.util.Constants.LAST_CANDLE_CLOSE_TIME;
+
+import com.quarteredge.core.model.CandleDTO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * CandleRecorder class.
+ *
+ * <p>This class appends the bars received by the live engine to a binary, columnar candle store
+ * file, which {@link CandleStoreReader} turns back into sessions for the backtester, even while
+ * the recorder is still appending to it.
+ *
+ * <p>The file starts with a {@value #HEADER_BYTES} byte header holding a magic number, the format
+ * version and the capacity of a block, followed by blocks of a fixed size. Every block starts with
+ * its number of committed rows and its flags, padded to 8 bytes, followed by each {@link
+ * CandleStoreColumn} stored contiguously, in order, with room for the full capacity of the block,
+ * so that rows are appended in place. All values are little-endian.
+ *
+ * <p>The file is mapped and pre-extended, and grows by doubling, so appending a bar is a handful
+ * of stores into memory. The values of a row are written first and the row count of its block
+ * last, which commits the row: readers, including readers in other processes, never see a row
+ * before all of its values. A session is sealed by flagging its last block once its bar at {@link
+ * com.quarteredge.core.util.Constants#LAST_CANDLE_CLOSE_TIME} is committed, and the next bar
+ * starts a new block; a session longer than a block continues in the next block.
+ *
+ * <p>Since the operating system keeps the written pages when the process crashes, committed rows
+ * survive a crash of the process without any system call. Opening an existing file scans it up to
+ * the last committed row, seals a session whose last bar was committed but not flagged, and
+ * zeroes everything after it, then appends from there. The file is never shrunk, so that readers
+ * mapping it stay valid.
+ *
+ * <p>Instances are not thread-safe: bars must be appended from a single thread. The mapping is
+ * limited to files of up to 2 GB.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see CandleStoreReader
+ * @see CandleStoreColumn
+ */
+public final class CandleRecorder implements AutoCloseable {
+    /** The magic number at the start of every candle store file. */
+    static final int MAGIC = 0x51454353;
+
+    /** The version of the file format. */
+    static final int VERSION = 1;
+
+    /** The size of the file header, in bytes. */
+    static final int HEADER_BYTES = 16;
+
+    /** The size of the header of every block, in bytes. */
+    static final int BLOCK_HEADER_BYTES = 8;
+
+    /** The offset of the flags within a block header. */
+    static final int FLAGS_OFFSET = Integer.BYTES;
+
+    /** The flag of a block holding the last bar of a session. */
+    static final int SEALED = 1;
+
+    /** The alignment of every block, in bytes. */
+    static final int ALIGNMENT = 8;
+
+    /** The default number of rows per block, enough for a session of one-minute bars. */
+    public static final int DEFAULT_BLOCK_ROWS = 1440;
+
+    /** The number of blocks the file is extended to up front. */
+    private static final int INITIAL_BLOCKS = 64;
+
+    /** The channel of the candle store file. */
+    private final FileChannel channel;
+
+    /** The number of rows per block. */
+    private final int blockRows;
+
+    /** The size of a block, in bytes. */
+    private final int blockBytes;
+
+    /** The mapped contents of the candle store file. */
+    private MappedByteBuffer buffer;
+
+    /** The index of the block appended to, or -1 if the store is empty. */
+    private int block = -1;
+
+    /** The number of committed rows of the block appended to. */
+    private int rows;
+
+    /** Flag indicating if the block appended to is sealed. */
+    private boolean sealed;
+
+    /** The number of committed rows. */
+    private long rowCount;
+
+    /** The number of sealed sessions. */
+    private int sessionCount;
+
+    /** The date of the last bar, as formatted in the bar. */
+    private String lastDate;
+
+    /** The date of the last bar, as an epoch day. */
+    private int lastEpochDay;
+
+    /** Flag indicating if the recorder was closed. */
+    private boolean closed;
+
+    /**
+     * Opens or creates a candle store file and maps it.
+     *
+     * @param path the path of the candle store file
+     * @param rowsPerBlock the number of rows per block of a new file
+     * @throws IOException if the file could not be opened
+     * @throws IllegalArgumentException if the file is not a candle store file
+     */
+    private CandleRecorder(final Path path, final int rowsPerBlock) throws IOException {
+        this.channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        try {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Candle store is larger than 2 GB: " + path);
+            }
+            if (size == 0) {
+                this.blockRows = rowsPerBlock;
+                this.blockBytes = blockBytes(rowsPerBlock);
+                map(HEADER_BYTES + (long) INITIAL_BLOCKS * blockBytes);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(Integer.BYTES, VERSION);
+                buffer.putInt(2 * Integer.BYTES, rowsPerBlock);
+            } else {
+                if (size < HEADER_BYTES) {
+                    throw new IllegalArgumentException("Not a candle store file: " + path);
+                }
+                map(size);
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                    throw new IllegalArgumentException("Not a candle store file: " + path);
+                }
+                this.blockRows = buffer.getInt(2 * Integer.BYTES);
+                this.blockBytes = blockBytes(blockRows);
+                recover();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a candle store file with the default block size, creating it if it does not exist.
+     *
+     * @param path the path of the candle store file
+     * @return the recorder, appending after the last committed row
+     * @throws IOException if the file could not be opened
+     * @throws IllegalArgumentException if the file is not a candle store file
+     */
+    public static CandleRecorder open(final Path path) throws IOException {
+        return open(path, DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * Opens a candle store file, creating it if it does not exist.
+     *
+     * @param path the path of the candle store file
+     * @param blockRows the number of rows per block of a new file; an existing file keeps its own
+     * @return the recorder, appending after the last committed row
+     * @throws IOException if the file could not be opened
+     * @throws IllegalArgumentException if the block size is not positive or the file is not a
+     *     candle store file
+     */
+    public static CandleRecorder open(final Path path, final int blockRows) throws IOException {
+        if (blockRows < 1) {
+            throw new IllegalArgumentException("block rows must be positive: " + blockRows);
+        }
+        return new CandleRecorder(path, blockRows);
+    }
+
+    /**
+     * Appends and commits a bar, sealing its session if it is the last bar of a trading day.
+     *
+     * @param candle the bar
+     * @throws IllegalStateException if the recorder was closed or the file is full
+     * @throws UncheckedIOException if the file cannot be extended
+     */
+    public void append(final CandleDTO candle) {
+        if (closed) {
+            throw new IllegalStateException("Candle recorder is closed");
+        }
+        if (block < 0 || sealed || rows == blockRows) {
+            nextBlock();
+        }
+        if (!candle.date().equals(lastDate)) {
+            lastDate = candle.date();
+            lastEpochDay = (int) LocalDate.parse(lastDate).toEpochDay();
+        }
+        int start = blockStart(block);
+        put(start, CandleStoreColumn.OPEN, candle.open());
+        put(start, CandleStoreColumn.HIGH, candle.high());
+        put(start, CandleStoreColumn.LOW, candle.low());
+        put(start, CandleStoreColumn.CLOSE, candle.close());
+        put(start, CandleStoreColumn.VOLUME, candle.volume());
+        buffer.putInt(position(start, CandleStoreColumn.DATE, rows), lastEpochDay);
+        buffer.putInt(
+                position(start, CandleStoreColumn.TIME, rows), candle.time().toSecondOfDay());
+        VarHandle.releaseFence();
+        buffer.putInt(start, ++rows);
+        rowCount++;
+        if (candle.time().equals(LAST_CANDLE_CLOSE_TIME)) {
+            seal(start);
+        }
+    }
+
+    /**
+     * Returns the number of committed rows.
+     *
+     * @return the number of rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of sealed sessions.
+     *
+     * @return the number of sessions
+     */
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Returns the number of rows per block.
+     *
+     * @return the capacity of a block
+     */
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    /** Forces the committed rows to the disk. */
+    public void force() {
+        buffer.force();
+    }
+
+    /**
+     * Forces the committed rows to the disk and closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Scans the blocks up to the last committed row, repairs a missing seal and zeroes everything
+     * after the last committed row.
+     */
+    private void recover() {
+        for (int b = 0; blockStart(b) + (long) blockBytes <= buffer.capacity(); b++) {
+            int committed = buffer.getInt(blockStart(b));
+            if (committed < 1 || committed > blockRows) {
+                break;
+            }
+            block = b;
+            rows = committed;
+            sealed = buffer.getInt(blockStart(b) + FLAGS_OFFSET) == SEALED;
+            rowCount += committed;
+            if (sealed) {
+                sessionCount++;
+            }
+        }
+        if (block < 0) {
+            zero(HEADER_BYTES, buffer.capacity());
+            return;
+        }
+        int start = blockStart(block);
+        var lastTime =
+                LocalTime.ofSecondOfDay(
+                        buffer.getInt(position(start, CandleStoreColumn.TIME, rows - 1)));
+        if (!sealed && lastTime.equals(LAST_CANDLE_CLOSE_TIME)) {
+            seal(start);
+        }
+        buffer.putInt(start + FLAGS_OFFSET, sealed ? SEALED : 0);
+        for (CandleStoreColumn column : CandleStoreColumn.values()) {
+            zero(position(start, column, rows), position(start, column, blockRows));
+        }
+        zero(start + blockBytes, buffer.capacity());
+    }
+
+    /** Starts the next block, extending the file if needed. */
+    private void nextBlock() {
+        long end = blockStart(block + 1) + (long) blockBytes;
+        if (end > buffer.capacity()) {
+            var capacity = Math.max(end, 2L * buffer.capacity());
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Candle store is full");
+            }
+            try {
+                map(capacity);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        block++;
+        rows = 0;
+        sealed = false;
+    }
+
+    /**
+     * Seals the session ending in a block.
+     *
+     * @param start the position of the block
+     */
+    private void seal(final int start) {
+        VarHandle.releaseFence();
+        buffer.putInt(start + FLAGS_OFFSET, SEALED);
+        sealed = true;
+        sessionCount++;
+    }
+
+    /**
+     * Writes a double value of the row being appended.
+     *
+     * @param start the position of the block
+     * @param column the double column
+     * @param value the value
+     */
+    private void put(final int start, final CandleStoreColumn column, final double value) {
+        buffer.putDouble(position(start, column, rows), value);
+    }
+
+    /**
+     * Returns the position of a value in the mapping.
+     *
+     * @param start the position of the block
+     * @param column the column of the value
+     * @param row the index of the row within the block
+     * @return the position of the value
+     */
+    private int position(final int start, final CandleStoreColumn column, final int row) {
+        return start
+                + BLOCK_HEADER_BYTES
+                + column.prefixWidth() * blockRows
+                + column.getWidth() * row;
+    }
+
+    /**
+     * Returns the position of a block in the mapping.
+     *
+     * @param index the index of the block
+     * @return the position of the block header
+     */
+    private int blockStart(final int index) {
+        return HEADER_BYTES + index * blockBytes;
+    }
+
+    /**
+     * Zeroes a range of the mapping.
+     *
+     * @param from the first position, inclusive
+     * @param to the last position, exclusive
+     */
+    private void zero(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Maps the file, extending it to the given size if needed.
+     *
+     * @param capacity the size of the mapping, in bytes
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map(final long capacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns the size of a block, including its header and padding.
+     *
+     * @param rowsPerBlock the number of rows per block
+     * @return the size of the block, in bytes
+     */
+    static int blockBytes(final int rowsPerBlock) {
+        long size = BLOCK_HEADER_BYTES + (long) CandleStoreColumn.rowWidth() * rowsPerBlock;
+        return (int) ((size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT);
+    }
+}
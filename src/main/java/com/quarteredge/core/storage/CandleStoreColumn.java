@@ -0,0 +1,95 @@
+package com.quarteredge.core.storage;
+
+/**
+ * The columns of a candle store file, in the order in which they are laid out inside a block.
+ *
+ * <p>Columns are sorted by width so that every column of a block starts on a boundary aligned to
+ * its own width, which allows typed buffer views over the mapped file. Unlike a trade ledger
+ * block, a candle store block reserves room for its full capacity in every column, so that rows
+ * can be appended in place.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see CandleRecorder
+ * @see CandleStoreReader
+ */
+public enum CandleStoreColumn {
+    /** The open price, as a double. */
+    OPEN(Double.BYTES),
+
+    /** The high price, as a double. */
+    HIGH(Double.BYTES),
+
+    /** The low price, as a double. */
+    LOW(Double.BYTES),
+
+    /** The close price, as a double. */
+    CLOSE(Double.BYTES),
+
+    /** The volume, as a double. */
+    VOLUME(Double.BYTES),
+
+    /** The date of the candle, as an epoch day. */
+    DATE(Integer.BYTES),
+
+    /** The open time of the candle, as a second of the day. */
+    TIME(Integer.BYTES);
+
+    /** The combined width of the columns laid out before each column, by ordinal. */
+    private static final int[] PREFIX_WIDTHS;
+
+    /** The width of a full row, in bytes. */
+    private static final int ROW_WIDTH;
+
+    static {
+        var columns = values();
+        PREFIX_WIDTHS = new int[columns.length];
+        int width = 0;
+        for (CandleStoreColumn column : columns) {
+            PREFIX_WIDTHS[column.ordinal()] = width;
+            width += column.width;
+        }
+        ROW_WIDTH = width;
+    }
+
+    /** The width of a single value, in bytes. */
+    private final int width;
+
+    /**
+     * Constructs a new CandleStoreColumn.
+     *
+     * @param width the width of a single value, in bytes
+     */
+    CandleStoreColumn(final int width) {
+        this.width = width;
+    }
+
+    /**
+     * Returns the width of a single value, in bytes.
+     *
+     * @return the width of a single value
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the width of a full row, in bytes.
+     *
+     * @return the sum of the widths of every column
+     */
+    static int rowWidth() {
+        return ROW_WIDTH;
+    }
+
+    /**
+     * Returns the combined width of the columns laid out before this one. The column starts at
+     * this width times the capacity of a block from the start of the block data.
+     *
+     * @return the width of the preceding columns, in bytes
+     */
+    int prefixWidth() {
+        return PREFIX_WIDTHS[ordinal()];
+    }
+}
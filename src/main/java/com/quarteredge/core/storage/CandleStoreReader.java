@@ -0,0 +1,344 @@
+package com.quarteredge.core.storage;
+
+import static com.quarteredge.core.storage.CandleRecorder.BLOCK_HEADER_BYTES;
+import static com.quarteredge.core.storage.CandleRecorder.FLAGS_OFFSET;
+import static com.quarteredge.core.storage.CandleRecorder.HEADER_BYTES;
+
+import com.quarteredge.core.model.CandleDTO;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CandleStoreReader class.
+ *
+ * <p>This class reads a candle store file written by {@link CandleRecorder} through a read-only
+ * memory mapping, while the recorder may still be appending to it. The reader works on a snapshot
+ * of the committed rows, taken when it is opened and on every {@link #refresh()}, which maps the
+ * part of the file added since and picks up the rows committed since; rows are never seen before
+ * all of their values.
+ *
+ * <p>{@link #getSessionMap()} returns the sealed sessions in the same shape as {@link
+ * com.quarteredge.core.util.Parser#getSessionMap()}, so recorded bars can be backtested like a
+ * CSV file, and {@link #getOpenSession()} returns the bars of the session still being recorded.
+ * Whole columns of a block are exposed as typed buffer views over the mapped bytes, without
+ * copying them.
+ *
+ * <p>Instances are not thread-safe. The mapping is limited to files of up to 2 GB.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see CandleRecorder
+ * @see CandleStoreColumn
+ */
+public final class CandleStoreReader implements AutoCloseable {
+    /** The initial capacity of the block snapshot. */
+    private static final int INITIAL_BLOCKS = 64;
+
+    /** The channel of the candle store file. */
+    private final FileChannel channel;
+
+    /** The number of rows per block. */
+    private final int blockRows;
+
+    /** The size of a block, in bytes. */
+    private final int blockBytes;
+
+    /** The mapped contents of the candle store file. */
+    private MappedByteBuffer buffer;
+
+    /** The number of committed rows of every block, as of the last refresh. */
+    private int[] committed = new int[INITIAL_BLOCKS];
+
+    /** The sealed flag of every block, as of the last refresh. */
+    private boolean[] sealed = new boolean[INITIAL_BLOCKS];
+
+    /** The number of blocks holding committed rows. */
+    private int blockCount;
+
+    /** The number of committed rows. */
+    private long size;
+
+    /**
+     * Opens and maps a candle store file, and takes a snapshot of its committed rows.
+     *
+     * @param path the path of the candle store file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a candle store file or is too large
+     */
+    public CandleStoreReader(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Not a mappable candle store: " + path);
+            }
+            map(length);
+            if (buffer.getInt(0) != CandleRecorder.MAGIC
+                    || buffer.getInt(Integer.BYTES) != CandleRecorder.VERSION) {
+                throw new IllegalArgumentException("Not a candle store: " + path);
+            }
+            this.blockRows = buffer.getInt(2 * Integer.BYTES);
+            this.blockBytes = CandleRecorder.blockBytes(blockRows);
+            refresh();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a new snapshot of the committed rows, mapping the file again if it grew.
+     *
+     * @return the number of committed rows
+     * @throws IOException if the file cannot be mapped
+     */
+    public long refresh() throws IOException {
+        long length = channel.size();
+        if (length > buffer.capacity()) {
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Candle store is larger than 2 GB");
+            }
+            map(length);
+        }
+        // the last block of the previous snapshot may have grown since
+        int block = Math.max(0, blockCount - 1);
+        long rows = size - (blockCount > 0 ? committed[block] : 0);
+        while (blockStart(block) + (long) blockBytes <= buffer.capacity()) {
+            int start = blockStart(block);
+            var isSealed = buffer.getInt(start + FLAGS_OFFSET) == CandleRecorder.SEALED;
+            int count = buffer.getInt(start);
+            VarHandle.acquireFence();
+            if (count < 1 || count > blockRows) {
+                break;
+            }
+            if (block == committed.length) {
+                committed = Arrays.copyOf(committed, block * 2);
+                sealed = Arrays.copyOf(sealed, block * 2);
+            }
+            committed[block] = count;
+            sealed[block] = isSealed;
+            rows += count;
+            block++;
+            if (count < blockRows && !isSealed) {
+                break;
+            }
+        }
+        blockCount = block;
+        size = rows;
+        return size;
+    }
+
+    /**
+     * Returns the number of committed rows, as of the last refresh.
+     *
+     * @return the number of rows
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of blocks holding committed rows, as of the last refresh.
+     *
+     * @return the number of blocks
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Returns the number of committed rows of a block, as of the last refresh.
+     *
+     * @param block the index of the block
+     * @return the number of rows in the block
+     */
+    public int getBlockRows(final int block) {
+        return committed[checkBlock(block)];
+    }
+
+    /**
+     * Checks if a block holds the last bar of a session, as of the last refresh.
+     *
+     * @param block the index of the block
+     * @return {@code true} if the block is sealed
+     */
+    public boolean isSealed(final int block) {
+        return sealed[checkBlock(block)];
+    }
+
+    /**
+     * Returns a bar of a block.
+     *
+     * @param block the index of the block
+     * @param row the index of the row within the block
+     * @return the bar
+     */
+    public CandleDTO getCandle(final int block, final int row) {
+        if (row < 0 || row >= getBlockRows(block)) {
+            throw new IndexOutOfBoundsException(row);
+        }
+        int start = blockStart(block);
+        return new CandleDTO(
+                LocalDate.ofEpochDay(buffer.getInt(position(start, CandleStoreColumn.DATE, row)))
+                        .toString(),
+                LocalTime.ofSecondOfDay(
+                        buffer.getInt(position(start, CandleStoreColumn.TIME, row))),
+                buffer.getDouble(position(start, CandleStoreColumn.OPEN, row)),
+                buffer.getDouble(position(start, CandleStoreColumn.HIGH, row)),
+                buffer.getDouble(position(start, CandleStoreColumn.LOW, row)),
+                buffer.getDouble(position(start, CandleStoreColumn.CLOSE, row)),
+                buffer.getDouble(position(start, CandleStoreColumn.VOLUME, row)));
+    }
+
+    /**
+     * Returns a zero-copy view over a double column of a block.
+     *
+     * @param column the column, e.g. {@code CLOSE} or {@code VOLUME}
+     * @param block the index of the block
+     * @return a read-only view over the committed values of the block
+     * @throws IllegalArgumentException if the column does not hold doubles
+     */
+    public DoubleBuffer doubleColumn(final CandleStoreColumn column, final int block) {
+        return columnBytes(column, block, Double.BYTES).asDoubleBuffer();
+    }
+
+    /**
+     * Returns a zero-copy view over an integer column of a block.
+     *
+     * @param column the column, one of {@code DATE} or {@code TIME}
+     * @param block the index of the block
+     * @return a read-only view over the committed values of the block
+     * @throws IllegalArgumentException if the column does not hold integers
+     */
+    public IntBuffer intColumn(final CandleStoreColumn column, final int block) {
+        return columnBytes(column, block, Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * Returns the sealed sessions, as of the last refresh.
+     *
+     * @return the bars of every sealed session, by the date of its last bar, in file order
+     */
+    public Map<String, List<CandleDTO>> getSessionMap() {
+        Map<String, List<CandleDTO>> sessions = new LinkedHashMap<>();
+        List<CandleDTO> session = new ArrayList<>();
+        for (int block = 0; block < blockCount; block++) {
+            for (int row = 0; row < committed[block]; row++) {
+                session.add(getCandle(block, row));
+            }
+            if (sealed[block]) {
+                sessions.put(session.getLast().date(), session);
+                session = new ArrayList<>();
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Returns the bars of the session still being recorded, as of the last refresh.
+     *
+     * @return the bars after the last sealed session, in file order
+     */
+    public List<CandleDTO> getOpenSession() {
+        int first = blockCount;
+        while (first > 0 && !sealed[first - 1]) {
+            first--;
+        }
+        List<CandleDTO> session = new ArrayList<>();
+        for (int block = first; block < blockCount; block++) {
+            for (int row = 0; row < committed[block]; row++) {
+                session.add(getCandle(block, row));
+            }
+        }
+        return session;
+    }
+
+    /** Closes the file. The mapping itself is released once it is no longer reachable. */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Returns the bytes of the committed values of a column of a block.
+     *
+     * @param column the column
+     * @param block the index of the block
+     * @param width the expected width of the column
+     * @return a read-only view over the bytes of the column
+     */
+    private ByteBuffer columnBytes(
+            final CandleStoreColumn column, final int block, final int width) {
+        if (column.getWidth() != width) {
+            throw new IllegalArgumentException(column + " holds " + column.getWidth() + " bytes");
+        }
+        int rows = getBlockRows(block);
+        return buffer.slice(position(blockStart(block), column, 0), width * rows)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Checks that a block is part of the snapshot.
+     *
+     * @param block the index of the block
+     * @return the index of the block
+     */
+    private int checkBlock(final int block) {
+        if (block < 0 || block >= blockCount) {
+            throw new IndexOutOfBoundsException(block);
+        }
+        return block;
+    }
+
+    /**
+     * Returns the position of a value in the mapping.
+     *
+     * @param start the position of the block
+     * @param column the column of the value
+     * @param row the index of the row within the block
+     * @return the position of the value
+     */
+    private int position(final int start, final CandleStoreColumn column, final int row) {
+        return start
+                + BLOCK_HEADER_BYTES
+                + column.prefixWidth() * blockRows
+                + column.getWidth() * row;
+    }
+
+    /**
+     * Returns the position of a block in the mapping.
+     *
+     * @param block the index of the block
+     * @return the position of the block header
+     */
+    private int blockStart(final int block) {
+        return HEADER_BYTES + block * blockBytes;
+    }
+
+    /**
+     * Maps the file.
+     *
+     * @param length the size of the file, in bytes
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map(final long length) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,93 @@
+package com.quarteredge.core.storage;
+
+/**
+ * The columns of a feature file, in the order in which they are laid out inside a block.
+ *
+ * <p>Columns are sorted by width so that every column of a block starts on a boundary aligned to
+ * its own width, which allows typed buffer views over the mapped file.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see FeatureWriter
+ * @see FeatureReader
+ */
+public enum FeatureColumn {
+    /** The ATR used by the order, as a double. */
+    ATR(Double.BYTES),
+
+    /** The width of the defining range, as a double. */
+    DR_WIDTH(Double.BYTES),
+
+    /** The width of the implied defining range, as a double. */
+    IDR_WIDTH(Double.BYTES),
+
+    /** The distance from the breakout close to the nearest quarter level, as a double. */
+    QUARTER_DISTANCE(Double.BYTES),
+
+    /** The volume traded from the start of the defining range up to the breakout, as a double. */
+    PRE_BREAKOUT_VOLUME(Double.BYTES),
+
+    /** The session date, as an epoch day. */
+    SESSION_DATE(Integer.BYTES),
+
+    /** The time of the breakout bar, as a second of the day. */
+    BREAKOUT_TIME(Integer.BYTES);
+
+    /** The combined width of the columns laid out before each column, by ordinal. */
+    private static final int[] PREFIX_WIDTHS;
+
+    /** The width of a full row, in bytes. */
+    private static final int ROW_WIDTH;
+
+    static {
+        var columns = values();
+        PREFIX_WIDTHS = new int[columns.length];
+        int width = 0;
+        for (FeatureColumn column : columns) {
+            PREFIX_WIDTHS[column.ordinal()] = width;
+            width += column.width;
+        }
+        ROW_WIDTH = width;
+    }
+
+    /** The width of a single value, in bytes. */
+    private final int width;
+
+    /**
+     * Constructs a new FeatureColumn.
+     *
+     * @param width the width of a single value, in bytes
+     */
+    FeatureColumn(final int width) {
+        this.width = width;
+    }
+
+    /**
+     * Returns the width of a single value, in bytes.
+     *
+     * @return the width of a single value
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the width of a full row, in bytes.
+     *
+     * @return the sum of the widths of every column
+     */
+    static int rowWidth() {
+        return ROW_WIDTH;
+    }
+
+    /**
+     * Returns the combined width of the columns laid out before this one. The column starts at
+     * this width times the number of rows from the start of the block data.
+     *
+     * @return the width of the preceding columns, in bytes
+     */
+    int prefixWidth() {
+        return PREFIX_WIDTHS[ordinal()];
+    }
+}
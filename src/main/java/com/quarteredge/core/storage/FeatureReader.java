@@ -0,0 +1,234 @@
+package com.quarteredge.core.storage;
+
+import static com.quarteredge.core.storage.FeatureWriter.BLOCK_HEADER_BYTES;
+import static com.quarteredge.core.storage.FeatureWriter.HEADER_BYTES;
+
+import com.quarteredge.core.model.TradeFeaturesDTO;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * FeatureReader class.
+ *
+ * <p>This class reads a feature file written by {@link FeatureWriter} through a read-only memory
+ * mapping, the same way {@link TradeLedgerReader} reads the ledger it is aligned with. Single
+ * values are read straight from the mapping, and whole columns of a block are exposed as typed
+ * buffer views over the mapped bytes, without copying them.
+ *
+ * <p>The mapping is limited to files of up to 2 GB. Instances are safe to share between threads
+ * once opened, as long as the returned column views are not shared.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see FeatureWriter
+ * @see FeatureColumn
+ */
+public final class FeatureReader implements AutoCloseable {
+    /** The channel of the feature file. */
+    private final FileChannel channel;
+
+    /** The mapped contents of the feature file. */
+    private final MappedByteBuffer buffer;
+
+    /** The number of rows in every block but the last. */
+    private final int blockRows;
+
+    /** The number of blocks. */
+    private final int blockCount;
+
+    /** The total number of rows. */
+    private final int size;
+
+    /**
+     * Opens and maps a feature file.
+     *
+     * @param path the path of the feature file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a feature file or is too large to map
+     */
+    public FeatureReader(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Not a mappable feature file: " + path);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != FeatureWriter.MAGIC
+                    || buffer.getInt(Integer.BYTES) != FeatureWriter.VERSION) {
+                throw new IllegalArgumentException("Not a feature file: " + path);
+            }
+            this.blockRows = buffer.getInt(2 * Integer.BYTES);
+
+            long fullBlock = FeatureWriter.blockBytes(blockRows);
+            long data = length - HEADER_BYTES;
+            int fullBlocks = (int) (data / fullBlock);
+            int total = fullBlocks * blockRows;
+            int blocks = fullBlocks;
+            if (data % fullBlock != 0) {
+                total += buffer.getInt((int) (HEADER_BYTES + fullBlocks * fullBlock));
+                blocks++;
+            }
+            this.blockCount = blocks;
+            this.size = total;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the total number of rows.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of blocks.
+     *
+     * @return the number of blocks
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Returns the number of rows in a block.
+     *
+     * @param block the index of the block
+     * @return the number of rows in the block
+     */
+    public int getBlockRows(final int block) {
+        return buffer.getInt(blockStart(block));
+    }
+
+    /**
+     * Returns a zero-copy view over a double column of a block.
+     *
+     * @param column the column, e.g. {@code ATR} or {@code DR_WIDTH}
+     * @param block the index of the block
+     * @return a read-only view over the values of the block
+     * @throws IllegalArgumentException if the column does not hold doubles
+     */
+    public DoubleBuffer doubleColumn(final FeatureColumn column, final int block) {
+        return columnBytes(column, block, Double.BYTES).asDoubleBuffer();
+    }
+
+    /**
+     * Returns a zero-copy view over an integer column of a block.
+     *
+     * @param column the column, one of {@code SESSION_DATE} or {@code BREAKOUT_TIME}
+     * @param block the index of the block
+     * @return a read-only view over the values of the block
+     * @throws IllegalArgumentException if the column does not hold integers
+     */
+    public IntBuffer intColumn(final FeatureColumn column, final int block) {
+        return columnBytes(column, block, Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * Returns the session date of a row.
+     *
+     * @param row the index of the row
+     * @return the session date
+     */
+    public LocalDate getSessionDate(final int row) {
+        return LocalDate.ofEpochDay(buffer.getInt(position(FeatureColumn.SESSION_DATE, row)));
+    }
+
+    /**
+     * Returns a double value of a row.
+     *
+     * @param column the double column
+     * @param row the index of the row
+     * @return the value
+     */
+    public double getDouble(final FeatureColumn column, final int row) {
+        return buffer.getDouble(position(column, row));
+    }
+
+    /**
+     * Returns the features of a row.
+     *
+     * @param row the index of the row
+     * @return the features
+     */
+    public TradeFeaturesDTO getFeatures(final int row) {
+        return new TradeFeaturesDTO(
+                getDouble(FeatureColumn.ATR, row),
+                getDouble(FeatureColumn.DR_WIDTH, row),
+                getDouble(FeatureColumn.IDR_WIDTH, row),
+                LocalTime.ofSecondOfDay(buffer.getInt(position(FeatureColumn.BREAKOUT_TIME, row))),
+                getDouble(FeatureColumn.QUARTER_DISTANCE, row),
+                getDouble(FeatureColumn.PRE_BREAKOUT_VOLUME, row));
+    }
+
+    /** Closes the file. The mapping itself is released once it is no longer reachable. */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Returns the bytes of a column of a block.
+     *
+     * @param column the column
+     * @param block the index of the block
+     * @param width the expected width of the column
+     * @return a read-only view over the bytes of the column
+     */
+    private ByteBuffer columnBytes(final FeatureColumn column, final int block, final int width) {
+        if (column.getWidth() != width) {
+            throw new IllegalArgumentException(column + " holds " + column.getWidth() + " bytes");
+        }
+        int start = blockStart(block);
+        int rows = buffer.getInt(start);
+        return buffer.slice(
+                        start + BLOCK_HEADER_BYTES + column.prefixWidth() * rows, width * rows)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns the position of a value in the mapping.
+     *
+     * @param column the column of the value
+     * @param row the index of the row
+     * @return the position of the value
+     */
+    private int position(final FeatureColumn column, final int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(row);
+        }
+        int block = row / blockRows;
+        int start = blockStart(block);
+        int rows = buffer.getInt(start);
+        return start
+                + BLOCK_HEADER_BYTES
+                + column.prefixWidth() * rows
+                + column.getWidth() * (row - block * blockRows);
+    }
+
+    /**
+     * Returns the position of a block in the mapping.
+     *
+     * @param block the index of the block
+     * @return the position of the block header
+     */
+    private int blockStart(final int block) {
+        return (int) (HEADER_BYTES + block * FeatureWriter.blockBytes(blockRows));
+    }
+}
@@ -0,0 +1,238 @@
+package com.quarteredge.core.storage;
+
+import com.quarteredge.core.model.TradeFeaturesDTO;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * FeatureWriter class.
+ *
+ * <p>This class streams the features of every order into a binary, columnar feature file that is
+ * aligned with the trade ledger: written with the same block size and in the same order as a
+ * {@link TradeLedgerWriter}, row {@code i} and block {@code b} of the feature file describe the
+ * same order as row {@code i} and block {@code b} of the ledger. Rows are buffered in per-column
+ * arrays and written out one block at a time, so memory usage stays bounded no matter how many
+ * orders are written.
+ *
+ * <p>The file starts with a {@value #HEADER_BYTES} byte header holding a magic number, the format
+ * version and the number of rows per block. It is followed by blocks of exactly that many rows,
+ * except for the last block which may be shorter. Every block starts with its row count, padded to
+ * 8 bytes, followed by each {@link FeatureColumn} stored contiguously, in order. All values are
+ * little-endian and every block is padded to a multiple of 8 bytes.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see FeatureReader
+ * @see FeatureColumn
+ */
+public final class FeatureWriter implements AutoCloseable {
+    /** The magic number at the start of every feature file. */
+    static final int MAGIC = 0x51454654;
+
+    /** The version of the file format. */
+    static final int VERSION = 1;
+
+    /** The size of the file header, in bytes. */
+    static final int HEADER_BYTES = 16;
+
+    /** The size of the header of every block, in bytes. */
+    static final int BLOCK_HEADER_BYTES = 8;
+
+    /** The alignment of every block, in bytes. */
+    static final int ALIGNMENT = 8;
+
+    /** The channel of the feature file. */
+    private final FileChannel channel;
+
+    /** The number of rows per block. */
+    private final int blockRows;
+
+    /** The buffer used to encode a block. */
+    private final ByteBuffer block;
+
+    /** The ATRs of the buffered rows. */
+    private final double[] atrs;
+
+    /** The defining range widths of the buffered rows. */
+    private final double[] drWidths;
+
+    /** The implied defining range widths of the buffered rows. */
+    private final double[] idrWidths;
+
+    /** The quarter level distances of the buffered rows. */
+    private final double[] quarterDistances;
+
+    /** The pre-breakout volumes of the buffered rows. */
+    private final double[] volumes;
+
+    /** The session dates of the buffered rows. */
+    private final int[] sessionDates;
+
+    /** The breakout times of the buffered rows. */
+    private final int[] breakoutTimes;
+
+    /** The number of buffered rows. */
+    private int buffered;
+
+    /** The number of rows written so far, including buffered ones. */
+    private long rowCount;
+
+    /**
+     * Creates a new feature file aligned with a ledger of the default block size, replacing any
+     * existing file.
+     *
+     * @param path the path of the feature file
+     * @throws IOException if the file cannot be created
+     */
+    public FeatureWriter(final Path path) throws IOException {
+        this(path, TradeLedgerWriter.DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * Creates a new feature file, replacing any existing file.
+     *
+     * @param path the path of the feature file
+     * @param blockRows the number of rows per block, which should match the ledger
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if the block size is not positive
+     */
+    public FeatureWriter(final Path path, final int blockRows) throws IOException {
+        if (blockRows < 1) {
+            throw new IllegalArgumentException("block rows must be positive: " + blockRows);
+        }
+        this.blockRows = blockRows;
+        this.block =
+                ByteBuffer.allocate((int) blockBytes(blockRows)).order(ByteOrder.LITTLE_ENDIAN);
+        this.atrs = new double[blockRows];
+        this.drWidths = new double[blockRows];
+        this.idrWidths = new double[blockRows];
+        this.quarterDistances = new double[blockRows];
+        this.volumes = new double[blockRows];
+        this.sessionDates = new int[blockRows];
+        this.breakoutTimes = new int[blockRows];
+        this.channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE);
+
+        var header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(blockRows).putInt(0);
+        writeFully(header.flip());
+    }
+
+    /**
+     * Writes the features of every order of a session.
+     *
+     * @param sessionDate the session date, formatted as {@code yyyy-MM-dd}
+     * @param features the features of the orders of the session, in order
+     * @throws IOException if a block cannot be written
+     */
+    public void writeSession(final String sessionDate, final List<TradeFeaturesDTO> features)
+            throws IOException {
+        var date = (int) LocalDate.parse(sessionDate).toEpochDay();
+        for (TradeFeaturesDTO feature : features) {
+            write(date, feature);
+        }
+    }
+
+    /**
+     * Buffers the features of a single order, writing out the block once it is full.
+     *
+     * @param epochDay the session date, as an epoch day
+     * @param features the features of the order
+     * @throws IOException if a block cannot be written
+     */
+    private void write(final int epochDay, final TradeFeaturesDTO features) throws IOException {
+        int i = buffered;
+        atrs[i] = features.atr();
+        drWidths[i] = features.drWidth();
+        idrWidths[i] = features.idrWidth();
+        quarterDistances[i] = features.quarterDistance();
+        volumes[i] = features.preBreakoutVolume();
+        sessionDates[i] = epochDay;
+        breakoutTimes[i] = features.breakoutTime().toSecondOfDay();
+        buffered++;
+        rowCount++;
+        if (buffered == blockRows) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Returns the number of rows written so far.
+     *
+     * @return the number of rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes out the buffered rows, if any, and closes the file.
+     *
+     * @throws IOException if the last block cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            if (buffered > 0) {
+                writeBlock();
+            }
+        }
+    }
+
+    /**
+     * Encodes the buffered rows as a single block and writes it out.
+     *
+     * @throws IOException if the block cannot be written
+     */
+    private void writeBlock() throws IOException {
+        int rows = buffered;
+        block.clear();
+        block.putInt(rows).putInt(0);
+        block.asDoubleBuffer()
+                .put(atrs, 0, rows)
+                .put(drWidths, 0, rows)
+                .put(idrWidths, 0, rows)
+                .put(quarterDistances, 0, rows)
+                .put(volumes, 0, rows);
+        block.position(BLOCK_HEADER_BYTES + FeatureColumn.SESSION_DATE.prefixWidth() * rows);
+        block.asIntBuffer().put(sessionDates, 0, rows).put(breakoutTimes, 0, rows);
+        block.position((int) blockBytes(rows));
+        writeFully(block.flip());
+        buffered = 0;
+    }
+
+    /**
+     * Writes the remaining bytes of the buffer to the file.
+     *
+     * @param buffer the bytes to write
+     * @throws IOException if the bytes cannot be written
+     */
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Returns the size of a block with the given number of rows, including its header and
+     * padding.
+     *
+     * @param rows the number of rows in the block
+     * @return the size of the block, in bytes
+     */
+    static long blockBytes(final int rows) {
+        long size = BLOCK_HEADER_BYTES + (long) FeatureColumn.rowWidth() * rows;
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -0,0 +1,41 @@
+package com.quarteredge.core.storage;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the records of a {@link SessionJournal} when it is replayed after a restart.
+ *
+ * <p>Every method has an empty default implementation, so listeners only override the records they
+ * care about. A replay starts with the open orders and the state of the last snapshot, if any,
+ * followed by every record appended after it, in order.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see SessionJournal#replay(JournalListener)
+ */
+public interface JournalListener {
+    /**
+     * Called with the state of the last snapshot, after its open orders.
+     *
+     * @param state the state written by {@link Snapshottable#writeState(ByteBuffer)}, read-only
+     */
+    default void onSnapshot(final ByteBuffer state) {}
+
+    /**
+     * Called for every bar handed to the strategy after the last snapshot.
+     *
+     * @param candle the bar
+     */
+    default void onBar(final CandleDTO candle) {}
+
+    /**
+     * Called for every open order of the last snapshot and every order state transition after it.
+     *
+     * @param orderId the identifier of the order
+     * @param order the order in its new state
+     */
+    default void onOrder(final long orderId, final OrderDTO order) {}
+}
@@ -0,0 +1,453 @@
+package com.quarteredge.core.storage;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatus;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * SessionJournal class.
+ *
+ * <p>This class is an append-only, memory-mapped journal of a live session: every bar handed to
+ * the strategy, every order state transition and periodic snapshots of the strategy state, so
+ * that a restarted process can recover by restoring the last snapshot and replaying the few
+ * records after it, instead of the whole day.
+ *
+ * <p>The file starts with a {@value #HEADER_BYTES} byte header holding a magic number and the
+ * format version, followed by the records. Every record starts with the length of its body and a
+ * CRC-32C checksum of it, followed by the body: a type byte and the fields of the record, encoded
+ * with {@link StateCodec}. A snapshot holds the highest order identifier journaled so far, the open
+ * orders and the state written by a {@link Snapshottable}, so that identifiers of orders closed
+ * before the snapshot are never reused after a restart. All values are little-endian.
+ *
+ * <p>The file is mapped and pre-extended, so appending a record is a handful of stores into
+ * memory, and the length of a record is written last. Since the operating system keeps the
+ * written pages when the process crashes, appended records survive a crash of the process without
+ * any system call; by default nothing is forced to the disk until {@link #force()} or {@link
+ * #close()} is called, which trades durability against power loss for latency. Opening an
+ * existing journal scans it, stops at the first record that is incomplete or fails its checksum,
+ * discards everything after it and appends from there.
+ *
+ * <p>The methods are synchronized, so the strategy thread and an order router may share a
+ * journal. The mapping is limited to journals of up to 2 GB.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see Snapshottable
+ * @see JournalListener
+ * @see com.quarteredge.core.service.TradingService
+ */
+public final class SessionJournal implements AutoCloseable {
+    /** The magic number at the start of every journal file. */
+    static final int MAGIC = 0x51454A4E;
+
+    /** The version of the file format. */
+    static final int VERSION = 2;
+
+    /** The size of the file header, in bytes. */
+    static final int HEADER_BYTES = 8;
+
+    /** The default size the file is extended to up front, in bytes. */
+    public static final int DEFAULT_CAPACITY = 1 << 24;
+
+    /** The offset of the checksum within a record. */
+    private static final int CHECKSUM_OFFSET = Integer.BYTES;
+
+    /** The offset of the body within a record. */
+    private static final int BODY_OFFSET = 2 * Integer.BYTES;
+
+    /** The maximum size of a bar or order record. */
+    private static final int MAX_EVENT_BYTES = 1024;
+
+    /** The maximum size of the state of a snapshot. */
+    private static final int STATE_CAPACITY = 1 << 20;
+
+    /** The type of a bar record. */
+    private static final byte BAR = 1;
+
+    /** The type of an order record. */
+    private static final byte ORDER = 2;
+
+    /** The type of a snapshot record. */
+    private static final byte SNAPSHOT = 3;
+
+    /** The channel of the journal file. */
+    private final FileChannel channel;
+
+    /** Flag indicating if every record is forced to the disk. */
+    private final boolean syncEveryRecord;
+
+    /** The checksum of the records. */
+    private final CRC32C checksum = new CRC32C();
+
+    /** The buffer used to encode the state of a snapshot. */
+    private final ByteBuffer state =
+            ByteBuffer.allocate(STATE_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+
+    /** The pending and active orders, by identifier. */
+    private final Map<Long, OrderDTO> openOrders = new LinkedHashMap<>();
+
+    /** The highest order identifier journaled, or {@code 0} if there is none. */
+    private long lastOrderId;
+
+    /** The mapped contents of the journal file. */
+    private MappedByteBuffer buffer;
+
+    /** The offset the next record is appended at. */
+    private int position;
+
+    /** The offset of the last snapshot, or -1 if there is none. */
+    private int lastSnapshot = -1;
+
+    /** Flag indicating if the journal was closed. */
+    private boolean closed;
+
+    /**
+     * Opens or creates a journal file and maps it.
+     *
+     * @param path the path of the journal file
+     * @param capacity the size the file is extended to up front, in bytes
+     * @param syncEveryRecord flag indicating if every record is forced to the disk
+     * @throws IOException if the file could not be opened
+     * @throws IllegalArgumentException if the file is not a journal file
+     */
+    private SessionJournal(final Path path, final int capacity, final boolean syncEveryRecord)
+            throws IOException {
+        this.channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        this.syncEveryRecord = syncEveryRecord;
+        try {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Journal is larger than 2 GB: " + path);
+            }
+            map(Math.max(capacity, (int) size));
+            if (size == 0) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(Integer.BYTES, VERSION);
+                position = HEADER_BYTES;
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IllegalArgumentException("Not a session journal file: " + path);
+            } else {
+                scan();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens or creates a journal that is only forced to the disk on demand.
+     *
+     * @param path the path of the journal file
+     * @return the journal, positioned after its last complete record
+     * @throws IOException if the file could not be opened
+     * @throws IllegalArgumentException if the file is not a journal file
+     */
+    public static SessionJournal open(final Path path) throws IOException {
+        return new SessionJournal(path, DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Opens or creates a journal.
+     *
+     * @param path the path of the journal file
+     * @param syncEveryRecord flag indicating if every record is forced to the disk, which survives
+     *     a power loss but costs a system call per record
+     * @return the journal, positioned after its last complete record
+     * @throws IOException if the file could not be opened
+     * @throws IllegalArgumentException if the file is not a journal file
+     */
+    public static SessionJournal open(final Path path, final boolean syncEveryRecord)
+            throws IOException {
+        return new SessionJournal(path, DEFAULT_CAPACITY, syncEveryRecord);
+    }
+
+    /**
+     * Appends a bar handed to the strategy. Should be called before the strategy sees the bar.
+     *
+     * @param candle the bar
+     */
+    public synchronized void appendBar(final CandleDTO candle) {
+        begin(BAR, MAX_EVENT_BYTES);
+        StateCodec.putCandle(buffer, candle);
+        commit();
+    }
+
+    /**
+     * Appends a state transition of an order.
+     *
+     * @param orderId the identifier of the order
+     * @param order the order in its new state
+     */
+    public synchronized void appendOrder(final long orderId, final OrderDTO order) {
+        begin(ORDER, MAX_EVENT_BYTES);
+        buffer.putLong(orderId);
+        StateCodec.putOrder(buffer, order);
+        commit();
+        track(orderId, order);
+    }
+
+    /**
+     * Appends a snapshot of the open orders and the state of a component, from which later
+     * replays start.
+     *
+     * @param component the component whose state is saved, typically the strategy
+     */
+    public synchronized void snapshot(final Snapshottable component) {
+        state.clear();
+        component.writeState(state);
+        state.flip();
+        var start = position;
+        begin(
+                SNAPSHOT,
+                Long.BYTES
+                        + Integer.BYTES
+                        + openOrders.size() * MAX_EVENT_BYTES
+                        + state.remaining());
+        buffer.putLong(lastOrderId);
+        buffer.putInt(openOrders.size());
+        for (Map.Entry<Long, OrderDTO> entry : openOrders.entrySet()) {
+            buffer.putLong(entry.getKey());
+            StateCodec.putOrder(buffer, entry.getValue());
+        }
+        buffer.put(state);
+        commit();
+        lastSnapshot = start;
+    }
+
+    /**
+     * Replays the last snapshot and every record appended after it.
+     *
+     * @param listener the listener of the records
+     * @return the number of records replayed
+     */
+    public synchronized long replay(final JournalListener listener) {
+        long records = 0;
+        var offset = lastSnapshot < 0 ? HEADER_BYTES : lastSnapshot;
+        while (offset < position) {
+            int length = buffer.getInt(offset);
+            dispatch(buffer.slice(offset + BODY_OFFSET, length), listener);
+            offset += BODY_OFFSET + length;
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Returns the pending and active orders.
+     *
+     * @return a copy of the open orders, by identifier
+     */
+    public synchronized Map<Long, OrderDTO> getOpenOrders() {
+        return new LinkedHashMap<>(openOrders);
+    }
+
+    /**
+     * Returns the highest order identifier journaled, including orders that are closed already,
+     * from which new identifiers should continue.
+     *
+     * @return the highest order identifier, or {@code 0} if no order was journaled
+     */
+    public synchronized long getLastOrderId() {
+        return lastOrderId;
+    }
+
+    /**
+     * Returns the number of bytes used by the header and the records.
+     *
+     * @return the size of the journal in bytes
+     */
+    public synchronized int size() {
+        return position;
+    }
+
+    /** Forces every appended record to the disk. */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    /**
+     * Forces every appended record to the disk and closes the file.
+     *
+     * @throws IOException if the file could not be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Finds the end of the complete records and the last snapshot, discards anything after the
+     * end and rebuilds the open orders and the highest order identifier.
+     */
+    private void scan() {
+        position = HEADER_BYTES;
+        while (isValid(position)) {
+            if (buffer.get(position + BODY_OFFSET) == SNAPSHOT) {
+                lastSnapshot = position;
+            }
+            position += BODY_OFFSET + buffer.getInt(position);
+        }
+        if (position + Integer.BYTES <= buffer.capacity() && buffer.getInt(position) != 0) {
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        if (lastSnapshot >= 0) {
+            lastOrderId = buffer.getLong(lastSnapshot + BODY_OFFSET + Byte.BYTES);
+        }
+        replay(
+                new JournalListener() {
+                    @Override
+                    public void onOrder(final long orderId, final OrderDTO order) {
+                        track(orderId, order);
+                    }
+                });
+    }
+
+    /**
+     * Checks if a complete record with a valid checksum starts at an offset.
+     *
+     * @param offset the offset of the record
+     * @return {@code true} if the record is complete
+     */
+    private boolean isValid(final int offset) {
+        if (offset + BODY_OFFSET > buffer.capacity()) {
+            return false;
+        }
+        int length = buffer.getInt(offset);
+        if (length < 1 || length > buffer.capacity() - offset - BODY_OFFSET) {
+            return false;
+        }
+        return buffer.getInt(offset + CHECKSUM_OFFSET) == checksum(offset + BODY_OFFSET, length);
+    }
+
+    /**
+     * Starts a record at the current position, growing the mapping if needed.
+     *
+     * @param type the type of the record
+     * @param maxBytes the maximum size of the fields of the record
+     * @throws IllegalStateException if the journal was closed or is full
+     */
+    private void begin(final byte type, final int maxBytes) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        var required = (long) position + BODY_OFFSET + Byte.BYTES + maxBytes;
+        if (required > buffer.capacity()) {
+            var capacity = Math.max(required, 2L * buffer.capacity());
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Journal is full");
+            }
+            try {
+                map((int) capacity);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        buffer.position(position + BODY_OFFSET);
+        buffer.put(type);
+    }
+
+    /** Completes the record at the current position, writing its length last. */
+    private void commit() {
+        var end = buffer.position();
+        var length = end - position - BODY_OFFSET;
+        buffer.putInt(position + CHECKSUM_OFFSET, checksum(position + BODY_OFFSET, length));
+        buffer.putInt(position, length);
+        position = end;
+        if (syncEveryRecord) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Computes the checksum of a range of the mapping.
+     *
+     * @param offset the start of the range
+     * @param length the length of the range
+     * @return the checksum
+     */
+    private int checksum(final int offset, final int length) {
+        checksum.reset();
+        buffer.limit(offset + length).position(offset);
+        checksum.update(buffer);
+        buffer.limit(buffer.capacity());
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Maps the journal file, extending it if needed.
+     *
+     * @param capacity the size of the mapping
+     * @throws IOException if the file could not be mapped
+     */
+    private void map(final int capacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Records the state of an order in the open orders.
+     *
+     * @param orderId the identifier of the order
+     * @param order the order in its new state
+     */
+    private void track(final long orderId, final OrderDTO order) {
+        lastOrderId = Math.max(lastOrderId, orderId);
+        if (order.status() == OrderStatus.PENDING || order.status() == OrderStatus.ACTIVE) {
+            openOrders.put(orderId, order);
+        } else {
+            openOrders.remove(orderId);
+        }
+    }
+
+    /**
+     * Hands the fields of a record to a listener.
+     *
+     * @param record the body of the record
+     * @param listener the listener
+     * @throws IllegalStateException if the type of the record is unknown
+     */
+    private static void dispatch(final ByteBuffer record, final JournalListener listener) {
+        record.order(ByteOrder.LITTLE_ENDIAN);
+        var type = record.get();
+        switch (type) {
+            case BAR -> listener.onBar(StateCodec.getCandle(record));
+            case ORDER -> listener.onOrder(record.getLong(), StateCodec.getOrder(record));
+            case SNAPSHOT -> {
+                // the highest order identifier is restored by the scan when the journal is opened
+                record.getLong();
+                int orders = record.getInt();
+                for (int i = 0; i < orders; i++) {
+                    listener.onOrder(record.getLong(), StateCodec.getOrder(record));
+                }
+                var snapshot = record.slice().asReadOnlyBuffer();
+                listener.onSnapshot(snapshot.order(ByteOrder.LITTLE_ENDIAN));
+            }
+            default -> throw new IllegalStateException("Unknown journal record: " + type);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.quarteredge.core.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A component whose state can be saved to and restored from a binary snapshot, e.g. a strategy or
+ * an indicator, so that a live process can recover without replaying the whole session.
+ *
+ * <p>A snapshot holds exactly the state needed for the component to behave as if it had seen every
+ * input up to the snapshot; restoring it into a component created with the same parameters
+ * replaces that component's state. The encoding is private to every implementation, which
+ * typically writes its fields with {@link StateCodec}.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see SessionJournal
+ * @see StateCodec
+ */
+public interface Snapshottable {
+    /**
+     * Writes the state at the position of a buffer.
+     *
+     * @param buffer the buffer to write to
+     */
+    void writeState(ByteBuffer buffer);
+
+    /**
+     * Replaces the state with the one at the position of a buffer.
+     *
+     * @param buffer the buffer to read from, positioned where {@link #writeState(ByteBuffer)}
+     *     started writing
+     */
+    void readState(ByteBuffer buffer);
+}
@@ -0,0 +1,210 @@
+package com.quarteredge.core.storage;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatsDTO;
+import com.quarteredge.core.model.OrderStatus;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalTime;
+
+/**
+ * StateCodec class.
+ *
+ * <p>This class holds the binary encodings shared by {@link SessionJournal} and the {@link
+ * Snapshottable} components. Values are written at the position of a {@link ByteBuffer} and read
+ * back in the same order; {@code null} references are encoded explicitly. Strings, times and
+ * candles are written without allocating, so they can be used on the latency-critical path.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see Snapshottable
+ * @see SessionJournal
+ */
+public final class StateCodec {
+    /** The encoding of a {@code null} time, string length or enum ordinal. */
+    private static final int NULL = -1;
+
+    /** Private constructor to prevent instantiation. */
+    private StateCodec() {}
+
+    /**
+     * Writes a string as its length followed by its characters.
+     *
+     * @param buffer the buffer to write to
+     * @param value the string, may be {@code null}
+     */
+    public static void putString(final ByteBuffer buffer, final String value) {
+        if (value == null) {
+            buffer.putShort((short) NULL);
+            return;
+        }
+        buffer.putShort((short) value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer.putChar(value.charAt(i));
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #putString(ByteBuffer, String)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the string, or {@code null}
+     */
+    public static String getString(final ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length == NULL) {
+            return null;
+        }
+        var chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Writes a time as its nanosecond of the day.
+     *
+     * @param buffer the buffer to write to
+     * @param value the time, may be {@code null}
+     */
+    public static void putTime(final ByteBuffer buffer, final LocalTime value) {
+        buffer.putLong(value == null ? NULL : value.toNanoOfDay());
+    }
+
+    /**
+     * Reads a time written by {@link #putTime(ByteBuffer, LocalTime)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the time, or {@code null}
+     */
+    public static LocalTime getTime(final ByteBuffer buffer) {
+        var nanos = buffer.getLong();
+        return nanos == NULL ? null : LocalTime.ofNanoOfDay(nanos);
+    }
+
+    /**
+     * Writes an enum constant as its ordinal.
+     *
+     * @param buffer the buffer to write to
+     * @param value the enum constant, may be {@code null}
+     */
+    public static void putEnum(final ByteBuffer buffer, final Enum<?> value) {
+        buffer.put((byte) (value == null ? NULL : value.ordinal()));
+    }
+
+    /**
+     * Reads an enum constant written by {@link #putEnum(ByteBuffer, Enum)}.
+     *
+     * @param buffer the buffer to read from
+     * @param values the constants of the enum, in order
+     * @param <E> the type of the enum
+     * @return the enum constant, or {@code null}
+     */
+    public static <E extends Enum<E>> E getEnum(final ByteBuffer buffer, final E[] values) {
+        int ordinal = buffer.get();
+        return ordinal == NULL ? null : values[ordinal];
+    }
+
+    /**
+     * Writes a decimal exactly, as its scale and unscaled value.
+     *
+     * @param buffer the buffer to write to
+     * @param value the decimal
+     */
+    public static void putDecimal(final ByteBuffer buffer, final BigDecimal value) {
+        var unscaled = value.unscaledValue().toByteArray();
+        buffer.putInt(value.scale());
+        buffer.putShort((short) unscaled.length);
+        buffer.put(unscaled);
+    }
+
+    /**
+     * Reads a decimal written by {@link #putDecimal(ByteBuffer, BigDecimal)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the decimal, with the scale it was written with
+     */
+    public static BigDecimal getDecimal(final ByteBuffer buffer) {
+        var scale = buffer.getInt();
+        var unscaled = new byte[buffer.getShort()];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    /**
+     * Writes a candle.
+     *
+     * @param buffer the buffer to write to
+     * @param candle the candle
+     */
+    public static void putCandle(final ByteBuffer buffer, final CandleDTO candle) {
+        putString(buffer, candle.date());
+        putTime(buffer, candle.time());
+        buffer.putDouble(candle.open());
+        buffer.putDouble(candle.high());
+        buffer.putDouble(candle.low());
+        buffer.putDouble(candle.close());
+        buffer.putDouble(candle.volume());
+    }
+
+    /**
+     * Reads a candle written by {@link #putCandle(ByteBuffer, CandleDTO)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the candle
+     */
+    public static CandleDTO getCandle(final ByteBuffer buffer) {
+        return new CandleDTO(
+                getString(buffer),
+                getTime(buffer),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble());
+    }
+
+    /**
+     * Writes an order, including its excursion statistics.
+     *
+     * @param buffer the buffer to write to
+     * @param order the order
+     */
+    public static void putOrder(final ByteBuffer buffer, final OrderDTO order) {
+        buffer.putDouble(order.SL());
+        buffer.putDouble(order.TP());
+        buffer.putDouble(order.entry());
+        buffer.putDouble(order.closePrice());
+        putEnum(buffer, order.direction());
+        putTime(buffer, order.startTime());
+        putTime(buffer, order.closeTime());
+        putEnum(buffer, order.status());
+        var stats = order.orderStatsDTO();
+        buffer.putDouble(stats.getMaximumFavorablePrice());
+        buffer.putDouble(stats.getMaximumAdversePrice());
+    }
+
+    /**
+     * Reads an order written by {@link #putOrder(ByteBuffer, OrderDTO)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the order
+     */
+    public static OrderDTO getOrder(final ByteBuffer buffer) {
+        return new OrderDTO(
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                buffer.getDouble(),
+                getEnum(buffer, Direction.values()),
+                getTime(buffer),
+                getTime(buffer),
+                getEnum(buffer, OrderStatus.values()),
+                new OrderStatsDTO(buffer.getDouble(), buffer.getDouble()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.quarteredge.core.storage;
+
+/**
+ * The columns of a trade ledger file, in the order in which they are laid out inside a block.
+ *
+ * <p>Columns are sorted by width so that every column of a block starts on a boundary aligned to
+ * its own width, which allows typed buffer views over the mapped file.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see TradeLedgerWriter
+ * @see TradeLedgerReader
+ */
+public enum TradeLedgerColumn {
+    /** The maximum favorable excursion of the order, as a double. */
+    MFE(Double.BYTES),
+
+    /** The maximum adverse excursion of the order, as a double. */
+    MAE(Double.BYTES),
+
+    /** The result of the order in R multiples, as a double. */
+    R(Double.BYTES),
+
+    /** The session date, as an epoch day. */
+    SESSION_DATE(Integer.BYTES),
+
+    /** The entry price, in ticks. */
+    ENTRY(Integer.BYTES),
+
+    /** The stop loss price, in ticks. */
+    STOP_LOSS(Integer.BYTES),
+
+    /** The take profit price, in ticks. */
+    TAKE_PROFIT(Integer.BYTES),
+
+    /** The close price, in ticks. */
+    CLOSE(Integer.BYTES),
+
+    /** The open time, as a second of the day, or -1 if the order never opened. */
+    OPEN_TIME(Integer.BYTES),
+
+    /** The close time, as a second of the day, or -1 if the order never closed. */
+    CLOSE_TIME(Integer.BYTES),
+
+    /** The ordinal of the order direction. */
+    DIRECTION(Byte.BYTES),
+
+    /** The ordinal of the order status. */
+    STATUS(Byte.BYTES);
+
+    /** The combined width of the columns laid out before each column, by ordinal. */
+    private static final int[] PREFIX_WIDTHS;
+
+    /** The width of a full row, in bytes. */
+    private static final int ROW_WIDTH;
+
+    static {
+        var columns = values();
+        PREFIX_WIDTHS = new int[columns.length];
+        int width = 0;
+        for (TradeLedgerColumn column : columns) {
+            PREFIX_WIDTHS[column.ordinal()] = width;
+            width += column.width;
+        }
+        ROW_WIDTH = width;
+    }
+
+    /** The width of a single value, in bytes. */
+    private final int width;
+
+    /**
+     * Constructs a new TradeLedgerColumn.
+     *
+     * @param width the width of a single value, in bytes
+     */
+    TradeLedgerColumn(final int width) {
+        this.width = width;
+    }
+
+    /**
+     * Returns the width of a single value, in bytes.
+     *
+     * @return the width of a single value
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the width of a full row, in bytes.
+     *
+     * @return the sum of the widths of every column
+     */
+    static int rowWidth() {
+        return ROW_WIDTH;
+    }
+
+    /**
+     * Returns the combined width of the columns laid out before this one. The column starts at
+     * this width times the number of rows from the start of the block data.
+     *
+     * @return the width of the preceding columns, in bytes
+     */
+    int prefixWidth() {
+        return PREFIX_WIDTHS[ordinal()];
+    }
+}
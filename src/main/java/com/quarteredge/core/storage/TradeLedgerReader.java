@@ -0,0 +1,314 @@
+package com.quarteredge.core.storage;
+
+import static com.quarteredge.core.storage.TradeLedgerWriter.BLOCK_HEADER_BYTES;
+import static com.quarteredge.core.storage.TradeLedgerWriter.HEADER_BYTES;
+
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.OrderStatus;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * TradeLedgerReader class.
+ *
+ * <p>This class reads a trade ledger file written by {@link TradeLedgerWriter} through a read-only
+ * memory mapping. Nothing is decoded up front: single values are read straight from the mapping,
+ * and whole columns of a block are exposed as typed buffer views over the mapped bytes, without
+ * copying them.
+ *
+ * <p>Every block but the last holds the same number of rows, so the block and position of any row
+ * are found with a single division. The mapping is limited to files of up to 2 GB.
+ *
+ * <p>Instances are safe to share between threads once opened, as long as the returned column
+ * views are not shared.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see TradeLedgerWriter
+ * @see TradeLedgerColumn
+ */
+public final class TradeLedgerReader implements AutoCloseable {
+    /** The channel of the ledger file. */
+    private final FileChannel channel;
+
+    /** The mapped contents of the ledger file. */
+    private final MappedByteBuffer buffer;
+
+    /** The price of a single tick. */
+    private final double tickSize;
+
+    /** The number of rows in every block but the last. */
+    private final int blockRows;
+
+    /** The number of blocks. */
+    private final int blockCount;
+
+    /** The total number of rows. */
+    private final int size;
+
+    /**
+     * Opens and maps a ledger file.
+     *
+     * @param path the path of the ledger file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a ledger file or is too large to map
+     */
+    public TradeLedgerReader(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Not a mappable trade ledger: " + path);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != TradeLedgerWriter.MAGIC
+                    || buffer.getInt(Integer.BYTES) != TradeLedgerWriter.VERSION) {
+                throw new IllegalArgumentException("Not a trade ledger: " + path);
+            }
+            this.blockRows = buffer.getInt(2 * Integer.BYTES);
+            this.tickSize = buffer.getDouble(HEADER_BYTES - Double.BYTES);
+
+            long fullBlock = TradeLedgerWriter.blockBytes(blockRows);
+            long data = length - HEADER_BYTES;
+            int fullBlocks = (int) (data / fullBlock);
+            int total = fullBlocks * blockRows;
+            int blocks = fullBlocks;
+            if (data % fullBlock != 0) {
+                total += buffer.getInt((int) (HEADER_BYTES + fullBlocks * fullBlock));
+                blocks++;
+            }
+            this.blockCount = blocks;
+            this.size = total;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the total number of rows.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the price of a single tick.
+     *
+     * @return the tick size
+     */
+    public double getTickSize() {
+        return tickSize;
+    }
+
+    /**
+     * Returns the number of blocks.
+     *
+     * @return the number of blocks
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Returns the number of rows in a block.
+     *
+     * @param block the index of the block
+     * @return the number of rows in the block
+     */
+    public int getBlockRows(final int block) {
+        return buffer.getInt(blockStart(block));
+    }
+
+    /**
+     * Returns the index of the first row of a block.
+     *
+     * @param block the index of the block
+     * @return the index of the first row
+     */
+    public int getFirstRow(final int block) {
+        return block * blockRows;
+    }
+
+    /**
+     * Returns a zero-copy view over a double column of a block.
+     *
+     * @param column the column, one of {@code MFE}, {@code MAE} or {@code R}
+     * @param block the index of the block
+     * @return a read-only view over the values of the block
+     * @throws IllegalArgumentException if the column does not hold doubles
+     */
+    public DoubleBuffer doubleColumn(final TradeLedgerColumn column, final int block) {
+        return columnBytes(column, block, Double.BYTES).asDoubleBuffer();
+    }
+
+    /**
+     * Returns a zero-copy view over an integer column of a block.
+     *
+     * @param column the column, e.g. {@code ENTRY} or {@code SESSION_DATE}
+     * @param block the index of the block
+     * @return a read-only view over the values of the block
+     * @throws IllegalArgumentException if the column does not hold integers
+     */
+    public IntBuffer intColumn(final TradeLedgerColumn column, final int block) {
+        return columnBytes(column, block, Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * Returns a zero-copy view over a byte column of a block.
+     *
+     * @param column the column, one of {@code DIRECTION} or {@code STATUS}
+     * @param block the index of the block
+     * @return a read-only view over the values of the block
+     * @throws IllegalArgumentException if the column does not hold bytes
+     */
+    public ByteBuffer byteColumn(final TradeLedgerColumn column, final int block) {
+        return columnBytes(column, block, Byte.BYTES);
+    }
+
+    /**
+     * Returns the session date of a row.
+     *
+     * @param row the index of the row
+     * @return the session date
+     */
+    public LocalDate getSessionDate(final int row) {
+        return LocalDate.ofEpochDay(buffer.getInt(position(TradeLedgerColumn.SESSION_DATE, row)));
+    }
+
+    /**
+     * Returns the direction of a row.
+     *
+     * @param row the index of the row
+     * @return the direction
+     */
+    public Direction getDirection(final int row) {
+        return Direction.values()[buffer.get(position(TradeLedgerColumn.DIRECTION, row))];
+    }
+
+    /**
+     * Returns the status of a row.
+     *
+     * @param row the index of the row
+     * @return the status
+     */
+    public OrderStatus getStatus(final int row) {
+        return OrderStatus.values()[buffer.get(position(TradeLedgerColumn.STATUS, row))];
+    }
+
+    /**
+     * Returns a price of a row.
+     *
+     * @param column the price column, one of {@code ENTRY}, {@code STOP_LOSS}, {@code
+     *     TAKE_PROFIT} or {@code CLOSE}
+     * @param row the index of the row
+     * @return the price
+     */
+    public double getPrice(final TradeLedgerColumn column, final int row) {
+        return getTicks(column, row) * tickSize;
+    }
+
+    /**
+     * Returns a price of a row in ticks.
+     *
+     * @param column the price column, one of {@code ENTRY}, {@code STOP_LOSS}, {@code
+     *     TAKE_PROFIT} or {@code CLOSE}
+     * @param row the index of the row
+     * @return the price in ticks
+     */
+    public int getTicks(final TradeLedgerColumn column, final int row) {
+        return buffer.getInt(position(column, row));
+    }
+
+    /**
+     * Returns a time of a row.
+     *
+     * @param column the time column, one of {@code OPEN_TIME} or {@code CLOSE_TIME}
+     * @param row the index of the row
+     * @return the time, or {@code null} if the order never reached that point
+     */
+    public LocalTime getTime(final TradeLedgerColumn column, final int row) {
+        int seconds = buffer.getInt(position(column, row));
+        return seconds < 0 ? null : LocalTime.ofSecondOfDay(seconds);
+    }
+
+    /**
+     * Returns a double value of a row.
+     *
+     * @param column the double column, one of {@code MFE}, {@code MAE} or {@code R}
+     * @param row the index of the row
+     * @return the value, or NaN for canceled orders
+     */
+    public double getDouble(final TradeLedgerColumn column, final int row) {
+        return buffer.getDouble(position(column, row));
+    }
+
+    /** Closes the file. The mapping itself is released once it is no longer reachable. */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Returns the bytes of a column of a block.
+     *
+     * @param column the column
+     * @param block the index of the block
+     * @param width the expected width of the column
+     * @return a read-only view over the bytes of the column
+     */
+    private ByteBuffer columnBytes(
+            final TradeLedgerColumn column, final int block, final int width) {
+        if (column.getWidth() != width) {
+            throw new IllegalArgumentException(column + " holds " + column.getWidth() + " bytes");
+        }
+        int start = blockStart(block);
+        int rows = buffer.getInt(start);
+        return buffer.slice(
+                        start + BLOCK_HEADER_BYTES + column.prefixWidth() * rows, width * rows)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns the position of a value in the mapping.
+     *
+     * @param column the column of the value
+     * @param row the index of the row
+     * @return the position of the value
+     */
+    private int position(final TradeLedgerColumn column, final int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(row);
+        }
+        int block = row / blockRows;
+        int start = blockStart(block);
+        int rows = buffer.getInt(start);
+        return start
+                + BLOCK_HEADER_BYTES
+                + column.prefixWidth() * rows
+                + column.getWidth() * (row - block * blockRows);
+    }
+
+    /**
+     * Returns the position of a block in the mapping.
+     *
+     * @param block the index of the block
+     * @return the position of the block header
+     */
+    private int blockStart(final int block) {
+        return (int) (HEADER_BYTES + block * TradeLedgerWriter.blockBytes(blockRows));
+    }
+}
@@ -0,0 +1,67 @@
+package com.quarteredge.core.storage;
+
+import com.quarteredge.core.event.BacktestEventSink;
+import com.quarteredge.core.model.OrderDTO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * TradeLedgerSink class.
+ *
+ * <p>This sink writes the orders of every completed session to a trade ledger file through a
+ * {@link TradeLedgerWriter}. It does blocking file I/O, so it is best used behind an {@link
+ * com.quarteredge.core.event.AsyncEventSink} created with {@link
+ * com.quarteredge.core.model.OverflowPolicy#BLOCK}, which makes the backtest wait for the ledger
+ * instead of dropping sessions when the ring fills up.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see TradeLedgerWriter
+ */
+public final class TradeLedgerSink implements BacktestEventSink {
+    /** The writer of the ledger file. */
+    private final TradeLedgerWriter writer;
+
+    /**
+     * Creates a new ledger file, replacing any existing file.
+     *
+     * @param path the path of the ledger file
+     * @throws IOException if the file cannot be created
+     */
+    public TradeLedgerSink(final Path path) throws IOException {
+        this.writer = new TradeLedgerWriter(path);
+    }
+
+    /**
+     * Writes the orders of the session to the ledger.
+     *
+     * @param sessionDate the date of the session
+     * @param orders the orders of the session, in their final state
+     * @throws UncheckedIOException if the orders cannot be written
+     */
+    @Override
+    public void sessionCompleted(final String sessionDate, final List<OrderDTO> orders) {
+        try {
+            writer.writeSession(sessionDate, orders);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes out the last block and closes the ledger file.
+     *
+     * @throws UncheckedIOException if the ledger cannot be written
+     */
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
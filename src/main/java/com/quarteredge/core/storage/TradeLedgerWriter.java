@@ -0,0 +1,310 @@
+package com.quarteredge.core.storage;
+
+import static com.quarteredge.core.util.Constants.CL_TICK_INCREMENT;
+
+import com.quarteredge.core.component.PerformanceAccumulator;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatus;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * TradeLedgerWriter class.
+ *
+ * <p>This class streams orders into a binary, columnar trade ledger file. Rows are buffered in
+ * per-column arrays and written out one block at a time, so memory usage stays bounded no matter
+ * how many orders are written. Prices are stored as whole ticks.
+ *
+ * <p>The file starts with a {@value #HEADER_BYTES} byte header holding a magic number, the format
+ * version, the number of rows per block and the tick size. It is followed by blocks of exactly
+ * that many rows, except for the last block which may be shorter. Every block starts with its row
+ * count, padded to 8 bytes, followed by each {@link TradeLedgerColumn} stored contiguously, in
+ * order. All values are little-endian and every block is padded to a multiple of 8 bytes.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see TradeLedgerReader
+ * @see TradeLedgerColumn
+ */
+public final class TradeLedgerWriter implements AutoCloseable {
+    /** The magic number at the start of every ledger file. */
+    static final int MAGIC = 0x51454C47;
+
+    /** The version of the file format. */
+    static final int VERSION = 1;
+
+    /** The size of the file header, in bytes. */
+    static final int HEADER_BYTES = 24;
+
+    /** The size of the header of every block, in bytes. */
+    static final int BLOCK_HEADER_BYTES = 8;
+
+    /** The alignment of every block, in bytes. */
+    static final int ALIGNMENT = 8;
+
+    /** The default number of rows per block. */
+    public static final int DEFAULT_BLOCK_ROWS = 4096;
+
+    /** The channel of the ledger file. */
+    private final FileChannel channel;
+
+    /** The price of a single tick. */
+    private final double tickSize;
+
+    /** The number of rows per block. */
+    private final int blockRows;
+
+    /** The buffer used to encode a block. */
+    private final ByteBuffer block;
+
+    /** The maximum favorable excursions of the buffered rows. */
+    private final double[] mfe;
+
+    /** The maximum adverse excursions of the buffered rows. */
+    private final double[] mae;
+
+    /** The R multiples of the buffered rows. */
+    private final double[] r;
+
+    /** The session dates of the buffered rows. */
+    private final int[] sessionDates;
+
+    /** The entry ticks of the buffered rows. */
+    private final int[] entries;
+
+    /** The stop loss ticks of the buffered rows. */
+    private final int[] stopLosses;
+
+    /** The take profit ticks of the buffered rows. */
+    private final int[] takeProfits;
+
+    /** The close ticks of the buffered rows. */
+    private final int[] closes;
+
+    /** The open times of the buffered rows. */
+    private final int[] openTimes;
+
+    /** The close times of the buffered rows. */
+    private final int[] closeTimes;
+
+    /** The direction ordinals of the buffered rows. */
+    private final byte[] directions;
+
+    /** The status ordinals of the buffered rows. */
+    private final byte[] statuses;
+
+    /** The number of buffered rows. */
+    private int buffered;
+
+    /** The number of rows written so far, including buffered ones. */
+    private long rowCount;
+
+    /**
+     * Creates a new ledger file, replacing any existing file, with the crude oil tick size and the
+     * default block size.
+     *
+     * @param path the path of the ledger file
+     * @throws IOException if the file cannot be created
+     */
+    public TradeLedgerWriter(final Path path) throws IOException {
+        this(path, CL_TICK_INCREMENT, DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * Creates a new ledger file, replacing any existing file.
+     *
+     * @param path the path of the ledger file
+     * @param tickSize the price of a single tick
+     * @param blockRows the number of rows per block
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if the tick size or block size is not positive
+     */
+    public TradeLedgerWriter(final Path path, final double tickSize, final int blockRows)
+            throws IOException {
+        if (!(tickSize > 0) || blockRows < 1) {
+            throw new IllegalArgumentException("tick size and block rows must be positive");
+        }
+        this.tickSize = tickSize;
+        this.blockRows = blockRows;
+        this.block =
+                ByteBuffer.allocate((int) blockBytes(blockRows)).order(ByteOrder.LITTLE_ENDIAN);
+        this.mfe = new double[blockRows];
+        this.mae = new double[blockRows];
+        this.r = new double[blockRows];
+        this.sessionDates = new int[blockRows];
+        this.entries = new int[blockRows];
+        this.stopLosses = new int[blockRows];
+        this.takeProfits = new int[blockRows];
+        this.closes = new int[blockRows];
+        this.openTimes = new int[blockRows];
+        this.closeTimes = new int[blockRows];
+        this.directions = new byte[blockRows];
+        this.statuses = new byte[blockRows];
+        this.channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE);
+
+        var header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(blockRows).putInt(0).putDouble(tickSize);
+        writeFully(header.flip());
+    }
+
+    /**
+     * Writes every order of a session.
+     *
+     * @param sessionDate the session date, formatted as {@code yyyy-MM-dd}
+     * @param orders the orders of the session
+     * @throws IOException if a block cannot be written
+     */
+    public void writeSession(final String sessionDate, final List<OrderDTO> orders)
+            throws IOException {
+        var date = (int) LocalDate.parse(sessionDate).toEpochDay();
+        for (OrderDTO order : orders) {
+            write(date, order);
+        }
+    }
+
+    /**
+     * Writes a single order.
+     *
+     * @param sessionDate the session date, formatted as {@code yyyy-MM-dd}
+     * @param order the order to write
+     * @throws IOException if a block cannot be written
+     */
+    public void write(final String sessionDate, final OrderDTO order) throws IOException {
+        write((int) LocalDate.parse(sessionDate).toEpochDay(), order);
+    }
+
+    /**
+     * Buffers a single order, writing out the block once it is full.
+     *
+     * @param epochDay the session date, as an epoch day
+     * @param order the order to write
+     * @throws IOException if a block cannot be written
+     */
+    private void write(final int epochDay, final OrderDTO order) throws IOException {
+        int i = buffered;
+        var canceled = order.status() == OrderStatus.CLOSED_CANCELED;
+        mfe[i] = canceled ? Double.NaN : PerformanceAccumulator.getMfe(order);
+        mae[i] = canceled ? Double.NaN : PerformanceAccumulator.getMae(order);
+        r[i] = canceled ? Double.NaN : PerformanceAccumulator.getRMultiple(order);
+        sessionDates[i] = epochDay;
+        entries[i] = toTicks(order.entry());
+        stopLosses[i] = toTicks(order.SL());
+        takeProfits[i] = toTicks(order.TP());
+        closes[i] = toTicks(order.closePrice());
+        openTimes[i] = toSeconds(order.startTime());
+        closeTimes[i] = toSeconds(order.closeTime());
+        directions[i] = (byte) order.direction().ordinal();
+        statuses[i] = (byte) order.status().ordinal();
+        buffered++;
+        rowCount++;
+        if (buffered == blockRows) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Returns the number of rows written so far.
+     *
+     * @return the number of rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes out the buffered rows, if any, and closes the file.
+     *
+     * @throws IOException if the last block cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            if (buffered > 0) {
+                writeBlock();
+            }
+        }
+    }
+
+    /**
+     * Encodes the buffered rows as a single block and writes it out.
+     *
+     * @throws IOException if the block cannot be written
+     */
+    private void writeBlock() throws IOException {
+        int rows = buffered;
+        block.clear();
+        block.putInt(rows).putInt(0);
+        block.asDoubleBuffer().put(mfe, 0, rows).put(mae, 0, rows).put(r, 0, rows);
+        block.position(BLOCK_HEADER_BYTES + TradeLedgerColumn.SESSION_DATE.prefixWidth() * rows);
+        block.asIntBuffer()
+                .put(sessionDates, 0, rows)
+                .put(entries, 0, rows)
+                .put(stopLosses, 0, rows)
+                .put(takeProfits, 0, rows)
+                .put(closes, 0, rows)
+                .put(openTimes, 0, rows)
+                .put(closeTimes, 0, rows);
+        block.position(BLOCK_HEADER_BYTES + TradeLedgerColumn.DIRECTION.prefixWidth() * rows);
+        block.put(directions, 0, rows).put(statuses, 0, rows);
+        block.position((int) blockBytes(rows));
+        writeFully(block.flip());
+        buffered = 0;
+    }
+
+    /**
+     * Writes the remaining bytes of the buffer to the file.
+     *
+     * @param buffer the bytes to write
+     * @throws IOException if the bytes cannot be written
+     */
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Converts a price to whole ticks.
+     *
+     * @param price the price
+     * @return the price in ticks
+     */
+    private int toTicks(final double price) {
+        return (int) Math.round(price / tickSize);
+    }
+
+    /**
+     * Converts a time to seconds of the day.
+     *
+     * @param time the time, or {@code null}
+     * @return the second of the day, or -1 if the time is {@code null}
+     */
+    private static int toSeconds(final LocalTime time) {
+        return time == null ? -1 : time.toSecondOfDay();
+    }
+
+    /**
+     * Returns the size of a block with the given number of rows, including its header and
+     * padding.
+     *
+     * @param rows the number of rows in the block
+     * @return the size of the block, in bytes
+     */
+    static long blockBytes(final int rows) {
+        long size = BLOCK_HEADER_BYTES + (long) TradeLedgerColumn.rowWidth() * rows;
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
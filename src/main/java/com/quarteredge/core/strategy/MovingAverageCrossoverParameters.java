@@ -0,0 +1,55 @@
+package com.quarteredge.core.strategy;
+
+import com.quarteredge.core.model.ParameterRangeDTO;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameters of a {@link MovingAverageCrossoverStrategy}.
+ *
+ * @param fastPeriod the period for the fast moving average
+ * @param slowPeriod the period for the slow moving average
+ * @param increment the increment value for price calculations
+ */
+public record MovingAverageCrossoverParameters(int fastPeriod, int slowPeriod, double increment)
+        implements StrategyParameters {
+
+    /**
+     * Creates a new {@link MovingAverageCrossoverStrategy} configured with these parameters.
+     *
+     * @return a new {@link MovingAverageCrossoverStrategy}
+     */
+    @Override
+    public Strategy createStrategy() {
+        return new MovingAverageCrossoverStrategy(fastPeriod, slowPeriod, increment);
+    }
+
+    /**
+     * Expands the given ranges into every combination of parameters. Combinations where the fast
+     * period is not shorter than the slow period are skipped.
+     *
+     * @param fastPeriods the range of fast periods, rounded to the nearest integer
+     * @param slowPeriods the range of slow periods, rounded to the nearest integer
+     * @param increments the range of price increments
+     * @return the parameter grid
+     */
+    public static List<MovingAverageCrossoverParameters> grid(
+            final ParameterRangeDTO fastPeriods,
+            final ParameterRangeDTO slowPeriods,
+            final ParameterRangeDTO increments) {
+        List<MovingAverageCrossoverParameters> grid = new ArrayList<>();
+        for (double fast : fastPeriods.values()) {
+            for (double slow : slowPeriods.values()) {
+                if (Math.round(fast) >= Math.round(slow)) {
+                    continue;
+                }
+                for (double increment : increments.values()) {
+                    grid.add(
+                            new MovingAverageCrossoverParameters(
+                                    (int) Math.round(fast), (int) Math.round(slow), increment));
+                }
+            }
+        }
+        return grid;
+    }
+}
@@ -6,6 +6,9 @@ import com.quarteredge.core.model.Direction;
 import com.quarteredge.core.model.OrderDTO;
 import com.quarteredge.core.model.OrderStatsDTO;
 import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.storage.Snapshottable;
+import com.quarteredge.core.storage.StateCodec;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 /**
@@ -21,7 +24,7 @@ import java.util.Optional;
  * @see MovingAverageIndicator
  * @see OrderDTO
  */
-public class MovingAverageCrossoverStrategy implements Strategy {
+public class MovingAverageCrossoverStrategy implements Strategy, Snapshottable {
     /** Fast EMA indicator used to determine when to enter and exit trades. */
     private final MovingAverageIndicator fastSma;
 
@@ -102,6 +105,35 @@ public class MovingAverageCrossoverStrategy implements Strategy {
                 : Optional.empty();
     }
 
+    /**
+     * Writes the state of both moving averages, the current trend and the last candle.
+     *
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void writeState(final ByteBuffer buffer) {
+        fastSma.writeState(buffer);
+        slowSma.writeState(buffer);
+        buffer.put((byte) (isBullish ? 1 : 0));
+        buffer.put((byte) (currentCandle != null ? 1 : 0));
+        if (currentCandle != null) {
+            StateCodec.putCandle(buffer, currentCandle);
+        }
+    }
+
+    /**
+     * Restores the state of both moving averages, the current trend and the last candle.
+     *
+     * @param buffer the buffer to read from
+     */
+    @Override
+    public void readState(final ByteBuffer buffer) {
+        fastSma.readState(buffer);
+        slowSma.readState(buffer);
+        isBullish = buffer.get() != 0;
+        currentCandle = buffer.get() != 0 ? StateCodec.getCandle(buffer) : null;
+    }
+
     /**
      * Determines whether to create an order based on the EMA values.
      *
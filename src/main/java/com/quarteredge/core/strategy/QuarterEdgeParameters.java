@@ -0,0 +1,52 @@
+package com.quarteredge.core.strategy;
+
+import com.quarteredge.core.model.ParameterRangeDTO;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameters of a {@link QuarterEdgeStrategy}.
+ *
+ * @param atrPeriod the period for the ATR indicator
+ * @param stopLossMultiplier the multiple of the ATR between the entry and the stop loss
+ * @param takeProfitMultiplier the multiple of the ATR between the entry and the take profit
+ */
+public record QuarterEdgeParameters(
+        int atrPeriod, double stopLossMultiplier, double takeProfitMultiplier)
+        implements StrategyParameters {
+
+    /**
+     * Creates a new {@link QuarterEdgeStrategy} configured with these parameters.
+     *
+     * @return a new {@link QuarterEdgeStrategy}
+     */
+    @Override
+    public Strategy createStrategy() {
+        return new QuarterEdgeStrategy(atrPeriod, stopLossMultiplier, takeProfitMultiplier);
+    }
+
+    /**
+     * Expands the given ranges into every combination of parameters.
+     *
+     * @param atrPeriods the range of ATR periods, rounded to the nearest integer
+     * @param stopLossMultipliers the range of stop loss ATR multipliers
+     * @param takeProfitMultipliers the range of take profit ATR multipliers
+     * @return the parameter grid
+     */
+    public static List<QuarterEdgeParameters> grid(
+            final ParameterRangeDTO atrPeriods,
+            final ParameterRangeDTO stopLossMultipliers,
+            final ParameterRangeDTO takeProfitMultipliers) {
+        List<QuarterEdgeParameters> grid = new ArrayList<>();
+        for (double atrPeriod : atrPeriods.values()) {
+            for (double stopLoss : stopLossMultipliers.values()) {
+                for (double takeProfit : takeProfitMultipliers.values()) {
+                    grid.add(
+                            new QuarterEdgeParameters(
+                                    (int) Math.round(atrPeriod), stopLoss, takeProfit));
+                }
+            }
+        }
+        return grid;
+    }
+}
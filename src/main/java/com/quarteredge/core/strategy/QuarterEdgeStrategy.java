@@ -6,12 +6,15 @@ import static com.quarteredge.core.util.Constants.LAST_CANDLE_CLOSE_TIME;
 import com.quarteredge.core.indicator.AverageTrueRangeIndicator;
 import com.quarteredge.core.indicator.DefiningRangeIndicator;
 import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.DefiningRangeDTO;
 import com.quarteredge.core.model.Direction;
 import com.quarteredge.core.model.OrderDTO;
 import com.quarteredge.core.model.OrderStatsDTO;
 import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.storage.Snapshottable;
 import com.quarteredge.core.util.CommonMethods;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,7 +32,7 @@ import java.util.Optional;
  * @see AverageTrueRangeIndicator
  * @see DefiningRangeIndicator
  */
-public class QuarterEdgeStrategy implements Strategy {
+public class QuarterEdgeStrategy implements Strategy, Snapshottable {
     /** Average True Range indicator. */
     private final AverageTrueRangeIndicator atrIndicator;
 
@@ -39,15 +42,38 @@ public class QuarterEdgeStrategy implements Strategy {
     /** Flag indicating if an order has been created. */
     private boolean isOrderCreated;
 
+    /** Multiple of the ATR used as the distance between the entry and the stop loss. */
+    private final double stopLossMultiplier;
+
+    /** Multiple of the ATR used as the distance between the entry and the take profit. */
+    private final double takeProfitMultiplier;
+
     /**
-     * Constructs a new QuarterEdgeStrategy with the specified ATR period.
+     * Constructs a new QuarterEdgeStrategy with the specified ATR period. The stop loss and take
+     * profit are both placed one ATR away from the entry.
      *
      * @param atrPeriod the period for the ATR indicator
      */
     public QuarterEdgeStrategy(final int atrPeriod) {
+        this(atrPeriod, 1, 1);
+    }
+
+    /**
+     * Constructs a new QuarterEdgeStrategy with the specified ATR period and exit multipliers.
+     *
+     * @param atrPeriod the period for the ATR indicator
+     * @param stopLossMultiplier the multiple of the ATR between the entry and the stop loss
+     * @param takeProfitMultiplier the multiple of the ATR between the entry and the take profit
+     */
+    public QuarterEdgeStrategy(
+            final int atrPeriod,
+            final double stopLossMultiplier,
+            final double takeProfitMultiplier) {
         this.atrIndicator = new AverageTrueRangeIndicator(atrPeriod);
         this.drIndicator = new DefiningRangeIndicator();
         this.isOrderCreated = false;
+        this.stopLossMultiplier = stopLossMultiplier;
+        this.takeProfitMultiplier = takeProfitMultiplier;
     }
 
     /**
@@ -100,27 +126,107 @@ public class QuarterEdgeStrategy implements Strategy {
         if (qTLevels.isEmpty()) {
             return null;
         }
-        BigDecimal entryPrice =
-                direction == Direction.BUY
-                        ? new BigDecimal(qTLevels.getLast())
-                        : new BigDecimal(qTLevels.getFirst());
-        BigDecimal stopLoss =
-                direction == Direction.BUY
-                        ? entryPrice.subtract(new BigDecimal(atr))
-                        : entryPrice.add(new BigDecimal(atr));
-        BigDecimal takeProfit =
-                direction == Direction.BUY
-                        ? entryPrice.add(new BigDecimal(atr))
-                        : entryPrice.subtract(new BigDecimal(atr));
+        double entryPrice =
+                direction == Direction.BUY ? qTLevels.getLast() : qTLevels.getFirst();
         return new OrderDTO(
-                stopLoss.doubleValue(),
-                takeProfit.doubleValue(),
-                entryPrice.doubleValue(),
+                getStopLoss(entryPrice, atr, stopLossMultiplier, direction),
+                getTakeProfit(entryPrice, atr, takeProfitMultiplier, direction),
+                entryPrice,
                 -1,
                 direction,
                 null,
                 null,
                 OrderStatus.PENDING,
-                new OrderStatsDTO(entryPrice.doubleValue(), entryPrice.doubleValue()));
+                new OrderStatsDTO(entryPrice, entryPrice));
+    }
+
+    /**
+     * Returns the current ATR value, which is the ATR used by the order returned from the last
+     * call to {@link #getStatus()}.
+     *
+     * @return the current ATR value, or -1 if not enough data points have been added
+     */
+    public double getAtr() {
+        return atrIndicator.get().doubleValue();
+    }
+
+    /**
+     * Returns the defining range of the current session, which is the range used by the order
+     * returned from the last call to {@link #getStatus()}.
+     *
+     * @return the defining range, or {@code null} if it has not been formed yet
+     */
+    public DefiningRangeDTO getDefiningRange() {
+        return drIndicator.getDefiningRange();
+    }
+
+    /**
+     * Writes the state of the ATR and defining range indicators and whether the order of the
+     * session was already created.
+     *
+     * @param buffer the buffer to write to
+     */
+    @Override
+    public void writeState(final ByteBuffer buffer) {
+        atrIndicator.writeState(buffer);
+        drIndicator.writeState(buffer);
+        buffer.put((byte) (isOrderCreated ? 1 : 0));
+    }
+
+    /**
+     * Restores the state of the ATR and defining range indicators and whether the order of the
+     * session was already created.
+     *
+     * @param buffer the buffer to read from
+     */
+    @Override
+    public void readState(final ByteBuffer buffer) {
+        atrIndicator.readState(buffer);
+        drIndicator.readState(buffer);
+        isOrderCreated = buffer.get() != 0;
+    }
+
+    /**
+     * Calculates the stop loss of an order placed the given multiple of the ATR against the
+     * direction of the trade.
+     *
+     * @param entry the entry price of the order
+     * @param atr the ATR value
+     * @param multiplier the multiple of the ATR between the entry and the stop loss
+     * @param direction the direction of the order
+     * @return the stop loss price
+     */
+    public static double getStopLoss(
+            final double entry,
+            final double atr,
+            final double multiplier,
+            final Direction direction) {
+        BigDecimal entryPrice = new BigDecimal(entry);
+        BigDecimal distance = new BigDecimal(atr * multiplier);
+        return direction == Direction.BUY
+                ? entryPrice.subtract(distance).doubleValue()
+                : entryPrice.add(distance).doubleValue();
+    }
+
+    /**
+     * Calculates the take profit of an order placed the given multiple of the ATR in the direction
+     * of the trade.
+     *
+     * @param entry the entry price of the order
+     * @param atr the ATR value
+     * @param multiplier the multiple of the ATR between the entry and the take profit
+     * @param direction the direction of the order
+     * @return the take profit price
+     */
+    public static double getTakeProfit(
+            final double entry,
+            final double atr,
+            final double multiplier,
+            final Direction direction) {
+        BigDecimal entryPrice = new BigDecimal(entry);
+        BigDecimal distance = new BigDecimal(atr * multiplier);
+        return direction == Direction.BUY
+                ? entryPrice.add(distance).doubleValue()
+                : entryPrice.subtract(distance).doubleValue();
     }
 }
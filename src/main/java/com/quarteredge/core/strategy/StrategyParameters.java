@@ -0,0 +1,22 @@
+package com.quarteredge.core.strategy;
+
+/**
+ * A set of parameters that fully describes a {@link Strategy} configuration.
+ *
+ * <p>Strategies keep indicator state between candles, so a strategy instance can only be used for
+ * a single backtest run. Implementations of this interface act as factories that create a fresh
+ * strategy for every run, which allows the same configuration to be evaluated concurrently.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see Strategy
+ */
+public interface StrategyParameters {
+    /**
+     * Creates a new strategy instance configured with these parameters.
+     *
+     * @return a new {@link Strategy} instance with no state
+     */
+    Strategy createStrategy();
+}
@@ -61,24 +61,6 @@ public final class Constants {
     /** The increment value for the CL tick calculation. */
     public static final double CL_TICK_INCREMENT = .01;
 
-    /** The index positions for accessing wins in the wins and losses array. */
-    public static final int WIN_IDX = 0;
-
-    /** The index positions for accessing losses in the wins and losses array. */
-    public static final int LOSS_IDX = 1;
-
-    /** The index positions for accessing winSum in the wins and losses array. */
-    public static final int WIN_SUM_IDX = 2;
-
-    /** The index positions for accessing lossSum in the wins and losses array. */
-    public static final int LOSS_SUM_IDX = 3;
-
-    /** The index positions for accessing mfeSum in the wins and losses array. */
-    public static final int MFE_SUM_IDX = 4;
-
-    /** The index positions for accessing madSum in the wins and losses array. */
-    public static final int MAE_SUM_IDX = 5;
-
     /** The starting balance for performance metrics. */
     public static final double STARTING_BALANCE = 10000.0;
 
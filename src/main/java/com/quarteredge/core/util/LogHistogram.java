@@ -0,0 +1,321 @@
+package com.quarteredge.core.util;
+
+import com.quarteredge.core.model.DistributionDTO;
+import com.quarteredge.core.model.HistogramBucketDTO;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A mergeable histogram of signed values with log-linear buckets.
+ *
+ * <p>Every power of two is split into {@value #SUB_BUCKETS} buckets of equal width, so the
+ * percentiles read from the histogram are within about 1.6% of the true values, whatever their
+ * magnitude. Negative values are kept in a mirrored set of buckets, and values closer to zero than
+ * 2<sup>{@value #MIN_EXPONENT}</sup> are counted as zero. Values beyond the largest bucket are
+ * counted in it, but the exact minimum and maximum are tracked separately.
+ *
+ * <p>The buckets of each power of two are only allocated once a value falls into it, so a
+ * histogram of values with a typical spread takes a few hundred bytes, and never more than a fixed
+ * bound however many values are recorded. Two histograms are merged by adding their counts, which
+ * gives exactly the histogram of all their values, so histograms filled by parallel workers can be
+ * combined in any order.
+ *
+ * <p>This class is not thread-safe; every worker should fill its own histogram.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see DistributionDTO
+ */
+public final class LogHistogram {
+    /** The number of mantissa bits used to select a bucket within a power of two. */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /** The number of buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** The exponent of the smallest magnitude that is not counted as zero. */
+    private static final int MIN_EXPONENT = -30;
+
+    /** The exponent of the largest bucket. */
+    private static final int MAX_EXPONENT = 33;
+
+    /** The number of powers of two covered for each sign. */
+    private static final int EXPONENTS = MAX_EXPONENT - MIN_EXPONENT + 1;
+
+    /** The shift that moves the selected mantissa bits to the lowest bits. */
+    private static final int MANTISSA_SHIFT = Double.PRECISION - 1 - SUB_BUCKET_BITS;
+
+    /** The rank of the 1st percentile. */
+    private static final double P1 = 0.01;
+
+    /** The rank of the 5th percentile. */
+    private static final double P5 = 0.05;
+
+    /** The rank of the 25th percentile. */
+    private static final double P25 = 0.25;
+
+    /** The rank of the median. */
+    private static final double P50 = 0.5;
+
+    /** The rank of the 75th percentile. */
+    private static final double P75 = 0.75;
+
+    /** The rank of the 95th percentile. */
+    private static final double P95 = 0.95;
+
+    /** The rank of the 99th percentile. */
+    private static final double P99 = 0.99;
+
+    /** The counts of the positive values, one lazily allocated array per power of two. */
+    private final long[][] positive = new long[EXPONENTS][];
+
+    /** The counts of the negative values, one lazily allocated array per power of two. */
+    private final long[][] negative = new long[EXPONENTS][];
+
+    /** The number of values counted as zero. */
+    private long zeros;
+
+    /** The number of values recorded. */
+    private long count;
+
+    /** The sum of the values recorded. */
+    private double sum;
+
+    /** The smallest value recorded. */
+    private double min = Double.POSITIVE_INFINITY;
+
+    /** The largest value recorded. */
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Records a value. {@code NaN} values are ignored.
+     *
+     * @param value the value to record
+     */
+    public void record(final double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+
+        var magnitude = Math.abs(value);
+        var exponent = Math.getExponent(magnitude);
+        if (exponent < MIN_EXPONENT) {
+            zeros++;
+            return;
+        }
+        int index;
+        int sub;
+        if (exponent > MAX_EXPONENT) {
+            index = EXPONENTS - 1;
+            sub = SUB_BUCKETS - 1;
+        } else {
+            index = exponent - MIN_EXPONENT;
+            var bits = Double.doubleToRawLongBits(magnitude);
+            sub = (int) (bits >>> MANTISSA_SHIFT) & (SUB_BUCKETS - 1);
+        }
+        var buckets = value < 0 ? negative : positive;
+        if (buckets[index] == null) {
+            buckets[index] = new long[SUB_BUCKETS];
+        }
+        buckets[index][sub]++;
+    }
+
+    /**
+     * Adds the values of another histogram to this one.
+     *
+     * @param other the histogram to add
+     * @return this histogram
+     */
+    public LogHistogram merge(final LogHistogram other) {
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        zeros += other.zeros;
+        mergeBuckets(positive, other.positive);
+        mergeBuckets(negative, other.negative);
+        return this;
+    }
+
+    /**
+     * Adds the counts of one set of buckets to another.
+     *
+     * @param target the buckets to add to
+     * @param source the buckets to add
+     */
+    private static void mergeBuckets(final long[][] target, final long[][] source) {
+        for (int i = 0; i < EXPONENTS; i++) {
+            if (source[i] == null) {
+                continue;
+            }
+            if (target[i] == null) {
+                target[i] = source[i].clone();
+                continue;
+            }
+            for (int j = 0; j < SUB_BUCKETS; j++) {
+                target[i][j] += source[i][j];
+            }
+        }
+    }
+
+    /**
+     * Returns an independent copy of this histogram.
+     *
+     * @return the copy
+     */
+    public LogHistogram copy() {
+        return new LogHistogram().merge(this);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     *
+     * @return the mean, or {@code NaN} if the histogram is empty
+     */
+    public double getMean() {
+        return sum / count;
+    }
+
+    /**
+     * Returns the smallest value recorded.
+     *
+     * @return the minimum, or {@code NaN} if the histogram is empty
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the maximum, or {@code NaN} if the histogram is empty
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Estimates a percentile of the values recorded, as the midpoint of the bucket holding it.
+     * Percentiles of 0 and 1 return the exact minimum and maximum.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the estimated value, or {@code NaN} if the histogram is empty
+     * @throws IllegalArgumentException if the percentile is not between 0 and 1
+     */
+    public double getPercentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1: " + percentile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (percentile == 0) {
+            return min;
+        }
+        if (percentile == 1) {
+            return max;
+        }
+        var rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (HistogramBucketDTO bucket : getBuckets()) {
+            seen += bucket.count();
+            if (seen >= rank) {
+                var mid = (bucket.lower() + bucket.upper()) / 2;
+                return Math.clamp(mid, min, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Summarizes the values recorded as their mean and the percentiles of {@link
+     * DistributionDTO}.
+     *
+     * @return the summary of the values
+     */
+    public DistributionDTO getDistribution() {
+        return new DistributionDTO(
+                getMean(),
+                getPercentile(P1),
+                getPercentile(P5),
+                getPercentile(P25),
+                getPercentile(P50),
+                getPercentile(P75),
+                getPercentile(P95),
+                getPercentile(P99));
+    }
+
+    /**
+     * Exports the non-empty buckets of the histogram in ascending order of their values. Values
+     * counted as zero are reported in a bucket with both bounds at zero.
+     *
+     * @return the non-empty buckets
+     */
+    public List<HistogramBucketDTO> getBuckets() {
+        List<HistogramBucketDTO> buckets = new ArrayList<>();
+        for (int i = EXPONENTS - 1; i >= 0; i--) {
+            if (negative[i] == null) {
+                continue;
+            }
+            for (int j = SUB_BUCKETS - 1; j >= 0; j--) {
+                if (negative[i][j] > 0) {
+                    buckets.add(
+                            new HistogramBucketDTO(
+                                    -upperBound(i, j), -lowerBound(i, j), negative[i][j]));
+                }
+            }
+        }
+        if (zeros > 0) {
+            buckets.add(new HistogramBucketDTO(0, 0, zeros));
+        }
+        for (int i = 0; i < EXPONENTS; i++) {
+            if (positive[i] == null) {
+                continue;
+            }
+            for (int j = 0; j < SUB_BUCKETS; j++) {
+                if (positive[i][j] > 0) {
+                    buckets.add(
+                            new HistogramBucketDTO(
+                                    lowerBound(i, j), upperBound(i, j), positive[i][j]));
+                }
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Returns the smallest magnitude of a bucket.
+     *
+     * @param index the index of the power of two
+     * @param sub the index of the bucket within the power of two
+     * @return the lower bound of the magnitudes in the bucket
+     */
+    private static double lowerBound(final int index, final int sub) {
+        return Math.scalb(1 + (double) sub / SUB_BUCKETS, index + MIN_EXPONENT);
+    }
+
+    /**
+     * Returns the magnitude just above a bucket.
+     *
+     * @param index the index of the power of two
+     * @param sub the index of the bucket within the power of two
+     * @return the upper bound of the magnitudes in the bucket
+     */
+    private static double upperBound(final int index, final int sub) {
+        return Math.scalb(1 + (double) (sub + 1) / SUB_BUCKETS, index + MIN_EXPONENT);
+    }
+}
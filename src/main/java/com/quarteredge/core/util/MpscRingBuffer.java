@@ -0,0 +1,132 @@
+package com.quarteredge.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free queue for many producer threads and a single consumer thread.
+ *
+ * <p>Every slot of the ring carries a sequence number that tells producers and the consumer whose
+ * turn it is, so producers only contend on a single compare-and-set of the tail and never wait
+ * for each other or for the consumer. When the ring is full, {@link #offer(Object)} fails
+ * immediately instead of blocking.
+ *
+ * @param <E> the type of the elements
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ */
+public final class MpscRingBuffer<E> {
+    /** The elements of the ring. */
+    private final AtomicReferenceArray<E> elements;
+
+    /** The sequence number of every slot of the ring. */
+    private final AtomicLongArray sequences;
+
+    /** The mask used to map a sequence number to a slot. */
+    private final int mask;
+
+    /** The sequence number of the next element to be offered. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** The sequence number of the next element to be polled; only used by the consumer. */
+    private long head;
+
+    /**
+     * Constructs a new MpscRingBuffer.
+     *
+     * @param capacity the capacity of the ring, a power of two
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     */
+    public MpscRingBuffer(final int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Returns the capacity of the ring.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds an element if there is room for it. Safe to call from any thread; never blocks.
+     *
+     * @param element the element to add
+     * @return {@code true} if the element was added, {@code false} if the ring is full
+     */
+    public boolean offer(final E element) {
+        while (true) {
+            long sequence = tail.get();
+            int slot = (int) sequence & mask;
+            long difference = sequences.get(slot) - sequence;
+            if (difference < 0) {
+                return false;
+            }
+            if (difference == 0 && tail.compareAndSet(sequence, sequence + 1)) {
+                elements.setPlain(slot, element);
+                sequences.setRelease(slot, sequence + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element. Must only be called from the consumer thread.
+     *
+     * @return the oldest element, or {@code null} if the ring is empty
+     */
+    public E poll() {
+        int slot = (int) head & mask;
+        if (sequences.getAcquire(slot) != head + 1) {
+            return null;
+        }
+        var element = elements.getPlain(slot);
+        elements.setPlain(slot, null);
+        sequences.setRelease(slot, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    /**
+     * Removes up to the given number of elements, oldest first, and hands each of them to the
+     * consumer. Must only be called from the consumer thread.
+     *
+     * @param consumer the consumer of the elements
+     * @param limit the maximum number of elements to remove
+     * @return the number of elements removed
+     */
+    public int drain(final Consumer<? super E> consumer, final int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            var element = poll();
+            if (element == null) {
+                break;
+            }
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns whether the ring is empty. Must only be called from the consumer thread.
+     *
+     * @return {@code true} if there is nothing to poll
+     */
+    public boolean isEmpty() {
+        return sequences.getAcquire((int) head & mask) != head + 1;
+    }
+}
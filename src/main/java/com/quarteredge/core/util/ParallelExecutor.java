@@ -0,0 +1,145 @@
+package com.quarteredge.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A fixed-size pool of worker threads used to run independent, CPU bound backtest work in
+ * parallel.
+ *
+ * <p>Work is submitted in a bounded window of at most {@code 2 * parallelism} tasks, so that only
+ * a handful of results are in flight at any time. Results are handed back on the calling thread,
+ * which means consumers do not need to be thread-safe.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ */
+public final class ParallelExecutor implements AutoCloseable {
+    /** Number of tasks kept in flight per worker thread. */
+    private static final int TASKS_PER_WORKER = 2;
+
+    /** The underlying thread pool. */
+    private final ExecutorService executor;
+
+    /** The number of worker threads. */
+    private final int parallelism;
+
+    /**
+     * Constructs a new ParallelExecutor with the specified number of worker threads.
+     *
+     * @param parallelism the number of worker threads
+     * @throws IllegalArgumentException if the parallelism is less than 1
+     */
+    public ParallelExecutor(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.executor =
+                Executors.newFixedThreadPool(
+                        parallelism,
+                        Thread.ofPlatform().name("quarteredge-worker-", 0).daemon().factory());
+    }
+
+    /**
+     * Returns the default parallelism, one worker per available processor.
+     *
+     * @return the default number of worker threads
+     */
+    public static int defaultParallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the number of worker threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Applies the work function to every task in parallel and hands each result to the consumer in
+     * completion order. The consumer is always called on the calling thread.
+     *
+     * @param tasks the tasks to run
+     * @param work the function to apply to each task
+     * @param consumer the consumer of the results
+     * @param <T> the type of the tasks
+     * @param <R> the type of the results
+     * @throws IllegalStateException if a task fails or the calling thread is interrupted
+     */
+    public <T, R> void forEach(
+            final List<T> tasks, final Function<T, R> work, final Consumer<R> consumer) {
+        CompletionService<R> completionService = new ExecutorCompletionService<>(executor);
+        int window = parallelism * TASKS_PER_WORKER;
+        int submitted = 0;
+        int completed = 0;
+        try {
+            while (completed < tasks.size()) {
+                while (submitted < tasks.size() && submitted - completed < window) {
+                    T task = tasks.get(submitted++);
+                    completionService.submit(() -> work.apply(task));
+                }
+                R result = completionService.take().get();
+                completed++;
+                consumer.accept(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for results", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel task failed", e.getCause());
+        }
+    }
+
+    /**
+     * Applies the work function to every task in parallel and returns the results in task order.
+     *
+     * @param tasks the tasks to run
+     * @param work the function to apply to each task
+     * @param <T> the type of the tasks
+     * @param <R> the type of the results
+     * @return the results, in the same order as the tasks
+     * @throws IllegalStateException if a task fails or the calling thread is interrupted
+     */
+    public <T, R> List<R> map(final List<T> tasks, final Function<T, R> work) {
+        List<Integer> indexes = new ArrayList<>(tasks.size());
+        List<R> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            indexes.add(i);
+            results.add(null);
+        }
+        forEach(
+                indexes,
+                i -> new IndexedResult<>(i, work.apply(tasks.get(i))),
+                result -> {
+                    results.set(result.index(), result.value());
+                });
+        return results;
+    }
+
+    /** Shuts down the worker threads. Tasks that are already running are allowed to finish. */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * A result paired with the index of the task that produced it.
+     *
+     * @param index the index of the task
+     * @param value the result of the task
+     * @param <R> the type of the result
+     */
+    private record IndexedResult<R>(int index, R value) {}
+}
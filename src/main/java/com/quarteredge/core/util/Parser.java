@@ -10,6 +10,8 @@ import static com.quarteredge.core.util.Constants.OPEN_INDEX;
 import static com.quarteredge.core.util.Constants.TIME_INDEX;
 import static com.quarteredge.core.util.Constants.VOLUME_INDEX;
 
+import com.quarteredge.core.metrics.Metrics;
+import com.quarteredge.core.metrics.Phase;
 import com.quarteredge.core.model.CandleDTO;
 import java.io.BufferedReader;
 import java.io.File;
@@ -70,22 +72,14 @@ public class Parser {
      * @throws IllegalStateException if the file has not been set or is invalid
      */
     public void parse() {
+        var start = Metrics.start();
         try {
             var reader = new BufferedReader(new FileReader(file));
             var iterator = reader.lines().iterator();
             var currSession = new ArrayList<CandleDTO>();
 
             while (iterator.hasNext()) {
-                var currLine = Arrays.asList(iterator.next().split("[, ]"));
-                var data =
-                        new CandleDTO(
-                                currLine.get(DATE_INDEX),
-                                LocalTime.parse(currLine.get(TIME_INDEX), DATE_TIME_DEFAULT_FORMAT),
-                                Double.parseDouble(currLine.get(OPEN_INDEX)),
-                                Double.parseDouble(currLine.get(HIGH_INDEX)),
-                                Double.parseDouble(currLine.get(LOW_INDEX)),
-                                Double.parseDouble(currLine.get(CLOSE_INDEX)),
-                                Double.parseDouble(currLine.get(VOLUME_INDEX)));
+                var data = parseLine(iterator.next());
                 currSession.add(data);
 
                 if (data.time().equals(LAST_CANDLE_CLOSE_TIME)) {
@@ -95,9 +89,53 @@ public class Parser {
             }
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            Metrics.stop(Phase.PARSE, start);
         }
     }
 
+    /**
+     * Parses a single line of the CSV format into a candle.
+     *
+     * @param line the line, without its line terminator
+     * @return the candle
+     * @throws RuntimeException if the line is not in the expected format
+     */
+    public static CandleDTO parseLine(final String line) {
+        var currLine = Arrays.asList(line.split("[, ]"));
+        return new CandleDTO(
+                currLine.get(DATE_INDEX),
+                LocalTime.parse(currLine.get(TIME_INDEX), DATE_TIME_DEFAULT_FORMAT),
+                Double.parseDouble(currLine.get(OPEN_INDEX)),
+                Double.parseDouble(currLine.get(HIGH_INDEX)),
+                Double.parseDouble(currLine.get(LOW_INDEX)),
+                Double.parseDouble(currLine.get(CLOSE_INDEX)),
+                Double.parseDouble(currLine.get(VOLUME_INDEX)));
+    }
+
+    /**
+     * Formats a candle as a single line of the CSV format, the inverse of {@link
+     * #parseLine(String)}.
+     *
+     * @param candle the candle
+     * @return the line, without a line terminator
+     */
+    public static String formatLine(final CandleDTO candle) {
+        return candle.date()
+                + ' '
+                + candle.time().format(DATE_TIME_DEFAULT_FORMAT)
+                + ','
+                + candle.open()
+                + ','
+                + candle.high()
+                + ','
+                + candle.low()
+                + ','
+                + candle.close()
+                + ','
+                + candle.volume();
+    }
+
     /**
      * Returns the map of parsed trading sessions.
      *
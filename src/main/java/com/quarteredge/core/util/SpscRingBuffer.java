@@ -0,0 +1,129 @@
+package com.quarteredge.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, lock-free ring of preallocated slots for a single producer thread and a single
+ * consumer thread.
+ *
+ * <p>The slots are created once, up front, and reused: the producer claims the next free slot,
+ * fills it in place and publishes it, and the consumer reads the oldest published slot in place and
+ * releases it. Passing an element therefore never allocates. Each side only writes its own
+ * counter, with release semantics, and keeps a cached copy of the other side's counter, so the
+ * two threads only touch shared memory when the ring looks full or empty.
+ *
+ * @param <E> the type of the slots
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.5.0
+ * @see MpscRingBuffer
+ */
+public final class SpscRingBuffer<E> {
+    /** The slots of the ring. */
+    private final E[] slots;
+
+    /** The mask used to map a sequence number to a slot. */
+    private final int mask;
+
+    /** The sequence number of the next slot to be published; only written by the producer. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** The sequence number of the next slot to be read; only written by the consumer. */
+    private final AtomicLong head = new AtomicLong();
+
+    /** The producer's last known value of the head. */
+    private long cachedHead;
+
+    /** The consumer's last known value of the tail. */
+    private long cachedTail;
+
+    /**
+     * Constructs a new SpscRingBuffer and creates all of its slots.
+     *
+     * @param capacity the capacity of the ring, a power of two
+     * @param factory creates the slots
+     * @throws IllegalArgumentException if the capacity is not a positive power of two
+     */
+    @SuppressWarnings("unchecked")
+    public SpscRingBuffer(final int capacity, final Supplier<E> factory) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.slots = (E[]) new Object[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = factory.get();
+        }
+    }
+
+    /**
+     * Returns the capacity of the ring.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the next free slot, to be filled and then published with {@link #publish()}. Must
+     * only be called from the producer thread; never blocks.
+     *
+     * @return the free slot, or {@code null} if the ring is full
+     */
+    public E claim() {
+        long sequence = tail.getPlain();
+        if (sequence - cachedHead > mask) {
+            cachedHead = head.getAcquire();
+            if (sequence - cachedHead > mask) {
+                return null;
+            }
+        }
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * Publishes the slot returned by the last call to {@link #claim()}. Must only be called from
+     * the producer thread.
+     */
+    public void publish() {
+        tail.setRelease(tail.getPlain() + 1);
+    }
+
+    /**
+     * Returns the oldest published slot, to be read and then released with {@link #release()}.
+     * Must only be called from the consumer thread; never blocks.
+     *
+     * @return the oldest published slot, or {@code null} if the ring is empty
+     */
+    public E peek() {
+        long sequence = head.getPlain();
+        if (sequence >= cachedTail) {
+            cachedTail = tail.getAcquire();
+            if (sequence >= cachedTail) {
+                return null;
+            }
+        }
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * Releases the slot returned by the last call to {@link #peek()}, handing it back to the
+     * producer. Must only be called from the consumer thread.
+     */
+    public void release() {
+        head.setRelease(head.getPlain() + 1);
+    }
+
+    /**
+     * Returns the number of published slots that were not released yet. Safe to call from any
+     * thread, though the value may be stale by the time it is read.
+     *
+     * @return the number of slots in use
+     */
+    public int size() {
+        long readHead = head.getAcquire();
+        return (int) Math.max(0, tail.getAcquire() - readHead);
+    }
+}
@@ -0,0 +1,390 @@
+package com.quarteredge.core.util;
+
+import static com.quarteredge.core.util.Constants.CL_TICK_INCREMENT;
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+import static com.quarteredge.core.util.Constants.LAST_CANDLE_CLOSE_TIME;
+import static com.quarteredge.core.util.Constants.RDR_SESSION_END_TIME;
+import static com.quarteredge.core.util.Constants.RDR_SESSION_START_TIME;
+
+import com.quarteredge.core.model.SyntheticDataConfigDTO;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic CL bars in the format read by {@link Parser}.
+ *
+ * <p>Every trading day yields one session, from the {@link Constants#FIRST_CANDLE_OPEN_TIME} bar on
+ * the evening before to the {@link Constants#LAST_CANDLE_CLOSE_TIME} bar, so the sessions split
+ * exactly as recorded data does. Prices move in ticks along a random walk whose volatility is
+ * higher around the regular-hours open and lower overnight, scaled by a low, normal or high
+ * volatility regime. Sessions open with a gap, and the configured share of sessions is pushed out
+ * of the range of the defining range window once it is complete.
+ *
+ * <p>The output only depends on the configuration, so the same seed always yields the same bytes.
+ * Rows are formatted straight into a byte buffer without going through strings, which writes tens
+ * of millions of rows in seconds.
+ *
+ * @author King Simmons
+ * @version 1.0
+ * @since 0.3.0
+ * @see SyntheticDataConfigDTO
+ * @see Parser
+ */
+public final class SyntheticDataGenerator {
+    /** The volatility multipliers of the low, normal and high regimes. */
+    private static final double[] REGIMES = {0.5, 1, 2.5};
+
+    /** The volatility multiplier of the first ninety minutes of regular hours. */
+    private static final double OPEN_VOLATILITY = 1.8;
+
+    /** The volatility multiplier of the overnight hours. */
+    private static final double OVERNIGHT_VOLATILITY = 0.6;
+
+    /** The end of the overnight hours, in minutes of the day. */
+    private static final int OVERNIGHT_END_MINUTE = 8 * 60;
+
+    /** The end of the most volatile part of regular hours, in minutes of the day. */
+    private static final int OPEN_END_MINUTE = 11 * 60;
+
+    /** The size of a wick relative to the volatility of a bar. */
+    private static final double WICK_SCALE = 0.5;
+
+    /** The share of the defining range added to the price on every bar of a breakout. */
+    private static final double BREAKOUT_DRIFT = 0.2;
+
+    /** The number of bars a breakout keeps drifting after the range was broken. */
+    private static final int BREAKOUT_FOLLOW_THROUGH_BARS = 6;
+
+    /** The volume of a five-minute bar during the most volatile part of regular hours. */
+    private static final double OPEN_VOLUME = 1_500;
+
+    /** The volume of a five-minute bar during the rest of regular hours. */
+    private static final double DAY_VOLUME = 700;
+
+    /** The volume of a five-minute bar overnight. */
+    private static final double OVERNIGHT_VOLUME = 250;
+
+    /** The standard deviation of the log noise of the volume. */
+    private static final double VOLUME_NOISE = 0.35;
+
+    /** The length of the bars the volumes are given for, in minutes. */
+    private static final int VOLUME_BAR_MINUTES = 5;
+
+    /** The number of minutes in an hour. */
+    private static final int MINUTES_PER_HOUR = 60;
+
+    /** The number of seconds in a minute. */
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    /** The base of the formatted numbers. */
+    private static final int RADIX = 10;
+
+    /** The number of minutes in a day. */
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+
+    /** The number of ticks in a price unit. */
+    private static final int TICKS_PER_UNIT = (int) Math.round(1 / CL_TICK_INCREMENT);
+
+    /** The buffer size of the output. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /** The longest possible row, in bytes. */
+    private static final int MAX_ROW_BYTES = 128;
+
+    /** The first minute of a session. */
+    private static final int OPEN_MINUTE = toMinute(FIRST_CANDLE_OPEN_TIME.toSecondOfDay());
+
+    /** The last minute of a session. */
+    private static final int CLOSE_MINUTE = toMinute(LAST_CANDLE_CLOSE_TIME.toSecondOfDay());
+
+    /** The first minute of the defining range window. */
+    private static final int RANGE_START_MINUTE =
+            Math.ceilDiv(RDR_SESSION_START_TIME.toSecondOfDay(), SECONDS_PER_MINUTE);
+
+    /** The minute the defining range is complete. */
+    private static final int RANGE_END_MINUTE = toMinute(RDR_SESSION_END_TIME.toSecondOfDay());
+
+    /** The configuration of the data set. */
+    private final SyntheticDataConfigDTO config;
+
+    /** The random generator. */
+    private SplittableRandom random;
+
+    /** The current price, in fractional ticks. */
+    private double price;
+
+    /** The index of the current volatility regime. */
+    private int regime;
+
+    /** The bytes of the row being formatted. */
+    private final byte[] row = new byte[MAX_ROW_BYTES];
+
+    /**
+     * Constructs a new SyntheticDataGenerator.
+     *
+     * @param config the configuration of the data set
+     */
+    public SyntheticDataGenerator(final SyntheticDataConfigDTO config) {
+        this.config = config;
+    }
+
+    /**
+     * Writes the data set to a file, replacing it if it exists.
+     *
+     * @param path the path of the file
+     * @return the number of rows written
+     * @throws IOException if the file could not be written
+     */
+    public long write(final Path path) throws IOException {
+        try (var out = Files.newOutputStream(path)) {
+            return write(out);
+        }
+    }
+
+    /**
+     * Writes the data set to a stream. The stream is flushed but not closed.
+     *
+     * @param stream the stream to write to
+     * @return the number of rows written
+     * @throws IOException if the stream could not be written
+     */
+    public long write(final OutputStream stream) throws IOException {
+        random = new SplittableRandom(config.seed());
+        price = config.startPrice() * TICKS_PER_UNIT;
+        regime = 1;
+        var out = new BufferedOutputStream(stream, BUFFER_SIZE);
+        long rows = 0;
+        var day = config.startDate();
+        for (int session = 0; session < config.tradingDays(); session++) {
+            while (day.getDayOfWeek() == DayOfWeek.SATURDAY
+                    || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                day = day.plusDays(1);
+            }
+            rows += writeSession(out, day);
+            day = day.plusDays(1);
+        }
+        out.flush();
+        return rows;
+    }
+
+    /**
+     * Writes the bars of a single session, from the evening before the trading day to its close.
+     *
+     * @param out the stream to write to
+     * @param day the trading day
+     * @return the number of rows written
+     * @throws IOException if the stream could not be written
+     */
+    private long writeSession(final OutputStream out, final LocalDate day) throws IOException {
+        if (random.nextDouble() < config.regimeSwitchProbability()) {
+            regime = random.nextInt(REGIMES.length);
+        }
+        var breakout = random.nextDouble() < config.breakoutProbability();
+        var breakoutDirection = random.nextBoolean() ? 1 : -1;
+        price *= Math.exp(random.nextGaussian() * config.gapVolatility());
+
+        var eveningDate = dateBytes(day.minusDays(1));
+        var date = dateBytes(day);
+        var step = config.barMinutes();
+        var rangeHigh = Double.NEGATIVE_INFINITY;
+        var rangeLow = Double.POSITIVE_INFINITY;
+        var followThrough = -1;
+        long rows = 0;
+        long close = Math.round(price);
+        for (int minute = OPEN_MINUTE; ; minute += step) {
+            if (minute == MINUTES_PER_DAY) {
+                minute = 0;
+            }
+            var evening = minute >= OPEN_MINUTE;
+            var sigma = config.volatility() * REGIMES[regime] * timeOfDayVolatility(minute);
+            sigma *= Math.sqrt(step) * price;
+            long open = rows == 0 ? Math.round(price) : close;
+
+            if (breakout && !evening && minute >= RANGE_END_MINUTE && followThrough != 0) {
+                price += breakoutDirection * BREAKOUT_DRIFT * (rangeHigh - rangeLow + 1);
+                var broken = breakoutDirection > 0 ? price > rangeHigh : price < rangeLow;
+                if (followThrough > 0) {
+                    followThrough--;
+                } else if (broken) {
+                    followThrough = BREAKOUT_FOLLOW_THROUGH_BARS;
+                }
+            }
+            price = Math.max(1, price + random.nextGaussian() * sigma);
+            close = Math.round(price);
+            var wick = sigma * WICK_SCALE;
+            long high = Math.max(open, close) + Math.round(Math.abs(random.nextGaussian()) * wick);
+            long low = Math.min(open, close) - Math.round(Math.abs(random.nextGaussian()) * wick);
+            low = Math.max(1, low);
+            if (!evening && minute >= RANGE_START_MINUTE && minute < RANGE_END_MINUTE) {
+                rangeHigh = Math.max(rangeHigh, high);
+                rangeLow = Math.min(rangeLow, low);
+            }
+
+            int length =
+                    formatRow(
+                            evening ? eveningDate : date,
+                            minute,
+                            open,
+                            high,
+                            low,
+                            close,
+                            volume(minute, step));
+            out.write(row, 0, length);
+            rows++;
+            if (minute == CLOSE_MINUTE) {
+                return rows;
+            }
+        }
+    }
+
+    /**
+     * Returns the volatility multiplier of a time of day.
+     *
+     * @param minute the minute of the day
+     * @return the multiplier
+     */
+    private static double timeOfDayVolatility(final int minute) {
+        if (minute >= OPEN_MINUTE || minute < OVERNIGHT_END_MINUTE) {
+            return OVERNIGHT_VOLATILITY;
+        }
+        if (minute >= RANGE_START_MINUTE && minute < OPEN_END_MINUTE) {
+            return OPEN_VOLATILITY;
+        }
+        return 1;
+    }
+
+    /**
+     * Draws the volume of a bar.
+     *
+     * @param minute the minute of the day the bar opens at
+     * @param step the length of the bar in minutes
+     * @return the volume, at least 1
+     */
+    private long volume(final int minute, final int step) {
+        double base;
+        if (minute >= OPEN_MINUTE || minute < OVERNIGHT_END_MINUTE) {
+            base = OVERNIGHT_VOLUME;
+        } else if (minute >= RANGE_START_MINUTE && minute < OPEN_END_MINUTE) {
+            base = OPEN_VOLUME;
+        } else {
+            base = DAY_VOLUME;
+        }
+        var scaled = base * step / VOLUME_BAR_MINUTES * REGIMES[regime];
+        return Math.max(1, Math.round(scaled * Math.exp(random.nextGaussian() * VOLUME_NOISE)));
+    }
+
+    /**
+     * Formats a row into the row buffer as {@code yyyy-MM-dd HH:mm:ss,open,high,low,close,volume}.
+     *
+     * @param date the bytes of the date
+     * @param minute the minute of the day the bar opens at
+     * @param open the open price in ticks
+     * @param high the high price in ticks
+     * @param low the low price in ticks
+     * @param close the close price in ticks
+     * @param volume the volume
+     * @return the length of the row in bytes
+     */
+    private int formatRow(
+            final byte[] date,
+            final int minute,
+            final long open,
+            final long high,
+            final long low,
+            final long close,
+            final long volume) {
+        System.arraycopy(date, 0, row, 0, date.length);
+        int at = date.length;
+        row[at++] = ' ';
+        at = writeTwoDigits(minute / MINUTES_PER_HOUR, at);
+        row[at++] = ':';
+        at = writeTwoDigits(minute % MINUTES_PER_HOUR, at);
+        row[at++] = ':';
+        at = writeTwoDigits(0, at);
+        row[at++] = ',';
+        at = writePrice(open, at);
+        row[at++] = ',';
+        at = writePrice(high, at);
+        row[at++] = ',';
+        at = writePrice(low, at);
+        row[at++] = ',';
+        at = writePrice(close, at);
+        row[at++] = ',';
+        at = writeLong(volume, at);
+        row[at++] = '\n';
+        return at;
+    }
+
+    /**
+     * Writes a price in ticks with two decimals.
+     *
+     * @param ticks the price in ticks
+     * @param at the position to write at
+     * @return the position after the price
+     */
+    private int writePrice(final long ticks, final int at) {
+        int next = writeLong(ticks / TICKS_PER_UNIT, at);
+        row[next++] = '.';
+        return writeTwoDigits((int) (ticks % TICKS_PER_UNIT), next);
+    }
+
+    /**
+     * Writes a number between 0 and 99 with two digits.
+     *
+     * @param value the number
+     * @param at the position to write at
+     * @return the position after the number
+     */
+    private int writeTwoDigits(final int value, final int at) {
+        row[at] = (byte) ('0' + value / RADIX);
+        row[at + 1] = (byte) ('0' + value % RADIX);
+        return at + 2;
+    }
+
+    /**
+     * Writes a non-negative number.
+     *
+     * @param value the number
+     * @param at the position to write at
+     * @return the position after the number
+     */
+    private int writeLong(final long value, final int at) {
+        int digits = 1;
+        for (long rest = value / RADIX; rest > 0; rest /= RADIX) {
+            digits++;
+        }
+        long rest = value;
+        for (int i = at + digits - 1; i >= at; i--) {
+            row[i] = (byte) ('0' + rest % RADIX);
+            rest /= RADIX;
+        }
+        return at + digits;
+    }
+
+    /**
+     * Formats a date as {@code yyyy-MM-dd}.
+     *
+     * @param date the date
+     * @return the bytes of the date
+     */
+    private static byte[] dateBytes(final LocalDate date) {
+        return date.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Converts a second of the day to a minute of the day.
+     *
+     * @param secondOfDay the second of the day
+     * @return the minute of the day
+     */
+    private static int toMinute(final int secondOfDay) {
+        return secondOfDay / SECONDS_PER_MINUTE;
+    }
+}
@@ -0,0 +1,170 @@
+package com.quarteredge.core;
+
+import static com.quarteredge.util.CommonUtils.generateTestSession;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.indicator.AverageTrueRangeIndicator;
+import com.quarteredge.core.indicator.DefiningRangeIndicator;
+import com.quarteredge.core.indicator.Indicator;
+import com.quarteredge.core.indicator.MovingAverageIndicator;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.strategy.MovingAverageCrossoverStrategy;
+import com.quarteredge.core.strategy.QuarterEdgeStrategy;
+import com.quarteredge.core.strategy.Strategy;
+import com.quarteredge.util.AllocationMeter;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation budgets of the code that runs once per candle.
+ *
+ * <p>Every test measures the bytes allocated per candle with {@link AllocationMeter} and fails
+ * when they exceed the budget of the code under test. The budgets are set a little above what the
+ * code allocates today, so that regressions are caught; when a hot path is made to allocate less,
+ * its budget should be lowered to lock the gain in.
+ *
+ * @see AllocationMeter
+ */
+public class AllocationBudgetTest {
+    /** The budget of a session running the moving average crossover strategy. */
+    private static final double SESSION_MOVING_AVERAGE_BUDGET = 4_500;
+
+    /** The budget of a session running the QuarterEdge strategy. */
+    private static final double SESSION_QUARTER_EDGE_BUDGET = 5_500;
+
+    /** The budget of {@link MovingAverageIndicator#add(CandleDTO)}. */
+    private static final double MOVING_AVERAGE_BUDGET = 2_200;
+
+    /** The budget of {@link AverageTrueRangeIndicator#add(CandleDTO)}. */
+    private static final double AVERAGE_TRUE_RANGE_BUDGET = 5_500;
+
+    /** The budget of {@link DefiningRangeIndicator#add(CandleDTO)}, which is garbage-free. */
+    private static final double DEFINING_RANGE_BUDGET = 16;
+
+    /** The budget of {@link MovingAverageCrossoverStrategy#push(CandleDTO)}. */
+    private static final double MOVING_AVERAGE_PUSH_BUDGET = 4_500;
+
+    /** The budget of {@link QuarterEdgeStrategy#push(CandleDTO)}. */
+    private static final double QUARTER_EDGE_PUSH_BUDGET = 5_500;
+
+    /** The candles every measured run goes through. */
+    private List<CandleDTO> candles;
+
+    /** Loads the test session and skips the tests on JVMs that cannot measure allocations. */
+    @BeforeEach
+    void init() {
+        assumeTrue(AllocationMeter.isSupported(), "thread allocation counters are unavailable");
+        candles = generateTestSession();
+    }
+
+    @Test
+    @DisplayName("BacktestSession.startSession() should stay within its budget per candle")
+    void testBacktestSession() {
+        assertWithinBudget(
+                "BacktestSession with MovingAverageCrossoverStrategy",
+                SESSION_MOVING_AVERAGE_BUDGET,
+                () -> session(new MovingAverageCrossoverStrategy(2, 5, 0.01)));
+        assertWithinBudget(
+                "BacktestSession with QuarterEdgeStrategy",
+                SESSION_QUARTER_EDGE_BUDGET,
+                () -> session(new QuarterEdgeStrategy(14)));
+    }
+
+    @Test
+    @DisplayName("Indicator.add() should stay within its budget per candle")
+    void testIndicators() {
+        assertWithinBudget(
+                "MovingAverageIndicator.add",
+                MOVING_AVERAGE_BUDGET,
+                () -> feed(new MovingAverageIndicator(20)));
+        assertWithinBudget(
+                "AverageTrueRangeIndicator.add",
+                AVERAGE_TRUE_RANGE_BUDGET,
+                () -> feed(new AverageTrueRangeIndicator(14)));
+        assertWithinBudget(
+                "DefiningRangeIndicator.add",
+                DEFINING_RANGE_BUDGET,
+                () -> feed(new DefiningRangeIndicator()));
+    }
+
+    @Test
+    @DisplayName("Strategy.push() and getStatus() should stay within their budget per candle")
+    void testStrategies() {
+        assertWithinBudget(
+                "MovingAverageCrossoverStrategy.push",
+                MOVING_AVERAGE_PUSH_BUDGET,
+                () -> push(new MovingAverageCrossoverStrategy(2, 5, 0.01), false));
+        assertWithinBudget(
+                "MovingAverageCrossoverStrategy.push and getStatus",
+                MOVING_AVERAGE_PUSH_BUDGET,
+                () -> push(new MovingAverageCrossoverStrategy(2, 5, 0.01), true));
+        assertWithinBudget(
+                "QuarterEdgeStrategy.push",
+                QUARTER_EDGE_PUSH_BUDGET,
+                () -> push(new QuarterEdgeStrategy(14), false));
+        assertWithinBudget(
+                "QuarterEdgeStrategy.push and getStatus",
+                QUARTER_EDGE_PUSH_BUDGET,
+                () -> push(new QuarterEdgeStrategy(14), true));
+    }
+
+    /**
+     * Returns code that runs a session over every candle.
+     *
+     * @param strategy the strategy of the session
+     * @return the code to measure
+     */
+    private Runnable session(final Strategy strategy) {
+        return new BacktestSession(strategy, candles)::startSession;
+    }
+
+    /**
+     * Returns code that adds every candle to an indicator.
+     *
+     * @param indicator the indicator
+     * @return the code to measure
+     */
+    private Runnable feed(final Indicator indicator) {
+        return () -> candles.forEach(indicator::add);
+    }
+
+    /**
+     * Returns code that pushes every candle to a strategy.
+     *
+     * @param strategy the strategy
+     * @param poll flag indicating if the strategy is asked for an order after every candle
+     * @return the code to measure
+     */
+    private Runnable push(final Strategy strategy, final boolean poll) {
+        return () -> {
+            for (CandleDTO candle : candles) {
+                strategy.push(candle);
+                if (poll) {
+                    strategy.getStatus();
+                }
+            }
+        };
+    }
+
+    /**
+     * Measures the bytes allocated per candle and fails if they exceed the budget.
+     *
+     * @param name the name of the code under test
+     * @param budget the maximum number of bytes per candle
+     * @param setup creates the state of a run and returns the code to measure
+     */
+    private void assertWithinBudget(
+            final String name, final double budget, final Supplier<Runnable> setup) {
+        var perCandle = AllocationMeter.bytesPerUnit(setup, candles.size());
+        assertTrue(
+                perCandle <= budget,
+                String.format(
+                        "%s allocated %.1f bytes per candle, over its budget of %.0f",
+                        name, perCandle, budget));
+    }
+}
@@ -0,0 +1,141 @@
+package com.quarteredge.core.component;
+
+import static com.quarteredge.util.CommonUtils.generateTestSessionMap;
+import static com.quarteredge.util.CommonUtils.generateTestSessions;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.ParameterRangeDTO;
+import com.quarteredge.core.service.SweepService;
+import com.quarteredge.core.strategy.QuarterEdgeParameters;
+import com.quarteredge.core.strategy.Strategy;
+import com.quarteredge.core.strategy.StrategyParameters;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BacktestMonitor}.
+ *
+ * @see BacktestMonitor
+ */
+public class BacktestMonitorTest {
+    @Test
+    @DisplayName("snapshot() should be empty before any session is recorded")
+    void testEmptySnapshot() {
+        var snapshot = new BacktestMonitor().snapshot();
+        assertEquals(0, snapshot.sessions());
+        assertEquals(0, snapshot.bars());
+        assertEquals(0, snapshot.trades());
+        assertEquals(0, snapshot.elapsedMillis());
+        assertEquals(0, snapshot.barsPerSecond());
+        assertEquals(0, snapshot.winRate());
+        assertEquals(0, snapshot.expectancy());
+        assertEquals(0, snapshot.maxDrawdown());
+    }
+
+    @Test
+    @DisplayName("every run of a sweep should be tracked by its own monitor")
+    void testMonitorPerRun() {
+        var sessions = generateTestSessionMap();
+        var sweepService = new SweepService(sessions, 2);
+        var grid =
+                QuarterEdgeParameters.grid(
+                        new ParameterRangeDTO(2, 6, 2),
+                        ParameterRangeDTO.of(1),
+                        new ParameterRangeDTO(1, 2, 1));
+
+        long bars = sessions.values().stream().mapToLong(List::size).sum();
+        for (var parameters : grid) {
+            var monitor = new BacktestMonitor();
+            var result = sweepService.evaluate(parameters, monitor);
+            var snapshot = monitor.snapshot();
+            var performance = result.performance();
+            long trades = performance.wins() + performance.losses();
+            assertEquals(sessions.size(), snapshot.sessions());
+            assertEquals(bars, snapshot.bars());
+            assertEquals(trades, snapshot.trades());
+            assertEquals(
+                    trades == 0 ? 0 : (double) performance.wins() / trades,
+                    snapshot.winRate(),
+                    1e-12);
+            assertEquals(performance.maxDrawdown(), snapshot.maxDrawdown());
+            assertTrue(snapshot.drawdown() >= 0 && snapshot.drawdown() <= snapshot.maxDrawdown());
+            assertTrue(snapshot.barsPerSecond() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("getMonitors() should only list the runs in progress")
+    void testMonitorsOnlyWhileRunning() {
+        var sweepService = new SweepService(generateTestSessionMap(), 2);
+        var seen = new ConcurrentHashMap<BacktestMonitor, StrategyParameters>();
+        StrategyParameters parameters =
+                () -> new ObservingStrategy(() -> seen.putAll(sweepService.getMonitors()));
+        var grid = List.of(parameters, parameters, parameters);
+
+        assertEquals(grid.size(), sweepService.run(grid).size());
+        assertTrue(sweepService.getMonitors().isEmpty());
+        // runs of the same configuration each keep their own monitor
+        assertEquals(grid.size(), seen.size());
+        assertTrue(seen.values().stream().allMatch(parameters::equals));
+    }
+
+    @Test
+    @DisplayName("cancel() should stop the run after the session in progress")
+    void testCancel() {
+        var sessions = generateTestSessions(6);
+        var sweepService = new SweepService(sessions, 1);
+        var monitor = new BacktestMonitor();
+        StrategyParameters parameters = () -> new ObservingStrategy(monitor::cancel);
+
+        var result = sweepService.evaluate(parameters, monitor);
+        assertTrue(monitor.isCancelled());
+        assertEquals(1, monitor.snapshot().sessions());
+        assertEquals(sessions.values().iterator().next().size(), monitor.snapshot().bars());
+        assertEquals(0, result.performance().wins() + result.performance().losses());
+
+        var cancelled = new BacktestMonitor();
+        cancelled.cancel();
+        sweepService.evaluate(parameters, cancelled);
+        assertEquals(0, cancelled.snapshot().sessions());
+    }
+
+    @Test
+    @DisplayName("startReporting() should publish snapshots until the monitor is closed")
+    void testReporting() throws InterruptedException {
+        var latch = new CountDownLatch(3);
+        try (var monitor = new BacktestMonitor()) {
+            monitor.startReporting(Duration.ofMillis(5), s -> latch.countDown());
+            assertThrows(
+                    IllegalStateException.class,
+                    () -> monitor.startReporting(Duration.ofMillis(5), s -> {}));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * A strategy that never trades and runs an action on every candle.
+     *
+     * @param onCandle the action to run on every candle
+     */
+    private record ObservingStrategy(Runnable onCandle) implements Strategy {
+        @Override
+        public void push(final CandleDTO data) {
+            onCandle.run();
+        }
+
+        @Override
+        public Optional<OrderDTO> getStatus() {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.quarteredge.core.component;
+
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+import static com.quarteredge.util.CommonUtils.generateTestSessionMap;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatsDTO;
+import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.service.SweepService;
+import com.quarteredge.core.strategy.MovingAverageCrossoverParameters;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EquityCurve}.
+ *
+ * @see EquityCurve
+ */
+public class EquityCurveTest {
+    /** The strategy configuration used for the backtests. */
+    private final MovingAverageCrossoverParameters parameters =
+            new MovingAverageCrossoverParameters(2, 5, 0.01);
+
+    @Test
+    @DisplayName("equityCurve() should end on the same equity as the per-session performance")
+    void testMatchesSessionEquity() {
+        var sessions = generateTestSessionMap();
+        var curve = new SweepService(sessions, 1).equityCurve(parameters, 1);
+
+        var strategy = parameters.createStrategy();
+        var accumulator = new PerformanceAccumulator();
+        long bars = 0;
+        for (List<CandleDTO> candles : sessions.values()) {
+            var session = new BacktestSession(strategy, candles);
+            session.startSession();
+            accumulator.addSession(session.getOrders());
+            // the first candle of a trading day is skipped by the session
+            bars += candles.stream().filter(c -> !c.time().equals(FIRST_CANDLE_OPEN_TIME)).count();
+        }
+
+        assertEquals(bars, curve.getBars());
+        assertEquals(accumulator.getEquity(), curve.getRealizedEquity(), 1e-9);
+        var equity = curve.getEquity();
+        assertEquals(accumulator.getEquity(), equity[equity.length - 1], 1e-9);
+        assertTrue(curve.getMaxDrawdown() >= accumulator.getMaxDrawdown() - 1e-9);
+    }
+
+    @Test
+    @DisplayName("downsampling should keep the last equity and the deepest drawdown of each point")
+    void testDownsampling() {
+        var sweepService = new SweepService(generateTestSessionMap(), 1);
+        var full = sweepService.equityCurve(parameters, 1);
+        var sampled = sweepService.equityCurve(parameters, 7);
+
+        assertEquals(full.getBars(), sampled.getBars());
+        assertEquals(Math.ceilDiv(full.size(), 7), sampled.size());
+        var fullEquity = full.getEquity();
+        var fullDrawdown = full.getDrawdown();
+        var sampledEquity = sampled.getEquity();
+        var sampledDrawdown = sampled.getDrawdown();
+        for (int i = 0; i < sampled.size(); i++) {
+            int end = Math.min((i + 1) * 7, full.size());
+            assertEquals(fullEquity[end - 1], sampledEquity[i]);
+            assertEquals(
+                    Arrays.stream(fullDrawdown, i * 7, end).max().orElseThrow(),
+                    sampledDrawdown[i]);
+        }
+        assertEquals(full.getMaxDrawdown(), sampled.getMaxDrawdown());
+    }
+
+    @Test
+    @DisplayName("mark() should measure the drawdown of open orders at the worst price of a candle")
+    void testIntrabarDrawdown() {
+        var curve = new EquityCurve();
+        var order =
+                new OrderDTO(
+                        99,
+                        102,
+                        100,
+                        -1,
+                        Direction.BUY,
+                        LocalTime.of(10, 0),
+                        null,
+                        OrderStatus.ACTIVE,
+                        new OrderStatsDTO(100, 100));
+        curve.mark(new CandleDTO("", LocalTime.of(10, 5), 100, 101, 99.5, 101, 1), List.of(order));
+
+        // close at +1R, low at -0.5R with 1% risked on 10,000
+        assertArrayEquals(new double[] {10100}, curve.getEquity(), 1e-9);
+        assertArrayEquals(new double[] {150}, curve.getDrawdown(), 1e-9);
+        assertEquals(150, curve.getMaxDrawdown(), 1e-9);
+    }
+}
@@ -0,0 +1,165 @@
+package com.quarteredge.core.component;
+
+import static com.quarteredge.util.CommonUtils.generateTestSessionMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.model.PerformanceDTO;
+import com.quarteredge.core.model.RankedResultDTO;
+import com.quarteredge.core.model.SweepResultDTO;
+import com.quarteredge.core.service.SweepService;
+import com.quarteredge.core.strategy.MovingAverageCrossoverParameters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Leaderboard}.
+ *
+ * @see Leaderboard
+ */
+public class LeaderboardTest {
+    @Test
+    @DisplayName("getTop() should return the same results as sorting every result")
+    void testTopMatchesSort() {
+        var results = randomResults(500, 5);
+        var leaderboard = new Leaderboard(10, metrics());
+        results.forEach(leaderboard);
+
+        for (var metric : metrics().entrySet()) {
+            var top = leaderboard.getTop(metric.getKey());
+            List<Double> expected =
+                    results.stream()
+                            .map(r -> metric.getValue().applyAsDouble(r.performance()))
+                            .sorted(Comparator.reverseOrder())
+                            .limit(10)
+                            .toList();
+            assertEquals(expected, top.stream().map(RankedResultDTO::score).toList());
+            assertEquals(1, top.getFirst().rank());
+            assertEquals(10, top.getLast().rank());
+        }
+        assertEquals(500, leaderboard.getCount());
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.getTop("unknown"));
+    }
+
+    @Test
+    @DisplayName("getParetoFront() should return exactly the non-dominated results")
+    void testParetoFront() {
+        var results = randomResults(300, 9);
+        var leaderboard = new Leaderboard(300, metrics());
+        results.forEach(leaderboard);
+
+        List<SweepResultDTO> expected = new ArrayList<>();
+        for (SweepResultDTO result : results) {
+            var dominated =
+                    results.stream()
+                            .anyMatch(
+                                    other ->
+                                            other.performance().expectancy()
+                                                            >= result.performance().expectancy()
+                                                    && other.performance().sharpeRatio()
+                                                            >= result.performance().sharpeRatio()
+                                                    && other != result
+                                                    && !other.performance()
+                                                            .equals(result.performance()));
+            if (!dominated) {
+                expected.add(result);
+            }
+        }
+        var front = leaderboard.getParetoFront();
+        assertEquals(new HashSet<>(expected), new HashSet<>(front));
+        for (int i = 1; i < front.size(); i++) {
+            assertTrue(
+                    front.get(i - 1).performance().expectancy()
+                            >= front.get(i).performance().expectancy());
+        }
+    }
+
+    @Test
+    @DisplayName("a full Pareto front should stay bounded and keep the extremes of every metric")
+    void testBoundedFront() {
+        var leaderboard = new Leaderboard(5, metrics());
+        List<SweepResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(result(i, 19 - i));
+        }
+        results.forEach(leaderboard);
+
+        var front = leaderboard.getParetoFront();
+        assertEquals(5, front.size());
+        assertEquals(19, front.getFirst().performance().expectancy());
+        assertEquals(19, front.getLast().performance().sharpeRatio());
+    }
+
+    @Test
+    @DisplayName("a leaderboard should rank the results streamed by a sweep")
+    void testSweepConsumer() {
+        List<MovingAverageCrossoverParameters> grid = new ArrayList<>();
+        for (int fast = 2; fast <= 4; fast++) {
+            for (int slow = 5; slow <= 8; slow++) {
+                grid.add(new MovingAverageCrossoverParameters(fast, slow, 0.01));
+            }
+        }
+        var sweepService = new SweepService(generateTestSessionMap(), 1);
+        var leaderboard = new Leaderboard(3, metrics());
+        sweepService.run(grid, leaderboard);
+
+        var best =
+                sweepService.run(grid).stream()
+                        .mapToDouble(r -> r.performance().expectancy())
+                        .filter(score -> !Double.isNaN(score))
+                        .max()
+                        .orElseThrow();
+        assertEquals(grid.size(), leaderboard.getCount());
+        assertEquals(best, leaderboard.getTop("expectancy").getFirst().score());
+    }
+
+    /**
+     * Returns the metrics of the tests: expectancy and Sharpe ratio.
+     *
+     * @return the metrics by name
+     */
+    private static Map<String, ToDoubleFunction<PerformanceDTO>> metrics() {
+        Map<String, ToDoubleFunction<PerformanceDTO>> metrics = new LinkedHashMap<>();
+        metrics.put("expectancy", PerformanceDTO::expectancy);
+        metrics.put("sharpe", PerformanceDTO::sharpeRatio);
+        return metrics;
+    }
+
+    /**
+     * Generates results with random expectancy and Sharpe ratio.
+     *
+     * @param count the number of results
+     * @param seed the seed of the random generator
+     * @return the results
+     */
+    private static List<SweepResultDTO> randomResults(final int count, final long seed) {
+        var random = new SplittableRandom(seed);
+        List<SweepResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(result(random.nextDouble(-1, 1), random.nextDouble(-2, 3)));
+        }
+        return results;
+    }
+
+    /**
+     * Creates a result with the given expectancy and Sharpe ratio.
+     *
+     * @param expectancy the expectancy
+     * @param sharpeRatio the Sharpe ratio
+     * @return the result
+     */
+    private static SweepResultDTO result(final double expectancy, final double sharpeRatio) {
+        return new SweepResultDTO(
+                new MovingAverageCrossoverParameters(2, 5, 0.01),
+                new PerformanceDTO(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, sharpeRatio, expectancy));
+    }
+}
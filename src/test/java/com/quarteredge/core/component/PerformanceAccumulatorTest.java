@@ -0,0 +1,214 @@
+package com.quarteredge.core.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatsDTO;
+import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.model.PerformanceDTO;
+import com.quarteredge.core.service.PerformanceService;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PerformanceAccumulator}.
+ *
+ * @see PerformanceAccumulator
+ */
+public class PerformanceAccumulatorTest {
+    /** Tolerance for metrics that are rounded differently when merged. */
+    private static final double DELTA = 1e-9;
+
+    /**
+     * The metrics of {@code randomSessions(30, 7)}, computed with the multi-pass {@link
+     * PerformanceService} this accumulator replaced. The trade metrics are unchanged; the drawdown
+     * and the Sharpe ratio intentionally differ because the session result is now the sum of the R
+     * of every order in the session. The old algorithm kept only the R of the last order and
+     * reported a drawdown of 395.80 and a Sharpe ratio of 2.78 here, as pinned by {@link
+     * #testLastOrderSessionsMatchOldEquityCurve()}.
+     */
+    private static final PerformanceDTO MULTI_PASS_METRICS =
+            new PerformanceDTO(
+                    24,
+                    22,
+                    24.0 / 46,
+                    1.5,
+                    -1.0,
+                    47.0 / 46,
+                    -34.0 / 46,
+                    8,
+                    5,
+                    492.0400000000009,
+                    4.547311562078835,
+                    14.0 / 46);
+
+    @Test
+    @DisplayName("merge() should match adding every session to a single accumulator")
+    void testMergeMatchesSequential() {
+        var sessions = randomSessions(200, 42);
+        var sequential = new PerformanceAccumulator();
+        sessions.forEach(sequential::addSession);
+
+        for (int shardSize : new int[] {1, 7, 50, 199}) {
+            var merged = new PerformanceAccumulator();
+            for (int start = 0; start < sessions.size(); start += shardSize) {
+                var shard = new PerformanceAccumulator();
+                sessions.subList(start, Math.min(start + shardSize, sessions.size()))
+                        .forEach(shard::addSession);
+                merged.merge(shard);
+            }
+            assertPerformanceEquals(sequential.toPerformance(), merged.toPerformance());
+            assertEquals(sequential.getSessions(), merged.getSessions());
+            assertEquals(
+                    sequential.getRHistogram().getBuckets(), merged.getRHistogram().getBuckets());
+            assertEquals(
+                    sequential.getMaeHistogram().getDistribution().p5(),
+                    merged.getMaeHistogram().getDistribution().p5());
+        }
+    }
+
+    @Test
+    @DisplayName("merge() should join streaks that cross shard boundaries")
+    void testStreaksAcrossShards() {
+        var first = new PerformanceAccumulator();
+        first.addSession(List.of(order(-1), order(1), order(1)));
+        var second = new PerformanceAccumulator();
+        second.addSession(List.of(order(1), order(1)));
+        var third = new PerformanceAccumulator();
+        third.addSession(List.of(order(1), order(-1), order(-1)));
+
+        var performance = first.merge(second).merge(third).toPerformance();
+        assertEquals(5, performance.maxWinStreak());
+        assertEquals(2, performance.maxLossStreak());
+        assertEquals(5, performance.wins());
+        assertEquals(3, performance.losses());
+    }
+
+    @Test
+    @DisplayName("toPerformance() should match the metrics of the multi-pass algorithm")
+    void testMatchesMultiPassMetrics() {
+        var sessions = randomSessions(30, 7);
+        var accumulator = new PerformanceAccumulator();
+        sessions.forEach(accumulator::addSession);
+        assertPerformanceEquals(MULTI_PASS_METRICS, accumulator.toPerformance());
+        assertPerformanceEquals(
+                MULTI_PASS_METRICS, new PerformanceService(sessions).calculateMetrics());
+    }
+
+    @Test
+    @DisplayName("toPerformance() should keep the old equity curve when sessions trade once")
+    void testLastOrderSessionsMatchOldEquityCurve() {
+        var accumulator = new PerformanceAccumulator();
+        for (var session : randomSessions(30, 7)) {
+            var closed =
+                    session.stream()
+                            .filter(order -> order.status() != OrderStatus.CLOSED_CANCELED)
+                            .toList();
+            accumulator.addSession(closed.isEmpty() ? List.of() : List.of(closed.getLast()));
+        }
+        var performance = accumulator.toPerformance();
+        assertEquals(395.8030215902472, performance.maxDrawdown(), DELTA);
+        assertEquals(2.780887148615227, performance.sharpeRatio(), DELTA);
+    }
+
+    @Test
+    @DisplayName("copy() should not be affected by later sessions")
+    void testCopyIsIndependent() {
+        var sessions = randomSessions(10, 3);
+        var accumulator = new PerformanceAccumulator();
+        sessions.subList(0, 5).forEach(accumulator::addSession);
+        var snapshot = accumulator.copy();
+        var before = snapshot.toPerformance();
+        sessions.subList(5, 10).forEach(accumulator::addSession);
+        assertEquals(before, snapshot.toPerformance());
+        assertEquals(5, snapshot.getSessions());
+    }
+
+    /**
+     * Asserts that two performances match, allowing for rounding in the floating point metrics.
+     *
+     * @param expected the expected performance
+     * @param actual the actual performance
+     */
+    private static void assertPerformanceEquals(
+            final PerformanceDTO expected, final PerformanceDTO actual) {
+        assertEquals(expected.wins(), actual.wins());
+        assertEquals(expected.losses(), actual.losses());
+        assertEquals(expected.maxWinStreak(), actual.maxWinStreak());
+        assertEquals(expected.maxLossStreak(), actual.maxLossStreak());
+        assertEquals(expected.winRate(), actual.winRate(), DELTA);
+        assertEquals(expected.averageWinR(), actual.averageWinR(), DELTA);
+        assertEquals(expected.averageLossR(), actual.averageLossR(), DELTA);
+        assertEquals(expected.averageMfe(), actual.averageMfe(), DELTA);
+        assertEquals(expected.averageMae(), actual.averageMae(), DELTA);
+        assertEquals(expected.maxDrawdown(), actual.maxDrawdown(), DELTA);
+        assertEquals(expected.sharpeRatio(), actual.sharpeRatio(), DELTA);
+        assertEquals(expected.expectancy(), actual.expectancy(), DELTA);
+    }
+
+    /**
+     * Builds sessions of zero to three random orders each, including canceled ones.
+     *
+     * @param count the number of sessions
+     * @param seed the seed of the random number generator
+     * @return the sessions
+     */
+    private static List<List<OrderDTO>> randomSessions(final int count, final long seed) {
+        var random = new SplittableRandom(seed);
+        List<List<OrderDTO>> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<OrderDTO> orders = new ArrayList<>();
+            int size = random.nextInt(4);
+            for (int j = 0; j < size; j++) {
+                orders.add(
+                        random.nextInt(10) == 0
+                                ? canceled()
+                                : order(random.nextBoolean() ? 1.5 : -1));
+            }
+            sessions.add(orders);
+        }
+        return sessions;
+    }
+
+    /**
+     * Creates a closed buy order with a risk of 1 and the given result.
+     *
+     * @param result the result of the order in R multiples
+     * @return the order
+     */
+    private static OrderDTO order(final double result) {
+        return new OrderDTO(
+                99,
+                101.5,
+                100,
+                100 + result,
+                Direction.BUY,
+                LocalTime.of(10, 0),
+                LocalTime.of(10, 30),
+                result > 0 ? OrderStatus.CLOSED_TP_HIT : OrderStatus.CLOSED_SL_HIT,
+                new OrderStatsDTO(100 + Math.max(result, 0.5), 100 + Math.min(result, -0.5)));
+    }
+
+    /**
+     * Creates a canceled order, which must not count toward any metric.
+     *
+     * @return the order
+     */
+    private static OrderDTO canceled() {
+        return new OrderDTO(
+                99,
+                101.5,
+                100,
+                -1,
+                Direction.BUY,
+                LocalTime.of(10, 0),
+                LocalTime.of(10, 0),
+                OrderStatus.CLOSED_CANCELED,
+                new OrderStatsDTO(100, 100));
+    }
+}
@@ -0,0 +1,217 @@
+package com.quarteredge.core.event;
+
+import static com.quarteredge.util.CommonUtils.generateTestSessionMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OverflowPolicy;
+import com.quarteredge.core.strategy.MovingAverageCrossoverStrategy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AsyncEventSink}.
+ *
+ * @see AsyncEventSink
+ */
+public class AsyncEventSinkTest {
+    @Test
+    @DisplayName("close() should deliver every event in the order it was recorded")
+    void testDeliversInOrder() {
+        var direct = new RecordingSink();
+        var delegate = new RecordingSink();
+        var async = new AsyncEventSink(delegate);
+        runBacktest(direct);
+        runBacktest(async);
+        async.close();
+
+        assertTrue(direct.events.size() > 2);
+        assertEquals(direct.events, delegate.events);
+        assertEquals(0, async.getDroppedEvents());
+        assertTrue(delegate.flushes > 0);
+        assertTrue(delegate.closed);
+    }
+
+    @Test
+    @DisplayName("recording should drop events instead of blocking when the ring is full")
+    void testDropsWhenFull() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        RecordingSink delegate =
+                new RecordingSink() {
+                    @Override
+                    public void sessionStarted(final String sessionDate) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        super.sessionStarted(sessionDate);
+                    }
+                };
+        var async = new AsyncEventSink(delegate, 4);
+        for (int i = 0; i < 100; i++) {
+            async.sessionStarted("2025-09-" + i);
+        }
+        assertTrue(async.getDroppedEvents() >= 100 - 4 - 1);
+        release.countDown();
+        async.close();
+        assertEquals(100, delegate.events.size() + async.getDroppedEvents());
+    }
+
+    @Test
+    @DisplayName("BLOCK should make recording wait for a slow delegate instead of dropping events")
+    void testBlocksWhenFull() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        RecordingSink delegate =
+                new RecordingSink() {
+                    @Override
+                    public void sessionStarted(final String sessionDate) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        super.sessionStarted(sessionDate);
+                    }
+                };
+        var async = new AsyncEventSink(delegate, 4, OverflowPolicy.BLOCK);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("started 2025-09-" + i);
+        }
+        var recorder =
+                Thread.ofPlatform()
+                        .start(
+                                () -> {
+                                    for (int i = 0; i < 100; i++) {
+                                        async.sessionStarted("2025-09-" + i);
+                                    }
+                                });
+        recorder.join(Duration.ofMillis(50));
+        assertTrue(recorder.isAlive(), "recording should wait while the ring is full");
+        release.countDown();
+        recorder.join();
+        async.close();
+        assertEquals(expected, delegate.events);
+        assertEquals(0, async.getDroppedEvents());
+    }
+
+    @Test
+    @DisplayName("events recorded while the sink closes should be delivered or counted as dropped")
+    void testCloseRace() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            var delegate = new RecordingSink();
+            var async = new AsyncEventSink(delegate, 1 << 10);
+            var start = new CountDownLatch(1);
+            List<Thread> recorders = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                recorders.add(
+                        Thread.ofPlatform()
+                                .start(
+                                        () -> {
+                                            try {
+                                                start.await();
+                                            } catch (InterruptedException e) {
+                                                Thread.currentThread().interrupt();
+                                            }
+                                            for (int i = 0; i < 500; i++) {
+                                                async.sessionStarted("2025-09-22");
+                                            }
+                                        }));
+            }
+            start.countDown();
+            async.close();
+            for (Thread recorder : recorders) {
+                recorder.join();
+            }
+            assertEquals(4 * 500, delegate.events.size() + async.getDroppedEvents());
+        }
+    }
+
+    @Test
+    @DisplayName("close() should report a failure of the delegate")
+    void testDelegateFailure() {
+        var async =
+                new AsyncEventSink(
+                        new BacktestEventSink() {
+                            @Override
+                            public void sessionStarted(final String sessionDate) {
+                                throw new IllegalArgumentException(sessionDate);
+                            }
+                        });
+        async.sessionStarted("2025-09-22");
+        async.sessionStarted("2025-09-23");
+        var exception = assertThrows(IllegalStateException.class, async::close);
+        assertEquals("2025-09-22", exception.getCause().getMessage());
+        assertEquals(2, async.getDroppedEvents());
+    }
+
+    /**
+     * Runs a backtest over the test sessions, reporting every event to the sink.
+     *
+     * @param sink the sink that receives the events
+     */
+    private static void runBacktest(final BacktestEventSink sink) {
+        var strategy = new MovingAverageCrossoverStrategy(2, 5, 0.01);
+        for (var session : generateTestSessionMap().entrySet()) {
+            sink.sessionStarted(session.getKey());
+            var backtestSession = new BacktestSession(strategy, session.getValue(), sink);
+            backtestSession.startSession();
+            sink.sessionCompleted(session.getKey(), backtestSession.getOrders());
+        }
+    }
+
+    /** A sink that records a description of every event it receives. */
+    private static class RecordingSink implements BacktestEventSink {
+        /** The descriptions of the received events. */
+        private final List<String> events = new ArrayList<>();
+
+        /** The number of flushes. */
+        private int flushes;
+
+        /** Flag indicating if the sink was closed. */
+        private boolean closed;
+
+        @Override
+        public void sessionStarted(final String sessionDate) {
+            events.add("started " + sessionDate);
+        }
+
+        @Override
+        public void sessionCompleted(final String sessionDate, final List<OrderDTO> orders) {
+            events.add("completed " + sessionDate + " " + orders.size());
+        }
+
+        @Override
+        public void orderCreated(final OrderDTO order) {
+            events.add("created " + order.entry());
+        }
+
+        @Override
+        public void orderFilled(final OrderDTO order) {
+            events.add("filled " + order.startTime());
+        }
+
+        @Override
+        public void orderClosed(final OrderDTO order) {
+            events.add("closed " + order.status() + " " + order.closeTime());
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.quarteredge.core.live;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.model.BackpressurePolicy;
+import com.quarteredge.core.model.CandleDTO;
+import java.time.LocalTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BarChannel}.
+ *
+ * @see BarChannel
+ */
+public class BarChannelTest {
+    /** The number of bars offered by the concurrent test. */
+    private static final int STRESS_BARS = 500_000;
+
+    @Test
+    @DisplayName("BLOCK should refuse bars while the ring is full and lose none")
+    void testBlock() {
+        var channel = new BarChannel(4, BackpressurePolicy.BLOCK);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(channel.offer(bar(i, i), i));
+        }
+        assertFalse(channel.offer(bar(4, 4), 4));
+        assertEquals(4, channel.size());
+
+        assertEquals(0, channel.poll().volume());
+        assertTrue(channel.offer(bar(4, 4), 4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, channel.poll().volume());
+            assertEquals(i, channel.getPolledReceivedNanos());
+        }
+        assertNull(channel.poll());
+        assertEquals(0, channel.getDroppedBars());
+        assertThrows(
+                IllegalArgumentException.class, () -> new BarChannel(6, BackpressurePolicy.BLOCK));
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST should never refuse a bar and keep the newest ones")
+    void testDropOldest() {
+        var channel = new BarChannel(4, BackpressurePolicy.DROP_OLDEST);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(channel.offer(bar(i, i), i));
+        }
+        assertEquals(6, channel.getDroppedBars());
+        for (int i = 6; i < 10; i++) {
+            assertEquals(i, channel.poll().volume());
+            assertEquals(i, channel.getPolledReceivedNanos());
+        }
+        assertNull(channel.poll());
+    }
+
+    @Test
+    @DisplayName("COALESCE should merge queued updates of a bar into the latest one")
+    void testCoalesce() {
+        var channel = new BarChannel(8, BackpressurePolicy.COALESCE);
+        channel.offer(bar(0, 1), 100);
+        channel.offer(bar(0, 2), 101);
+        channel.offer(bar(0, 3), 102);
+        channel.offer(bar(1, 4), 103);
+        channel.offer(bar(1, 5), 104);
+
+        // the lag of a merged bar starts with its first update
+        assertEquals(3, channel.poll().volume());
+        assertEquals(100, channel.getPolledReceivedNanos());
+        assertEquals(5, channel.poll().volume());
+        assertEquals(103, channel.getPolledReceivedNanos());
+        assertNull(channel.poll());
+        assertEquals(3, channel.getMergedBars());
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(channel.offer(bar(i, i), i));
+        }
+        assertFalse(channel.offer(bar(8, 8), 8));
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST should hand over every surviving bar intact and in order")
+    void testDropOldestConcurrently() throws InterruptedException {
+        var channel = new BarChannel(16, BackpressurePolicy.DROP_OLDEST);
+        var feed =
+                Thread.ofPlatform()
+                        .start(
+                                () -> {
+                                    for (int i = 0; i < STRESS_BARS; i++) {
+                                        channel.offer(bar(i % 100, i), i);
+                                    }
+                                });
+        long polled = 0;
+        long last = -1;
+        while (feed.isAlive() || channel.size() > 0) {
+            var candle = channel.poll();
+            if (candle == null) {
+                Thread.yield();
+                continue;
+            }
+            var sequence = (long) candle.volume();
+            assertTrue(sequence > last);
+            assertEquals(sequence, channel.getPolledReceivedNanos());
+            assertEquals(bar((int) (sequence % 100), sequence).time(), candle.time());
+            last = sequence;
+            polled++;
+        }
+        feed.join();
+
+        assertEquals(STRESS_BARS - 1, last);
+        assertEquals(STRESS_BARS, polled + channel.getDroppedBars());
+    }
+
+    /**
+     * Creates a bar whose volume identifies the update.
+     *
+     * @param index the index of the bar, which sets its time
+     * @param volume the volume of the update
+     * @return the bar
+     */
+    private static CandleDTO bar(final int index, final long volume) {
+        var time = LocalTime.of(9, 0).plusMinutes(index * 5L);
+        return new CandleDTO("2025-09-22", time, 100, 101, 99, 100, volume);
+    }
+}
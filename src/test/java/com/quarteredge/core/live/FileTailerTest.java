@@ -0,0 +1,141 @@
+package com.quarteredge.core.live;
+
+import static com.quarteredge.util.CommonUtils.generateTestSession;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.metrics.LatencyHistogram;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.service.TradingService;
+import com.quarteredge.core.strategy.Strategy;
+import com.quarteredge.core.util.Parser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link FileTailer}.
+ *
+ * @see FileTailer
+ */
+public class FileTailerTest {
+    /** Directory for the tailed files. */
+    @TempDir Path tempDir;
+
+    @Test
+    @DisplayName("poll() should parse appended lines once, keeping partial lines for later")
+    void testReadsOnlyNewBytes() throws IOException {
+        var candles = generateTestSession();
+        var path = tempDir.resolve("bars.csv");
+        var content = new StringBuilder();
+        candles.forEach(c -> content.append(Parser.formatLine(c)).append("\r\n"));
+        var bytes = content.toString().getBytes(StandardCharsets.US_ASCII);
+        Files.write(path, new byte[0]);
+
+        List<CandleDTO> bars = new ArrayList<>();
+        try (var tailer = new FileTailer(path, bars::add)) {
+            assertEquals(0, tailer.poll());
+            // append in chunks that cut lines in half
+            for (int from = 0; from < bytes.length; from += 97) {
+                int to = Math.min(bytes.length, from + 97);
+                Files.write(path, Arrays.copyOfRange(bytes, from, to), StandardOpenOption.APPEND);
+                tailer.poll();
+                assertTrue(tailer.getOffset() <= to);
+                assertEquals(bars.size(), tailer.getBars());
+            }
+
+            assertEquals(candles, bars);
+            assertEquals(bytes.length, tailer.getBytesRead());
+            assertEquals(bytes.length, tailer.getOffset());
+            assertEquals(0, tailer.poll());
+        }
+    }
+
+    @Test
+    @DisplayName("a truncated file should be read again from its start")
+    void testTruncatedFile() throws IOException {
+        var candles = generateTestSession();
+        var path = tempDir.resolve("rotated.csv");
+        Files.writeString(path, lines(candles.subList(0, 10)));
+        List<CandleDTO> bars = new ArrayList<>();
+        try (var tailer = new FileTailer(path, bars::add)) {
+            assertEquals(10, tailer.poll());
+            Files.writeString(path, lines(candles.subList(10, 13)));
+            assertEquals(3, tailer.poll());
+        }
+        assertEquals(candles.subList(0, 13), bars);
+
+        Files.writeString(path, "not a bar\n");
+        try (var tailer = new FileTailer(path, bars::add)) {
+            assertThrows(RuntimeException.class, tailer::poll);
+        }
+    }
+
+    @Test
+    @DisplayName("a bar appended to the file should reach the strategy within a millisecond")
+    void testAppendToPushLatency() throws IOException {
+        var candles = generateTestSession().subList(0, 200);
+        var path = tempDir.resolve("live.csv");
+        Files.write(path, new byte[0]);
+        var pushed = new AtomicLong();
+        var pushNanos = new AtomicLong();
+        var latency = new LatencyHistogram();
+        var strategy =
+                new Strategy() {
+                    @Override
+                    public void push(final CandleDTO data) {
+                        pushNanos.set(System.nanoTime());
+                        pushed.incrementAndGet();
+                    }
+
+                    @Override
+                    public Optional<OrderDTO> getStatus() {
+                        return Optional.empty();
+                    }
+                };
+        try (var service = new TradingService(strategy).start();
+                var tailer = new FileTailer(path, service::onBar).start();
+                var writer = Files.newOutputStream(path, StandardOpenOption.APPEND)) {
+            for (int i = 0; i < candles.size(); i++) {
+                var line = Parser.formatLine(candles.get(i)) + "\n";
+                var appended = System.nanoTime();
+                writer.write(line.getBytes(StandardCharsets.US_ASCII));
+                writer.flush();
+                while (pushed.get() <= i) {
+                    Thread.yield();
+                }
+                latency.record(pushNanos.get() - appended);
+            }
+            assertEquals(candles.size(), tailer.getBars());
+            assertEquals(Files.size(path), tailer.getBytesRead());
+        }
+        assertTrue(
+                latency.getPercentile(0.5) < TimeUnit.MILLISECONDS.toNanos(1),
+                "median append-to-push latency: " + latency.getPercentile(0.5) + " ns");
+    }
+
+    /**
+     * Formats candles as lines of the CSV format.
+     *
+     * @param candles the candles
+     * @return the lines, each ending with a line feed
+     */
+    private static String lines(final List<CandleDTO> candles) {
+        var lines = new StringBuilder();
+        candles.forEach(c -> lines.append(Parser.formatLine(c)).append('\n'));
+        return lines.toString();
+    }
+}
@@ -0,0 +1,233 @@
+package com.quarteredge.core.live;
+
+import static com.quarteredge.util.CommonUtils.generateTestSession;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.model.BackpressurePolicy;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderIntentDTO;
+import com.quarteredge.core.strategy.MovingAverageCrossoverStrategy;
+import com.quarteredge.core.strategy.QuarterEdgeStrategy;
+import com.quarteredge.core.strategy.Strategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link MarketDataHub} and {@link Subscription}.
+ *
+ * @see MarketDataHub
+ * @see Subscription
+ */
+public class MarketDataHubTest {
+    /** The number of strategy instances of the fan-out test. */
+    private static final int INSTANCES = 1000;
+
+    /** The capacity of the channels of the fan-out test, far below the length of the feed. */
+    private static final int CHANNEL_CAPACITY = 16;
+
+    /** The time the slow strategy takes over every bar. */
+    private static final long SLOW_BAR_NANOS = 20_000;
+
+    @Test
+    @DisplayName("1,000 subscriptions to a replayed feed should stay isolated under load")
+    void testFansOutToManyStrategies() throws InterruptedException {
+        var candles = generateTestSession();
+        IntFunction<Strategy> variant =
+                i ->
+                        i % 2 == 0
+                                ? new QuarterEdgeStrategy(5 + i % 20)
+                                : new MovingAverageCrossoverStrategy(2 + i % 5, 8 + i % 7, 0.01);
+        IntFunction<BackpressurePolicy> policy =
+                i -> i % 2 == 0 ? BackpressurePolicy.BLOCK : BackpressurePolicy.DROP_OLDEST;
+
+        // channels far smaller than the feed, and a stuck subscription that must drop bars
+        var release = new CountDownLatch(1);
+        var hub = new MarketDataHub(CHANNEL_CAPACITY);
+        var stuck = hub.subscribe("stuck", blocking(release));
+        List<List<OrderIntentDTO>> intents = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) {
+            List<OrderIntentDTO> received = new ArrayList<>();
+            intents.add(received);
+            hub.subscribe(
+                    "variant-" + i,
+                    variant.apply(i),
+                    CHANNEL_CAPACITY,
+                    policy.apply(i),
+                    received::add);
+        }
+        new ReplayServer(List.of(candles), ReplayServer.MAX_SPEED).start(hub::onBar).join();
+        release.countDown();
+        hub.close();
+
+        assertEquals(candles.size(), hub.getPublishedBars());
+        assertEquals(
+                (long) (INSTANCES + 1) * candles.size(),
+                hub.getProcessedBars() + hub.getDroppedBars());
+        assertTrue(stuck.getDroppedBars() >= candles.size() - CHANNEL_CAPACITY - 1);
+        assertTrue(hub.getThroughput() > 0);
+        assertTrue(hub.report().startsWith("Subscriptions: 1001 (failed: 0)"));
+        for (int i = 0; i < INSTANCES; i++) {
+            var subscription = hub.getSubscriptions().get(i + 1);
+            assertNull(subscription.getFailure());
+            var bars = subscription.getProcessedBars() + subscription.getDroppedBars();
+            assertEquals(candles.size(), bars);
+            assertEquals(intents.get(i).size(), subscription.getCreatedOrders());
+            if (subscription.getPolicy() != BackpressurePolicy.BLOCK) {
+                continue;
+            }
+
+            // a blocking subscription sees every bar, whatever the others drop
+            assertEquals(0, subscription.getDroppedBars());
+            assertEquals(candles.size(), subscription.getLag().getCount());
+            var backtest = new BacktestSession(variant.apply(i), candles);
+            backtest.startSession();
+            var orders = backtest.getOrders();
+            assertEquals(orders.size(), intents.get(i).size());
+            for (int j = 0; j < orders.size(); j++) {
+                assertEquals(orders.get(j).entry(), intents.get(i).get(j).order().entry());
+                assertEquals(orders.get(j).direction(), intents.get(i).get(j).order().direction());
+            }
+        }
+        assertThrows(IllegalStateException.class, () -> hub.onBar(candles.getFirst()));
+    }
+
+    @Test
+    @DisplayName("a stuck or failing strategy should not delay the other subscriptions")
+    void testIsolatesSlowStrategies() throws InterruptedException {
+        var candles = generateTestSession();
+        var release = new CountDownLatch(1);
+        var hub = new MarketDataHub(16);
+        var stuck = hub.subscribe("stuck", blocking(release));
+        var failing = hub.subscribe("failing", failing());
+        var healthy = hub.subscribe("healthy", new QuarterEdgeStrategy(14));
+
+        // the healthy strategy keeps up with every bar while the stuck one holds its thread
+        for (int i = 0; i < candles.size(); i++) {
+            hub.onBar(candles.get(i));
+            while (healthy.getProcessedBars() <= i) {
+                Thread.yield();
+            }
+        }
+
+        assertEquals(0, stuck.getProcessedBars());
+        assertTrue(stuck.getDroppedBars() >= candles.size() - 16 - 1);
+        assertEquals(0, healthy.getDroppedBars());
+        release.countDown();
+        hub.close();
+
+        assertEquals(candles.size(), stuck.getProcessedBars() + stuck.getDroppedBars());
+        assertTrue(failing.getFailure() instanceof IllegalArgumentException);
+        assertTrue(hub.report().startsWith("Subscriptions: 3 (failed: 1)"));
+    }
+
+    @Test
+    @DisplayName("a blocking subscription should make the feed wait instead of dropping bars")
+    void testBlockingSubscriptionKeepsEveryBar() throws InterruptedException {
+        var candles = generateTestSession();
+        var hub = new MarketDataHub(4);
+        List<OrderIntentDTO> received = new ArrayList<>();
+        var slow =
+                hub.subscribe(
+                        "slow",
+                        slow(new QuarterEdgeStrategy(14)),
+                        4,
+                        BackpressurePolicy.BLOCK,
+                        received::add);
+        var fast = hub.subscribe("fast", new QuarterEdgeStrategy(14));
+        new ReplayServer(List.of(candles), ReplayServer.MAX_SPEED).start(hub::onBar).join();
+        hub.close();
+
+        assertEquals(BackpressurePolicy.BLOCK, slow.getPolicy());
+        assertEquals(BackpressurePolicy.DROP_OLDEST, fast.getPolicy());
+        assertEquals(0, slow.getDroppedBars());
+        assertEquals(candles.size(), slow.getProcessedBars());
+        var backtest = new BacktestSession(new QuarterEdgeStrategy(14), candles);
+        backtest.startSession();
+        assertEquals(backtest.getOrders().size(), received.size());
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new MarketDataHub()
+                                .subscribe(
+                                        "odd",
+                                        new QuarterEdgeStrategy(14),
+                                        3,
+                                        BackpressurePolicy.BLOCK,
+                                        intent -> {}));
+    }
+
+    /**
+     * Creates a strategy that takes a little while over every bar.
+     *
+     * @param strategy the strategy to delegate to
+     * @return the strategy
+     */
+    private static Strategy slow(final Strategy strategy) {
+        return new Strategy() {
+            @Override
+            public void push(final CandleDTO data) {
+                LockSupport.parkNanos(SLOW_BAR_NANOS);
+                strategy.push(data);
+            }
+
+            @Override
+            public Optional<OrderDTO> getStatus() {
+                return strategy.getStatus();
+            }
+        };
+    }
+
+    /**
+     * Creates a strategy that throws on every bar.
+     *
+     * @return the strategy
+     */
+    private static Strategy failing() {
+        return new Strategy() {
+            @Override
+            public void push(final CandleDTO data) {
+                throw new IllegalArgumentException("bad bar");
+            }
+
+            @Override
+            public Optional<OrderDTO> getStatus() {
+                return Optional.empty();
+            }
+        };
+    }
+
+    /**
+     * Creates a strategy that is stuck on its first bar until it is released.
+     *
+     * @param release the latch releasing the strategy
+     * @return the strategy
+     */
+    private static Strategy blocking(final CountDownLatch release) {
+        return new Strategy() {
+            @Override
+            public void push(final CandleDTO data) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public Optional<OrderDTO> getStatus() {
+                return Optional.empty();
+            }
+        };
+    }
+}
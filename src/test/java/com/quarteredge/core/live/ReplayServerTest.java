@@ -0,0 +1,79 @@
+package com.quarteredge.core.live;
+
+import static com.quarteredge.util.CommonUtils.generateTestSession;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.model.CandleDTO;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ReplayServer}.
+ *
+ * @see ReplayServer
+ */
+public class ReplayServerTest {
+    @Test
+    @DisplayName("replay() should pace the bars by their original timing divided by the speed")
+    void testSpeedMultiplier() {
+        // 12 five-minute bars take 55 minutes, i.e. 110ms at a speed of 30,000
+        var candles = generateTestSession().subList(1, 13);
+        List<CandleDTO> received = new ArrayList<>();
+        var stats = new ReplayServer(List.of(candles), 30_000).replay(received::add);
+
+        assertEquals(candles, received);
+        assertEquals(candles.size(), stats.bars());
+        assertTrue(stats.elapsedNanos() >= Duration.ofMillis(110).toNanos());
+        assertTrue(stats.barsPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("a burst should ignore the schedule and a stall should be reported as lag")
+    void testBurstAndStall() {
+        var candles = generateTestSession().subList(1, 13);
+        var burst = new ReplayServer(List.of(candles), 30_000).burst(0, candles.size());
+        assertTrue(burst.replay(c -> {}).elapsedNanos() < Duration.ofMillis(110).toNanos());
+
+        var stall =
+                new ReplayServer(List.of(candles), ReplayServer.MAX_SPEED)
+                        .stall(5, Duration.ofMillis(50));
+        var stats = stall.replay(c -> {});
+        assertTrue(stats.maxLagNanos() >= Duration.ofMillis(50).toNanos());
+        assertThrows(IllegalArgumentException.class, () -> new ReplayServer(List.of(), 0));
+    }
+
+    @Test
+    @DisplayName("serve() should send every bar over a socket in the parser format")
+    void testSocketRoundTrip() throws Exception {
+        var candles = generateTestSession();
+        var replay = new ReplayServer(List.of(candles), ReplayServer.MAX_SPEED);
+        List<CandleDTO> received = new ArrayList<>();
+        try (var server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            var served =
+                    CompletableFuture.supplyAsync(
+                            () -> {
+                                try {
+                                    return replay.serve(server);
+                                } catch (IOException e) {
+                                    throw new IllegalStateException(e);
+                                }
+                            });
+            try (var client = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort())) {
+                var count = ReplayServer.receive(client.getInputStream(), received::add);
+                assertEquals(candles.size(), count);
+            }
+            assertEquals(candles.size(), served.get().bars());
+        }
+        assertEquals(candles, received);
+    }
+}
@@ -0,0 +1,178 @@
+package com.quarteredge.core.live;
+
+import static com.quarteredge.util.CommonUtils.generateTestSession;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.ExecutionReportDTO;
+import com.quarteredge.core.model.ExecutionType;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderIntentDTO;
+import com.quarteredge.core.model.OrderStatsDTO;
+import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.service.TradingService;
+import com.quarteredge.core.strategy.MovingAverageCrossoverStrategy;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SimulatedExchange}.
+ *
+ * @see SimulatedExchange
+ */
+public class SimulatedExchangeTest {
+    /** The client identifier of the last order intent created by {@link #intent}. */
+    private long lastOrderId;
+
+    @Test
+    @DisplayName("pending orders should fill as stops or limits, at the open on a gap")
+    void testPendingFills() {
+        List<ExecutionReportDTO> reports = new ArrayList<>();
+        var exchange = new SimulatedExchange(Duration.ZERO, reports::add);
+        exchange.onBar(bar(10, 0, 62.30, 62.35, 62.25, 62.30));
+        exchange.submit(intent(62.50, Direction.BUY, OrderStatus.PENDING));
+        exchange.submit(intent(62.00, Direction.BUY, OrderStatus.PENDING));
+        exchange.submit(intent(62.75, Direction.SELL, OrderStatus.PENDING));
+        assertEquals(3, exchange.getWorkingOrders());
+
+        // the buy stop fills at its entry, the buy limit and sell limit are not reached
+        exchange.onBar(bar(10, 5, 62.40, 62.55, 62.35, 62.50));
+        // the buy limit fills at the open of a gap down, the sell limit at the open of a gap up
+        exchange.onBar(bar(10, 10, 61.90, 61.95, 61.80, 61.85));
+        exchange.onBar(bar(10, 15, 62.80, 62.90, 62.70, 62.85));
+
+        var fills = reports.stream().filter(r -> r.type() == ExecutionType.FILL).toList();
+        assertEquals(3, fills.size());
+        assertEquals(62.50, fills.get(0).fillPrice());
+        assertEquals(LocalTime.of(10, 5), fills.get(0).order().startTime());
+        assertEquals(61.90, fills.get(1).fillPrice());
+        assertEquals(62.80, fills.get(2).fillPrice());
+        assertEquals(
+                List.of(1L, 2L, 3L),
+                fills.stream().map(ExecutionReportDTO::clientOrderId).toList());
+        for (ExecutionReportDTO fill : fills) {
+            assertEquals(OrderStatus.ACTIVE, fill.order().status());
+            assertTrue(fill.signalNanos() <= fill.submitNanos());
+            assertTrue(fill.submitNanos() <= fill.ackNanos());
+            assertTrue(fill.ackNanos() <= fill.fillNanos());
+        }
+        assertEquals(0, exchange.getWorkingOrders());
+    }
+
+    @Test
+    @DisplayName("orders should only be matched once they have reached the exchange")
+    void testLatency() {
+        List<ExecutionReportDTO> reports = new ArrayList<>();
+        var latency = Duration.ofMillis(20);
+        var exchange = new SimulatedExchange(latency, reports::add);
+        exchange.submit(intent(62.00, Direction.BUY, OrderStatus.ACTIVE));
+        exchange.onBar(bar(10, 0, 62.30, 62.35, 62.25, 62.30));
+        assertTrue(reports.isEmpty());
+
+        LockSupport.parkNanos(latency.toNanos());
+        exchange.poll();
+        exchange.onBar(bar(10, 5, 62.40, 62.55, 62.35, 62.50));
+        assertEquals(2, reports.size());
+        var fill = reports.get(1);
+        assertEquals(ExecutionType.FILL, fill.type());
+        assertEquals(62.40, fill.fillPrice());
+        assertEquals(latency.toNanos(), fill.ackLatencyNanos());
+        assertTrue(fill.roundTripNanos() >= latency.toNanos());
+        assertEquals(1, exchange.getRoundTripLatency().getCount());
+    }
+
+    @Test
+    @DisplayName("pending orders should be canceled on the last candle of the session")
+    void testCancelAtSessionEnd() {
+        List<ExecutionReportDTO> reports = new ArrayList<>();
+        var exchange = new SimulatedExchange(Duration.ZERO, reports::add);
+        exchange.onBar(bar(15, 50, 62.30, 62.35, 62.25, 62.30));
+        exchange.submit(intent(62.50, Direction.BUY, OrderStatus.PENDING));
+        exchange.onBar(bar(15, 55, 62.40, 62.60, 62.35, 62.50));
+
+        var cancel = reports.getLast();
+        assertEquals(ExecutionType.CANCEL, cancel.type());
+        assertEquals(OrderStatus.CLOSED_CANCELED, cancel.order().status());
+        assertEquals(-1, cancel.roundTripNanos());
+    }
+
+    @Test
+    @DisplayName("orders routed from a live strategy should be acknowledged and filled")
+    void testRoutedFromTradingService() {
+        var candles = generateTestSession();
+        List<ExecutionReportDTO> reports = new ArrayList<>();
+        var exchange = new SimulatedExchange(Duration.ZERO, reports::add);
+        int routed = 0;
+        try (var service =
+                new TradingService(new MovingAverageCrossoverStrategy(2, 5, 0.01), 64).start()) {
+            for (int i = 0; i < candles.size(); i++) {
+                exchange.onBar(candles.get(i));
+                service.onBar(candles.get(i));
+                while (service.getProcessedBars() <= i) {
+                    Thread.yield();
+                }
+                routed += service.routeIntents(exchange);
+            }
+        }
+        assertTrue(routed > 0);
+        var acks = reports.stream().filter(r -> r.type() == ExecutionType.ACK).count();
+        var fills = reports.stream().filter(r -> r.type() == ExecutionType.FILL).count();
+        assertEquals(routed, acks);
+        assertEquals(routed - exchange.getWorkingOrders(), fills);
+        assertTrue(exchange.report().contains("Round Trip p50/p99/max (us)"));
+    }
+
+    /**
+     * Creates a bar of the test session date.
+     *
+     * @param hour the hour of the bar
+     * @param minute the minute of the bar
+     * @param open the open price
+     * @param high the high price
+     * @param low the low price
+     * @param close the close price
+     * @return the bar
+     */
+    private static CandleDTO bar(
+            final int hour,
+            final int minute,
+            final double open,
+            final double high,
+            final double low,
+            final double close) {
+        return new CandleDTO("2025-09-22", LocalTime.of(hour, minute), open, high, low, close, 1);
+    }
+
+    /**
+     * Creates an order intent with a 0.2 stop loss and a 0.4 take profit.
+     *
+     * @param entry the entry price
+     * @param direction the direction of the order
+     * @param status the status of the order, PENDING for stop and limit orders
+     * @return the order intent
+     */
+    private OrderIntentDTO intent(
+            final double entry, final Direction direction, final OrderStatus status) {
+        var sign = direction == Direction.BUY ? 1 : -1;
+        var order =
+                new OrderDTO(
+                        entry - sign * 0.2,
+                        entry + sign * 0.4,
+                        entry,
+                        -1,
+                        direction,
+                        null,
+                        null,
+                        status,
+                        new OrderStatsDTO(entry, entry));
+        var now = System.nanoTime();
+        return new OrderIntentDTO(++lastOrderId, order, now, now);
+    }
+}
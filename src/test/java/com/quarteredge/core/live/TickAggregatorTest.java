@@ -0,0 +1,180 @@
+package com.quarteredge.core.live;
+
+import static com.quarteredge.core.live.TickAggregator.toLocalNanos;
+import static com.quarteredge.util.CommonUtils.generateTestSession;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.util.AllocationMeter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TickAggregator}.
+ *
+ * @see TickAggregator
+ */
+public class TickAggregatorTest {
+    /** The number of ticks of a burst. */
+    private static final int BURST_TICKS = 2_000_000;
+
+    @Test
+    @DisplayName("ticks at the open, high, low and close of each bar should rebuild the bars")
+    void testRebuildsSession() {
+        var candles = generateTestSession();
+        List<CandleDTO> bars = new ArrayList<>();
+        var aggregator = new TickAggregator(5, bars::add);
+        long last = 0;
+        for (CandleDTO candle : candles) {
+            var open = toLocalNanos(LocalDate.parse(candle.date()).atTime(candle.time()));
+            var quarter = candle.volume() / 4;
+            assertTrue(aggregator.onTick(open, candle.open(), quarter));
+            assertTrue(aggregator.onTick(open + seconds(60), candle.high(), quarter));
+            assertTrue(aggregator.onTick(open + seconds(120), candle.low(), quarter));
+            assertTrue(aggregator.onTick(open + seconds(300) - 1, candle.close(), quarter));
+            last = open;
+        }
+        assertTrue(aggregator.advance(last + seconds(300)));
+
+        assertEquals(candles, bars);
+        assertEquals(candles.size() * 4L, aggregator.getTicks());
+        assertEquals(candles.size(), aggregator.getBars());
+    }
+
+    @Test
+    @DisplayName("bars should close at exact boundaries and skip the session break")
+    void testBoundaries() {
+        List<CandleDTO> bars = new ArrayList<>();
+        var aggregator = new TickAggregator(1, bars::add);
+        var day = LocalDate.of(2025, 9, 22);
+        aggregator.onTick(nanos(day, LocalTime.of(16, 59)), 62.0, 1);
+        aggregator.onTick(nanos(day, LocalTime.of(16, 59, 59, 999_999_999)), 62.5, 2);
+        assertEquals(
+                new CandleDTO("2025-09-22", LocalTime.of(16, 59), 62.0, 62.5, 62.0, 62.5, 3),
+                aggregator.partial().orElseThrow());
+        assertTrue(bars.isEmpty());
+
+        // the session break closes the last bar, but does not open a new one
+        assertFalse(aggregator.onTick(nanos(day, LocalTime.of(17, 0)), 62.4, 1));
+        assertFalse(aggregator.onTick(nanos(day, LocalTime.of(17, 59, 59)), 62.4, 1));
+        assertEquals(1, bars.size());
+        assertTrue(aggregator.partial().isEmpty());
+
+        assertTrue(aggregator.onTick(nanos(day, LocalTime.of(18, 0)), 62.3, 1));
+        assertTrue(aggregator.onTick(nanos(day, LocalTime.of(18, 0, 30)), 62.1, 1));
+        assertTrue(aggregator.onTick(nanos(day, LocalTime.of(18, 1)), 62.2, 1));
+        assertEquals(
+                new CandleDTO("2025-09-22", LocalTime.of(18, 0), 62.3, 62.3, 62.1, 62.1, 2),
+                bars.getLast());
+        assertFalse(aggregator.onTick(nanos(day, LocalTime.of(18, 0, 59)), 62.0, 1));
+        assertFalse(aggregator.advance(nanos(day, LocalTime.of(18, 1, 59))));
+        assertTrue(aggregator.advance(nanos(day, LocalTime.of(18, 2))));
+        assertEquals(3, bars.size());
+        assertEquals(3, aggregator.getRejectedTicks());
+        assertThrows(IllegalArgumentException.class, () -> new TickAggregator(7, bars::add));
+    }
+
+    @Test
+    @DisplayName("onTick() should keep up with a burst of at least 1M ticks per second")
+    void testBurstRate() {
+        var timestamps = new long[BURST_TICKS];
+        var prices = new double[BURST_TICKS];
+        burst(timestamps, prices);
+        var bars = new long[1];
+        var aggregator = new TickAggregator(1, bar -> bars[0]++);
+        run(aggregator, timestamps, prices);
+
+        var best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            var measured = new TickAggregator(1, bar -> bars[0]++);
+            var start = System.nanoTime();
+            run(measured, timestamps, prices);
+            best = Math.min(best, System.nanoTime() - start);
+            assertEquals(BURST_TICKS, measured.getTicks());
+        }
+        var nanosPerTick = (double) best / BURST_TICKS;
+        assertTrue(
+                nanosPerTick < 1_000,
+                String.format("%.1f ns per tick, below 1M ticks per second", nanosPerTick));
+    }
+
+    @Test
+    @DisplayName("onTick() should not allocate between bars")
+    void testAllocationFree() {
+        assumeTrue(AllocationMeter.isSupported(), "thread allocation counters are unavailable");
+        var timestamps = new long[BURST_TICKS / 10];
+        var prices = new double[BURST_TICKS / 10];
+        burst(timestamps, prices);
+        var perTick =
+                AllocationMeter.bytesPerUnit(
+                        () -> {
+                            var aggregator = new TickAggregator(1, bar -> {});
+                            return () -> run(aggregator, timestamps, prices);
+                        },
+                        timestamps.length);
+        assertTrue(perTick < 1, String.format("%.3f bytes per tick", perTick));
+    }
+
+    /**
+     * Fills a burst of ticks one millisecond apart, starting with the first bar of a session.
+     *
+     * @param timestamps the timestamps to fill
+     * @param prices the prices to fill
+     */
+    private static void burst(final long[] timestamps, final double[] prices) {
+        var random = new Random(42);
+        var start = nanos(LocalDate.of(2025, 9, 21), LocalTime.of(18, 0));
+        var price = 62.0;
+        for (int i = 0; i < timestamps.length; i++) {
+            price += (random.nextInt(3) - 1) * 0.01;
+            timestamps[i] = start + TimeUnit.MILLISECONDS.toNanos(i);
+            prices[i] = price;
+        }
+    }
+
+    /**
+     * Feeds every tick of a burst to an aggregator.
+     *
+     * @param aggregator the aggregator
+     * @param timestamps the timestamps of the ticks
+     * @param prices the prices of the ticks
+     */
+    private static void run(
+            final TickAggregator aggregator, final long[] timestamps, final double[] prices) {
+        for (int i = 0; i < timestamps.length; i++) {
+            aggregator.onTick(timestamps[i], prices[i], 1);
+        }
+    }
+
+    /**
+     * Returns the timestamp of a tick.
+     *
+     * @param date the exchange-local date
+     * @param time the exchange-local time
+     * @return the timestamp
+     */
+    private static long nanos(final LocalDate date, final LocalTime time) {
+        return toLocalNanos(LocalDateTime.of(date, time));
+    }
+
+    /**
+     * Converts seconds to nanoseconds.
+     *
+     * @param seconds the number of seconds
+     * @return the number of nanoseconds
+     */
+    private static long seconds(final long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+}
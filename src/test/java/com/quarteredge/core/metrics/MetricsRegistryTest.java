@@ -0,0 +1,94 @@
+package com.quarteredge.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link MetricsRegistry}, {@link LatencyHistogram} and {@link Metrics}.
+ *
+ * @see MetricsRegistry
+ */
+public class MetricsRegistryTest {
+    @Test
+    @DisplayName("LatencyHistogram should report percentiles within a quarter of the duration")
+    void testLatencyPercentiles() {
+        var histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000, histogram.getMaxNanos());
+        assertEquals(5_000.5, histogram.getMeanNanos(), 1e-9);
+        var median = histogram.getPercentile(0.5);
+        assertTrue(median >= 5_000 && median <= 6_250, "median " + median);
+        var p99 = histogram.getPercentile(0.99);
+        assertTrue(p99 >= 9_900 && p99 <= 10_000, "p99 " + p99);
+        assertEquals(1, histogram.getPercentile(0));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.5));
+    }
+
+    @Test
+    @DisplayName("counters and timers should not lose updates from concurrent threads")
+    void testConcurrentUpdates() throws InterruptedException {
+        var registry = new MetricsRegistry();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(
+                    Thread.ofPlatform()
+                            .start(
+                                    () -> {
+                                        for (int i = 0; i < 10_000; i++) {
+                                            registry.add(Counter.BARS, 1);
+                                            registry.record(Phase.STRATEGY_PUSH, i);
+                                        }
+                                    }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, registry.getCount(Counter.BARS));
+        assertEquals(40_000, registry.getTimer(Phase.STRATEGY_PUSH).getCount());
+        assertTrue(registry.getRate(Counter.BARS) > 0);
+
+        registry.reset();
+        assertEquals(0, registry.getCount(Counter.BARS));
+    }
+
+    @Test
+    @DisplayName("summary() and toJson() should list every counter and phase")
+    void testDumps() {
+        var registry = new MetricsRegistry();
+        registry.add(Counter.ORDERS, 3);
+        registry.record(Phase.UPDATE_ORDERS, 1_500);
+
+        var summary = registry.summary();
+        var json = registry.toJson();
+        assertTrue(json.startsWith("{\"counters\":{\"sessions\":{\"count\":0,"));
+        assertTrue(json.contains("\"orders\":{\"count\":3,"));
+        assertTrue(json.endsWith("}}"));
+        for (Phase phase : Phase.values()) {
+            assertTrue(summary.contains(phase.getLabel()));
+            assertTrue(json.contains("\"" + phase.getLabel() + "\":{\"calls\":"));
+        }
+        assertTrue(json.contains("\"BacktestSession.updateOrders\":{\"calls\":1,"));
+    }
+
+    @Test
+    @DisplayName("Metrics should record nothing unless enabled at startup")
+    void testDisabledByDefault() {
+        assertFalse(Metrics.ENABLED);
+        Metrics.increment(Counter.SESSIONS);
+        Metrics.stop(Phase.PARSE, Metrics.start());
+        assertEquals(0, Metrics.registry().getCount(Counter.SESSIONS));
+        assertEquals(0, Metrics.registry().getTimer(Phase.PARSE).getCount());
+    }
+}
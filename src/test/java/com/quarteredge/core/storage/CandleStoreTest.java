@@ -0,0 +1,153 @@
+package com.quarteredge.core.storage;
+
+import static com.quarteredge.util.CommonUtils.generateTestSession;
+import static com.quarteredge.util.CommonUtils.generateTestSessionMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.strategy.QuarterEdgeStrategy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link CandleRecorder} and {@link CandleStoreReader}.
+ *
+ * @see CandleRecorder
+ * @see CandleStoreReader
+ */
+public class CandleStoreTest {
+    /** Directory for the candle store files. */
+    @TempDir Path tempDir;
+
+    @Test
+    @DisplayName("reader should return the recorded sessions like the parser, and the open session")
+    void testRoundTrip() throws IOException {
+        var sessions = generateTestSessionMap();
+        var first = sessions.values().iterator().next();
+        var open = sessions.values().stream().skip(1).findFirst().orElseThrow().subList(0, 20);
+        var path = tempDir.resolve("bars.bin");
+        try (var recorder = CandleRecorder.open(path)) {
+            generateTestSession().forEach(recorder::append);
+            open.forEach(recorder::append);
+            assertEquals(generateTestSession().size() + open.size(), recorder.getRowCount());
+            assertEquals(sessions.size(), recorder.getSessionCount());
+        }
+
+        try (var reader = new CandleStoreReader(path)) {
+            assertEquals(sessions, reader.getSessionMap());
+            assertEquals(open, reader.getOpenSession());
+            assertEquals(sessions.size() + 1, reader.getBlockCount());
+            assertTrue(reader.isSealed(0));
+            assertFalse(reader.isSealed(sessions.size()));
+
+            var closes = reader.doubleColumn(CandleStoreColumn.CLOSE, 0);
+            var times = reader.intColumn(CandleStoreColumn.TIME, 0);
+            assertEquals(first.size(), closes.remaining());
+            for (int i = 0; i < first.size(); i++) {
+                assertEquals(first.get(i).close(), closes.get(i));
+                assertEquals(first.get(i).time().toSecondOfDay(), times.get(i));
+            }
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> reader.intColumn(CandleStoreColumn.CLOSE, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("a reader should see the rows appended while it is open, once refreshed")
+    void testReadsWhileRecording() throws IOException {
+        var candles = generateTestSession();
+        var path = tempDir.resolve("live.bin");
+        // small blocks, so that the file has to grow while the reader maps it
+        try (var recorder = CandleRecorder.open(path, 4);
+                var reader = new CandleStoreReader(path)) {
+            assertEquals(0, reader.size());
+            for (int i = 0; i < candles.size(); i++) {
+                recorder.append(candles.get(i));
+                if (i % 7 == 0) {
+                    assertEquals(i + 1, reader.refresh());
+                }
+            }
+            assertEquals(candles.size(), reader.refresh());
+            assertTrue(Files.size(path) > CandleRecorder.blockBytes(4) * 64L);
+
+            // the backtester runs on the recorded sessions as it would on the CSV file
+            for (var session : generateTestSessionMap().entrySet()) {
+                var expected = new BacktestSession(new QuarterEdgeStrategy(14), session.getValue());
+                expected.startSession();
+                var recorded =
+                        new BacktestSession(
+                                new QuarterEdgeStrategy(14),
+                                reader.getSessionMap().get(session.getKey()));
+                recorded.startSession();
+                assertEquals(expected.getOrders().size(), recorded.getOrders().size());
+                for (int i = 0; i < expected.getOrders().size(); i++) {
+                    var order = expected.getOrders().get(i);
+                    assertEquals(order.entry(), recorded.getOrders().get(i).entry());
+                    assertEquals(order.status(), recorded.getOrders().get(i).status());
+                    assertEquals(order.closeTime(), recorded.getOrders().get(i).closeTime());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("reopening after a crash should keep the committed rows and append after them")
+    void testRecoversAfterCrash() throws IOException {
+        var candles = generateTestSession();
+        var path = tempDir.resolve("crashed.bin");
+        int blockRows = 16;
+        int written = 40;
+        try (var recorder = CandleRecorder.open(path, blockRows)) {
+            candles.subList(0, written).forEach(recorder::append);
+        }
+        // a row written but not committed, and a torn header of the next block
+        int blockBytes = CandleRecorder.blockBytes(blockRows);
+        int last = CandleRecorder.HEADER_BYTES + 2 * blockBytes;
+        try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            var garbage = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.write(garbage.putLong(0, -1L), last + CandleRecorder.BLOCK_HEADER_BYTES + 64);
+            channel.write(
+                    ByteBuffer.allocate(Integer.BYTES).putInt(0, blockRows + 1),
+                    last + blockBytes);
+        }
+
+        List<Long> sizes = new ArrayList<>();
+        try (var recorder = CandleRecorder.open(path, blockRows)) {
+            assertEquals(written, recorder.getRowCount());
+            candles.subList(written, candles.size()).forEach(recorder::append);
+            sizes.add(recorder.getRowCount());
+        }
+        try (var reader = new CandleStoreReader(path)) {
+            sizes.add(reader.size());
+            assertEquals(generateTestSessionMap(), reader.getSessionMap());
+            assertTrue(reader.getOpenSession().isEmpty());
+        }
+        assertEquals(List.of((long) candles.size(), (long) candles.size()), sizes);
+    }
+
+    @Test
+    @DisplayName("opening a file that is not a candle store should throw")
+    void testRejectsOtherFiles() throws IOException {
+        var path = tempDir.resolve("bars.csv");
+        Files.writeString(path, "2025-09-22,18:00:00,1,2,3,4,5\n");
+        assertThrows(IllegalArgumentException.class, () -> new CandleStoreReader(path));
+        assertThrows(IllegalArgumentException.class, () -> CandleRecorder.open(path));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> CandleRecorder.open(tempDir.resolve("empty.bin"), 0));
+    }
+}
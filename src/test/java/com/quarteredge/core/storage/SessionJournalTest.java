@@ -0,0 +1,224 @@
+package com.quarteredge.core.storage;
+
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+import static com.quarteredge.util.CommonUtils.generateTestSession;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatsDTO;
+import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.strategy.MovingAverageCrossoverStrategy;
+import com.quarteredge.core.strategy.QuarterEdgeStrategy;
+import com.quarteredge.core.strategy.Strategy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link SessionJournal}.
+ *
+ * @see SessionJournal
+ */
+public class SessionJournalTest {
+    /** Directory for the journal files. */
+    @TempDir Path tempDir;
+
+    @Test
+    @DisplayName("replaying from the last snapshot should restore the exact strategy state")
+    void testRecoversStrategyState() throws IOException {
+        assertRecovers("quarter-edge.journal", () -> new QuarterEdgeStrategy(14));
+        assertRecovers(
+                "moving-average.journal", () -> new MovingAverageCrossoverStrategy(2, 5, 0.01));
+    }
+
+    @Test
+    @DisplayName("opening a journal should discard a torn record at its end")
+    void testDiscardsTornRecord() throws IOException {
+        var path = tempDir.resolve("torn.journal");
+        var candles = generateTestSession().subList(0, 10);
+        int lastRecord;
+        try (var journal = SessionJournal.open(path)) {
+            candles.subList(0, 9).forEach(journal::appendBar);
+            lastRecord = journal.size();
+            journal.appendBar(candles.get(9));
+        }
+        // flip a byte of the last record, as if the process died while writing it
+        try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F}), lastRecord + 12);
+        }
+
+        try (var journal = SessionJournal.open(path)) {
+            assertEquals(candles.subList(0, 9), bars(journal));
+            assertEquals(lastRecord, journal.size());
+            journal.appendBar(candles.get(9));
+        }
+        try (var journal = SessionJournal.open(path)) {
+            assertEquals(candles, bars(journal));
+        }
+    }
+
+    @Test
+    @DisplayName("snapshots should carry the open orders across a restart")
+    void testOpenOrders() throws IOException {
+        var path = tempDir.resolve("orders.journal");
+        var strategy = new QuarterEdgeStrategy(14);
+        try (var journal = SessionJournal.open(path)) {
+            journal.appendOrder(1, order(OrderStatus.PENDING));
+            journal.appendOrder(2, order(OrderStatus.ACTIVE));
+            journal.appendOrder(1, order(OrderStatus.CLOSED_CANCELED));
+            journal.snapshot(strategy);
+            journal.appendOrder(3, order(OrderStatus.PENDING));
+        }
+        try (var journal = SessionJournal.open(path)) {
+            assertEquals(List.of(2L, 3L), List.copyOf(journal.getOpenOrders().keySet()));
+            List<Long> replayed = new ArrayList<>();
+            var records =
+                    journal.replay(
+                            new JournalListener() {
+                                @Override
+                                public void onOrder(final long orderId, final OrderDTO order) {
+                                    replayed.add(orderId);
+                                }
+                            });
+            assertEquals(2, records);
+            assertEquals(List.of(2L, 3L), replayed);
+            assertEquals(3, journal.getLastOrderId());
+        }
+
+        // identifiers of orders closed before the snapshot must not be reused
+        var closed = tempDir.resolve("closed.journal");
+        try (var journal = SessionJournal.open(closed)) {
+            journal.appendOrder(1, order(OrderStatus.PENDING));
+            journal.appendOrder(1, order(OrderStatus.CLOSED_CANCELED));
+            journal.snapshot(strategy);
+        }
+        try (var journal = SessionJournal.open(closed)) {
+            assertEquals(Map.of(), journal.getOpenOrders());
+            assertEquals(1, journal.getLastOrderId());
+        }
+        var invalid = Files.writeString(tempDir.resolve("invalid.journal"), "not a journal file");
+        assertThrows(IllegalArgumentException.class, () -> SessionJournal.open(invalid));
+    }
+
+    /**
+     * Runs a strategy over the test session with a journal, then restores a second strategy from
+     * the journal and checks that both end up in the same state.
+     *
+     * @param fileName the name of the journal file
+     * @param factory creates the strategies
+     * @throws IOException if the journal could not be written
+     */
+    private void assertRecovers(final String fileName, final Supplier<Strategy> factory)
+            throws IOException {
+        var path = tempDir.resolve(fileName);
+        var live = factory.get();
+        var candles = generateTestSession();
+        try (var journal = SessionJournal.open(path)) {
+            for (int i = 0; i < candles.size(); i++) {
+                journal.appendBar(candles.get(i));
+                step(live, candles.get(i));
+                if (i % 100 == 99) {
+                    journal.snapshot((Snapshottable) live);
+                }
+            }
+        }
+
+        var recovered = factory.get();
+        try (var journal = SessionJournal.open(path)) {
+            var records =
+                    journal.replay(
+                            new JournalListener() {
+                                @Override
+                                public void onSnapshot(final ByteBuffer state) {
+                                    ((Snapshottable) recovered).readState(state);
+                                }
+
+                                @Override
+                                public void onBar(final CandleDTO candle) {
+                                    step(recovered, candle);
+                                }
+                            });
+            assertEquals(1 + candles.size() % 100, records);
+        }
+        assertArrayEquals(state(live), state(recovered));
+    }
+
+    /**
+     * Pushes a bar to a strategy and asks it for an order, like a live session does.
+     *
+     * @param strategy the strategy
+     * @param candle the bar
+     */
+    private static void step(final Strategy strategy, final CandleDTO candle) {
+        strategy.push(candle);
+        if (!candle.time().equals(FIRST_CANDLE_OPEN_TIME)) {
+            strategy.getStatus();
+        }
+    }
+
+    /**
+     * Returns the encoded state of a strategy.
+     *
+     * @param strategy the strategy
+     * @return the bytes of its state
+     */
+    private static byte[] state(final Strategy strategy) {
+        var buffer = ByteBuffer.allocate(1 << 16);
+        ((Snapshottable) strategy).writeState(buffer);
+        var bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns every bar of a journal.
+     *
+     * @param journal the journal
+     * @return the bars, in order
+     */
+    private static List<CandleDTO> bars(final SessionJournal journal) {
+        List<CandleDTO> bars = new ArrayList<>();
+        journal.replay(
+                new JournalListener() {
+                    @Override
+                    public void onBar(final CandleDTO candle) {
+                        bars.add(candle);
+                    }
+                });
+        return bars;
+    }
+
+    /**
+     * Creates a buy order with the given status.
+     *
+     * @param status the status of the order
+     * @return the order
+     */
+    private static OrderDTO order(final OrderStatus status) {
+        return new OrderDTO(
+                61.75,
+                62.5,
+                62.0,
+                -1,
+                Direction.BUY,
+                LocalTime.of(10, 35),
+                null,
+                status,
+                new OrderStatsDTO(62.0, 62.0));
+    }
+}
@@ -0,0 +1,142 @@
+package com.quarteredge.core.storage;
+
+import static com.quarteredge.util.CommonUtils.generateTestSessionMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.component.PerformanceAccumulator;
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderStatsDTO;
+import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.strategy.MovingAverageCrossoverStrategy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link TradeLedgerWriter} and {@link TradeLedgerReader}.
+ *
+ * @see TradeLedgerWriter
+ * @see TradeLedgerReader
+ */
+public class TradeLedgerTest {
+    /** Directory for the ledger files. */
+    @TempDir Path tempDir;
+
+    @Test
+    @DisplayName("reader should return every order written, across several blocks")
+    void testRoundTrip() throws IOException {
+        var path = tempDir.resolve("ledger.bin");
+        List<String> dates = new ArrayList<>();
+        List<OrderDTO> orders = new ArrayList<>();
+        var strategy = new MovingAverageCrossoverStrategy(2, 5, 0.01);
+        try (var writer = new TradeLedgerWriter(path, 0.01, 3)) {
+            for (var session : generateTestSessionMap().entrySet()) {
+                var backtestSession = new BacktestSession(strategy, session.getValue());
+                backtestSession.startSession();
+                writer.writeSession(session.getKey(), backtestSession.getOrders());
+                for (OrderDTO order : backtestSession.getOrders()) {
+                    dates.add(session.getKey());
+                    orders.add(order);
+                }
+            }
+            assertEquals(orders.size(), writer.getRowCount());
+        }
+        assertTrue(orders.size() > 3, "test needs more than one block");
+
+        try (var reader = new TradeLedgerReader(path)) {
+            assertEquals(orders.size(), reader.size());
+            assertEquals(Math.ceilDiv(orders.size(), 3), reader.getBlockCount());
+            for (int row = 0; row < orders.size(); row++) {
+                var order = orders.get(row);
+                assertEquals(LocalDate.parse(dates.get(row)), reader.getSessionDate(row));
+                assertEquals(order.direction(), reader.getDirection(row));
+                assertEquals(order.status(), reader.getStatus(row));
+                assertEquals(order.entry(), reader.getPrice(TradeLedgerColumn.ENTRY, row), 1e-9);
+                assertEquals(order.SL(), reader.getPrice(TradeLedgerColumn.STOP_LOSS, row), 1e-9);
+                assertEquals(
+                        order.closePrice(), reader.getPrice(TradeLedgerColumn.CLOSE, row), 1e-9);
+                assertEquals(order.startTime(), reader.getTime(TradeLedgerColumn.OPEN_TIME, row));
+                assertEquals(
+                        order.closeTime(), reader.getTime(TradeLedgerColumn.CLOSE_TIME, row));
+                if (order.status() != OrderStatus.CLOSED_CANCELED) {
+                    assertEquals(
+                            PerformanceAccumulator.getRMultiple(order),
+                            reader.getDouble(TradeLedgerColumn.R, row));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("column views should expose the values of each block without copying")
+    void testColumnViews() throws IOException {
+        var path = tempDir.resolve("columns.bin");
+        try (var writer = new TradeLedgerWriter(path, 0.01, 4)) {
+            for (int i = 0; i < 10; i++) {
+                writer.write("2025-09-22", order(60 + i));
+            }
+        }
+        try (var reader = new TradeLedgerReader(path)) {
+            assertEquals(3, reader.getBlockCount());
+            assertEquals(2, reader.getBlockRows(2));
+            int row = 0;
+            for (int block = 0; block < reader.getBlockCount(); block++) {
+                var entries = reader.intColumn(TradeLedgerColumn.ENTRY, block);
+                var r = reader.doubleColumn(TradeLedgerColumn.R, block);
+                assertEquals(reader.getBlockRows(block), entries.remaining());
+                assertEquals(reader.getFirstRow(block), row);
+                for (int i = 0; i < entries.remaining(); i++, row++) {
+                    assertEquals(6000 + row * 100, entries.get(i));
+                    assertEquals(2.0, r.get(i), 1e-9);
+                }
+            }
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> reader.doubleColumn(TradeLedgerColumn.ENTRY, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.getDirection(10));
+        }
+    }
+
+    @Test
+    @DisplayName("reader should accept an empty ledger and reject other files")
+    void testEmptyAndInvalid() throws IOException {
+        var path = tempDir.resolve("empty.bin");
+        new TradeLedgerWriter(path).close();
+        try (var reader = new TradeLedgerReader(path)) {
+            assertEquals(0, reader.size());
+            assertEquals(0, reader.getBlockCount());
+        }
+        var invalid = Files.writeString(tempDir.resolve("invalid.bin"), "not a trade ledger file");
+        assertThrows(IllegalArgumentException.class, () -> new TradeLedgerReader(invalid));
+    }
+
+    /**
+     * Creates a buy order that hit its take profit at twice its risk.
+     *
+     * @param entry the entry price
+     * @return the order
+     */
+    private static OrderDTO order(final double entry) {
+        return new OrderDTO(
+                entry - 0.5,
+                entry + 1,
+                entry,
+                entry + 1,
+                Direction.BUY,
+                LocalTime.of(10, 0),
+                LocalTime.of(10, 30),
+                OrderStatus.CLOSED_TP_HIT,
+                new OrderStatsDTO(entry + 1, entry - 0.2));
+    }
+}
@@ -0,0 +1,52 @@
+package com.quarteredge.service;
+
+import static com.quarteredge.util.CommonUtils.generateTestSessions;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.quarteredge.core.model.ParameterRangeDTO;
+import com.quarteredge.core.service.ExitSweepService;
+import com.quarteredge.core.service.SweepService;
+import com.quarteredge.core.strategy.QuarterEdgeParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ExitSweepService}.
+ *
+ * @see ExitSweepService
+ */
+public class ExitSweepServiceTest {
+    /** Number of sessions built from the repeated test sessions. */
+    private static final int SESSION_COUNT = 6;
+
+    /**
+     * The sweep service holding the repeated test sessions. It skips the equity curve, which
+     * the exit sweep does not mark, so that its results compare equal to full runs.
+     */
+    private final SweepService sweepService =
+            new SweepService(generateTestSessions(SESSION_COUNT), 2, 0);
+
+    @Test
+    @DisplayName("run() should match a full sweep over the same exit grid")
+    void testRunMatchesFullSweep() {
+        var atrPeriods = new ParameterRangeDTO(2, 14, 6);
+        var stopLosses = new ParameterRangeDTO(0.25, 3, 0.25);
+        var takeProfits = new ParameterRangeDTO(0.25, 4, 0.25);
+        var expected =
+                sweepService.run(QuarterEdgeParameters.grid(atrPeriods, stopLosses, takeProfits));
+        var actual = new ExitSweepService(sweepService).run(atrPeriods, stopLosses, takeProfits);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("run() should match a full sweep when levels are touched on the same candle")
+    void testRunMatchesFullSweepWithTightLevels() {
+        var atrPeriods = ParameterRangeDTO.of(3);
+        var stopLosses = new ParameterRangeDTO(0.01, 0.2, 0.01);
+        var takeProfits = new ParameterRangeDTO(0.01, 0.2, 0.01);
+        var expected =
+                sweepService.run(QuarterEdgeParameters.grid(atrPeriods, stopLosses, takeProfits));
+        var actual = new ExitSweepService(sweepService).run(atrPeriods, stopLosses, takeProfits);
+        assertEquals(expected, actual);
+    }
+}
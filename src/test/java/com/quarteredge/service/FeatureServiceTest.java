@@ -0,0 +1,192 @@
+package com.quarteredge.service;
+
+import static com.quarteredge.core.util.Constants.RDR_SESSION_END_TIME;
+import static com.quarteredge.core.util.Constants.RDR_SESSION_START_TIME;
+import static com.quarteredge.util.CommonUtils.generateSyntheticSessions;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.component.FeatureExtractor;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.TradeFeaturesDTO;
+import com.quarteredge.core.service.FeatureService;
+import com.quarteredge.core.storage.FeatureColumn;
+import com.quarteredge.core.storage.FeatureReader;
+import com.quarteredge.core.storage.TradeLedgerColumn;
+import com.quarteredge.core.storage.TradeLedgerReader;
+import com.quarteredge.core.strategy.QuarterEdgeParameters;
+import com.quarteredge.core.strategy.QuarterEdgeStrategy;
+import com.quarteredge.core.strategy.Strategy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link FeatureService} and {@link FeatureExtractor}.
+ *
+ * @see FeatureService
+ * @see FeatureExtractor
+ */
+public class FeatureServiceTest {
+    /** The number of untimed runs of each variant that let the JIT compile both. */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /** The number of timed runs of each variant, of which the fastest counts. */
+    private static final int TIMING_ROUNDS = 15;
+
+    /** The largest share of the backtest time that feature extraction may add. */
+    private static final double MAX_OVERHEAD = 0.10;
+
+    /** Directory for the generated data, ledger and feature files. */
+    @TempDir Path tempDir;
+
+    @Test
+    @DisplayName("run() should write one feature row per ledger row, matching a sequential run")
+    void testFeaturesAlignWithLedger() throws IOException {
+        var sessions = generateSyntheticSessions(tempDir, 60);
+        var parameters = new QuarterEdgeParameters(14, 1, 2);
+        var ledgerPath = tempDir.resolve("ledger.bin");
+        var featurePath = tempDir.resolve("features.bin");
+        long rows = new FeatureService(sessions, 4).run(parameters, ledgerPath, featurePath);
+
+        // a sequential run, on a new strategy instance for every session
+        List<String> dates = new ArrayList<>();
+        List<OrderDTO> orders = new ArrayList<>();
+        List<TradeFeaturesDTO> expected = new ArrayList<>();
+        for (var session : sessions.entrySet()) {
+            var extractor = new FeatureExtractor(new QuarterEdgeStrategy(14, 1, 2));
+            var backtestSession = new BacktestSession(extractor, session.getValue());
+            backtestSession.startSession();
+            for (OrderDTO order : backtestSession.getOrders()) {
+                dates.add(session.getKey());
+                orders.add(order);
+            }
+            expected.addAll(extractor.getFeatures());
+        }
+        assertEquals(orders.size(), expected.size());
+        assertEquals(orders.size(), rows);
+        assertTrue(rows > 10, "test needs several orders");
+
+        try (var ledger = new TradeLedgerReader(ledgerPath);
+                var features = new FeatureReader(featurePath)) {
+            assertEquals(ledger.size(), features.size());
+            assertEquals(ledger.getBlockCount(), features.getBlockCount());
+            for (int row = 0; row < orders.size(); row++) {
+                var order = orders.get(row);
+                var feature = features.getFeatures(row);
+                assertEquals(LocalDate.parse(dates.get(row)), features.getSessionDate(row));
+                assertEquals(ledger.getSessionDate(row), features.getSessionDate(row));
+                assertEquals(order.entry(), ledger.getPrice(TradeLedgerColumn.ENTRY, row), 1e-9);
+                assertEquals(expected.get(row), feature);
+
+                assertEquals(Math.abs(order.entry() - order.SL()), feature.atr(), 1e-9);
+                assertTrue(feature.drWidth() >= feature.idrWidth());
+                assertTrue(feature.idrWidth() >= 0);
+                assertFalse(feature.breakoutTime().isBefore(RDR_SESSION_END_TIME));
+                assertTrue(feature.quarterDistance() >= 0 && feature.quarterDistance() <= 0.125);
+                assertTrue(feature.preBreakoutVolume() > 0);
+            }
+            var atrs = features.doubleColumn(FeatureColumn.ATR, 0);
+            assertEquals(features.getBlockRows(0), atrs.remaining());
+            assertEquals(expected.getFirst().atr(), atrs.get(0));
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> features.intColumn(FeatureColumn.ATR, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("the pre-breakout volume should add up the bars before the breakout bar")
+    void testPreBreakoutVolume() {
+        var sessions = generateSyntheticSessions(tempDir, 10);
+        var extractor = new FeatureExtractor(new QuarterEdgeStrategy(14));
+        for (List<CandleDTO> candles : sessions.values()) {
+            var backtestSession = new BacktestSession(extractor, candles);
+            backtestSession.startSession();
+            if (backtestSession.getOrders().isEmpty()) {
+                continue;
+            }
+            var feature = extractor.getFeatures().getLast();
+            double volume = 0;
+            for (CandleDTO candle : candles) {
+                if (!candle.time().isBefore(RDR_SESSION_START_TIME)
+                        && candle.time().isBefore(feature.breakoutTime())) {
+                    volume += candle.volume();
+                }
+            }
+            assertEquals(volume, feature.preBreakoutVolume(), 1e-6);
+        }
+        assertFalse(extractor.getFeatures().isEmpty());
+    }
+
+    @Test
+    @DisplayName("extracting the features should add less than 10% to the backtest time")
+    void testExtractionOverhead() {
+        var sessions = generateSyntheticSessions(tempDir, 60).values();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            backtestNanos(sessions, false);
+            backtestNanos(sessions, true);
+        }
+        var plain = Long.MAX_VALUE;
+        var extracted = Long.MAX_VALUE;
+        for (int i = 0; i < TIMING_ROUNDS; i++) {
+            plain = Math.min(plain, backtestNanos(sessions, false));
+            extracted = Math.min(extracted, backtestNanos(sessions, true));
+        }
+        var overhead = (double) extracted / plain - 1;
+        assertTrue(
+                overhead < MAX_OVERHEAD,
+                String.format("feature extraction added %.1f%%", overhead * 100));
+    }
+
+    @Test
+    @DisplayName("run() should write the same files whatever the number of worker threads")
+    void testIndependentOfParallelism() throws IOException {
+        var sessions = generateSyntheticSessions(tempDir, 30);
+        var parameters = new QuarterEdgeParameters(10, 1, 1);
+        new FeatureService(sessions, 1)
+                .run(parameters, tempDir.resolve("l1.bin"), tempDir.resolve("f1.bin"));
+        new FeatureService(sessions, 3)
+                .run(parameters, tempDir.resolve("l3.bin"), tempDir.resolve("f3.bin"));
+        assertEquals(-1, Files.mismatch(tempDir.resolve("l1.bin"), tempDir.resolve("l3.bin")));
+        assertEquals(-1, Files.mismatch(tempDir.resolve("f1.bin"), tempDir.resolve("f3.bin")));
+    }
+
+    @Test
+    @DisplayName("opening a file that is not a feature file should throw")
+    void testRejectsOtherFiles() throws IOException {
+        var path = tempDir.resolve("ledger.bin");
+        new FeatureService(generateSyntheticSessions(tempDir, 2), 1)
+                .run(new QuarterEdgeParameters(14, 1, 1), path, tempDir.resolve("features.bin"));
+        assertThrows(IllegalArgumentException.class, () -> new FeatureReader(path));
+    }
+
+    /**
+     * Backtests every session on a new strategy instance and measures the time it took.
+     *
+     * @param sessions the candles of every session
+     * @param extract whether to wrap the strategy in a {@link FeatureExtractor}
+     * @return the elapsed time in nanoseconds
+     */
+    private static long backtestNanos(
+            final Collection<List<CandleDTO>> sessions, final boolean extract) {
+        var start = System.nanoTime();
+        for (List<CandleDTO> candles : sessions) {
+            var strategy = new QuarterEdgeStrategy(14, 1, 2);
+            Strategy tested = extract ? new FeatureExtractor(strategy) : strategy;
+            new BacktestSession(tested, candles).startSession();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,84 @@
+package com.quarteredge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.model.ResamplingMode;
+import com.quarteredge.core.service.MonteCarloService;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link MonteCarloService}.
+ *
+ * @see MonteCarloService
+ */
+public class MonteCarloServiceTest {
+    /** Session results alternating between a 2R win and a 1R loss. */
+    private final double[] results = {2, -1, 2, -1, -1, 2, -1, 2};
+
+    @Test
+    @DisplayName("run() should keep the final equity of every permuted path")
+    void testPermutationKeepsFinalEquity() {
+        var result = new MonteCarloService(results, 2).run(5_000, ResamplingMode.PERMUTATION, 7);
+        assertEquals(result.finalEquity().p1(), result.finalEquity().p99(), 1e-6);
+        assertEquals(result.sharpeRatio().p1(), result.sharpeRatio().p99(), 1e-9);
+        assertTrue(result.longestLosingStreak().p99() >= result.longestLosingStreak().p1());
+        assertTrue(result.longestLosingStreak().p99() <= 4);
+    }
+
+    @Test
+    @DisplayName("run() should only depend on the seed and not on the number of workers")
+    void testDeterministicAcrossParallelism() {
+        var single = new MonteCarloService(results, 1).run(10_000, ResamplingMode.BOOTSTRAP, 42);
+        var parallel = new MonteCarloService(results, 4).run(10_000, ResamplingMode.BOOTSTRAP, 42);
+        assertEquals(single, parallel);
+    }
+
+    @Test
+    @DisplayName("run() should report losing streaks and drawdowns of an all-losing sequence")
+    void testAllLosses() {
+        var result =
+                new MonteCarloService(new double[] {-1, -1, -1}, 2)
+                        .run(100, ResamplingMode.BOOTSTRAP, 1);
+        assertEquals(3, result.longestLosingStreak().p50());
+        assertEquals(10_000 - 10_000 * Math.pow(0.99, 3), result.maxDrawdown().p50(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("run() should report a zero Sharpe ratio for paths without a return spread")
+    void testSharpeWithoutSpread() {
+        var single =
+                new MonteCarloService(new double[] {2}, 1).run(10, ResamplingMode.BOOTSTRAP, 5);
+        assertEquals(0, single.sharpeRatio().p50());
+        var flat =
+                new MonteCarloService(new double[] {-1, -1, -1}, 1)
+                        .run(10, ResamplingMode.PERMUTATION, 5);
+        assertEquals(0, flat.sharpeRatio().p99());
+    }
+
+    @Test
+    @DisplayName("run() should resample 100k paths of 5,000 sessions in seconds")
+    void testLargeRun() {
+        var random = new SplittableRandom(3);
+        var large = new double[5_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = random.nextBoolean() ? 1.5 : -1;
+        }
+        long start = System.nanoTime();
+        var result = new MonteCarloService(large).run(100_000, ResamplingMode.BOOTSTRAP, 11);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(100_000, result.paths());
+        assertTrue(elapsedMillis < 20_000, "took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("run() should reject an empty set of session results")
+    void testEmptyResults() {
+        var service = new MonteCarloService(new double[0]);
+        assertThrows(
+                IllegalArgumentException.class, () -> service.run(1, ResamplingMode.BOOTSTRAP, 1));
+    }
+}
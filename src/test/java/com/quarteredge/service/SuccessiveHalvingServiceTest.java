@@ -0,0 +1,80 @@
+package com.quarteredge.service;
+
+import static com.quarteredge.util.CommonUtils.generateTestSessions;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.model.ParameterRangeDTO;
+import com.quarteredge.core.model.SuccessiveHalvingConfigDTO;
+import com.quarteredge.core.model.SweepResultDTO;
+import com.quarteredge.core.service.SuccessiveHalvingService;
+import com.quarteredge.core.service.SweepService;
+import com.quarteredge.core.strategy.QuarterEdgeParameters;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SuccessiveHalvingService}.
+ *
+ * @see SuccessiveHalvingService
+ */
+public class SuccessiveHalvingServiceTest {
+    /** Number of sessions built from the repeated test sessions. */
+    private static final int SESSION_COUNT = 8;
+
+    /** The candidate grid, holding 12 configurations. */
+    private final List<QuarterEdgeParameters> grid =
+            QuarterEdgeParameters.grid(
+                    new ParameterRangeDTO(2, 8, 2),
+                    ParameterRangeDTO.of(1),
+                    new ParameterRangeDTO(0.5, 1.5, 0.5));
+
+    /**
+     * The sweep service holding the repeated test sessions. It skips the equity curve, which
+     * successive halving does not mark, so that its results compare equal to full runs.
+     */
+    private final SweepService sweepService =
+            new SweepService(generateTestSessions(SESSION_COUNT), 2, 0);
+
+    @Test
+    @DisplayName("run() should halve the candidates until the survivors have seen every session")
+    void testHalving() {
+        var result =
+                new SuccessiveHalvingService(
+                                sweepService,
+                                new SuccessiveHalvingConfigDTO(1, 2, Double.POSITIVE_INFINITY))
+                        .run(grid);
+        assertEquals(4, result.rounds());
+        assertEquals(2, result.survivors().size());
+        assertEquals(0, result.aborted());
+        // 12 x 1 + 6 x 1 + 3 x 2 + 2 x 4 sessions
+        assertEquals(32, result.sessionsSimulated());
+        assertTrue(result.sessionsSimulated() < (long) grid.size() * SESSION_COUNT);
+    }
+
+    @Test
+    @DisplayName("run() should report the same metrics as a full run for the survivors")
+    void testSurvivorsMatchFullRun() {
+        var result =
+                new SuccessiveHalvingService(
+                                sweepService,
+                                new SuccessiveHalvingConfigDTO(2, 3, Double.POSITIVE_INFINITY))
+                        .run(grid);
+        for (SweepResultDTO survivor : result.survivors()) {
+            assertEquals(sweepService.evaluate(survivor.parameters()), survivor);
+        }
+    }
+
+    @Test
+    @DisplayName("run() should abort candidates whose running drawdown crosses the threshold")
+    void testDrawdownAbort() {
+        var result =
+                new SuccessiveHalvingService(sweepService, new SuccessiveHalvingConfigDTO(4, 2, 0))
+                        .run(grid);
+        assertTrue(result.aborted() > 0);
+        for (SweepResultDTO survivor : result.survivors()) {
+            assertEquals(0, survivor.performance().maxDrawdown());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.quarteredge.service;
+
+import static com.quarteredge.util.CommonUtils.generateTestSessionMap;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.ParameterRangeDTO;
+import com.quarteredge.core.model.SweepResultDTO;
+import com.quarteredge.core.service.PerformanceService;
+import com.quarteredge.core.service.SweepService;
+import com.quarteredge.core.strategy.MovingAverageCrossoverParameters;
+import com.quarteredge.core.strategy.QuarterEdgeParameters;
+import com.quarteredge.core.strategy.Strategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SweepService}.
+ *
+ * @see SweepService
+ * @see ParameterRangeDTO
+ */
+public class SweepServiceTest {
+    /** The parsed test sessions shared by every run. */
+    private final Map<String, List<CandleDTO>> sessions = generateTestSessionMap();
+
+    @Test
+    @DisplayName("values() should expand an inclusive range without drift")
+    void testParameterRangeValues() {
+        assertArrayEquals(
+                new double[] {0.5, 0.75, 1.0, 1.25, 1.5},
+                new ParameterRangeDTO(0.5, 1.5, 0.25).values());
+        assertArrayEquals(new double[] {14}, ParameterRangeDTO.of(14).values());
+        assertThrows(IllegalArgumentException.class, () -> new ParameterRangeDTO(1, 0, 1));
+    }
+
+    @Test
+    @DisplayName("grid() should skip moving average pairs where fast is not shorter than slow")
+    void testMovingAverageGrid() {
+        var grid =
+                MovingAverageCrossoverParameters.grid(
+                        new ParameterRangeDTO(2, 4, 1),
+                        new ParameterRangeDTO(3, 5, 1),
+                        ParameterRangeDTO.of(.01));
+        assertEquals(6, grid.size());
+    }
+
+    @Test
+    @DisplayName("run() should return one result per configuration in grid order")
+    void testRunKeepsGridOrder() {
+        var grid =
+                QuarterEdgeParameters.grid(
+                        new ParameterRangeDTO(2, 14, 4),
+                        new ParameterRangeDTO(0.5, 1.5, 0.5),
+                        new ParameterRangeDTO(1, 2, 0.5));
+        var results = new SweepService(sessions, 4).run(grid);
+        assertEquals(grid.size(), results.size());
+        for (int i = 0; i < grid.size(); i++) {
+            assertEquals(grid.get(i), results.get(i).parameters());
+        }
+    }
+
+    @Test
+    @DisplayName("run() should produce the same metrics as a sequential backtest")
+    void testRunMatchesSequentialBacktest() {
+        var grid =
+                QuarterEdgeParameters.grid(
+                        new ParameterRangeDTO(2, 6, 2),
+                        ParameterRangeDTO.of(1),
+                        new ParameterRangeDTO(1, 2, 1));
+        var streamed = new ArrayList<SweepResultDTO>();
+        new SweepService(sessions, 3).run(grid, streamed::add);
+        assertEquals(grid.size(), streamed.size());
+        for (SweepResultDTO result : streamed) {
+            var expected =
+                    new PerformanceService(backtest(result.parameters().createStrategy()))
+                            .calculateMetrics();
+            assertEquals(expected, result.performance());
+        }
+    }
+
+    @Test
+    @DisplayName("run() should report the drawdown inside sessions that the performance misses")
+    void testRunReportsBarDrawdown() {
+        var grid =
+                MovingAverageCrossoverParameters.grid(
+                        new ParameterRangeDTO(2, 4, 1),
+                        new ParameterRangeDTO(5, 9, 2),
+                        ParameterRangeDTO.of(.01));
+        var sweepService = new SweepService(sessions, 2);
+        var results = sweepService.run(grid);
+
+        var deeper = 0;
+        for (SweepResultDTO result : results) {
+            var sessionDrawdown = result.performance().maxDrawdown();
+            assertTrue(result.barMaxDrawdown() >= sessionDrawdown - 1e-9);
+            assertEquals(
+                    sweepService.equityCurve(result.parameters(), 1).getMaxDrawdown(),
+                    result.barMaxDrawdown());
+            if (result.barMaxDrawdown() > sessionDrawdown + 1e-9) {
+                deeper++;
+            }
+        }
+        assertTrue(deeper > 0, "no run had a drawdown inside a session");
+
+        var untracked = new SweepService(sessions, 2, 0).run(grid.subList(0, 1));
+        assertTrue(Double.isNaN(untracked.getFirst().barMaxDrawdown()));
+        assertEquals(results.getFirst().performance(), untracked.getFirst().performance());
+    }
+
+    private List<List<OrderDTO>> backtest(final Strategy strategy) {
+        List<List<OrderDTO>> orders = new ArrayList<>();
+        for (List<CandleDTO> candles : sessions.values()) {
+            var session = new BacktestSession(strategy, candles);
+            session.startSession();
+            orders.add(session.getOrders());
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,388 @@
+package com.quarteredge.service;
+
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+import static com.quarteredge.util.CommonUtils.generateSyntheticSessions;
+import static com.quarteredge.util.CommonUtils.generateTestSession;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.live.OrderIntentConsumer;
+import com.quarteredge.core.live.ReplayServer;
+import com.quarteredge.core.live.SimulatedExchange;
+import com.quarteredge.core.model.BackpressurePolicy;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.Direction;
+import com.quarteredge.core.model.ExecutionType;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.OrderIntentDTO;
+import com.quarteredge.core.model.OrderStatsDTO;
+import com.quarteredge.core.model.OrderStatus;
+import com.quarteredge.core.service.TradingService;
+import com.quarteredge.core.storage.SessionJournal;
+import com.quarteredge.core.strategy.MovingAverageCrossoverStrategy;
+import com.quarteredge.core.strategy.QuarterEdgeStrategy;
+import com.quarteredge.core.strategy.Strategy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link TradingService}.
+ *
+ * @see TradingService
+ */
+public class TradingServiceTest {
+    /** The time the slow strategy takes for every bar. */
+    private static final long SLOW_BAR_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    /** Directory for the journal files. */
+    @TempDir Path tempDir;
+
+    @Test
+    @DisplayName("a live run over a replayed feed should create the same orders as a backtest")
+    void testMatchesBacktest() throws InterruptedException {
+        var candles = generateTestSession();
+        var backtest = new BacktestSession(new MovingAverageCrossoverStrategy(2, 5, 0.01), candles);
+        backtest.startSession();
+
+        List<OrderIntentDTO> intents = new ArrayList<>();
+        try (var service =
+                new TradingService(new MovingAverageCrossoverStrategy(2, 5, 0.01), 64).start()) {
+            var feed =
+                    new ReplayServer(List.of(candles), ReplayServer.MAX_SPEED)
+                            .start(service::onBar);
+            while (feed.isAlive() || service.getProcessedBars() < candles.size()) {
+                service.drainIntents(intents::add);
+                Thread.yield();
+            }
+            feed.join();
+            service.drainIntents(intents::add);
+
+            assertEquals(candles.size(), service.getProcessedBars());
+            assertEquals(intents.size(), service.getIntentLatency().getCount());
+            assertTrue(service.report().contains("Intent Latency p50/p99/max (us)"));
+        }
+
+        var orders = backtest.getOrders();
+        assertEquals(orders.size(), intents.size());
+        for (int i = 0; i < orders.size(); i++) {
+            var expected = orders.get(i);
+            var actual = intents.get(i).order();
+            assertEquals(expected.entry(), actual.entry());
+            assertEquals(expected.direction(), actual.direction());
+            assertEquals(expected.SL(), actual.SL());
+            assertTrue(intents.get(i).latencyNanos() >= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("close() should process every pending bar and report a failing strategy")
+    void testCloseDrainsAndReportsFailure() {
+        var pushed = new ArrayList<CandleDTO>();
+        var service = new TradingService(recording(pushed, false), 8);
+        var candles = generateTestSession().subList(0, 5);
+        candles.forEach(service::onBar);
+        service.start().close();
+        assertEquals(candles, pushed);
+        assertNull(service.pollIntent());
+
+        var failing = new TradingService(recording(new ArrayList<>(), true), 8).start();
+        failing.onBar(candles.getFirst());
+        assertThrows(IllegalStateException.class, failing::close);
+    }
+
+    @Test
+    @DisplayName("a restarted service should recover from its journal and continue like before")
+    void testRecoversFromJournal() throws IOException {
+        var candles =
+                generateSyntheticSessions(tempDir, 8).values().stream()
+                        .flatMap(List::stream)
+                        .toList();
+        var path = tempDir.resolve("session.journal");
+        int restartAt = candles.size() * 2 / 3;
+        List<OrderIntentDTO> before = new ArrayList<>();
+        Set<Long> open = new LinkedHashSet<>();
+        try (var journal = SessionJournal.open(path);
+                var service =
+                        new TradingService(new QuarterEdgeStrategy(14), 64)
+                                .withJournal(journal, 50)
+                                .start()) {
+            // the router closes every other order as soon as it is filled
+            var exchange =
+                    new SimulatedExchange(
+                            Duration.ZERO,
+                            report -> {
+                                service.onExecutionReport(report);
+                                var id = report.clientOrderId();
+                                if (report.type() == ExecutionType.CANCEL) {
+                                    open.remove(id);
+                                } else if (report.type() == ExecutionType.FILL && id % 2 == 0) {
+                                    service.onOrderUpdate(id, closed(report.order()));
+                                    open.remove(id);
+                                }
+                            });
+            for (int i = 0; i < restartAt; i++) {
+                exchange.onBar(candles.get(i));
+                service.onBar(candles.get(i));
+                while (service.getProcessedBars() <= i) {
+                    Thread.yield();
+                }
+                service.drainIntents(
+                        intent -> {
+                            before.add(intent);
+                            open.add(intent.clientOrderId());
+                            exchange.submit(intent);
+                        });
+            }
+        }
+        assertTrue(before.size() > open.size(), "test needs closed orders");
+        assertFalse(open.isEmpty(), "test needs open orders");
+
+        List<OrderIntentDTO> after = new ArrayList<>();
+        try (var journal = SessionJournal.open(path);
+                var service =
+                        new TradingService(new QuarterEdgeStrategy(14), 64)
+                                .withJournal(journal, 50)) {
+            var recovery = service.recover();
+            assertEquals(restartAt % 50, recovery.replayedBars());
+            assertEquals(open, recovery.openOrders().keySet());
+            assertTrue(recovery.elapsedNanos() < TimeUnit.MILLISECONDS.toNanos(100));
+            service.start();
+            candles.subList(restartAt, candles.size()).forEach(service::onBar);
+            while (service.getProcessedBars() < candles.size() - restartAt) {
+                Thread.yield();
+            }
+            service.drainIntents(after::add);
+        }
+
+        var backtest = new BacktestSession(new QuarterEdgeStrategy(14), candles);
+        backtest.startSession();
+        var orders = backtest.getOrders();
+        assertEquals(orders.size(), before.size() + after.size());
+        for (int i = 0; i < after.size(); i++) {
+            var expected = orders.get(before.size() + i);
+            assertEquals(expected.entry(), after.get(i).order().entry());
+            assertEquals(expected.direction(), after.get(i).order().direction());
+            // identifiers continue after the orders closed before the last snapshot
+            assertEquals(before.size() + i + 1, after.get(i).clientOrderId());
+        }
+    }
+
+    @Test
+    @DisplayName("a full intent ring should make the strategy wait instead of dropping orders")
+    void testWaitsForSlowConsumer() throws InterruptedException {
+        var candles = generateTestSession().subList(0, 40);
+        try (var service = new TradingService(ordering(), 4).start()) {
+            var feed = Thread.ofPlatform().start(() -> candles.forEach(service::onBar));
+            while (service.getBlockedIntents() == 0) {
+                Thread.yield();
+            }
+            // take the intents straight from the ring slots, which the strategy keeps reusing
+            List<OrderIntentDTO> intents = new ArrayList<>();
+            OrderIntentConsumer consumer =
+                    (clientOrderId, order, barReceivedNanos, intentNanos) ->
+                            intents.add(
+                                    new OrderIntentDTO(
+                                            clientOrderId, order, barReceivedNanos, intentNanos));
+            while (feed.isAlive() || service.getProcessedBars() < candles.size()) {
+                service.drainIntents(consumer);
+                Thread.yield();
+            }
+            feed.join();
+            service.drainIntents(consumer);
+
+            var expected =
+                    candles.stream().filter(c -> !c.time().equals(FIRST_CANDLE_OPEN_TIME)).toList();
+            assertEquals(expected.size(), intents.size());
+            for (int i = 0; i < intents.size(); i++) {
+                var intent = intents.get(i);
+                assertEquals(i + 1, intent.clientOrderId());
+                assertEquals(expected.get(i).close(), intent.order().entry());
+                assertTrue(intent.latencyNanos() >= 0);
+            }
+            assertTrue(service.report().contains("(blocked: "));
+        }
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST should keep the feed running past a slow strategy")
+    void testDropsBarsForSlowStrategy() {
+        var candles = generateTestSession();
+        var pushed = new ArrayList<CandleDTO>();
+        try (var service =
+                new TradingService(slow(pushed), 8, BackpressurePolicy.DROP_OLDEST).start()) {
+            var start = System.nanoTime();
+            candles.forEach(service::onBar);
+            var feedNanos = System.nanoTime() - start;
+            while (service.getProcessedBars() + service.getDroppedBars() < candles.size()) {
+                Thread.yield();
+            }
+
+            assertTrue(service.getDroppedBars() > 0);
+            assertTrue(feedNanos < candles.size() * SLOW_BAR_NANOS);
+            assertTrue(service.report().contains("policy: DROP_OLDEST"));
+        }
+        assertEquals(candles.getLast(), pushed.getLast());
+        for (int i = 1; i < pushed.size(); i++) {
+            assertTrue(candles.indexOf(pushed.get(i)) > candles.indexOf(pushed.get(i - 1)));
+        }
+    }
+
+    @Test
+    @DisplayName("COALESCE should hand a slow strategy the latest update of every bar")
+    void testCoalescesPartialBars() {
+        var candles = generateTestSession().subList(0, 60);
+        var pushed = new ArrayList<CandleDTO>();
+        int updates = 0;
+        try (var service =
+                new TradingService(slow(pushed), 16, BackpressurePolicy.COALESCE).start()) {
+            for (CandleDTO candle : candles) {
+                for (int i = 1; i < 5; i++) {
+                    service.onBar(partial(candle, i));
+                    updates++;
+                }
+                service.onBar(candle);
+                updates++;
+            }
+            while (service.getProcessedBars() + service.getMergedBars() < updates) {
+                Thread.yield();
+            }
+
+            assertTrue(service.getMergedBars() > 0);
+            assertEquals(0, service.getDroppedBars());
+            assertEquals(service.getProcessedBars(), service.getQueueLag().getCount());
+        }
+        // the final update of a bar is never merged, since the next update belongs to a later bar
+        assertEquals(candles, pushed.stream().filter(candles::contains).toList());
+    }
+
+    /**
+     * Creates a strategy that records the bars pushed to it and never creates orders.
+     *
+     * @param pushed the list the bars are recorded into
+     * @param fail flag indicating if the strategy throws instead
+     * @return the strategy
+     */
+    private static Strategy recording(final List<CandleDTO> pushed, final boolean fail) {
+        return new Strategy() {
+            @Override
+            public void push(final CandleDTO data) {
+                if (fail) {
+                    throw new IllegalArgumentException("bad bar");
+                }
+                pushed.add(data);
+            }
+
+            @Override
+            public Optional<OrderDTO> getStatus() {
+                return Optional.empty();
+            }
+        };
+    }
+
+    /**
+     * Copies a filled order as closed by the router.
+     *
+     * @param order the filled order
+     * @return the closed order
+     */
+    private static OrderDTO closed(final OrderDTO order) {
+        return new OrderDTO(
+                order.SL(),
+                order.TP(),
+                order.entry(),
+                order.entry(),
+                order.direction(),
+                order.startTime(),
+                order.startTime(),
+                OrderStatus.CLOSED_MANUAL,
+                order.orderStatsDTO());
+    }
+
+    /**
+     * Creates a strategy that creates an order on every bar.
+     *
+     * @return the strategy
+     */
+    private static Strategy ordering() {
+        return new Strategy() {
+            /** The last bar pushed to the strategy. */
+            private CandleDTO last;
+
+            @Override
+            public void push(final CandleDTO data) {
+                last = data;
+            }
+
+            @Override
+            public Optional<OrderDTO> getStatus() {
+                return Optional.of(
+                        new OrderDTO(
+                                last.low(),
+                                last.high(),
+                                last.close(),
+                                -1,
+                                Direction.BUY,
+                                null,
+                                null,
+                                OrderStatus.PENDING,
+                                new OrderStatsDTO(last.close(), last.close())));
+            }
+        };
+    }
+
+    /**
+     * Creates a strategy that records the bars pushed to it and takes a while for every bar.
+     *
+     * @param pushed the list the bars are recorded into
+     * @return the strategy
+     */
+    private static Strategy slow(final List<CandleDTO> pushed) {
+        return new Strategy() {
+            @Override
+            public void push(final CandleDTO data) {
+                var until = System.nanoTime() + SLOW_BAR_NANOS;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+                pushed.add(data);
+            }
+
+            @Override
+            public Optional<OrderDTO> getStatus() {
+                return Optional.empty();
+            }
+        };
+    }
+
+    /**
+     * Creates an earlier update of a bar, with a smaller volume.
+     *
+     * @param candle the final bar
+     * @param update the index of the update
+     * @return the partial bar
+     */
+    private static CandleDTO partial(final CandleDTO candle, final int update) {
+        return new CandleDTO(
+                candle.date(),
+                candle.time(),
+                candle.open(),
+                candle.high(),
+                candle.low(),
+                candle.close(),
+                candle.volume() * update / 5);
+    }
+}
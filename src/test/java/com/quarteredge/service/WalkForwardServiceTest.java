@@ -0,0 +1,110 @@
+package com.quarteredge.service;
+
+import static com.quarteredge.util.CommonUtils.generateTestSessions;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.quarteredge.core.component.BacktestSession;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.OrderDTO;
+import com.quarteredge.core.model.ParameterRangeDTO;
+import com.quarteredge.core.model.WalkForwardConfigDTO;
+import com.quarteredge.core.model.WalkForwardWindowDTO;
+import com.quarteredge.core.service.PerformanceService;
+import com.quarteredge.core.service.SweepService;
+import com.quarteredge.core.service.WalkForwardService;
+import com.quarteredge.core.strategy.QuarterEdgeParameters;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link WalkForwardService}.
+ *
+ * @see WalkForwardService
+ */
+public class WalkForwardServiceTest {
+    /** Number of sessions built from the repeated test sessions. */
+    private static final int SESSION_COUNT = 8;
+
+    /** The grid to choose parameters from. */
+    private final List<QuarterEdgeParameters> grid =
+            QuarterEdgeParameters.grid(
+                    new ParameterRangeDTO(2, 6, 2),
+                    new ParameterRangeDTO(0.5, 1, 0.5),
+                    new ParameterRangeDTO(1, 2, 1));
+
+    /** The sweep service holding the repeated test sessions. */
+    private final SweepService sweepService =
+            new SweepService(generateTestSessions(SESSION_COUNT), 2);
+
+    @Test
+    @DisplayName("run() should roll fixed size train windows over the sessions")
+    void testRollingWindows() {
+        var result =
+                new WalkForwardService(sweepService, new WalkForwardConfigDTO(3, 2, false))
+                        .run(grid);
+        var windows = result.windows();
+        assertEquals(2, windows.size());
+        assertWindow(windows.get(0), "2025-10-01", "2025-10-03", "2025-10-04", "2025-10-05");
+        assertWindow(windows.get(1), "2025-10-03", "2025-10-05", "2025-10-06", "2025-10-07");
+        assertEquals(4, result.outOfSampleSessions().size());
+    }
+
+    @Test
+    @DisplayName("run() should anchor every train window at the first session")
+    void testAnchoredWindows() {
+        var windows =
+                new WalkForwardService(sweepService, new WalkForwardConfigDTO(4, 2, true))
+                        .run(grid)
+                        .windows();
+        assertEquals(2, windows.size());
+        assertWindow(windows.get(0), "2025-10-01", "2025-10-04", "2025-10-05", "2025-10-06");
+        assertWindow(windows.get(1), "2025-10-01", "2025-10-06", "2025-10-07", "2025-10-08");
+    }
+
+    @Test
+    @DisplayName("run() should stitch the out-of-sample orders of the winning parameters")
+    void testOutOfSampleMatchesWinners() {
+        var result =
+                new WalkForwardService(sweepService, new WalkForwardConfigDTO(2, 3, false))
+                        .run(grid, performance -> performance.averageWinR());
+        List<List<OrderDTO>> expected = new ArrayList<>();
+        int testStart = 2;
+        for (WalkForwardWindowDTO window : result.windows()) {
+            var orders = new ArrayList<List<OrderDTO>>();
+            var strategy = window.parameters().createStrategy();
+            for (List<CandleDTO> candles : sweepService.getSessions().values()) {
+                var session = new BacktestSession(strategy, candles);
+                session.startSession();
+                orders.add(session.getOrders());
+            }
+            expected.addAll(orders.subList(testStart, testStart + 3));
+            testStart += 3;
+        }
+        assertEquals(
+                new PerformanceService(expected).calculateMetrics(), result.outOfSample());
+    }
+
+    @Test
+    @DisplayName("run() should reject a configuration that does not fit a single window")
+    void testNotEnoughSessions() {
+        var service =
+                new WalkForwardService(
+                        sweepService, new WalkForwardConfigDTO(SESSION_COUNT, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> service.run(grid));
+    }
+
+    private static void assertWindow(
+            final WalkForwardWindowDTO window,
+            final String trainStart,
+            final String trainEnd,
+            final String testStart,
+            final String testEnd) {
+        assertEquals(trainStart, window.trainStart());
+        assertEquals(trainEnd, window.trainEnd());
+        assertEquals(testStart, window.testStart());
+        assertEquals(testEnd, window.testEnd());
+    }
+}
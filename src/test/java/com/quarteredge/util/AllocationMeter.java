@@ -0,0 +1,64 @@
+package com.quarteredge.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Measures the bytes allocated by the current thread while running a piece of code.
+ *
+ * <p>Allocations are read from {@link
+ * com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}, which counts every byte
+ * handed out to the thread, including allocations that die young. The code is run a number of
+ * times first so that the JIT compiler has optimized it, and escape analysis has removed what it
+ * can, before it is measured. The smallest of several measurements is reported, which filters out
+ * one-off allocations such as class loading.
+ */
+public final class AllocationMeter {
+    /** The number of runs before measuring, so that the code is compiled. */
+    private static final int WARMUP_RUNS = 30;
+
+    /** The number of measured runs. */
+    private static final int MEASURED_RUNS = 5;
+
+    /** The bean reporting the allocations of the threads. */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    ? bean
+                    : null;
+
+    /** Private constructor to prevent instantiation. */
+    private AllocationMeter() {}
+
+    /**
+     * Checks if the running JVM can measure the allocations of a thread.
+     *
+     * @return {@code true} if allocations can be measured
+     */
+    public static boolean isSupported() {
+        return THREADS != null && THREADS.isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Measures the bytes allocated per unit of work, e.g. per candle. The setup is not measured; it
+     * prepares fresh state for every run and returns the code to measure.
+     *
+     * @param setup creates the state of a run and returns the code to measure
+     * @param units the number of units of work in a run
+     * @return the smallest number of bytes allocated per unit over the measured runs
+     */
+    public static double bytesPerUnit(final Supplier<Runnable> setup, final long units) {
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            setup.get().run();
+        }
+        var smallest = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            var run = setup.get();
+            var before = THREADS.getCurrentThreadAllocatedBytes();
+            run.run();
+            var allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+            smallest = Math.min(smallest, allocated);
+        }
+        return (double) smallest / units;
+    }
+}
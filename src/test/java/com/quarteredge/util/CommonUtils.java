@@ -1,11 +1,18 @@
 package com.quarteredge.util;
 
 import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.SyntheticDataConfigDTO;
 import com.quarteredge.core.util.Parser;
+import com.quarteredge.core.util.SyntheticDataGenerator;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CommonUtils {
     /**
@@ -46,4 +53,55 @@ public class CommonUtils {
         parser.getSessionMap().values().forEach(testSession::addAll);
         return testSession;
     }
+
+    /**
+     * Parses the predefined test session CSV file into its session map.
+     *
+     * @return the parsed sessions keyed by session date, in chronological order
+     */
+    public static Map<String, List<CandleDTO>> generateTestSessionMap() {
+        var parser = new Parser(new File("src/test/java/com/quarteredge/util/testSession.csv"));
+        parser.parse();
+        return parser.getSessionMap();
+    }
+
+    /**
+     * Builds a dataset of consecutive October 2025 sessions by cycling through the sessions of the
+     * test session file.
+     *
+     * @param count the number of sessions
+     * @return the sessions keyed by session date, in chronological order
+     */
+    public static Map<String, List<CandleDTO>> generateTestSessions(final int count) {
+        var testSessions = new ArrayList<>(generateTestSessionMap().values());
+        Map<String, List<CandleDTO>> sessions = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            var date = String.format("2025-10-%02d", i + 1);
+            sessions.put(date, testSessions.get(i % testSessions.size()));
+        }
+        return sessions;
+    }
+
+    /**
+     * Generates synthetic CL sessions with the default configuration and a fixed seed, writes them
+     * to a CSV file in the given directory and parses it back.
+     *
+     * @param dir the directory to write the CSV file to, usually a temporary directory
+     * @param tradingDays the number of sessions to generate
+     * @return the sessions keyed by session date, in chronological order
+     * @throws UncheckedIOException if the CSV file could not be written
+     */
+    public static Map<String, List<CandleDTO>> generateSyntheticSessions(
+            final Path dir, final int tradingDays) {
+        var path = dir.resolve("synthetic-" + tradingDays + ".csv");
+        try {
+            new SyntheticDataGenerator(SyntheticDataConfigDTO.defaults(7, tradingDays, 5))
+                    .write(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        var parser = new Parser(path.toFile());
+        parser.parse();
+        return parser.getSessionMap();
+    }
 }
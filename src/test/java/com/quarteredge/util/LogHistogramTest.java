@@ -0,0 +1,85 @@
+package com.quarteredge.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.model.HistogramBucketDTO;
+import com.quarteredge.core.util.LogHistogram;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LogHistogram}.
+ *
+ * @see LogHistogram
+ */
+public class LogHistogramTest {
+    @Test
+    @DisplayName("percentiles should be within the relative error of the buckets")
+    void testPercentiles() {
+        var random = new SplittableRandom(7);
+        var values = new double[10_000];
+        var histogram = new LogHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble(-1, 3);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(Arrays.stream(values).average().orElseThrow(), histogram.getMean(), 1e-9);
+        assertEquals(values[0], histogram.getPercentile(0));
+        assertEquals(values[values.length - 1], histogram.getPercentile(1));
+        for (double percentile : new double[] {0.01, 0.05, 0.5, 0.95, 0.99}) {
+            var exact = values[(int) Math.ceil(percentile * values.length) - 1];
+            var estimate = histogram.getPercentile(percentile);
+            assertEquals(exact, estimate, Math.abs(exact) * 0.02, "p" + percentile);
+        }
+        var distribution = histogram.getDistribution();
+        assertEquals(histogram.getPercentile(0.5), distribution.p50());
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(1.5));
+    }
+
+    @Test
+    @DisplayName("merge() should give the same histogram as recording every value in one")
+    void testMerge() {
+        var random = new SplittableRandom(11);
+        var whole = new LogHistogram();
+        var first = new LogHistogram();
+        var second = new LogHistogram();
+        for (int i = 0; i < 1_000; i++) {
+            var value = random.nextDouble(-50, 50);
+            whole.record(value);
+            (i % 3 == 0 ? first : second).record(value);
+        }
+        var merged = second.copy().merge(first);
+
+        assertEquals(whole.getBuckets(), merged.getBuckets());
+        assertEquals(whole.getDistribution().p99(), merged.getDistribution().p99());
+        assertEquals(whole.getMin(), merged.getMin());
+        assertEquals(whole.getMax(), merged.getMax());
+        assertEquals(whole.getMean(), merged.getMean(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("getBuckets() should list the signed buckets in ascending order of their values")
+    void testBuckets() {
+        var histogram = new LogHistogram();
+        histogram.record(-1);
+        histogram.record(0);
+        histogram.record(Double.NaN);
+        histogram.record(2);
+        histogram.record(2.01);
+
+        var buckets = histogram.getBuckets();
+        assertEquals(3, buckets.size());
+        assertEquals(new HistogramBucketDTO(-1.03125, -1, 1), buckets.get(0));
+        assertEquals(new HistogramBucketDTO(0, 0, 1), buckets.get(1));
+        assertEquals(new HistogramBucketDTO(2, 2.0625, 2), buckets.get(2));
+        assertEquals(4, histogram.getCount());
+        assertTrue(Double.isNaN(new LogHistogram().getPercentile(0.5)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.quarteredge.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.util.MpscRingBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link MpscRingBuffer}.
+ *
+ * @see MpscRingBuffer
+ */
+public class MpscRingBufferTest {
+    @Test
+    @DisplayName("offer() should fail once the ring is full, and poll() should free slots")
+    void testBounded() {
+        var ring = new MpscRingBuffer<Integer>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(0, (int) ring.poll());
+        assertTrue(ring.offer(4));
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, ring.drain(drained::add, 10));
+        assertEquals(List.of(1, 2, 3, 4), drained);
+        assertNull(ring.poll());
+        assertTrue(ring.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<Integer>(6));
+    }
+
+    @Test
+    @DisplayName("concurrent producers should never lose or reorder their own elements")
+    void testConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        var ring = new MpscRingBuffer<long[]>(1024);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            threads.add(
+                    Thread.ofPlatform()
+                            .start(
+                                    () -> {
+                                        for (long i = 0; i < perProducer; i++) {
+                                            while (!ring.offer(new long[] {producer, i})) {
+                                                Thread.onSpinWait();
+                                            }
+                                        }
+                                    }));
+        }
+        var next = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            var element = ring.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertEquals(next[(int) element[0]]++, element[1]);
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(ring.isEmpty());
+    }
+}
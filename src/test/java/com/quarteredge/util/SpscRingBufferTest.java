@@ -0,0 +1,74 @@
+package com.quarteredge.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.quarteredge.core.util.SpscRingBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SpscRingBuffer}.
+ *
+ * @see SpscRingBuffer
+ */
+public class SpscRingBufferTest {
+    @Test
+    @DisplayName("claim() should fail once the ring is full and slots should be reused")
+    void testBounded() {
+        var ring = new SpscRingBuffer<long[]>(4, () -> new long[1]);
+        long[] first = null;
+        for (int i = 0; i < 4; i++) {
+            var slot = ring.claim();
+            slot[0] = i;
+            ring.publish();
+            if (i == 0) {
+                first = slot;
+            }
+        }
+        assertNull(ring.claim());
+        assertEquals(4, ring.size());
+
+        assertSame(first, ring.peek());
+        ring.release();
+        assertSame(first, ring.claim());
+        for (int i = 1; i < 4; i++) {
+            assertEquals(i, ring.peek()[0]);
+            ring.release();
+        }
+        assertNull(ring.peek());
+        assertThrows(IllegalArgumentException.class, () -> new SpscRingBuffer<>(3, Object::new));
+    }
+
+    @Test
+    @DisplayName("a consumer thread should receive every value of a producer thread in order")
+    void testProducerConsumer() throws InterruptedException {
+        var ring = new SpscRingBuffer<long[]>(64, () -> new long[1]);
+        var count = 100_000;
+        var producer =
+                Thread.ofPlatform()
+                        .start(
+                                () -> {
+                                    for (long i = 0; i < count; i++) {
+                                        long[] slot;
+                                        while ((slot = ring.claim()) == null) {
+                                            Thread.yield();
+                                        }
+                                        slot[0] = i;
+                                        ring.publish();
+                                    }
+                                });
+        for (long expected = 0; expected < count; expected++) {
+            long[] slot;
+            while ((slot = ring.peek()) == null) {
+                Thread.yield();
+            }
+            assertEquals(expected, slot[0]);
+            ring.release();
+        }
+        producer.join();
+        assertEquals(0, ring.size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.quarteredge.util;
+
+import static com.quarteredge.core.util.Constants.FIRST_CANDLE_OPEN_TIME;
+import static com.quarteredge.core.util.Constants.LAST_CANDLE_CLOSE_TIME;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.quarteredge.core.indicator.DefiningRangeIndicator;
+import com.quarteredge.core.model.CandleDTO;
+import com.quarteredge.core.model.SyntheticDataConfigDTO;
+import com.quarteredge.core.util.Parser;
+import com.quarteredge.core.util.SyntheticDataGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link SyntheticDataGenerator}.
+ *
+ * @see SyntheticDataGenerator
+ */
+public class SyntheticDataGeneratorTest {
+    /** Directory for the generated files. */
+    @TempDir Path tempDir;
+
+    @Test
+    @DisplayName("generated files should parse into one full session per trading day")
+    void testSessions() throws IOException {
+        var path = tempDir.resolve("bars.csv");
+        var rows =
+                new SyntheticDataGenerator(SyntheticDataConfigDTO.defaults(1, 10, 5)).write(path);
+        var parser = new Parser(path.toFile());
+        parser.parse();
+        var sessions = parser.getSessionMap();
+
+        assertEquals(10, sessions.size());
+        assertEquals(10 * 264, rows);
+        assertEquals("2020-01-06", sessions.keySet().iterator().next());
+        assertFalse(sessions.containsKey("2020-01-11"));
+        for (var session : sessions.entrySet()) {
+            List<CandleDTO> candles = session.getValue();
+            assertEquals(264, candles.size());
+            assertEquals(FIRST_CANDLE_OPEN_TIME, candles.getFirst().time());
+            assertEquals(LAST_CANDLE_CLOSE_TIME, candles.getLast().time());
+            assertEquals(
+                    LocalDate.parse(session.getKey()).minusDays(1).toString(),
+                    candles.getFirst().date());
+            for (CandleDTO candle : candles) {
+                assertTrue(candle.high() >= Math.max(candle.open(), candle.close()));
+                assertTrue(candle.low() <= Math.min(candle.open(), candle.close()));
+                assertTrue(candle.low() > 0 && candle.volume() >= 1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("one-minute bars should follow the same session structure")
+    void testOneMinuteBars() throws IOException {
+        var path = tempDir.resolve("bars-1m.csv");
+        new SyntheticDataGenerator(SyntheticDataConfigDTO.defaults(2, 3, 1)).write(path);
+        var parser = new Parser(path.toFile());
+        parser.parse();
+        assertEquals(3, parser.getSessionMap().size());
+        for (List<CandleDTO> candles : parser.getSessionMap().values()) {
+            assertEquals(1316, candles.size());
+        }
+    }
+
+    @Test
+    @DisplayName("the same seed should always yield the same bytes")
+    void testDeterministic() throws IOException {
+        var config = SyntheticDataConfigDTO.defaults(42, 5, 5);
+        var first = new ByteArrayOutputStream();
+        var second = new ByteArrayOutputStream();
+        var generator = new SyntheticDataGenerator(config);
+        generator.write(first);
+        generator.write(second);
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+
+        var other = new ByteArrayOutputStream();
+        new SyntheticDataGenerator(SyntheticDataConfigDTO.defaults(43, 5, 5)).write(other);
+        assertFalse(Arrays.equals(first.toByteArray(), other.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("sessions configured to break out should leave their defining range")
+    void testBreakouts() throws IOException {
+        var defaults = SyntheticDataConfigDTO.defaults(7, 20, 5);
+        var config =
+                new SyntheticDataConfigDTO(
+                        defaults.seed(),
+                        defaults.startDate(),
+                        defaults.tradingDays(),
+                        defaults.barMinutes(),
+                        defaults.startPrice(),
+                        defaults.volatility(),
+                        defaults.regimeSwitchProbability(),
+                        defaults.gapVolatility(),
+                        1);
+        var path = tempDir.resolve("breakouts.csv");
+        new SyntheticDataGenerator(config).write(path);
+        var parser = new Parser(path.toFile());
+        parser.parse();
+        for (List<CandleDTO> candles : parser.getSessionMap().values()) {
+            var indicator = new DefiningRangeIndicator();
+            var brokeOut = false;
+            for (CandleDTO candle : candles) {
+                indicator.add(candle);
+                brokeOut |= indicator.hasBreakoutOccurred();
+            }
+            assertTrue(brokeOut);
+        }
+        assertThrows(
+                IllegalArgumentException.class, () -> SyntheticDataConfigDTO.defaults(1, 1, 3));
+    }
+}